@@ -38,6 +38,8 @@ import net.sourceforge.squirrel_sql.client.gui.recentfiles.RecentFilesManager;
 import net.sourceforge.squirrel_sql.client.gui.session.catalogspanel.CatalogLoadModelManager;
 import net.sourceforge.squirrel_sql.client.mainframe.action.ViewHelpCommand;
 import net.sourceforge.squirrel_sql.client.mainframe.action.startupconnect.AppStartupSessionStarter;
+import net.sourceforge.squirrel_sql.client.session.mainpanel.sqlhistory.SQLHistoryStore;
+import net.sourceforge.squirrel_sql.client.startup.StartupTaskPipeline;
 import net.sourceforge.squirrel_sql.client.plugin.IPlugin;
 import net.sourceforge.squirrel_sql.client.plugin.IPluginManager;
 import net.sourceforge.squirrel_sql.client.plugin.PluginLoadInfo;
@@ -134,6 +136,15 @@ public class Application implements IApplication
 
 	private static ILogger s_log = LoggerController.createLogger(Application.class);
 
+	private static final String STARTUP_TASK_DRIVERS_AND_ALIASES = "loadDriversAndAliases";
+	private static final String STARTUP_TASK_RECENT_FILES = "loadRecentFiles";
+	private static final String STARTUP_TASK_SQL_HISTORY = "loadSQLHistory";
+	private static final String STARTUP_TASK_CELL_IMPORT_EXPORT = "loadCellImportExportInfo";
+	private static final String STARTUP_TASK_EDIT_WHERE_COLS = "loadEditWhereColsInfo";
+	private static final String STARTUP_TASK_DATA_TYPE_PROPERTIES = "loadDataTypeProperties";
+	private static final String STARTUP_TASK_WIKI_CONFIGURATIONS = "loadUserSpecificWikiConfigurations";
+	private static final String STARTUP_TASK_CATALOG_LOAD_MODEL = "loadCatalogLoadModel";
+
 	private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(Application.class);
 
 	private SquirrelPreferences _globalPreferences;
@@ -895,14 +906,31 @@ public class Application implements IApplication
 	{
 		if (args == null) { throw new IllegalArgumentException("ApplicationArguments == null"); }
 
+		final StartupTaskPipeline pipeline = new StartupTaskPipeline();
+
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 1
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.createSessionManager"));
 
-		_sessionManager = new SessionManager();
+		pipeline.run("createSessionManager", () -> _sessionManager = new SessionManager());
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 2
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadingprefs"));
 
+		// Driver manager and application files don't depend on plugins.
+		// They are created early to let the files below load while plugins are being loaded.
+		initDriverManager();
+		initAppFiles();
+
+		String errMsg = FileTransformer.transform(_appFiles);
+		if (null != errMsg)
+		{
+			System.err.println(errMsg);
+			JOptionPane.showMessageDialog(null, errMsg, "SQuirreL failed to start", JOptionPane.ERROR_MESSAGE);
+			System.exit(-1);
+		}
+
+		submitFileLoadingStartupTasks(pipeline);
+
 		final boolean loadPlugins = args.getLoadPlugins();
 		if (loadPlugins)
 		{
@@ -925,14 +953,17 @@ public class Application implements IApplication
 				_pluginManager.setClassLoaderListener(listener);
 			}
 
-			if (args.getPluginList() != null)
-			{
-				_pluginManager.loadPluginsFromList(args.getPluginList());
-			}
-			else
+			pipeline.run("loadPlugins", () ->
 			{
-				_pluginManager.loadPlugins();
-			}
+				if (args.getPluginList() != null)
+				{
+					_pluginManager.loadPluginsFromList(args.getPluginList());
+				}
+				else
+				{
+					_pluginManager.loadPlugins();
+				}
+			});
 		}
 
       // Final argument validation after all plugins have been loaded.  This will exit if there is an unrecognized argument in the list.
@@ -940,7 +971,7 @@ public class Application implements IApplication
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 4
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadingactions"));
-		_actionRegistry = new ActionRegistry();
+		pipeline.run("createActionRegistry", () -> _actionRegistry = new ActionRegistry());
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 5
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadinguseracc"));
@@ -948,25 +979,15 @@ public class Application implements IApplication
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 6
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.createjdbcmgr"));
-		initDriverManager();
 		_sessionManager.addSessionListener(new DriverUnloadListener(_driverMgr));
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 7
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadingjdbc"));
-		initAppFiles();
-
-		String errMsg = FileTransformer.transform(_appFiles);
-		if (null != errMsg)
-		{
-			System.err.println(errMsg);
-			JOptionPane.showMessageDialog(null, errMsg, "SQuirreL failed to start", JOptionPane.ERROR_MESSAGE);
-			System.exit(-1);
-		}
+		pipeline.await(STARTUP_TASK_DRIVERS_AND_ALIASES);
 
-		initDataCache();
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 8
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.createWindowManager"));
-		_windowManager = new WindowManager(args.getUserInterfaceDebugEnabled());
+		pipeline.run("createWindowManager", () -> _windowManager = new WindowManager(args.getUserInterfaceDebugEnabled()));
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 9
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.uifactoryinit"));
@@ -979,7 +1000,7 @@ public class Application implements IApplication
 		indicateNewStartupTask(splash, task);
 		if (loadPlugins)
 		{
-			_pluginManager.initializePlugins();
+			pipeline.run("initializePlugins", () -> _pluginManager.initializePlugins());
 			for (Iterator<PluginLoadInfo> it = _pluginManager.getPluginLoadInfoIterator(); it.hasNext();)
 			{
 				PluginLoadInfo pli = it.next();
@@ -989,36 +1010,44 @@ public class Application implements IApplication
 				Object[] params = new Object[] { pli.getInternalName(), created, load, init, created + load + init};
 				String pluginLoadMsg = s_stringMgr.getString("Application.splash.loadplugintime", params);
 				s_log.info(pluginLoadMsg);
+
+				pipeline.addTiming("plugin " + pli.getInternalName() + " created", created);
+				pipeline.addTiming("plugin " + pli.getInternalName() + " loaded", load);
+				pipeline.addTiming("plugin " + pli.getInternalName() + " initialized", init);
 			}
 		}
 
+		// The files are being loaded since step 2. Here we wait for those not done yet.
+		// They are awaited before the main window is shown because startup runs on the EDT:
+		// Once the window is shown the user may open a Session, which needs all of these files.
+
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 11
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.recentfiles"));
-		loadRecentFileHistory();
+		pipeline.await(STARTUP_TASK_RECENT_FILES);
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 12
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadsqlhistory"));
-		loadSQLHistory();
+		pipeline.await(STARTUP_TASK_SQL_HISTORY);
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 13
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadcellselections"));
-		loadCellImportExportInfo();
+		pipeline.await(STARTUP_TASK_CELL_IMPORT_EXPORT);
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 14
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadeditselections"));
-		loadEditWhereColsInfo();
+		pipeline.await(STARTUP_TASK_EDIT_WHERE_COLS);
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 15
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loaddatatypeprops"));
-		_dataTypePropertiesManager.loadDataTypeProperties();
+		pipeline.await(STARTUP_TASK_DATA_TYPE_PROPERTIES);
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 16
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadUserSpecificWikiConfiguration"));
-		loadUserSpecificWikiTableConfigurations();
+		pipeline.await(STARTUP_TASK_WIKI_CONFIGURATIONS);
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 17
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.loadCatalogLoadModel"));
-		_catalogLoadModelManager.load();
+		pipeline.await(STARTUP_TASK_CATALOG_LOAD_MODEL);
 
 		// NUMBER_OFF_CALLS_TO_INDICATE_NEW_TASK = 18
 		indicateNewStartupTask(splash, s_stringMgr.getString("Application.splash.showmainwindow"));
@@ -1026,6 +1055,8 @@ public class Application implements IApplication
 		_windowManager.moveToFront(_windowManager.getMainFrame());
 		_threadPool.setParentForMessages(_windowManager.getMainFrame());
 
+		// Not done by the recent files loading task because that runs before the main frame exists.
+		getRecentFilesManager().showOlderVersionWarningIfNeeded();
 
 		if (_globalPreferences.isFirstRun())
 		{
@@ -1048,9 +1079,27 @@ public class Application implements IApplication
 			_shutdownTimer.start();
 		}
 
+		pipeline.finish(_appFiles.getStartupTimingReportJsonFile());
+
 		AppStartupSessionStarter.openStartupSessions(args);
 	}
 
+	/**
+	 * Starts loading the files that depend neither on plugins nor on the UI.
+	 * Each loads into a field of its own, so they can run in parallel.
+	 */
+	private void submitFileLoadingStartupTasks(StartupTaskPipeline pipeline)
+	{
+		pipeline.submit(STARTUP_TASK_DRIVERS_AND_ALIASES, () -> initDataCache());
+		pipeline.submit(STARTUP_TASK_RECENT_FILES, () -> loadRecentFileHistory());
+		pipeline.submit(STARTUP_TASK_SQL_HISTORY, () -> loadSQLHistory());
+		pipeline.submit(STARTUP_TASK_CELL_IMPORT_EXPORT, () -> loadCellImportExportInfo());
+		pipeline.submit(STARTUP_TASK_EDIT_WHERE_COLS, () -> loadEditWhereColsInfo());
+		pipeline.submit(STARTUP_TASK_DATA_TYPE_PROPERTIES, () -> _dataTypePropertiesManager.loadDataTypeProperties());
+		pipeline.submit(STARTUP_TASK_WIKI_CONFIGURATIONS, () -> loadUserSpecificWikiTableConfigurations());
+		pipeline.submit(STARTUP_TASK_CATALOG_LOAD_MODEL, () -> _catalogLoadModelManager.load());
+	}
+
 	public void initDriverManager()
 	{
 		_driverMgr = new SQLDriverManager();
@@ -1116,17 +1165,19 @@ public class Application implements IApplication
 	{
 		try
 		{
-			XMLBeanReader doc = new XMLBeanReader();
-			doc.load(new ApplicationFiles().getUserSQLHistoryFile());
-			Iterator it = doc.iterator();
-			if (it.hasNext())
+			SQLHistoryStore store = new SQLHistoryStore(_appFiles.getSQLHistoryStoreDir());
+			if (store.isEmpty())
 			{
-				_sqlHistory = (SQLHistory) it.next();
+				migrateLegacySQLHistory(store);
 			}
-		}
-		catch (FileNotFoundException ignore)
-		{
-			// History file not found for user - first time user ran pgm.
+
+			int recentItemCount = SQLHistory.RECENT_ITEM_COUNT_WITHOUT_SIZE_LIMIT;
+			if (_globalPreferences.getSessionProperties().getLimitSQLEntryHistorySize())
+			{
+				recentItemCount = _globalPreferences.getSessionProperties().getSQLEntryHistorySize();
+			}
+
+			_sqlHistory = new SQLHistory(store, recentItemCount);
 		}
 		catch (Exception ex)
 		{
@@ -1142,6 +1193,33 @@ public class Application implements IApplication
 		}
 	}
 
+	/**
+	 * Copies the history of older SQuirreL versions to the store, oldest first.
+	 * The old file is left alone.
+	 */
+	private void migrateLegacySQLHistory(SQLHistoryStore store) throws Exception
+	{
+		try
+		{
+			XMLBeanReader doc = new XMLBeanReader();
+			doc.load(_appFiles.getUserSQLHistoryFile());
+			Iterator it = doc.iterator();
+			if (it.hasNext())
+			{
+				SQLHistoryItem[] items = ((SQLHistory) it.next()).getSQLHistoryItems();
+				for (int i = items.length - 1; i >= 0; i--)
+				{
+					store.append(items[i]);
+				}
+				s_log.info("Migrated " + items.length + " SQL history items from " + _appFiles.getUserSQLHistoryFile());
+			}
+		}
+		catch (FileNotFoundException ignore)
+		{
+			// History file not found for user - first time user ran pgm.
+		}
+	}
+
 	private void loadRecentFileHistory()
 	{
 		getRecentFilesManager().initJSonBean(new ApplicationFiles().getRecentFilesJsonBeanFile());
@@ -1175,13 +1253,6 @@ public class Application implements IApplication
 			// i18n[Application.error.loadsqlhistory=Unable to load SQL history from persistant storage.]
 			s_log.error(s_stringMgr.getString("Application.error.loadUserSpecificWikiConfiguration"), ex);
 		}
-		finally
-		{
-			if (_sqlHistory == null)
-			{
-				_sqlHistory = new SQLHistory();
-			}
-		}
 	}
 
 	/**
@@ -1189,24 +1260,13 @@ public class Application implements IApplication
 	 */
 	private void saveSQLHistory()
 	{
-		// Get the history into an array.
+		// New items are stored when they are added. Here only the size limit is applied.
 		try
 		{
 			if (_globalPreferences.getSessionProperties().getLimitSQLEntryHistorySize())
 			{
-				SQLHistoryItem[] data = _sqlHistory.getSQLHistoryItems();
-
-				int maxSize = _globalPreferences.getSessionProperties().getSQLEntryHistorySize();
-				if (data.length > maxSize)
-				{
-					SQLHistoryItem[] reducedData = new SQLHistoryItem[maxSize];
-					System.arraycopy(data, 0, reducedData, 0, maxSize);
-					_sqlHistory.setSQLHistoryItems(reducedData);
-				}
+				_sqlHistory.limitStoredHistory(_globalPreferences.getSessionProperties().getSQLEntryHistorySize());
 			}
-
-			XMLBeanWriter wtr = new XMLBeanWriter(_sqlHistory);
-			wtr.save(new ApplicationFiles().getUserSQLHistoryFile());
 		}
 		catch (Exception ex)
 		{
@@ -25,6 +25,7 @@ import net.sourceforge.squirrel_sql.client.mainframe.action.TileVerticalAction;
 import net.sourceforge.squirrel_sql.client.mainframe.action.ViewHelpAction;
 import net.sourceforge.squirrel_sql.client.mainframe.action.ViewLogsAction;
 import net.sourceforge.squirrel_sql.client.mainframe.action.findprefs.FindInPreferencesAction;
+import net.sourceforge.squirrel_sql.client.session.action.CancelSchemaLoadingAction;
 import net.sourceforge.squirrel_sql.client.session.action.ChangeTrackAction;
 import net.sourceforge.squirrel_sql.client.session.action.CloseAllSQLResultTabsAction;
 import net.sourceforge.squirrel_sql.client.session.action.CloseAllSQLResultTabsButCurrentAction;
@@ -47,6 +48,7 @@ import net.sourceforge.squirrel_sql.client.session.action.DumpSessionAction;
 import net.sourceforge.squirrel_sql.client.session.action.EditWhereColsAction;
 import net.sourceforge.squirrel_sql.client.session.action.EscapeDateAction;
 import net.sourceforge.squirrel_sql.client.session.action.ExecuteAllSqlsAction;
+import net.sourceforge.squirrel_sql.client.session.action.runsqlfile.RunSqlFileAction;
 import net.sourceforge.squirrel_sql.client.session.action.ExecuteSqlAction;
 import net.sourceforge.squirrel_sql.client.session.action.FilterObjectsAction;
 import net.sourceforge.squirrel_sql.client.session.action.FindColumnsAction;
@@ -161,6 +163,7 @@ public class ActionRegistry
       toolsPopupController.addAction("redo", sqlPanel.getRedoAction());
       toolsPopupController.addAction("runsql", ac.get(ExecuteSqlAction.class));
       toolsPopupController.addAction("runallsqls", ac.get(ExecuteAllSqlsAction.class));
+      toolsPopupController.addAction("runsqlfile", ac.get(RunSqlFileAction.class));
       toolsPopupController.addAction("filenew", ac.get(FileNewAction.class));
       toolsPopupController.addAction("filedetach", ac.get(FileDetachAction.class));
       toolsPopupController.addAction("fileopen", ac.get(FileOpenAction.class));
@@ -274,6 +277,7 @@ public class ActionRegistry
       actionCollection.add(new DumpSessionAction(app));
       actionCollection.add(new ExecuteSqlAction(app));
       actionCollection.add(new ExecuteAllSqlsAction(app));
+      actionCollection.add(new RunSqlFileAction());
       actionCollection.add(new ExitAction(app));
       actionCollection.add(new FileNewAction(app));
       actionCollection.add(new FileDetachAction(app));
@@ -311,6 +315,7 @@ public class ActionRegistry
       actionCollection.add(new ReconnectAction(app));
       actionCollection.add(new RefreshSchemaInfoAction(app));
       actionCollection.add(new RefreshObjectTreeItemAction(app));
+      actionCollection.add(new CancelSchemaLoadingAction(app));
       actionCollection.add(new RollbackAction(app));
       actionCollection.add(new SessionPropertiesAction(app));
       actionCollection.add(new FilterObjectsAction(app));
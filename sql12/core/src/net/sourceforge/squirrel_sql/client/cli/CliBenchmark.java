@@ -0,0 +1,289 @@
+package net.sourceforge.squirrel_sql.client.cli;
+
+import net.sourceforge.squirrel_sql.client.gui.db.SQLAlias;
+import net.sourceforge.squirrel_sql.client.session.properties.SessionProperties;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.BlockMode;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.CellComponentFactory;
+import net.sourceforge.squirrel_sql.fw.dialects.DialectFactory;
+import net.sourceforge.squirrel_sql.fw.dialects.DialectType;
+import net.sourceforge.squirrel_sql.fw.sql.ResultSetReadPlan;
+import net.sourceforge.squirrel_sql.fw.sql.ResultSetReader;
+import net.sourceforge.squirrel_sql.fw.sql.SQLUtilities;
+import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.IQueryTokenizer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs an SQL or SQL script a number of times and prints throughput statistics instead of the results.
+ * Reads the results the way SQuirreL's result tabs do: {@link ResultSetReader} fetches the rows and
+ * {@link CellComponentFactory} converts the values to the text that would be displayed.
+ *
+ * Each thread works on a connection of its own. One run executes all statements of the script one after the other.
+ */
+class CliBenchmark
+{
+   private final SQLAlias _alias;
+   private final String _sql;
+   private final int _runs;
+   private final int _threads;
+   private final int _fetchSize;
+
+   private final AtomicInteger _nextRun = new AtomicInteger();
+   private final AtomicReference<Throwable> _failure = new AtomicReference<>();
+
+   private final long[] _runNanos;
+   private final LongAdder _executeNanos = new LongAdder();
+   private final LongAdder _fetchNanos = new LongAdder();
+   private final LongAdder _conversionNanos = new LongAdder();
+   private final LongAdder _rows = new LongAdder();
+   private final LongAdder _chars = new LongAdder();
+
+   private int _statementCount;
+
+   /**
+    * @param fetchSize 0 means the driver's default.
+    */
+   CliBenchmark(SQLAlias alias, String sql, int runs, int threads, int fetchSize)
+   {
+      _alias = alias;
+      _sql = sql;
+      _runs = runs;
+      _threads = Math.max(1, Math.min(threads, runs));
+      _fetchSize = fetchSize;
+      _runNanos = new long[runs];
+   }
+
+   void run()
+   {
+      List<Thread> threads = new ArrayList<>();
+      List<CliSession> sessions = new ArrayList<>();
+
+      try
+      {
+         // Connecting is not part of the measurement.
+         for (int i = 0; i < _threads; i++)
+         {
+            sessions.add(new CliSession(_alias));
+         }
+
+         List<String> statements = getStatements(sessions.get(0));
+         _statementCount = statements.size();
+
+         long begin = System.nanoTime();
+
+         for (int i = 0; i < _threads; i++)
+         {
+            CliSession session = sessions.get(i);
+            Thread t = new Thread(() -> runWorker(session, statements), "SQuirreL CLI benchmark " + (i + 1));
+            threads.add(t);
+            t.start();
+         }
+
+         for (Thread thread : threads)
+         {
+            thread.join();
+         }
+
+         long wallNanos = System.nanoTime() - begin;
+
+         if (null != _failure.get())
+         {
+            System.err.println("ERROR: Benchmark stopped because a statement failed: " + _failure.get());
+            return;
+         }
+
+         printResults(wallNanos);
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+      }
+      finally
+      {
+         for (CliSession session : sessions)
+         {
+            try
+            {
+               session.close();
+            }
+            catch (SQLException e)
+            {
+               //
+            }
+         }
+      }
+   }
+
+   private List<String> getStatements(CliSession session)
+   {
+      IQueryTokenizer tokenizer = session.getNewQueryTokenizer();
+      tokenizer.setScriptToTokenize(_sql);
+
+      List<String> ret = new ArrayList<>();
+      while (tokenizer.hasQuery())
+      {
+         ret.add(tokenizer.nextQuery().getQuery());
+      }
+      return ret;
+   }
+
+   private void runWorker(CliSession session, List<String> statements)
+   {
+      try
+      {
+         DialectType dialectType = DialectFactory.getDialectType(session.getMetaData());
+         SessionProperties props = session.getProperties();
+
+         for (int run = _nextRun.getAndIncrement(); run < _runs && null == _failure.get(); run = _nextRun.getAndIncrement())
+         {
+            long begin = System.nanoTime();
+
+            for (String statement : statements)
+            {
+               executeStatement(session, statement, dialectType, props);
+            }
+
+            _runNanos[run] = System.nanoTime() - begin;
+         }
+      }
+      catch (Throwable t)
+      {
+         _failure.compareAndSet(null, t);
+      }
+   }
+
+   private void executeStatement(CliSession session, String sql, DialectType dialectType, SessionProperties props) throws SQLException
+   {
+      long begin = System.nanoTime();
+
+      try (Statement stat = SQLUtilities.createStatementForStreamingResults(session.getSQLConnection().getConnection(), dialectType))
+      {
+         if (0 < _fetchSize)
+         {
+            stat.setFetchSize(_fetchSize);
+         }
+
+         if (props.getSQLLimitRows())
+         {
+            stat.setMaxRows(props.getSQLNbrRowsToShow());
+         }
+
+         boolean isResultSet = stat.execute(sql);
+         _executeNanos.add(System.nanoTime() - begin);
+
+         if (isResultSet)
+         {
+            try (ResultSet rs = stat.getResultSet())
+            {
+               readResult(rs, dialectType);
+            }
+         }
+      }
+   }
+
+   private void readResult(ResultSet rs, DialectType dialectType) throws SQLException
+   {
+      int columnCount = rs.getMetaData().getColumnCount();
+      ColumnDisplayDefinition[] colDefs = new ColumnDisplayDefinition[columnCount];
+      for (int i = 0; i < columnCount; i++)
+      {
+         colDefs[i] = new ColumnDisplayDefinition(rs, i + 1, dialectType, true);
+      }
+
+      ResultSetReader reader = new ResultSetReader(rs, dialectType);
+      ResultSetReadPlan readPlan = reader.createReadPlan(colDefs);
+
+      long fetchNanos = 0;
+      long conversionNanos = 0;
+      long rows = 0;
+      long chars = 0;
+
+      for (; ; )
+      {
+         long beginFetch = System.nanoTime();
+         Object[] row = reader.readRow(readPlan, BlockMode.INDIFFERENT, false);
+         long beginConversion = System.nanoTime();
+         fetchNanos += beginConversion - beginFetch;
+
+         if (null == row)
+         {
+            break;
+         }
+
+         for (int i = 0; i < row.length; i++)
+         {
+            String text = CellComponentFactory.renderObject(row[i], colDefs[i]);
+            if (null != text)
+            {
+               chars += text.length();
+            }
+         }
+
+         conversionNanos += System.nanoTime() - beginConversion;
+         ++rows;
+      }
+
+      _fetchNanos.add(fetchNanos);
+      _conversionNanos.add(conversionNanos);
+      _rows.add(rows);
+      _chars.add(chars);
+   }
+
+   private void printResults(long wallNanos)
+   {
+      NumberFormat nf = NumberFormat.getInstance();
+      nf.setMaximumFractionDigits(1);
+
+      double wallSeconds = wallNanos / 1e9;
+
+      System.out.println("Benchmark: " + _runs + " runs of " + _statementCount + " statement(s), " + _threads + " thread(s), fetch size "
+                         + (0 < _fetchSize ? "" + _fetchSize : "driver default"));
+      System.out.println("  Wall time:        " + nf.format(wallSeconds) + " s");
+      System.out.println("  Runs/s:           " + nf.format(_runs / wallSeconds));
+      System.out.println("  Rows:             " + nf.format(_rows.sum()) + " (" + nf.format(_rows.sum() / wallSeconds) + " rows/s)");
+      System.out.println("  Characters read:  " + nf.format(_chars.sum()) + " (" + nf.format(_chars.sum() / wallSeconds / 1024 / 1024) + " M chars/s)");
+
+      long[] sorted = _runNanos.clone();
+      Arrays.sort(sorted);
+      System.out.println("  Run latency (ms): min " + toMillis(nf, sorted[0])
+                         + ", p50 " + toMillis(nf, percentile(sorted, 50))
+                         + ", p90 " + toMillis(nf, percentile(sorted, 90))
+                         + ", p99 " + toMillis(nf, percentile(sorted, 99))
+                         + ", max " + toMillis(nf, sorted[sorted.length - 1]));
+
+      long totalNanos = _executeNanos.sum() + _fetchNanos.sum() + _conversionNanos.sum();
+      System.out.println("  Time split (summed over threads):");
+      System.out.println("    Execute:        " + toMillis(nf, _executeNanos.sum()) + " ms (" + toPercent(nf, _executeNanos.sum(), totalNanos) + ")");
+      System.out.println("    Fetch:          " + toMillis(nf, _fetchNanos.sum()) + " ms (" + toPercent(nf, _fetchNanos.sum(), totalNanos) + ")");
+      System.out.println("    Conversion:     " + toMillis(nf, _conversionNanos.sum()) + " ms (" + toPercent(nf, _conversionNanos.sum(), totalNanos) + ")");
+   }
+
+   /**
+    * Nearest rank percentile.
+    */
+   private static long percentile(long[] sorted, int percent)
+   {
+      int rank = (int) Math.ceil(percent / 100d * sorted.length);
+      return sorted[Math.max(0, rank - 1)];
+   }
+
+   private static String toMillis(NumberFormat nf, long nanos)
+   {
+      return nf.format(nanos / 1e6);
+   }
+
+   private static String toPercent(NumberFormat nf, long part, long total)
+   {
+      return nf.format(0 == total ? 0 : part * 100d / total) + " %";
+   }
+}
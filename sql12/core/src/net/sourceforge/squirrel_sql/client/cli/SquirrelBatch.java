@@ -107,11 +107,26 @@ public class SquirrelBatch
          }
 
 
+         if (SquirrelBatchOptions.CSV_SPLIT_MAX_MB.hasParam(commandLine) || SquirrelBatchOptions.CSV_SPLIT_MAX_ROWS.hasParam(commandLine))
+         {
+            int maxMegabytes = SquirrelBatchOptions.CSV_SPLIT_MAX_MB.hasParam(commandLine) ? Integer.parseInt(SquirrelBatchOptions.CSV_SPLIT_MAX_MB.getValue(commandLine)) : 0;
+            int maxRows = SquirrelBatchOptions.CSV_SPLIT_MAX_ROWS.hasParam(commandLine) ? Integer.parseInt(SquirrelBatchOptions.CSV_SPLIT_MAX_ROWS.getValue(commandLine)) : 0;
+            SquirrelCli.setCsvSplit(maxMegabytes, maxRows);
+         }
+
          String sql = SquirrelBatchOptions.SQL.getValue(commandLine);
 
          sql = CLISqlFileHandler.handleOptionalSqlFile(sql, false);
 
-         if (SquirrelBatchOptions.TO_FILE_FORMATTED.hasParam(commandLine))
+         if (SquirrelBatchOptions.BENCHMARK.hasParam(commandLine))
+         {
+            int runs = Integer.parseInt(SquirrelBatchOptions.BENCHMARK.getValue(commandLine));
+            int threads = SquirrelBatchOptions.BENCHMARK_THREADS.hasParam(commandLine) ? Integer.parseInt(SquirrelBatchOptions.BENCHMARK_THREADS.getValue(commandLine)) : 1;
+            int fetchSize = SquirrelBatchOptions.FETCH_SIZE.hasParam(commandLine) ? Integer.parseInt(SquirrelBatchOptions.FETCH_SIZE.getValue(commandLine)) : 0;
+
+            SquirrelCli._benchmarkIntern(sql, runs, threads, fetchSize);
+         }
+         else if (SquirrelBatchOptions.TO_FILE_FORMATTED.hasParam(commandLine))
          {
             SquirrelCli._execIntern(sql, SquirrelBatchOptions.TO_FILE_FORMATTED.getValue(commandLine), true);
          }
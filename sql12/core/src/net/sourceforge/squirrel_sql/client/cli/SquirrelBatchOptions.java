@@ -15,7 +15,12 @@ public enum SquirrelBatchOptions
    DRIVER(new Option("driver", true, "JDBC driver class name")),
    DRIVERCP(new Option("drivercp", true, "JDBC driver class path (a Java classpath)")),
    SQL(new Option("sql", true, "SQL statement or SQL script file")),
-   TO_FILE_FORMATTED(new Option("toFileFormatted", true, "File to create. File format will be according to SQuirreL's 'Store result of SQL to file' dialog.")),
+   TO_FILE_FORMATTED(new Option("toFileFormatted", true, "File to create. File format will be according to SQuirreL's 'Store result of SQL to file' dialog. CSV files named like result.csv.gz or result.csv.bz2 are compressed.")),
+   CSV_SPLIT_MAX_MB(new Option("csvSplitMaxMB", true, "Split a CSV file created by toFileFormatted into files of at most the given number of megabytes. 0 means no splitting.")),
+   CSV_SPLIT_MAX_ROWS(new Option("csvSplitMaxRows", true, "Split a CSV file created by toFileFormatted into files of at most the given number of rows. 0 means no splitting.")),
+   BENCHMARK(new Option("benchmark", true, "Executes the SQL the given number of times and prints throughput statistics instead of the results.")),
+   BENCHMARK_THREADS(new Option("benchmarkThreads", true, "Number of connections the benchmark runs on concurrently. Default is 1.")),
+   FETCH_SIZE(new Option("fetchsize", true, "JDBC fetch size used by the benchmark. Default is the JDBC driver's default.")),
    MAX_ROWS(new Option("maxrows", true, "Max rows of SQL query. 0 means no maximum. For default see SQuirreL GUI -> New Session Properties -> tab SQL")),
    USERDIR(new Option("userdir", true, "The user directory of your SQuirreL installation. Needed only if a non standard user directory is used.")),
    HELP(new Option("help", false, "Print help"));
@@ -88,6 +93,55 @@ public enum SquirrelBatchOptions
          }
       }
 
+      for (SquirrelBatchOptions benchmarkOption : new SquirrelBatchOptions[]{BENCHMARK, BENCHMARK_THREADS, FETCH_SIZE})
+      {
+         if(commandLine.hasOption(benchmarkOption._option.getOpt()))
+         {
+            if(false == commandLine.hasOption(BENCHMARK._option.getOpt()))
+            {
+               return benchmarkOption._option.getOpt() + " requires " + BENCHMARK._option.getOpt();
+            }
+
+            try
+            {
+               int value = Integer.parseInt(commandLine.getOptionValue(benchmarkOption._option.getOpt()));
+               if (value < (FETCH_SIZE == benchmarkOption ? 0 : 1))
+               {
+                  return benchmarkOption._option.getOpt() + " must not be less than " + (FETCH_SIZE == benchmarkOption ? 0 : 1);
+               }
+            }
+            catch (NumberFormatException e)
+            {
+               return benchmarkOption._option.getOpt() + " must be an integer";
+            }
+         }
+      }
+
+      if(commandLine.hasOption(BENCHMARK._option.getOpt()) && commandLine.hasOption(TO_FILE_FORMATTED._option.getOpt()))
+      {
+         return BENCHMARK._option.getOpt() + " can not be combined with " + TO_FILE_FORMATTED._option.getOpt();
+      }
+
+      for (SquirrelBatchOptions csvSplitOption : new SquirrelBatchOptions[]{CSV_SPLIT_MAX_MB, CSV_SPLIT_MAX_ROWS})
+      {
+         if(commandLine.hasOption(csvSplitOption._option.getOpt()))
+         {
+            if(false == commandLine.hasOption(TO_FILE_FORMATTED._option.getOpt()))
+            {
+               return csvSplitOption._option.getOpt() + " requires " + TO_FILE_FORMATTED._option.getOpt();
+            }
+
+            try
+            {
+               Integer.parseInt(commandLine.getOptionValue(csvSplitOption._option.getOpt()));
+            }
+            catch (NumberFormatException e)
+            {
+               return csvSplitOption._option.getOpt() + " must be an integer";
+            }
+         }
+      }
+
       if(commandLine.hasOption(TO_FILE_FORMATTED._option.getOpt()))
       {
          if(commandLine.hasOption(MAX_ROWS._option.getOpt()))
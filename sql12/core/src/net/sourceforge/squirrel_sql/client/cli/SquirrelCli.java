@@ -30,6 +30,12 @@ public class SquirrelCli
 
    private static CliConnectionData _cliConnectionData = new CliConnectionData();
 
+   /**
+    * When null the split settings of the 'Store result of SQL to file' dialog are used.
+    */
+   private static Integer _csvSplitMaxMegabytes;
+   private static Integer _csvSplitMaxRows;
+
    public static void connect(String aliasName)
    {
       connect(aliasName, null);
@@ -132,6 +138,14 @@ public class SquirrelCli
       }
    }
 
+   /**
+    * Splits CSV files written by formatted exec() calls into files of at most maxMegabytes or maxRows. 0 means no limit.
+    */
+   public static void setCsvSplit(int maxMegabytes, int maxRows)
+   {
+      _csvSplitMaxMegabytes = maxMegabytes;
+      _csvSplitMaxRows = maxRows;
+   }
 
    public static void exec(String sql)
    {
@@ -180,6 +194,12 @@ public class SquirrelCli
       {
          TableExportPreferences exportPrefs = TableExportPreferencesDAO.createExportPreferencesForFile(outputFile);
 
+         if (null != _csvSplitMaxMegabytes)
+         {
+            exportPrefs.setCsvSplitMaxMegabytes(_csvSplitMaxMegabytes);
+            exportPrefs.setCsvSplitMaxRows(_csvSplitMaxRows);
+         }
+
          ExportFileWriter.writeFile(new ResultSetExportData(stat, sql, dialectType), exportPrefs, new CliProgressAbortCallback());
       }
       catch (SQLException e)
@@ -200,6 +220,35 @@ public class SquirrelCli
       sqlExecuterTask.run();
    }
 
+   /**
+    * Runs sql, which may also be an SQL script file, runs times on threads connections and prints throughput statistics instead of the results.
+    * Row limits are those of {@link #setMaxRows(int)}.
+    *
+    * @param fetchSize 0 means the JDBC driver's default.
+    */
+   public static void benchmark(String sql, int runs, int threads, int fetchSize)
+   {
+      sql = CLISqlFileHandler.handleOptionalSqlFile(sql, true);
+      _benchmarkIntern(sql, runs, threads, fetchSize);
+   }
+
+   public static void _benchmarkIntern(String sql, int runs, int threads, int fetchSize)
+   {
+      if (null == _cliConnectionData.getAlias())
+      {
+         System.err.println("ERROR: No database connection has been opened. Call connect(...) to open a connection.");
+         return;
+      }
+
+      if (1 > runs)
+      {
+         System.err.println("ERROR: The number of runs must be at least 1.");
+         return;
+      }
+
+      new CliBenchmark(_cliConnectionData.getAlias(), sql, runs, threads, fetchSize).run();
+   }
+
    public static void close()
    {
       try
@@ -27,6 +27,10 @@ public class SquirrelCliHelp
       System.out.println("-- exec(<sqlOrSqlFile>, <outputFile>) --> Allows to write the output to a file instead of STDOUT.");
       System.out.println("-- exec(<sqlOrSqlFile>, <outputFile>, <formatted>) --> Allows to write the output to a file instead of STDOUT");
       System.out.println("     When <formatted> is true File format will be according to SQuirreL's 'Store result of SQL to file' dialog.");
+      System.out.println("     CSV files named like result.csv.gz or result.csv.bz2 are compressed.");
+      System.out.println("-- setCsvSplit(<maxMegabytes>, <maxRows>) --> Splits CSV files written by formatted exec() calls into files of at most <maxMegabytes> or <maxRows>. 0 means no limit.");
+      System.out.println("-- benchmark(<sqlOrSqlFile>, <runs>, <threads>, <fetchSize>) --> Executes the SQLs <runs> times on <threads> connections and prints throughput statistics instead of the results.");
+      System.out.println("     Reports latency percentiles per run, rows/s and the time spent executing, fetching and converting the results. <fetchSize> 0 means the JDBC driver's default.");
       System.out.println("-- close() --> Closes the current database connection.");
       System.out.println("-- help() --> Prints this help.");
 
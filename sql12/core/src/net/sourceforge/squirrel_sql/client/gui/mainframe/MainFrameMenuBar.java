@@ -94,6 +94,7 @@ import net.sourceforge.squirrel_sql.client.session.action.DumpSessionAction;
 import net.sourceforge.squirrel_sql.client.session.action.EditWhereColsAction;
 import net.sourceforge.squirrel_sql.client.session.action.EscapeDateAction;
 import net.sourceforge.squirrel_sql.client.session.action.ExecuteAllSqlsAction;
+import net.sourceforge.squirrel_sql.client.session.action.runsqlfile.RunSqlFileAction;
 import net.sourceforge.squirrel_sql.client.session.action.ExecuteSqlAction;
 import net.sourceforge.squirrel_sql.client.session.action.FindColumnsAction;
 import net.sourceforge.squirrel_sql.client.session.action.FormatSQLAction;
@@ -411,6 +412,7 @@ final class MainFrameMenuBar extends JMenuBar
 		addToMenu(rsrc, FindColumnsAction.class, menu);
 		addToMenu(rsrc, ExecuteSqlAction.class, menu);
 		addToMenu(rsrc, ExecuteAllSqlsAction.class, menu);
+		addToMenu(rsrc, RunSqlFileAction.class, menu);
       menu.add(createTransactionMenu(rsrc));
       addToMenu(rsrc, SQLFilterAction.class, menu);
       menu.addSeparator();
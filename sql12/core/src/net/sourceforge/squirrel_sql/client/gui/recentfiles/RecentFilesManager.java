@@ -74,10 +74,11 @@ public class RecentFilesManager
       JsonMarshalUtil.writeObjectToFile(recentFilesBeanFile, _recentFilesJsonBean);
    }
 
+   /**
+    * Does no UI work because it is called by a background startup task, see {@link #showOlderVersionWarningIfNeeded()}.
+    */
    public void initJSonBean(File recentFilesJsonBeanFile)
    {
-      checkIfOlderVersionWarningIsNeeded();
-
       if(false == recentFilesJsonBeanFile.exists())
       {
          return;
@@ -86,7 +87,10 @@ public class RecentFilesManager
       _recentFilesJsonBean = JsonMarshalUtil.readObjectFromFileSave(recentFilesJsonBeanFile, RecentFilesJsonBean.class, new RecentFilesJsonBean());
    }
 
-   private void checkIfOlderVersionWarningIsNeeded()
+   /**
+    * Must be called when the main frame exists because the warning is shown by the application's message handler.
+    */
+   public void showOlderVersionWarningIfNeeded()
    {
       File oldVersionFile = new ApplicationFiles().getRecentFilesXmlBeanFile_oldXmlVersion();
       if(oldVersionFile.exists())
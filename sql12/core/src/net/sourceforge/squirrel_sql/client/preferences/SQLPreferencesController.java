@@ -90,6 +90,10 @@ public class SQLPreferencesController implements IGlobalPreferencesPanel
 
 		_panel.chkNotifyExternalFileChanges.setSelected(prefs.isNotifyExternalFileChanges());
 
+		_panel.chkUseColumnarResultStorage.setSelected(prefs.isUseColumnarResultStorage());
+		_panel.chkSpillResultsToDisk.setSelected(prefs.isSpillResultsToDisk());
+		_panel.txtSpillResultsRowsInMemory.setInt(prefs.getSpillResultsRowsInMemory());
+
 
 		_panel.debugJdbcStream.setSelected(prefs.isJdbcDebugToStream());
 		_panel.debugJdbcWriter.setSelected(prefs.isJdbcDebugToWriter());
@@ -130,6 +134,10 @@ public class SQLPreferencesController implements IGlobalPreferencesPanel
 
 		prefs.setNotifyExternalFileChanges(_panel.chkNotifyExternalFileChanges.isSelected());
 
+		prefs.setUseColumnarResultStorage(_panel.chkUseColumnarResultStorage.isSelected());
+		prefs.setSpillResultsToDisk(_panel.chkSpillResultsToDisk.isSelected());
+		prefs.setSpillResultsRowsInMemory(Math.max(0, _panel.txtSpillResultsRowsInMemory.getInt()));
+
 		if (_panel.debugJdbcStream.isSelected())
 		{
 			prefs.doJdbcDebugToStream();
@@ -49,6 +49,10 @@ public final class SQLPreferencesPanel extends JPanel
 
    JCheckBox chkNotifyExternalFileChanges = new JCheckBox(s_stringMgr.getString("SQLPreferencesPanel.notify.external.file.changes"));
 
+   JCheckBox chkUseColumnarResultStorage = new JCheckBox(s_stringMgr.getString("SQLPreferencesPanel.use.columnar.result.storage"));
+   JCheckBox chkSpillResultsToDisk = new JCheckBox(s_stringMgr.getString("SQLPreferencesPanel.spill.results.to.disk"));
+   IntegerField txtSpillResultsRowsInMemory = new IntegerField(8, 0);
+
    JRadioButton debugJdbcDont = new JRadioButton(s_stringMgr.getString("SQLPreferencesPanel.jdbcdebugdont"));
    JRadioButton debugJdbcStream = new JRadioButton(s_stringMgr.getString("SQLPreferencesPanel.jdbcdebugstream"));
    JRadioButton debugJdbcWriter = new JRadioButton(s_stringMgr.getString("SQLPreferencesPanel.jdbcdebugwriter"));
@@ -182,9 +186,46 @@ public final class SQLPreferencesPanel extends JPanel
       gbc.fill = GridBagConstraints.NONE;
       pnl.add(chkNotifyExternalFileChanges, gbc);
 
+      gbc.gridx = 0;
+      gbc.gridy = 11;
+      gbc.gridwidth = GridBagConstraints.REMAINDER;
+      gbc.fill = GridBagConstraints.HORIZONTAL;
+      pnl.add(createResultStoragePanel(), gbc);
+
       return pnl;
    }
 
+   private JPanel createResultStoragePanel()
+   {
+      JPanel ret = new JPanel(new GridBagLayout());
+
+      GridBagConstraints gbc;
+
+      gbc = new GridBagConstraints(0,0,1,1,0,0,GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(3,3,3,3), 0,0);
+      ret.add(chkUseColumnarResultStorage, gbc);
+
+      gbc = new GridBagConstraints(0,1,1,1,1,0,GridBagConstraints.NORTHWEST, GridBagConstraints.HORIZONTAL, new Insets(0,3,3,3), 0,0);
+      ret.add(new MultipleLineLabel(s_stringMgr.getString("SQLPreferencesPanel.use.columnar.result.storage.hint")), gbc);
+
+      gbc = new GridBagConstraints(0,2,1,1,0,0,GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(3,3,3,3), 0,0);
+      ret.add(chkSpillResultsToDisk, gbc);
+
+      JPanel pnlRowsInMemory = new JPanel(new GridBagLayout());
+      gbc = new GridBagConstraints(0,0,1,1,0,0,GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0,0,0,5), 0,0);
+      pnlRowsInMemory.add(new JLabel(s_stringMgr.getString("SQLPreferencesPanel.spill.results.rows.in.memory")), gbc);
+      gbc = new GridBagConstraints(1,0,1,1,0,0,GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0,0,0,0), 0,0);
+      pnlRowsInMemory.add(txtSpillResultsRowsInMemory, gbc);
+
+      gbc = new GridBagConstraints(0,3,1,1,0,0,GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(0,20,3,3), 0,0);
+      ret.add(pnlRowsInMemory, gbc);
+
+      gbc = new GridBagConstraints(0,4,1,1,1,0,GridBagConstraints.NORTHWEST, GridBagConstraints.HORIZONTAL, new Insets(0,3,3,3), 0,0);
+      ret.add(new MultipleLineLabel(s_stringMgr.getString("SQLPreferencesPanel.spill.results.to.disk.hint")), gbc);
+
+      ret.setBorder(BorderFactory.createEtchedBorder());
+      return ret;
+   }
+
    private JPanel createReloadSQLContentsPanel()
    {
       JPanel ret = new JPanel(new GridBagLayout());
@@ -27,6 +27,7 @@ import net.sourceforge.squirrel_sql.client.session.mainpanel.changetrack.GitHand
 import net.sourceforge.squirrel_sql.client.session.properties.SessionProperties;
 import net.sourceforge.squirrel_sql.client.util.ApplicationFiles;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.IDataSetViewer;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.RowStoreConfig;
 import net.sourceforge.squirrel_sql.fw.util.PropertyChangeReporter;
 import net.sourceforge.squirrel_sql.fw.util.ProxySettings;
 import net.sourceforge.squirrel_sql.fw.util.StringManager;
@@ -149,6 +150,9 @@ public class SquirrelPreferences implements Serializable
 		String SHOW_ALIAS_PASSWORD_COPY_BUTTON = "showAliasPasswordCopyButton";
 		String SHOW_ALIAS_PASSWORD_SHOW_BUTTON = "showAliasPasswordShowButton";
 		String QUERY_TIMEOUT = "queryTimeout";
+		String USE_COLUMNAR_RESULT_STORAGE = "useColumnarResultStorage";
+		String SPILL_RESULTS_TO_DISK = "spillResultsToDisk";
+		String SPILL_RESULTS_ROWS_IN_MEMORY = "spillResultsRowsInMemory";
 
 
 	}
@@ -351,6 +355,10 @@ public class SquirrelPreferences implements Serializable
 	private boolean _showAliasPasswordShowButton;
 	private int _queryTimeout = 0;
 
+	private boolean _useColumnarResultStorage = false;
+	private boolean _spillResultsToDisk = false;
+	private int _spillResultsRowsInMemory = 100000;
+
 	private int _resultTabHeaderMaxCharsInTab = 20;
 	private boolean _resultTabHeaderMarkCurrentSQLsHeader = true;
 	private int _resultTabHeaderMarkColorRGB = Color.green.getRGB();
@@ -1726,4 +1734,48 @@ public class SquirrelPreferences implements Serializable
 	{
 		_resultTabHeaderMarkLastOnly = resultTabHeaderMarkLastOnly;
 	}
+
+	public boolean isUseColumnarResultStorage()
+	{
+		return _useColumnarResultStorage;
+	}
+
+	public void setUseColumnarResultStorage(boolean useColumnarResultStorage)
+	{
+		_useColumnarResultStorage = useColumnarResultStorage;
+	}
+
+	public boolean isSpillResultsToDisk()
+	{
+		return _spillResultsToDisk;
+	}
+
+	public void setSpillResultsToDisk(boolean spillResultsToDisk)
+	{
+		_spillResultsToDisk = spillResultsToDisk;
+	}
+
+	public int getSpillResultsRowsInMemory()
+	{
+		return _spillResultsRowsInMemory;
+	}
+
+	public void setSpillResultsRowsInMemory(int spillResultsRowsInMemory)
+	{
+		_spillResultsRowsInMemory = spillResultsRowsInMemory;
+	}
+
+	/**
+	 * @return How SQL results and table contents hold their rows. null means the default List of Object[].
+	 */
+	public RowStoreConfig createResultRowStoreConfig()
+	{
+		if (false == _useColumnarResultStorage && false == _spillResultsToDisk)
+		{
+			return null;
+		}
+
+		File spillDir = _spillResultsToDisk ? new ApplicationFiles().getResultSpillDir() : null;
+		return new RowStoreConfig(_useColumnarResultStorage, spillDir, _spillResultsRowsInMemory);
+	}
 }
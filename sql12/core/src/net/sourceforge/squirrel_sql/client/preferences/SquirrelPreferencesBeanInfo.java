@@ -147,7 +147,11 @@ public class SquirrelPreferencesBeanInfo extends SimpleBeanInfo implements Squir
             prop(SHOW_ALIAS_PASSWORD_COPY_BUTTON, SquirrelPreferences.class, "getShowAliasPasswordCopyButton", "setShowAliasPasswordCopyButton"),
             prop(SHOW_ALIAS_PASSWORD_SHOW_BUTTON, SquirrelPreferences.class, "getShowAliasPasswordShowButton", "setShowAliasPasswordShowButton"),
 
-            prop(QUERY_TIMEOUT, SquirrelPreferences.class, "getQueryTimeout", "setQueryTimeout")
+            prop(QUERY_TIMEOUT, SquirrelPreferences.class, "getQueryTimeout", "setQueryTimeout"),
+
+            prop(USE_COLUMNAR_RESULT_STORAGE, SquirrelPreferences.class, "isUseColumnarResultStorage", "setUseColumnarResultStorage"),
+            prop(SPILL_RESULTS_TO_DISK, SquirrelPreferences.class, "isSpillResultsToDisk", "setSpillResultsToDisk"),
+            prop(SPILL_RESULTS_ROWS_IN_MEMORY, SquirrelPreferences.class, "getSpillResultsRowsInMemory", "setSpillResultsRowsInMemory")
       };
    }
 
@@ -4,6 +4,7 @@ import net.sourceforge.squirrel_sql.client.session.properties.EditWhereCols;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.DataSetUpdateableTableModelListener;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.IDataSetUpdateableTableModel;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.PendingChanges;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.CellComponentFactory;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.LimitReadLengthFeatureUnstable;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.whereClause.IWhereClausePart;
@@ -21,9 +22,12 @@ import javax.swing.*;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 
@@ -77,6 +81,16 @@ public class DataSetUpdateableTableModelImpl implements IDataSetUpdateableTableM
     */
    private IWhereClausePartUtil whereClausePartUtil = new WhereClausePartUtil();
 
+   /**
+    * Number of where clauses checked by one query in {@link #getWarningOnPendingChanges(PendingChanges, ColumnDisplayDefinition[])}.
+    * Each where clause is bound twice, so this keeps the number of parameters moderate.
+    */
+   private static final int PENDING_CHECK_BATCH_SIZE = 100;
+
+   private static final int PENDING_EXECUTE_BATCH_SIZE = 500;
+
+   private static final int MAX_REPORTED_PENDING_MISMATCHES = 20;
+
    public void setTableInfo(ITableInfo ti)
    {
       this._tableInfo = ti;
@@ -796,6 +810,377 @@ public class DataSetUpdateableTableModelImpl implements IDataSetUpdateableTableM
       return null;   // hear no evil, see no evil
    }
 
+   /**
+    * Link from fw to check the rows of buffered changes.
+    * The rows that buffered edits and deletes refer to must still be found exactly once in the DB
+    * and edited rows must not become identical to other rows.
+    * Instead of one count query per row, each batch of rows is checked by one query
+    * that counts the matches of every row's where clause.
+    */
+   public String getWarningOnPendingChanges(PendingChanges pendingChanges, ColumnDisplayDefinition[] colDefs)
+   {
+      // if we could not identify which table to edit, tell user
+      if (_tableInfo == null)
+      {
+         return TI_ERROR_MESSAGE;
+      }
+
+      ArrayList<PendingRowCheck> checks = new ArrayList<>();
+
+      List<PendingChanges.PendingUpdate> updates = pendingChanges.getUpdates();
+      for (int i = 0; i < updates.size(); i++)
+      {
+         PendingChanges.PendingUpdate update = updates.get(i);
+
+         List<IWhereClausePart> currentParts = getWhereClause(update.getOriginalValues(), colDefs, -1, null);
+         if (whereClausePartUtil.hasUsableWhereClause(currentParts) == false)
+         {
+            return s_stringMgr.getString("DataSetUpdateableTableModelImpl.confirmupdateallrows");
+         }
+         checks.add(new PendingRowCheck(currentParts, s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.updatedrow", i + 1), false));
+
+         Object[] projectedValues = update.getOriginalValues().clone();
+         update.getNewValuesByCol().forEach((col, value) -> projectedValues[col] = value);
+         List<IWhereClausePart> projectedParts = getWhereClause(projectedValues, colDefs, -1, null);
+         if (whereClausePartUtil.hasUsableWhereClause(projectedParts))
+         {
+            checks.add(new PendingRowCheck(projectedParts, s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.updatedrow", i + 1), true));
+         }
+      }
+
+      List<Object[]> deletes = pendingChanges.getDeletes();
+      for (int i = 0; i < deletes.size(); i++)
+      {
+         List<IWhereClausePart> parts = getWhereClause(deletes.get(i), colDefs, -1, null);
+         if (whereClausePartUtil.hasUsableWhereClause(parts) == false)
+         {
+            return s_stringMgr.getString("DataSetUpdateableTableModelImpl.confirmupdateallrows");
+         }
+         checks.add(new PendingRowCheck(parts, s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.deletedrow", i + 1), false));
+      }
+
+      final ISQLConnection conn = _session.getSQLConnection();
+
+      StringBuilder rowCountErrorMessage = new StringBuilder();
+      int mismatchCount = 0;
+
+      for (int start = 0; start < checks.size(); start += PENDING_CHECK_BATCH_SIZE)
+      {
+         List<PendingRowCheck> batch = checks.subList(start, Math.min(start + PENDING_CHECK_BATCH_SIZE, checks.size()));
+
+         String countSql = createCountPendingRowsSql(batch);
+         try
+         {
+            countPendingRows(batch, countSql, conn);
+         }
+         catch (Exception e)
+         {
+            s_log.error("Error when executing count-SQL\n" + countSql, e);
+            return s_stringMgr.getString("DataSetUpdateableTableModelImpl.error.exceptionduringcheck", e);
+         }
+
+         for (PendingRowCheck check : batch)
+         {
+            String mismatch = check.getMismatchMessage();
+            if (null == mismatch)
+            {
+               continue;
+            }
+
+            if (mismatchCount < MAX_REPORTED_PENDING_MISMATCHES)
+            {
+               rowCountErrorMessage.append(mismatch);
+            }
+            else if (mismatchCount == MAX_REPORTED_PENDING_MISMATCHES)
+            {
+               rowCountErrorMessage.append("\n   ...");
+            }
+            ++mismatchCount;
+         }
+      }
+
+      if (rowCountErrorMessage.length() > 0)
+      {
+         return s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.tabledbmismatch", rowCountErrorMessage);
+      }
+
+      // no problems found, so do not return a warning message.
+      return null;
+   }
+
+   /**
+    * Creates an SQL that counts the rows matching each check's where clause:
+    * <code>SELECT SUM(CASE WHEN (w1) THEN 1 ELSE 0 END), ... FROM table WHERE (w1) OR (w2) ...</code>
+    */
+   private String createCountPendingRowsSql(List<PendingRowCheck> batch)
+   {
+      StringBuilder sums = new StringBuilder();
+      StringBuilder where = new StringBuilder();
+      for (PendingRowCheck check : batch)
+      {
+         // The where clause without the leading WHERE keyword
+         String condition = whereClausePartUtil.createWhereClause(check.getWhereClauseParts()).trim().substring("WHERE ".length());
+
+         sums.append(0 == sums.length() ? "SELECT " : ", ");
+         sums.append("SUM(CASE WHEN (").append(condition).append(") THEN 1 ELSE 0 END)");
+
+         where.append(0 == where.length() ? " WHERE " : " OR ");
+         where.append("(").append(condition).append(")");
+      }
+
+      return sums + " FROM " + _tableInfo.getQualifiedName() + where;
+   }
+
+   /**
+    * Sets the count of each check of the batch.
+    *
+    * @param countSql as created by {@link #createCountPendingRowsSql(List)} for the same batch.
+    */
+   private void countPendingRows(List<PendingRowCheck> batch, String countSql, ISQLConnection conn) throws SQLException
+   {
+      PreparedStatement pstmt = null;
+      ResultSet rs = null;
+      try
+      {
+         pstmt = conn.prepareStatement(countSql);
+
+         int position = 1;
+         for (PendingRowCheck check : batch)
+         {
+            position = whereClausePartUtil.setParameters(pstmt, check.getWhereClauseParts(), position, null);
+         }
+         for (PendingRowCheck check : batch)
+         {
+            position = whereClausePartUtil.setParameters(pstmt, check.getWhereClauseParts(), position, null);
+         }
+
+         rs = pstmt.executeQuery();
+         rs.next();
+         for (int i = 0; i < batch.size(); i++)
+         {
+            // SUM() is null when no row matched at all.
+            batch.get(i).setCount(rs.getInt(i + 1));
+         }
+      }
+      finally
+      {
+         SQLUtilities.closeResultSet(rs);
+         SQLUtilities.closeStatement(pstmt);
+      }
+   }
+
+   /**
+    * Link from fw to write buffered changes to the DB.
+    * Statements of the same SQL are sent as JDBC batches. Deletes go first, then updates, then inserts.
+    * When the connection is in auto commit mode all changes are committed together at the end,
+    * otherwise they become part of the user's current transaction.
+    * On failure everything done here is rolled back.
+    */
+   public String applyPendingChanges(PendingChanges pendingChanges, ColumnDisplayDefinition[] colDefs)
+   {
+      // if we could not identify which table to edit, tell user
+      if (_tableInfo == null)
+      {
+         return TI_ERROR_MESSAGE;
+      }
+
+      final ISQLConnection conn = _session.getSQLConnection();
+
+      boolean autoCommit;
+      Savepoint savepoint = null;
+      try
+      {
+         autoCommit = conn.getAutoCommit();
+         if (autoCommit)
+         {
+            conn.setAutoCommit(false);
+         }
+         else
+         {
+            savepoint = trySetSavepoint(conn);
+         }
+      }
+      catch (SQLException e)
+      {
+         s_log.error("applyPendingChanges: failed to begin transaction", e);
+         return s_stringMgr.getString("DataSetUpdateableTableModelImpl.error.updateproblem", Utilities.getExceptionStringSave(e));
+      }
+
+      try
+      {
+         String message = executePendingChanges(pendingChanges, colDefs, conn);
+
+         if (null == message)
+         {
+            if (autoCommit)
+            {
+               conn.commit();
+            }
+
+            if (false == pendingChanges.getInserts().isEmpty())
+            {
+               // Like insertRow() to show values generated by the DB
+               refreshSelectedTab();
+            }
+            return null;
+         }
+
+         if (rollbackPendingChanges(conn, autoCommit, savepoint))
+         {
+            return message;
+         }
+         return s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.error.notrolledback", message);
+      }
+      catch (SQLException e)
+      {
+         s_log.error("applyPendingChanges: unexpected exception - " + e.getMessage(), e);
+         if (rollbackPendingChanges(conn, autoCommit, savepoint))
+         {
+            return s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.error.rolledback", Utilities.getExceptionStringSave(e));
+         }
+         return s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.error.notrolledback", Utilities.getExceptionStringSave(e));
+      }
+      finally
+      {
+         if (autoCommit)
+         {
+            try
+            {
+               conn.setAutoCommit(true);
+            }
+            catch (SQLException e)
+            {
+               s_log.error("applyPendingChanges: failed to restore auto commit", e);
+            }
+         }
+      }
+   }
+
+   private Savepoint trySetSavepoint(ISQLConnection conn)
+   {
+      try
+      {
+         return conn.getConnection().setSavepoint();
+      }
+      catch (Throwable t)
+      {
+         s_log.info("applyPendingChanges: savepoints not supported, changes cannot be rolled back on failure: " + t);
+         return null;
+      }
+   }
+
+   /**
+    * @return true if the changes could be rolled back.
+    */
+   private boolean rollbackPendingChanges(ISQLConnection conn, boolean autoCommit, Savepoint savepoint)
+   {
+      try
+      {
+         if (autoCommit)
+         {
+            conn.rollback();
+            return true;
+         }
+         else if (null != savepoint)
+         {
+            conn.getConnection().rollback(savepoint);
+            return true;
+         }
+      }
+      catch (SQLException e)
+      {
+         s_log.error("applyPendingChanges: rollback failed", e);
+      }
+      return false;
+   }
+
+   /**
+    * @return null on success else a message to show to the user.
+    */
+   private String executePendingChanges(PendingChanges pendingChanges, ColumnDisplayDefinition[] colDefs, ISQLConnection conn) throws SQLException
+   {
+      LinkedHashMap<String, List<PendingStatement>> statementsBySql = new LinkedHashMap<>();
+
+      for (Object[] values : pendingChanges.getDeletes())
+      {
+         List<IWhereClausePart> whereClauseParts = getWhereClause(values, colDefs, -1, null);
+         String sql = "DELETE FROM " + _tableInfo.getQualifiedName() + whereClausePartUtil.createWhereClause(whereClauseParts);
+         statementsBySql.computeIfAbsent(sql, s -> new ArrayList<>()).add(pstmt -> whereClausePartUtil.setParameters(pstmt, whereClauseParts, 1, null));
+      }
+
+      for (PendingChanges.PendingUpdate update : pendingChanges.getUpdates())
+      {
+         List<IWhereClausePart> whereClauseParts = getWhereClause(update.getOriginalValues(), colDefs, -1, null);
+
+         StringBuilder sql = new StringBuilder("UPDATE ").append(_tableInfo.getQualifiedName()).append(" SET ");
+         String separator = "";
+         for (Integer col : update.getNewValuesByCol().keySet())
+         {
+            sql.append(separator);
+            sql.append(DialectUtils2.checkColumnDoubleQuotes(colDefs[col].getDialectType(), colDefs[col].getColumnName())).append(" = ?");
+            separator = ", ";
+         }
+         sql.append(" ").append(whereClausePartUtil.createWhereClause(whereClauseParts));
+
+         statementsBySql.computeIfAbsent(sql.toString(), s -> new ArrayList<>()).add(pstmt -> {
+            int position = 1;
+            for (Map.Entry<Integer, Object> entry : update.getNewValuesByCol().entrySet())
+            {
+               CellComponentFactory.setPreparedStatementValue(colDefs[entry.getKey()], pstmt, entry.getValue(), position++);
+            }
+            whereClausePartUtil.setParameters(pstmt, whereClauseParts, position, null);
+         });
+      }
+
+      List<Object[]> inserts = pendingChanges.getInserts();
+      if (false == inserts.isEmpty())
+      {
+         String insertSql = constructInsertSql(colDefs);
+         for (Object[] values : inserts)
+         {
+            statementsBySql.computeIfAbsent(insertSql, s -> new ArrayList<>()).add(pstmt -> setInsertParameters(pstmt, values, colDefs));
+         }
+      }
+
+      for (Map.Entry<String, List<PendingStatement>> entry : statementsBySql.entrySet())
+      {
+         String sql = entry.getKey();
+         if (s_log.isDebugEnabled())
+         {
+            s_log.debug("applyPendingChanges: executing " + entry.getValue().size() + " times SQL - " + sql);
+         }
+
+         PreparedStatement pstmt = conn.prepareStatement(sql);
+         try
+         {
+            List<PendingStatement> statements = entry.getValue();
+            for (int i = 0; i < statements.size(); i++)
+            {
+               statements.get(i).setParameters(pstmt);
+               pstmt.addBatch();
+
+               if ((i + 1) % PENDING_EXECUTE_BATCH_SIZE == 0 || i == statements.size() - 1)
+               {
+                  for (int count : pstmt.executeBatch())
+                  {
+                     if (count == 0)
+                     {
+                        s_log.error("applyPendingChanges: no rows changed by SQL: " + sql);
+                        return s_stringMgr.getString("DataSetUpdateableTableModelImpl.pending.error.norowschanged");
+                     }
+                  }
+               }
+            }
+         }
+         finally
+         {
+            SQLUtilities.closeStatement(pstmt);
+         }
+      }
+
+      return null;
+   }
+
    /**
     * Let fw get the list of default values for the columns
     * to be used when creating a new row
@@ -894,46 +1279,7 @@ public class DataSetUpdateableTableModelImpl implements IDataSetUpdateableTableM
 
       try
       {
-         // start the string for use in the prepared statment
-         StringBuilder buf = new StringBuilder("INSERT INTO ");
-         buf.append(_tableInfo.getQualifiedName());
-
-         // Add the list of column names we will be inserting into - be sure
-         // to skip the rowId column and any auto increment columns.
-         buf.append(" ( ");
-         for (int i = 0; i < colDefs.length; i++)
-         {
-            if (i == _rowIDcol)
-            {
-               continue;
-            }
-            if (colDefs[i].isAutoIncrement())
-            {
-               if (s_log.isInfoEnabled())
-               {
-                  s_log.info("insertRow: skipping auto-increment column " +
-                        colDefs[i].getColumnName());
-               }
-               continue;
-            }
-            buf.append(DialectUtils2.checkColumnDoubleQuotes(colDefs[i].getDialectType(), colDefs[i].getColumnName()));
-            buf.append(",");
-         }
-         buf.setCharAt(buf.length() - 1, ')');
-         buf.append(" VALUES (");
-
-         // add a variable position for each of the columns
-         for (int i = 0; i < colDefs.length; i++)
-         {
-            if (i != _rowIDcol && !colDefs[i].isAutoIncrement())
-
-               buf.append(" ?,");
-         }
-
-         // replace the last "," with ")"
-         buf.setCharAt(buf.length() - 1, ')');
-
-         String pstmtSQL = buf.toString();
+         String pstmtSQL = constructInsertSql(colDefs);
          if (s_log.isInfoEnabled())
          {
             s_log.info("insertRow: pstmt sql = " + pstmtSQL);
@@ -942,22 +1288,7 @@ public class DataSetUpdateableTableModelImpl implements IDataSetUpdateableTableM
 
          try
          {
-            // We need to keep track of the bind var index separately, since 
-            // the number of column defs may not be the number of bind vars
-            // (For example: auto-increment columns are excluded)
-            int bindVarIdx = 1;
-
-            // have the DataType object fill in the appropriate kind of value
-            // into the appropriate variable position in the prepared stmt
-            for (int i = 0; i < colDefs.length; i++)
-            {
-               if (i != _rowIDcol && !colDefs[i].isAutoIncrement())
-               {
-                  CellComponentFactory.setPreparedStatementValue(
-                        colDefs[i], pstmt, values[i], bindVarIdx);
-                  bindVarIdx++;
-               }
-            }
+            setInsertParameters(pstmt, values, colDefs);
             count = pstmt.executeUpdate();
          }
          finally
@@ -979,6 +1310,13 @@ public class DataSetUpdateableTableModelImpl implements IDataSetUpdateableTableM
          return s_stringMgr.getString("DataSetUpdateableTableModelImpl.error.unknownerrorupdate");
 
       // insert succeeded
+      refreshSelectedTab();
+
+      return null;
+   }
+
+   private void refreshSelectedTab()
+   {
       try
       {
          IObjectTreeAPI api = _session.getObjectTreeAPIOfActiveSessionWindow();
@@ -988,8 +1326,73 @@ public class DataSetUpdateableTableModelImpl implements IDataSetUpdateableTableM
       {
          e.printStackTrace();
       }
+   }
 
-      return null;
+   /**
+    * Build the insert SQL. The rowId column and auto increment columns are skipped.
+    */
+   private String constructInsertSql(ColumnDisplayDefinition[] colDefs)
+   {
+      // start the string for use in the prepared statment
+      StringBuilder buf = new StringBuilder("INSERT INTO ");
+      buf.append(_tableInfo.getQualifiedName());
+
+      // Add the list of column names we will be inserting into - be sure
+      // to skip the rowId column and any auto increment columns.
+      buf.append(" ( ");
+      for (int i = 0; i < colDefs.length; i++)
+      {
+         if (i == _rowIDcol)
+         {
+            continue;
+         }
+         if (colDefs[i].isAutoIncrement())
+         {
+            if (s_log.isInfoEnabled())
+            {
+               s_log.info("insertRow: skipping auto-increment column " +
+                     colDefs[i].getColumnName());
+            }
+            continue;
+         }
+         buf.append(DialectUtils2.checkColumnDoubleQuotes(colDefs[i].getDialectType(), colDefs[i].getColumnName()));
+         buf.append(",");
+      }
+      buf.setCharAt(buf.length() - 1, ')');
+      buf.append(" VALUES (");
+
+      // add a variable position for each of the columns
+      for (int i = 0; i < colDefs.length; i++)
+      {
+         if (i != _rowIDcol && !colDefs[i].isAutoIncrement())
+
+            buf.append(" ?,");
+      }
+
+      // replace the last "," with ")"
+      buf.setCharAt(buf.length() - 1, ')');
+
+      return buf.toString();
+   }
+
+   private void setInsertParameters(PreparedStatement pstmt, Object[] values, ColumnDisplayDefinition[] colDefs) throws SQLException
+   {
+      // We need to keep track of the bind var index separately, since
+      // the number of column defs may not be the number of bind vars
+      // (For example: auto-increment columns are excluded)
+      int bindVarIdx = 1;
+
+      // have the DataType object fill in the appropriate kind of value
+      // into the appropriate variable position in the prepared stmt
+      for (int i = 0; i < colDefs.length; i++)
+      {
+         if (i != _rowIDcol && !colDefs[i].isAutoIncrement())
+         {
+            CellComponentFactory.setPreparedStatementValue(
+                  colDefs[i], pstmt, values[i], bindVarIdx);
+            bindVarIdx++;
+         }
+      }
    }
 
    public void addListener(DataSetUpdateableTableModelListener l)
@@ -1029,4 +1432,12 @@ public class DataSetUpdateableTableModelImpl implements IDataSetUpdateableTableM
    {
       return _session;
    }
+
+   /**
+    * Binds the parameters of one statement of a JDBC batch.
+    */
+   private interface PendingStatement
+   {
+      void setParameters(PreparedStatement pstmt) throws SQLException;
+   }
 }
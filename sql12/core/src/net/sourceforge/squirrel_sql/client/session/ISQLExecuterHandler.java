@@ -34,6 +34,11 @@ import java.util.ArrayList;
  */
 public interface ISQLExecuterHandler
 {
+   /**
+    * See {@link #sqlStatementCount(int)}
+    */
+   int STATEMENT_COUNT_UNKNOWN = -1;
+
 	/**
 	 * Called just prior to the sql being executed
 	 * <p/> This event is fired once for each sql statement that is executed.
@@ -87,7 +92,10 @@ public interface ISQLExecuterHandler
 	void sqlExecutionWarning(SQLWarning warn);
 
    /**
-    * To set the number of statements that will be executed
+    * To set the number of statements that will be executed.
+    * This is {@link #STATEMENT_COUNT_UNKNOWN} for scripts that are tokenized while they are executed.
+    * For these {@link #sqlExecutionComplete(SQLExecutionInfo, int, int)} receives the number of statements
+    * when the last statement was executed.
     */
 	void sqlStatementCount(int statementCount);
 
@@ -0,0 +1,68 @@
+package net.sourceforge.squirrel_sql.client.session;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.whereClause.IWhereClausePart;
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+
+import java.util.List;
+
+/**
+ * One row of buffered changes to be counted in the DB by
+ * {@link DataSetUpdateableTableModelImpl#getWarningOnPendingChanges(net.sourceforge.squirrel_sql.fw.datasetviewer.PendingChanges, net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition[])}.
+ */
+class PendingRowCheck
+{
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(PendingRowCheck.class);
+
+   private final List<IWhereClausePart> _whereClauseParts;
+   private final String _rowDescription;
+   private final boolean _projected;
+   private int _count = -1;
+
+   /**
+    * @param projected true when the where clause describes the row as it will be after the update.
+    *                  Then no other row should match. Otherwise exactly one row should match.
+    */
+   PendingRowCheck(List<IWhereClausePart> whereClauseParts, String rowDescription, boolean projected)
+   {
+      _whereClauseParts = whereClauseParts;
+      _rowDescription = rowDescription;
+      _projected = projected;
+   }
+
+   List<IWhereClausePart> getWhereClauseParts()
+   {
+      return _whereClauseParts;
+   }
+
+   void setCount(int count)
+   {
+      _count = count;
+   }
+
+   /**
+    * @return null if the count is as expected.
+    */
+   String getMismatchMessage()
+   {
+      if (_projected)
+      {
+         // Like DataSetUpdateableTableModelImpl.getWarningOnProjectedUpdate()
+         if (_count > 1)
+         {
+            return s_stringMgr.getString("PendingRowCheck.identicalrows", _rowDescription, _count);
+         }
+         return null;
+      }
+
+      if (_count == 0)
+      {
+         return s_stringMgr.getString("PendingRowCheck.rownotmatch", _rowDescription);
+      }
+      if (_count > 1)
+      {
+         return s_stringMgr.getString("PendingRowCheck.rowmatched", _rowDescription, _count);
+      }
+      return null;
+   }
+}
@@ -27,6 +27,9 @@ package net.sourceforge.squirrel_sql.client.session;
  * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
  */
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -46,8 +49,10 @@ import net.sourceforge.squirrel_sql.fw.sql.ITableInfo;
 import net.sourceforge.squirrel_sql.fw.sql.TableInfo;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.IQueryTokenizer;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.QueryHolder;
+import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.StreamingQueryTokenizer;
 import net.sourceforge.squirrel_sql.fw.util.StringManager;
 import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
 import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
 
@@ -63,6 +68,16 @@ public class SQLExecuterTask implements Runnable
 
    private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(SQLExecuterTask.class);
 
+   /**
+    * SQL strings longer than this are tokenized while they are executed, see {@link StreamingQueryTokenizer}.
+    * The string itself is in memory anyway, streaming saves holding all of its statements as well.
+    * Scripts that come from a file should be passed as Reader, see {@link #SQLExecuterTask(ISession, Reader, ISQLExecuterHandler)},
+    * then neither the script nor its statements are held in memory.
+    *
+    * Streaming requires the session's tokenizer to support it, see {@link IQueryTokenizer#createStreamingTokenizer(Reader)}.
+    */
+   private static final int STREAMING_SCRIPT_MIN_LENGTH = 1024 * 1024;
+
    /** The call back object*/
    private ISQLExecuterHandler _handler;
 
@@ -77,6 +92,16 @@ public class SQLExecuterTask implements Runnable
    private List<ISQLExecutionListener> _executionListeners = new ArrayList<>();
    private SchemaInfoUpdateCheck _schemaInfoUpdateCheck;
    private IQueryTokenizer _tokenizer = null;
+
+   /**
+    * Non null if the script is tokenized while it is executed.
+    */
+   private StreamingQueryTokenizer _streamingTokenizer;
+
+   /**
+    * Null means the session property {@link SessionProperties#getAbortOnError()} applies.
+    */
+   private Boolean _abortOnError;
    /** Whether or not to check if the schema should be updated */
    private boolean _schemaCheck = true;
    private StatementWrapper _currentStatementWrapper;
@@ -100,7 +125,16 @@ public class SQLExecuterTask implements Runnable
       _schemaInfoUpdateCheck = new SchemaInfoUpdateCheck(_session);
       _sql = sql;
       _tokenizer = _session.getQueryTokenizer();
-      _tokenizer.setScriptToTokenize(_sql);
+
+      if (null != _sql && STREAMING_SCRIPT_MIN_LENGTH < _sql.length())
+      {
+         _streamingTokenizer = _tokenizer.createStreamingTokenizer(new StringReader(_sql));
+      }
+
+      if (null == _streamingTokenizer && null != _sql)
+      {
+         _tokenizer.setScriptToTokenize(_sql);
+      }
       _handler = handler;
       if (_handler == null)
       {
@@ -109,6 +143,46 @@ public class SQLExecuterTask implements Runnable
       _executionListeners = executionListeners;
    }
 
+   /**
+    * Executes a script that is read from the Reader while it is executed, see {@link StreamingQueryTokenizer}.
+    * If the session's query tokenizer can't stream, the whole script is read and tokenized here.
+    * The Reader is closed when execution finished.
+    */
+   public SQLExecuterTask(ISession session, Reader script, ISQLExecuterHandler handler)
+   {
+      this(session, (String) null, handler, new ArrayList<>(), null);
+
+      _streamingTokenizer = _tokenizer.createStreamingTokenizer(script);
+
+      if (null == _streamingTokenizer)
+      {
+         s_log.info("The session's query tokenizer can not stream. The whole script is read before it is executed.");
+         _sql = readScript(script);
+         _tokenizer.setScriptToTokenize(_sql);
+      }
+   }
+
+   /**
+    * Reads the text as it is, line ends and a trailing line end included.
+    */
+   private static String readScript(Reader script)
+   {
+      try (Reader reader = script)
+      {
+         StringBuilder ret = new StringBuilder();
+         char[] buf = new char[8192];
+         for (int read = reader.read(buf); -1 != read; read = reader.read(buf))
+         {
+            ret.append(buf, 0, read);
+         }
+         return ret.toString();
+      }
+      catch (IOException e)
+      {
+         throw Utilities.wrapRuntime(e);
+      }
+   }
+
    public void clearExecutionListeners()
    {
        _executionListeners.clear();
@@ -121,12 +195,41 @@ public class SQLExecuterTask implements Runnable
 
    /**
     * Returns the number of queries that the tokenizer found in _sql.
-    * @return
+    * @return {@link ISQLExecuterHandler#STATEMENT_COUNT_UNKNOWN} if the script is tokenized while it is executed.
     */
    public int getQueryCount() {
+       if (isStreamingScript())
+       {
+          return ISQLExecuterHandler.STATEMENT_COUNT_UNKNOWN;
+       }
        return _tokenizer.getQueryCount();
    }
 
+   /**
+    * @return true if the script is too large to be tokenized up front and its statements are read while it is executed.
+    */
+   public boolean isStreamingScript()
+   {
+      return null != _streamingTokenizer;
+   }
+
+   /**
+    * Overrides the session property {@link SessionProperties#getAbortOnError()} for this execution.
+    */
+   public void setAbortOnError(boolean abortOnError)
+   {
+      _abortOnError = abortOnError;
+   }
+
+   private boolean isAbortOnError(SessionProperties props)
+   {
+      if (null != _abortOnError)
+      {
+         return _abortOnError;
+      }
+      return props.getAbortOnError();
+   }
+
    public void setSchemaCheck(boolean schemaCheck)
    {
       _schemaCheck = schemaCheck;
@@ -139,7 +242,7 @@ public class SQLExecuterTask implements Runnable
 
    public void runDirect(DatabaseUpdateInfosListener databaseUpdateInfosListener)
    {
-      if (_sql == null)
+      if (_sql == null && false == isStreamingScript())
       {
          return;
       }
@@ -158,7 +261,7 @@ public class SQLExecuterTask implements Runnable
 
          final boolean correctlySupportsMaxRows = conn.getSQLMetaData().correctlySupportsSetMaxRows();
 
-         if(_tokenizer.getQueryCount() == 0)
+         if(false == hasQuery())
          {
             throw new IllegalArgumentException("No SQL selected for execution.");
          }
@@ -166,18 +269,24 @@ public class SQLExecuterTask implements Runnable
          _currentQueryIndex = 0;
 
          int processedStatementCount = 0;
-         statementCount = _tokenizer.getQueryCount();
+         statementCount = getQueryCount();
 
          _handler.sqlStatementCount(statementCount);
 
-         while (_tokenizer.hasQuery() && !_cancelExecution)
+         while (hasQuery() && !_cancelExecution)
          {
-            QueryHolder querySql = _tokenizer.nextQuery();
+            QueryHolder querySql = nextQuery();
             if (querySql == null)
             {
                continue;
             }
 
+            if (isStreamingScript() && false == _streamingTokenizer.hasQuery())
+            {
+               // The last statement of a streamed script, now the number of statements is known.
+               statementCount = _streamingTokenizer.getQueryCount();
+            }
+
             ++processedStatementCount;
             if (_handler != null)
             {
@@ -230,13 +339,13 @@ public class SQLExecuterTask implements Runnable
                }
                else
                {
-                  if (props.getAbortOnError())
+                  if (isAbortOnError(props))
                   {
                      throw ex;
                   }
                   else
                   {
-                     if (1 < statementCount)
+                     if (isMultipleStatements(statementCount))
                      {
                         sqlExecErrorMsgs.add(handleError(ex, "Error occurred in:\n" + lastExecutedStatement));
                      }
@@ -255,7 +364,7 @@ public class SQLExecuterTask implements Runnable
       }
       catch (final Throwable ex)
       {
-         if(props.getAbortOnError() && 1 < statementCount)
+         if(isAbortOnError(props) && isMultipleStatements(statementCount))
          {
             sqlExecErrorMsgs.add(handleError(ex, "Error occurred in:\n" + lastExecutedStatement));
          }
@@ -273,6 +382,8 @@ public class SQLExecuterTask implements Runnable
       }
       finally
       {
+         closeStreamingTokenizer();
+
          _session.returnUserQuerySQLConnection(conn);
 
          if (_cancelExecution)
@@ -303,6 +414,46 @@ public class SQLExecuterTask implements Runnable
       }
    }
 
+   private boolean hasQuery()
+   {
+      if (isStreamingScript())
+      {
+         return _streamingTokenizer.hasQuery();
+      }
+      return _tokenizer.hasQuery();
+   }
+
+   private QueryHolder nextQuery()
+   {
+      if (isStreamingScript())
+      {
+         return _streamingTokenizer.nextQuery();
+      }
+      return _tokenizer.nextQuery();
+   }
+
+   private boolean isMultipleStatements(int statementCount)
+   {
+      return 1 < statementCount || ISQLExecuterHandler.STATEMENT_COUNT_UNKNOWN == statementCount;
+   }
+
+   private void closeStreamingTokenizer()
+   {
+      if (false == isStreamingScript())
+      {
+         return;
+      }
+
+      try
+      {
+         _streamingTokenizer.close();
+      }
+      catch (IOException e)
+      {
+         s_log.error("Failed to close script reader", e);
+      }
+   }
+
    private StatementWrapper createStatementWrapper(ISQLConnection conn) throws SQLException
    {
       StatementWrapper ret = new StatementWrapper(conn.createStatement(), _session);
@@ -0,0 +1,45 @@
+package net.sourceforge.squirrel_sql.client.session.action;
+
+import net.sourceforge.squirrel_sql.client.IApplication;
+import net.sourceforge.squirrel_sql.client.action.SquirrelAction;
+import net.sourceforge.squirrel_sql.client.session.IObjectTreeAPI;
+import net.sourceforge.squirrel_sql.fw.sql.DatabaseObjectType;
+import net.sourceforge.squirrel_sql.fw.sql.IDatabaseObjectInfo;
+
+import java.awt.event.ActionEvent;
+
+/**
+ * Stops loading the meta data cache of the schemas selected in the object tree.
+ * Loading of the other schemas goes on.
+ */
+public class CancelSchemaLoadingAction extends SquirrelAction implements IObjectTreeAction
+{
+   private IObjectTreeAPI _tree;
+
+   public CancelSchemaLoadingAction(IApplication app)
+   {
+      super(app);
+   }
+
+   public void setObjectTree(IObjectTreeAPI tree)
+   {
+      _tree = tree;
+      setEnabled(null != _tree);
+   }
+
+   public void actionPerformed(ActionEvent evt)
+   {
+      if (null == _tree)
+      {
+         return;
+      }
+
+      for (IDatabaseObjectInfo dboInfo : _tree.getSelectedDatabaseObjects())
+      {
+         if (DatabaseObjectType.SCHEMA == dboInfo.getDatabaseObjectType())
+         {
+            _tree.getSession().getSchemaInfo().cancelSchemaLoading(dboInfo.getSimpleName());
+         }
+      }
+   }
+}
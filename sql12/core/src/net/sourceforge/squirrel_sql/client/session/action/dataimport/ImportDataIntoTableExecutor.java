@@ -18,11 +18,17 @@ package net.sourceforge.squirrel_sql.client.session.action.dataimport;
  */
 
 import java.io.IOException;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import javax.swing.JOptionPane;
 
 import net.sourceforge.squirrel_sql.client.session.ExtendedColumnInfo;
@@ -39,6 +45,7 @@ import net.sourceforge.squirrel_sql.fw.sql.ITableInfo;
 import net.sourceforge.squirrel_sql.fw.sql.SQLUtilities;
 import net.sourceforge.squirrel_sql.fw.util.StringManager;
 import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
 import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
 
@@ -53,6 +60,18 @@ public class ImportDataIntoTableExecutor
 
    private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(ImportDataIntoTableExecutor.class);
 
+   /**
+    * Number of rows handed from the reader to the writer at once when batches are not used.
+    */
+   private static final int UNBATCHED_CHUNK_SIZE = 100;
+
+   /**
+    * Number of chunks the reader may read ahead of the writer.
+    */
+   private static final int QUEUED_CHUNKS = 4;
+
+   private static final List<ImportRow> END_OF_ROWS = new ArrayList<>();
+
    private ISession _session;
    private ITableInfo _table;
    private ExtendedColumnInfo[] _columns;
@@ -64,6 +83,7 @@ public class ImportDataIntoTableExecutor
    private final boolean _singleTransaction;
    private final int _commitAfterEveryInserts;
    private boolean _deleteExistingData;
+   private final int _batchSize;
 
 
    /**
@@ -77,7 +97,8 @@ public class ImportDataIntoTableExecutor
     * @param importer                The file importer
     * @param singleTransaction
     * @param commitAfterEveryInserts
-    * @param selected
+    * @param deleteExistingData
+    * @param batchSize               Number of rows sent in one JDBC batch. Values less than 2 disable batches.
     */
    public ImportDataIntoTableExecutor(ISession session,
                                       ITableInfo table,
@@ -87,7 +108,8 @@ public class ImportDataIntoTableExecutor
                                       IFileImporter importer,
                                       boolean singleTransaction,
                                       int commitAfterEveryInserts,
-                                      boolean deleteExistingData)
+                                      boolean deleteExistingData,
+                                      int batchSize)
    {
       _session = session;
       _table = table;
@@ -99,6 +121,7 @@ public class ImportDataIntoTableExecutor
       _singleTransaction = singleTransaction;
       _commitAfterEveryInserts = commitAfterEveryInserts;
       _deleteExistingData = deleteExistingData;
+      _batchSize = batchSize;
    }
 
    /**
@@ -126,7 +149,12 @@ public class ImportDataIntoTableExecutor
 
    /**
     * Performs the table copy operation.
-    *  @param singleTransaction
+    *
+    * The file is read and converted by a {@link RowReader} on its own thread while this thread
+    * writes the rows it receives in chunks to the database. If the driver supports it,
+    * each chunk is sent as one JDBC batch.
+    *
+    * @param singleTransaction
     * @param commitAfterEveryInserts
     * @param deleteExistingData
     * @param importProgressCtrl
@@ -142,7 +170,7 @@ public class ImportDataIntoTableExecutor
       insertSQL.append(" (").append(getQuestionMarks(_columnMappingModel.getColumnCountExcludingSkipped(_columns))).append(")");
 
       PreparedStatement stmt = null;
-      int currentRow = 0;
+      RowReader rowReader = null;
       boolean success = false;
 
       boolean originalAutoCommit = getOriginalAutoCommit(conn);
@@ -168,54 +196,49 @@ public class ImportDataIntoTableExecutor
 
          stmt = conn.prepareStatement(insertSQL.toString());
 
-         while (_importer.next())
-         {
+         DatabaseMetaData md = conn.getConnection().getMetaData();
+         boolean useBatches = 1 < _batchSize && md.supportsBatchUpdates();
+         boolean useSavepoints = useBatches && md.supportsSavepoints();
+
+         int parameterCount = _columnMappingModel.getColumnCountExcludingSkipped(_columns);
+         rowReader = new RowReader(useBatches ? _batchSize : UNBATCHED_CHUNK_SIZE, parameterCount, importProgressCtrl);
+         rowReader.start();
 
+         int rowsWritten = 0;
+         List<ImportRow> chunk;
+         while (null != (chunk = rowReader.takeChunk()))
+         {
             if(importProgressCtrl.isCanceled())
             {
                break;
             }
 
-            currentRow++;
-
-            importProgressCtrl.setCurrentRow(currentRow);
-
-            stmt.clearParameters();
-            int i = 1;
-            for (ExtendedColumnInfo column : _columns)
+            if (useBatches)
             {
-               String mapping = _columnMappingModel.getMapping(column);
-               if (SpecialColumnMapping.SKIP.getVisibleString().equals(mapping))
-               {
-                  continue;
-               }
-               else if (SpecialColumnMapping.FIXED_VALUE.getVisibleString().equals(mapping))
-               {
-                  bindFixedColumn(stmt, i++, column);
-               }
-               else if (SpecialColumnMapping.AUTO_INCREMENT.getVisibleString().equals(mapping))
-               {
-                  bindAutoincrementColumn(stmt, i++, column, currentRow);
-               }
-               else if (SpecialColumnMapping.NULL.getVisibleString().equals(mapping))
-               {
-                  stmt.setNull(i++, column.getTableColumnInfo().getDataType());
-               }
-               else
-               {
-                  bindColumn(stmt, i++, column);
-               }
-            }
-            stmt.executeUpdate();
+               writeBatch(conn, stmt, chunk, useSavepoints, importProgressCtrl);
+               importProgressCtrl.setCurrentRow(chunk.get(chunk.size() - 1).getRowNumber());
 
-            if (false == singleTransaction)
+               commitIfNeeded(conn, singleTransaction, commitAfterEveryInserts, rowsWritten, rowsWritten + chunk.size());
+               rowsWritten += chunk.size();
+            }
+            else
             {
-               if (0 < currentRow && 0 == currentRow % commitAfterEveryInserts)
+               for (ImportRow row : chunk)
                {
-                  conn.commit();
+                  importProgressCtrl.setCurrentRow(row.getRowNumber());
+
+                  row.bind(stmt);
+                  stmt.executeUpdate();
+
+                  commitIfNeeded(conn, singleTransaction, commitAfterEveryInserts, rowsWritten, rowsWritten + 1);
+                  ++rowsWritten;
                }
             }
          }
+
+         rowReader.rethrowFailure();
+
+         rowReader.stop();
          _importer.close();
          success = true;
       }
@@ -241,6 +264,12 @@ public class ImportDataIntoTableExecutor
          {
             try
             {
+               if (null != rowReader)
+               {
+                  // The importer must not be closed while the reader still uses it.
+                  rowReader.stop();
+               }
+
                _importer.close();
                finishTransaction(conn, success);
             }
@@ -272,6 +301,115 @@ public class ImportDataIntoTableExecutor
       }
    }
 
+   /**
+    * Sends the chunk as one JDBC batch. When the batch fails its rows are executed
+    * one by one so that the failing row can be reported. This requires the batch
+    * to be rolled back to a savepoint first. If savepoints are not supported the first row
+    * of the chunk is reported.
+    */
+   private void writeBatch(ISQLConnection conn, PreparedStatement stmt, List<ImportRow> chunk, boolean useSavepoints, ImportProgressCtrl importProgressCtrl) throws SQLException
+   {
+      Savepoint savepoint = useSavepoints ? conn.getConnection().setSavepoint() : null;
+
+      try
+      {
+         for (ImportRow row : chunk)
+         {
+            row.bind(stmt);
+            stmt.addBatch();
+         }
+         stmt.executeBatch();
+      }
+      catch (SQLException e)
+      {
+         stmt.clearBatch();
+
+         if (null == savepoint)
+         {
+            importProgressCtrl.setCurrentRow(chunk.get(0).getRowNumber());
+            throw e;
+         }
+
+         s_log.info("Insert batch failed. Executing its rows one by one to find the failing row.", e);
+         conn.getConnection().rollback(savepoint);
+
+         for (ImportRow row : chunk)
+         {
+            importProgressCtrl.setCurrentRow(row.getRowNumber());
+            row.bind(stmt);
+            stmt.executeUpdate();
+         }
+      }
+      finally
+      {
+         releaseSavepoint(conn, savepoint);
+      }
+   }
+
+   private void releaseSavepoint(ISQLConnection conn, Savepoint savepoint)
+   {
+      if (null == savepoint)
+      {
+         return;
+      }
+
+      try
+      {
+         conn.getConnection().releaseSavepoint(savepoint);
+      }
+      catch (SQLException e)
+      {
+         // Some drivers don't support releasing savepoints. They are released at commit anyway.
+         s_log.debug("Failed to release savepoint", e);
+      }
+   }
+
+   private void commitIfNeeded(ISQLConnection conn, boolean singleTransaction, int commitAfterEveryInserts, int rowsWrittenBefore, int rowsWritten) throws SQLException
+   {
+      if (singleTransaction || 0 >= commitAfterEveryInserts)
+      {
+         return;
+      }
+
+      if (rowsWrittenBefore / commitAfterEveryInserts != rowsWritten / commitAfterEveryInserts)
+      {
+         conn.commit();
+      }
+   }
+
+   private ImportRow readRow(int currentRow, int parameterCount) throws IOException, UnsupportedFormatException
+   {
+      ImportRow row = new ImportRow(currentRow, parameterCount);
+
+      int i = 1;
+      for (ExtendedColumnInfo column : _columns)
+      {
+         String mapping = _columnMappingModel.getMapping(column);
+         if (SpecialColumnMapping.SKIP.getVisibleString().equals(mapping))
+         {
+            continue;
+         }
+         else if (SpecialColumnMapping.FIXED_VALUE.getVisibleString().equals(mapping))
+         {
+            bindFixedColumn(row, i++, column);
+         }
+         else if (SpecialColumnMapping.AUTO_INCREMENT.getVisibleString().equals(mapping))
+         {
+            bindAutoincrementColumn(row, i++, column, currentRow);
+         }
+         else if (SpecialColumnMapping.NULL.getVisibleString().equals(mapping))
+         {
+            row.setNull(i++, column.getTableColumnInfo().getDataType());
+         }
+         else
+         {
+            bindColumn(row, i++, column);
+         }
+      }
+
+      return row;
+   }
+
    private Thread.UncaughtExceptionHandler createUncaughtExceptionHandler()
    {
       return (t, e) -> GUIUtils.processOnSwingEventThread(() -> {throw new RuntimeException(e);});
@@ -335,7 +473,7 @@ public class ImportDataIntoTableExecutor
    }
 
 
-   private void bindAutoincrementColumn(PreparedStatement stmt, int index, ExtendedColumnInfo column, int counter) throws SQLException, UnsupportedFormatException
+   private void bindAutoincrementColumn(ImportRow row, int index, ExtendedColumnInfo column, int counter) throws UnsupportedFormatException
    {
       long value = 0;
       String fixedValue = _columnMappingModel.getFixedValue(column);
@@ -351,18 +489,18 @@ public class ImportDataIntoTableExecutor
       switch (column.getTableColumnInfo().getDataType())
       {
          case Types.BIGINT:
-            stmt.setLong(index, value);
+            row.setLong(index, value);
             break;
          case Types.INTEGER:
          case Types.NUMERIC:
-            stmt.setInt(index, (int) value);
+            row.setInt(index, (int) value);
             break;
          default:
             throw new UnsupportedFormatException("Autoincrement column " + column.getColumnName() + "  is not numeric");
       }
    }
 
-   private void bindFixedColumn(PreparedStatement stmt, int index, ExtendedColumnInfo column) throws SQLException, IOException, UnsupportedFormatException
+   private void bindFixedColumn(ImportRow row, int index, ExtendedColumnInfo column) throws IOException, UnsupportedFormatException
    {
       String value = _columnMappingModel.getFixedValue(column);
       Date d = null;
@@ -371,7 +509,7 @@ public class ImportDataIntoTableExecutor
          case Types.BIGINT:
             try
             {
-               stmt.setLong(index, Long.parseLong(value));
+               row.setLong(index, Long.parseLong(value));
             }
             catch (NumberFormatException nfe)
             {
@@ -379,160 +517,160 @@ public class ImportDataIntoTableExecutor
             }
             break;
          case Types.INTEGER:
-            setIntOrUnsignedInt(stmt, index, column, null != value ? Integer.parseInt(value) : null, null != value ? Long.parseLong(value) : null);
+            setIntOrUnsignedInt(row, index, column, null != value ? Integer.parseInt(value) : null, null != value ? Long.parseLong(value) : null);
          case Types.NUMERIC:
-            setDouble(stmt, index, (null != value ? Double.parseDouble(value) : null), Types.DOUBLE);
+            setDouble(row, index, (null != value ? Double.parseDouble(value) : null), Types.DOUBLE);
             break;
          case Types.DATE:
             // Null values should be allowed
-            setDateOrNull(stmt, index, value);
+            setDateOrNull(row, index, value);
             break;
          case Types.TIMESTAMP:
             // Null values should be allowed
-            setTimeStampOrNull(stmt, index, value);
+            setTimeStampOrNull(row, index, value);
             break;
          case Types.TIME:
             // Null values should be allowed
-            setTimeOrNull(stmt, index, value);
+            setTimeOrNull(row, index, value);
             break;
          default:
-            stmt.setString(index, value);
+            row.setString(index, value);
       }
    }
 
-   private void setDateOrNull(PreparedStatement stmt, int index,
-                              String value) throws UnsupportedFormatException, SQLException
+   private void setDateOrNull(ImportRow row, int index,
+                              String value) throws UnsupportedFormatException
    {
       if (null != value)
       {
          Date d = DateUtils.parseSQLFormats(value);
          if (d == null)
             throw new UnsupportedFormatException("Could not interpret value as date type. Value is: " + value);
-         stmt.setDate(index, new java.sql.Date(d.getTime()));
+         row.setDate(index, new java.sql.Date(d.getTime()));
       }
       else
       {
-         stmt.setNull(index, Types.DATE);
+         row.setNull(index, Types.DATE);
       }
    }
 
-   private void setTimeStampOrNull(PreparedStatement stmt, int index,
-                                   String value) throws UnsupportedFormatException, SQLException
+   private void setTimeStampOrNull(ImportRow row, int index,
+                                   String value) throws UnsupportedFormatException
    {
       if (null != value)
       {
          Date d = DateUtils.parseSQLFormats(value);
          if (d == null)
             throw new UnsupportedFormatException("Could not interpret value as date type. Value is: " + value);
-         stmt.setTimestamp(index, new java.sql.Timestamp(d.getTime()));
+         row.setTimestamp(index, new java.sql.Timestamp(d.getTime()));
       }
       else
       {
-         stmt.setNull(index, Types.TIMESTAMP);
+         row.setNull(index, Types.TIMESTAMP);
       }
    }
 
-   private void setTimeOrNull(PreparedStatement stmt, int index, String value)
-         throws UnsupportedFormatException, SQLException
+   private void setTimeOrNull(ImportRow row, int index, String value)
+         throws UnsupportedFormatException
    {
       if (null != value)
       {
          Date d = DateUtils.parseSQLFormats(value);
          if (d == null)
             throw new UnsupportedFormatException("Could not interpret value as date type. Value is: " + value);
-         stmt.setTime(index, new java.sql.Time(d.getTime()));
+         row.setTime(index, new java.sql.Time(d.getTime()));
       }
       else
       {
-         stmt.setNull(index, Types.TIME);
+         row.setNull(index, Types.TIME);
       }
    }
 
-   private void bindColumn(PreparedStatement stmt, int index, ExtendedColumnInfo column) throws SQLException, IOException
+   private void bindColumn(ImportRow row, int index, ExtendedColumnInfo column) throws IOException
    {
       int mappedColumn = getMappedColumn(column);
       switch (column.getTableColumnInfo().getDataType())
       {
          case Types.BIGINT:
-            setLong(stmt, index, _importer.getLong(mappedColumn));
+            setLong(row, index, _importer.getLong(mappedColumn));
             break;
          case Types.INTEGER:
          case Types.SMALLINT:
-            setIntOrUnsignedInt(stmt, index, column, _importer.getInt(mappedColumn), _importer.getLong(mappedColumn));
+            setIntOrUnsignedInt(row, index, column, _importer.getInt(mappedColumn), _importer.getLong(mappedColumn));
             break;
          case Types.NUMERIC:
          case Types.FLOAT:
          case Types.DOUBLE:
          case Types.DECIMAL:
-            setDouble(stmt, index, _importer.getDouble(getMappedColumn(column)), column.getTableColumnInfo().getDataType());
+            setDouble(row, index, _importer.getDouble(getMappedColumn(column)), column.getTableColumnInfo().getDataType());
             break;
          case Types.DATE:
-            setDate(stmt, index, mappedColumn);
+            setDate(row, index, mappedColumn);
             break;
          case Types.TIMESTAMP:
-            setTimestamp(stmt, index, mappedColumn);
+            setTimestamp(row, index, mappedColumn);
             break;
          case Types.TIME:
-            setTime(stmt, index, mappedColumn);
+            setTime(row, index, mappedColumn);
             break;
          default:
-            setString(stmt, index, mappedColumn);
+            setString(row, index, mappedColumn);
       }
    }
 
-   private void setString(PreparedStatement stmt, int index, int mappedColumn)
-         throws SQLException, IOException
+   private void setString(ImportRow row, int index, int mappedColumn)
+         throws IOException
    {
       String string = _importer.getString(mappedColumn);
       if (null != string)
       {
-         stmt.setString(index, string);
+         row.setString(index, string);
       }
       else
       {
-         stmt.setNull(index, Types.VARCHAR);
+         row.setNull(index, Types.VARCHAR);
       }
    }
 
-   private void setTime(PreparedStatement stmt, int index, int mappedColumn)
-         throws SQLException, IOException
+   private void setTime(ImportRow row, int index, int mappedColumn)
+         throws IOException
    {
       Date date = _importer.getDate(mappedColumn);
       if (null != date)
       {
-         stmt.setTime(index, new java.sql.Time(date.getTime()));
+         row.setTime(index, new java.sql.Time(date.getTime()));
       }
       else
       {
-         stmt.setNull(index, Types.TIME);
+         row.setNull(index, Types.TIME);
       }
    }
 
-   private void setTimestamp(PreparedStatement stmt, int index, int mappedColumn)
-         throws SQLException, IOException
+   private void setTimestamp(ImportRow row, int index, int mappedColumn)
+         throws IOException
    {
       Date date = _importer.getDate(mappedColumn);
       if (null != date)
       {
-         stmt.setTimestamp(index, new java.sql.Timestamp(date.getTime()));
+         row.setTimestamp(index, new java.sql.Timestamp(date.getTime()));
       }
       else
       {
-         stmt.setNull(index, Types.TIMESTAMP);
+         row.setNull(index, Types.TIMESTAMP);
       }
    }
 
-   private void setDate(PreparedStatement stmt, int index, int mappedColumn)
-         throws SQLException, IOException
+   private void setDate(ImportRow row, int index, int mappedColumn)
+         throws IOException
    {
       Date date = _importer.getDate(mappedColumn);
       if (null != date)
       {
-         stmt.setDate(index, new java.sql.Date(date.getTime()));
+         row.setDate(index, new java.sql.Date(date.getTime()));
       }
       else
       {
-         stmt.setNull(index, Types.DATE);
+         row.setNull(index, Types.DATE);
       }
 
    }
@@ -544,54 +682,50 @@ public class ImportDataIntoTableExecutor
     * a Java integer which is always signed. However, if we are working with an
     * unsigned integer type, Java doesn't have this so use a long instead.
     */
-   private void setIntOrUnsignedInt(PreparedStatement stmt, int index, ExtendedColumnInfo column, Integer integerValue, Long longValue)
-         throws SQLException
+   private void setIntOrUnsignedInt(ImportRow row, int index, ExtendedColumnInfo column, Integer integerValue, Long longValue)
    {
       String columnTypeName = column.getTableColumnInfo().getTypeName();
       if (columnTypeName != null && (columnTypeName.toUpperCase().endsWith("UNSIGNED")))
       {
-         setLong(stmt, index, longValue);
+         setLong(row, index, longValue);
       }
 
-      setInt(stmt, index, integerValue);
+      setInt(row, index, integerValue);
    }
 
-   private void setDouble(PreparedStatement stmt, int index, Double value, int javaSqlTypes_Type)
-         throws SQLException
+   private void setDouble(ImportRow row, int index, Double value, int javaSqlTypes_Type)
    {
       if ( null == value )
       {
-         stmt.setNull(index, javaSqlTypes_Type);
+         row.setNull(index, javaSqlTypes_Type);
       }
       else
       {
-         stmt.setDouble(index, value);
+         row.setDouble(index, value);
       }
    }
 
-   private void setLong(PreparedStatement stmt, int index, Long value)
-         throws SQLException
+   private void setLong(ImportRow row, int index, Long value)
    {
       if ( null == value )
       {
-         stmt.setNull(index, Types.INTEGER);
+         row.setNull(index, Types.INTEGER);
       }
       else
       {
-         stmt.setLong(index, value);
+         row.setLong(index, value);
       }
    }
 
-   private void setInt(PreparedStatement stmt, int index, Integer value)
-         throws SQLException
+   private void setInt(ImportRow row, int index, Integer value)
    {
       if ( null == value )
       {
-         stmt.setNull(index, Types.INTEGER);
+         row.setNull(index, Types.INTEGER);
       }
       else
       {
-         stmt.setInt(index, value);
+         row.setInt(index, value);
       }
    }
 
@@ -636,4 +770,141 @@ public class ImportDataIntoTableExecutor
       return result.toString();
    }
 
+   /**
+    * The reader stage of the import: Reads and converts the lines of the import file on its own thread
+    * and hands them in chunks to the writer stage, see {@link #_execute(boolean, int, boolean, ImportProgressCtrl)}.
+    * The queue between both stages is bounded so that the reader can't run far ahead of the database.
+    */
+   private class RowReader implements Runnable
+   {
+      private final BlockingQueue<List<ImportRow>> _queue = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+      private final int _chunkSize;
+      private final int _parameterCount;
+      private final ImportProgressCtrl _importProgressCtrl;
+      private final Thread _thread;
+
+      private volatile boolean _stopped;
+      private volatile Throwable _failure;
+      private volatile int _failedRow;
+
+      private RowReader(int chunkSize, int parameterCount, ImportProgressCtrl importProgressCtrl)
+      {
+         _chunkSize = chunkSize;
+         _parameterCount = parameterCount;
+         _importProgressCtrl = importProgressCtrl;
+
+         _thread = new Thread(this);
+         _thread.setName("Dataimport Reader Thread");
+         _thread.setDaemon(true);
+      }
+
+      private void start()
+      {
+         _thread.start();
+      }
+
+      @Override
+      public void run()
+      {
+         List<ImportRow> chunk = new ArrayList<>(_chunkSize);
+         int currentRow = 0;
+
+         try
+         {
+            while (false == _stopped && false == _importProgressCtrl.isCanceled() && _importer.next())
+            {
+               currentRow++;
+               chunk.add(readRow(currentRow, _parameterCount));
+
+               if (chunk.size() >= _chunkSize)
+               {
+                  put(chunk);
+                  chunk = new ArrayList<>(_chunkSize);
+               }
+            }
+         }
+         catch (Throwable t)
+         {
+            _failedRow = currentRow;
+            _failure = t;
+         }
+         finally
+         {
+            // Rows read before a failure are still written.
+            if (false == chunk.isEmpty())
+            {
+               put(chunk);
+            }
+            put(END_OF_ROWS);
+         }
+      }
+
+      private void put(List<ImportRow> chunk)
+      {
+         try
+         {
+            while (false == _stopped)
+            {
+               if (_queue.offer(chunk, 100, TimeUnit.MILLISECONDS))
+               {
+                  return;
+               }
+            }
+         }
+         catch (InterruptedException e)
+         {
+            _stopped = true;
+         }
+      }
+
+      /**
+       * @return The next chunk of rows or null when all rows were read.
+       */
+      private List<ImportRow> takeChunk() throws InterruptedException
+      {
+         List<ImportRow> chunk = _queue.take();
+         return END_OF_ROWS == chunk ? null : chunk;
+      }
+
+      private void rethrowFailure() throws IOException, UnsupportedFormatException
+      {
+         Throwable failure = _failure;
+
+         if (null == failure)
+         {
+            return;
+         }
+
+         _importProgressCtrl.setCurrentRow(_failedRow);
+
+         if (failure instanceof IOException)
+         {
+            throw (IOException) failure;
+         }
+         else if (failure instanceof UnsupportedFormatException)
+         {
+            throw (UnsupportedFormatException) failure;
+         }
+         else if (failure instanceof Error)
+         {
+            throw (Error) failure;
+         }
+
+         throw Utilities.wrapRuntime(failure);
+      }
+
+      private void stop()
+      {
+         _stopped = true;
+
+         try
+         {
+            _thread.join();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
 }
@@ -26,13 +26,14 @@ public class ImportProgressCtrl
    private volatile boolean _canceled;
 
    private final Timer _timer;
+   private final long _beginMillis = System.currentTimeMillis();
 
    public ImportProgressCtrl(ITableInfo table)
    {
       _dlg = new ImportProgressDialog(table.getSimpleName());
       _table = table;
 
-      _timer = new Timer(300, e -> _dlg.txtNumberOfRowsImported.setText("" + _currentRow));
+      _timer = new Timer(300, e -> onTimer());
       _timer.setRepeats(true);
       _timer.start();
 
@@ -43,6 +44,18 @@ public class ImportProgressCtrl
       _dlg.setVisible(true);
    }
 
+   private void onTimer()
+   {
+      int currentRow = _currentRow;
+      _dlg.txtNumberOfRowsImported.setText("" + currentRow);
+
+      long millis = System.currentTimeMillis() - _beginMillis;
+      if (0 < millis)
+      {
+         _dlg.txtRowsPerSecond.setText("" + (currentRow * 1000L / millis));
+      }
+   }
+
    private void onCanceled()
    {
       _canceled = true;
@@ -0,0 +1,127 @@
+package net.sourceforge.squirrel_sql.client.session.action.dataimport;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * The converted values of one imported line.
+ *
+ * The reader stage of {@link ImportDataIntoTableExecutor} parses and converts a line into an ImportRow
+ * using the same setters it used to call on the PreparedStatement. The writer stage binds the
+ * recorded values to the INSERT statement by {@link #bind(PreparedStatement)}.
+ * Like with PreparedStatement a later call for the same parameter index overwrites an earlier one.
+ */
+class ImportRow
+{
+   private final int _rowNumber;
+   private final Object[] _values;
+   private final int[] _nullTypes;
+
+   ImportRow(int rowNumber, int parameterCount)
+   {
+      _rowNumber = rowNumber;
+      _values = new Object[parameterCount];
+      _nullTypes = new int[parameterCount];
+   }
+
+   /**
+    * @return The line number in the imported file, starting with 1. Used to report errors.
+    */
+   int getRowNumber()
+   {
+      return _rowNumber;
+   }
+
+   void setNull(int index, int sqlType)
+   {
+      _values[index - 1] = null;
+      _nullTypes[index - 1] = sqlType;
+   }
+
+   void setLong(int index, long value)
+   {
+      _values[index - 1] = value;
+   }
+
+   void setInt(int index, int value)
+   {
+      _values[index - 1] = value;
+   }
+
+   void setDouble(int index, double value)
+   {
+      _values[index - 1] = value;
+   }
+
+   void setString(int index, String value)
+   {
+      _values[index - 1] = value;
+      _nullTypes[index - 1] = Types.VARCHAR;
+   }
+
+   void setDate(int index, java.sql.Date value)
+   {
+      _values[index - 1] = value;
+   }
+
+   void setTimestamp(int index, Timestamp value)
+   {
+      _values[index - 1] = value;
+   }
+
+   void setTime(int index, Time value)
+   {
+      _values[index - 1] = value;
+   }
+
+   void bind(PreparedStatement stmt) throws SQLException
+   {
+      stmt.clearParameters();
+
+      for (int i = 0; i < _values.length; i++)
+      {
+         Object value = _values[i];
+         int index = i + 1;
+
+         if (null == value)
+         {
+            stmt.setNull(index, _nullTypes[i]);
+         }
+         else if (value instanceof Long)
+         {
+            stmt.setLong(index, (Long) value);
+         }
+         else if (value instanceof Integer)
+         {
+            stmt.setInt(index, (Integer) value);
+         }
+         else if (value instanceof Double)
+         {
+            stmt.setDouble(index, (Double) value);
+         }
+         else if (value instanceof String)
+         {
+            stmt.setString(index, (String) value);
+         }
+         else if (value instanceof java.sql.Date)
+         {
+            stmt.setDate(index, (java.sql.Date) value);
+         }
+         else if (value instanceof Timestamp)
+         {
+            stmt.setTimestamp(index, (Timestamp) value);
+         }
+         else if (value instanceof Time)
+         {
+            stmt.setTime(index, (Time) value);
+         }
+         else
+         {
+            stmt.setObject(index, value);
+         }
+      }
+   }
+}
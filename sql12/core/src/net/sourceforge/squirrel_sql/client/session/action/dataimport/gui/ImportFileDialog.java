@@ -41,6 +41,7 @@ public class ImportFileDialog extends DialogWidget
    JFormattedTextField txtCommitAfterInserts;
    JLabel lblCommitAfterInsertBegin;
    JLabel lblCommitAfterInsertEnd;
+   JFormattedTextField txtBatchSize;
 
 
    public ImportFileDialog(FileDisplayWrapper importFile, String importFileTypeDescription, ITableInfo table)
@@ -263,6 +264,17 @@ public class ImportFileDialog extends DialogWidget
       gbc = new GridBagConstraints(4, 0, 1, 1, 1, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 0);
       ret.add(new JPanel(), gbc);
 
+      gbc = new GridBagConstraints(0, 1, 2, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(5, 0, 0, 0), 0, 0);
+      JLabel lblBatchSize = new JLabel(s_stringMgr.getString("ImportFileDialog.batchSize"));
+      lblBatchSize.setToolTipText(s_stringMgr.getString("ImportFileDialog.batchSize.tooltip"));
+      ret.add(lblBatchSize, gbc);
+
+      gbc = new GridBagConstraints(2, 1, 1, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(5, 5, 0, 0), 0, 0);
+      txtBatchSize = new JFormattedTextField(NumberFormat.getInstance());
+      txtBatchSize.setColumns(7);
+      txtBatchSize.setToolTipText(s_stringMgr.getString("ImportFileDialog.batchSize.tooltip"));
+      ret.add(txtBatchSize, gbc);
+
       chkSingleTransaction.setSelected(true);
 
       return ret;
@@ -129,6 +129,7 @@ public class ImportFileDialogCtrl
 
 
       _importFileDialog.txtCommitAfterInserts.setText("" + ImportPropsDAO.getCommitAfterInsertsCount());
+      _importFileDialog.txtBatchSize.setText("" + ImportPropsDAO.getBatchSize());
       _importFileDialog.chkSingleTransaction.setSelected(ImportPropsDAO.isSingleTransaction());
       _importFileDialog.chkSingleTransaction.addActionListener(e -> updateTransactionPanel());
       updateTransactionPanel();
@@ -243,6 +244,7 @@ public class ImportFileDialogCtrl
       ImportPropsDAO.setDialogHeight(size.height);
 
       ImportPropsDAO.setCommitAfterInsertsCount(getCommitAfterEveryInsertsCount());
+      ImportPropsDAO.setBatchSize(getBatchSize());
       ImportPropsDAO.setEmptyTableOnImport(_importFileDialog.chkEmptyTableBeforeImport.isSelected());
       ImportPropsDAO.setHeadersIncluded(_importFileDialog.chkHeadersIncluded.isSelected());
       ImportPropsDAO.setSingleTransaction(_importFileDialog.chkSingleTransaction.isSelected());
@@ -532,7 +534,8 @@ public class ImportFileDialogCtrl
                   _importer,
                   _importFileDialog.chkSingleTransaction.isSelected(),
                   commitAfterEveryInsertsCount,
-                  _importFileDialog.chkEmptyTableBeforeImport.isSelected());
+                  _importFileDialog.chkEmptyTableBeforeImport.isSelected(),
+                  getBatchSize());
 
       executor.setSkipHeader(_importFileDialog.chkHeadersIncluded.isSelected());
       executor.execute();
@@ -564,6 +567,27 @@ public class ImportFileDialogCtrl
       return commitAfterEveryInsertsCount;
    }
 
+   private int getBatchSize()
+   {
+      int batchSize = ImportPropsDAO.getBatchSize();
+      if (null != _importFileDialog.txtBatchSize.getText())
+      {
+         try
+         {
+            int buf = Integer.valueOf(_importFileDialog.txtBatchSize.getText());
+            if (buf >= 0)
+            {
+               batchSize = buf;
+            }
+         }
+         catch (NumberFormatException e)
+         {
+            // ignore
+         }
+      }
+      return batchSize;
+   }
+
    private void close()
    {
       onClosing();
@@ -11,6 +11,7 @@ public class ImportPropsDAO
    private static final String PREF_KEY_IMPORT_DIALOG_HEIGHT = "Squirrel.dataimport.dialog.width";
    private static final String PREF_KEY_HEADERS_INCLUDED = "Squirrel.dataimport.dialog.headers_included";
    private static final String PREF_KEY_COMMIT_AFTER_INSERTS_COUNT = "Squirrel.dataimport.dialog.commit_after_inserts_count";
+   private static final String PREF_KEY_BATCH_SIZE = "Squirrel.dataimport.dialog.batch_size";
    private static final String PREF_KEY_SINGLE_TRANSACTION = "Squirrel.dataimport.dialog.single_transaction";
    private static final String PREF_KEY_EMPTY_TABLE_ON_IMPORT = "Squirrel.dataimport.dialog.empty_table_on_import";
    private static final String PREF_KEY_SAVE_MODE = "Squirrel.dataimport.dialog.save_mode";
@@ -60,6 +61,16 @@ public class ImportPropsDAO
       return Props.getInt(PREF_KEY_COMMIT_AFTER_INSERTS_COUNT,100);
    }
 
+   public static int getBatchSize()
+   {
+      return Props.getInt(PREF_KEY_BATCH_SIZE, 500);
+   }
+
+   public static void setBatchSize(int batchSize)
+   {
+      Props.putInt(PREF_KEY_BATCH_SIZE, batchSize);
+   }
+
    public static boolean isSingleTransaction()
    {
       return Props.getBoolean(PREF_KEY_SINGLE_TRANSACTION, false);
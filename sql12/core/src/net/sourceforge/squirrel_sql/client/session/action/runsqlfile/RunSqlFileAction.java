@@ -0,0 +1,88 @@
+package net.sourceforge.squirrel_sql.client.session.action.runsqlfile;
+
+import net.sourceforge.squirrel_sql.client.Main;
+import net.sourceforge.squirrel_sql.client.action.SquirrelAction;
+import net.sourceforge.squirrel_sql.client.session.ISQLPanelAPI;
+import net.sourceforge.squirrel_sql.client.session.action.ISQLPanelAction;
+import net.sourceforge.squirrel_sql.fw.props.Props;
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.event.ActionEvent;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Executes a SQL file directly from disk without loading it into the SQL editor.
+ */
+public class RunSqlFileAction extends SquirrelAction implements ISQLPanelAction
+{
+   private static final String PREF_LAST_DIR = "Squirrel.runsqlfile.last.dir";
+   private static final String PREF_CONTINUE_ON_ERROR = "Squirrel.runsqlfile.continue.on.error";
+   private static final String PREF_FILE_ENCODING = "Squirrel.runsqlfile.file.encoding";
+
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(RunSqlFileAction.class);
+
+   private ISQLPanelAPI _sqlPanel;
+
+   public RunSqlFileAction()
+   {
+      super(Main.getApplication(), Main.getApplication().getResources());
+   }
+
+   @Override
+   public void setSQLPanel(ISQLPanelAPI panel)
+   {
+      _sqlPanel = panel;
+      setEnabled(null != _sqlPanel);
+   }
+
+   @Override
+   public void actionPerformed(ActionEvent evt)
+   {
+      if (_sqlPanel == null)
+      {
+         return;
+      }
+
+      JFileChooser fileChooser = new JFileChooser(Props.getString(PREF_LAST_DIR, System.getProperty("user.home")));
+      fileChooser.setDialogTitle(s_stringMgr.getString("RunSqlFileAction.chooser.title"));
+      fileChooser.setFileFilter(new FileNameExtensionFilter(s_stringMgr.getString("RunSqlFileAction.sql.files"), "sql"));
+
+      if (JFileChooser.APPROVE_OPTION != fileChooser.showOpenDialog(_sqlPanel.getOwningFrame()))
+      {
+         return;
+      }
+
+      File file = fileChooser.getSelectedFile();
+      Props.putString(PREF_LAST_DIR, file.getParent());
+
+      JCheckBox chkContinueOnError = new JCheckBox(s_stringMgr.getString("RunSqlFileAction.continue.on.error"));
+      chkContinueOnError.setSelected(Props.getBoolean(PREF_CONTINUE_ON_ERROR, true));
+
+      JComboBox<String> cboEncoding = new JComboBox<>(Charset.availableCharsets().keySet().toArray(new String[0]));
+      cboEncoding.setSelectedItem(Props.getString(PREF_FILE_ENCODING, StandardCharsets.UTF_8.name()));
+
+      Object[] msg = {s_stringMgr.getString("RunSqlFileAction.confirm", file.getAbsolutePath(), _sqlPanel.getSession().getAlias().getName()),
+                      chkContinueOnError,
+                      new JLabel(s_stringMgr.getString("RunSqlFileAction.file.encoding")),
+                      cboEncoding};
+
+      if (JOptionPane.OK_OPTION != JOptionPane.showConfirmDialog(_sqlPanel.getOwningFrame(), msg, s_stringMgr.getString("RunSqlFileAction.confirm.title"), JOptionPane.OK_CANCEL_OPTION))
+      {
+         return;
+      }
+
+      Props.putBoolean(PREF_CONTINUE_ON_ERROR, chkContinueOnError.isSelected());
+      Props.putString(PREF_FILE_ENCODING, (String) cboEncoding.getSelectedItem());
+
+      new RunSqlFileCtrl(_sqlPanel.getSession(), file, Charset.forName((String) cboEncoding.getSelectedItem()), chkContinueOnError.isSelected());
+   }
+}
@@ -0,0 +1,226 @@
+package net.sourceforge.squirrel_sql.client.session.action.runsqlfile;
+
+import net.sourceforge.squirrel_sql.client.session.ISession;
+import net.sourceforge.squirrel_sql.client.session.SQLExecuterTask;
+import net.sourceforge.squirrel_sql.fw.gui.GUIUtils;
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import javax.swing.Timer;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.text.NumberFormat;
+
+/**
+ * Streams a SQL file through the session's query tokenizer into a {@link SQLExecuterTask}.
+ * Progress is shown by bytes read, results are summarized in the message panel.
+ */
+class RunSqlFileCtrl
+{
+   private static final ILogger s_log = LoggerController.createLogger(RunSqlFileCtrl.class);
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(RunSqlFileCtrl.class);
+
+   static final int PROGRESS_MAX = 1000;
+
+   private final ISession _session;
+   private final File _file;
+   private final Charset _charset;
+   private final long _fileLength;
+   private final RunSqlFileProgressDialog _dlg;
+   private final RunSqlFileExecuterHandler _handler;
+   private final Timer _timer;
+
+   private CountingInputStream _in;
+   private volatile SQLExecuterTask _executer;
+   private volatile boolean _canceled;
+   private long _beginMillis;
+
+   RunSqlFileCtrl(ISession session, File file, Charset charset, boolean continueOnError)
+   {
+      _session = session;
+      _file = file;
+      _charset = charset;
+      _fileLength = file.length();
+      _handler = new RunSqlFileExecuterHandler(session);
+
+      try
+      {
+         _in = new CountingInputStream(new FileInputStream(file));
+      }
+      catch (IOException e)
+      {
+         s_log.error("Failed to open " + file, e);
+         _session.showErrorMessage(s_stringMgr.getString("RunSqlFileCtrl.open.failed", file.getAbsolutePath(), Utilities.getExceptionStringSave(e)));
+         _dlg = null;
+         _timer = null;
+         return;
+      }
+
+      _dlg = new RunSqlFileProgressDialog(file.getName());
+      _dlg.btnCancel.addActionListener(e -> onCancel());
+
+      _timer = new Timer(300, e -> updateProgress());
+      _timer.setRepeats(true);
+      _timer.start();
+
+      GUIUtils.centerWithinParent(_dlg);
+      _dlg.setVisible(true);
+
+      _beginMillis = System.currentTimeMillis();
+      _session.getApplication().getThreadPool().addTask(() -> execute(continueOnError));
+   }
+
+   private void execute(boolean continueOnError)
+   {
+      try
+      {
+         // The executer closes the reader.
+         BufferedReader reader = new BufferedReader(new InputStreamReader(_in, _charset));
+
+         SQLExecuterTask executer = new SQLExecuterTask(_session, reader, _handler);
+         executer.setAbortOnError(false == continueOnError);
+         executer.setExecuteEditableCheck(false);
+         _executer = executer;
+
+         if (false == _canceled)
+         {
+            executer.run();
+         }
+      }
+      catch (Throwable t)
+      {
+         s_log.error("Failed to run SQL file " + _file, t);
+         _session.showErrorMessage(s_stringMgr.getString("RunSqlFileCtrl.failed", _file.getAbsolutePath(), Utilities.getExceptionStringSave(t)));
+      }
+      finally
+      {
+         closeInput();
+         GUIUtils.processOnSwingEventThread(() -> onFinished());
+      }
+   }
+
+   private void onCancel()
+   {
+      _canceled = true;
+      _dlg.btnCancel.setEnabled(false);
+
+      SQLExecuterTask executer = _executer;
+      if (null != executer)
+      {
+         executer.cancel();
+      }
+   }
+
+   private void updateProgress()
+   {
+      long bytesRead = _in.getCount();
+
+      if (0 < _fileLength)
+      {
+         _dlg.progressBar.setValue((int) Math.min(PROGRESS_MAX, bytesRead * PROGRESS_MAX / _fileLength));
+      }
+      _dlg.progressBar.setString(s_stringMgr.getString("RunSqlFileCtrl.bytes.progress", Utilities.formatSize(bytesRead, 1), Utilities.formatSize(_fileLength, 1)));
+
+      _dlg.txtStatements.setText(NumberFormat.getInstance().format(_handler.getStatementCount()));
+      _dlg.txtErrors.setText(NumberFormat.getInstance().format(_handler.getErrorCount()));
+   }
+
+   private void onFinished()
+   {
+      _timer.stop();
+      _dlg.setVisible(false);
+      _dlg.dispose();
+
+      double seconds = ((double) (System.currentTimeMillis() - _beginMillis)) / 1000;
+
+      Object[] args = {
+            _handler.getStatementCount(),
+            _file.getAbsolutePath(),
+            NumberFormat.getNumberInstance().format(seconds),
+            _handler.getUpdateCount(),
+            _handler.getResultSetCount(),
+            _handler.getWarningCount(),
+            _handler.getErrorCount()
+      };
+
+      String summary = s_stringMgr.getString("RunSqlFileCtrl.summary", args);
+
+      if (0 < _handler.getErrorCount())
+      {
+         _session.showErrorMessage(summary);
+      }
+      else
+      {
+         _session.showMessage(summary);
+      }
+   }
+
+   private void closeInput()
+   {
+      try
+      {
+         _in.close();
+      }
+      catch (IOException e)
+      {
+         s_log.error("Failed to close " + _file, e);
+      }
+   }
+
+   /**
+    * Counts the bytes read so that progress can be shown without knowing the number of statements.
+    */
+   private static class CountingInputStream extends FilterInputStream
+   {
+      private volatile long _count;
+
+      private CountingInputStream(InputStream in)
+      {
+         super(in);
+      }
+
+      @Override
+      public int read() throws IOException
+      {
+         int ret = super.read();
+         if (-1 != ret)
+         {
+            ++_count;
+         }
+         return ret;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException
+      {
+         int ret = super.read(b, off, len);
+         if (0 < ret)
+         {
+            _count += ret;
+         }
+         return ret;
+      }
+
+      @Override
+      public long skip(long n) throws IOException
+      {
+         long ret = super.skip(n);
+         _count += ret;
+         return ret;
+      }
+
+      long getCount()
+      {
+         return _count;
+      }
+   }
+}
@@ -0,0 +1,101 @@
+package net.sourceforge.squirrel_sql.client.session.action.runsqlfile;
+
+import net.sourceforge.squirrel_sql.client.session.DefaultSQLExecuterHandler;
+import net.sourceforge.squirrel_sql.client.session.ISession;
+import net.sourceforge.squirrel_sql.client.session.SQLExecutionInfo;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.IDataSetUpdateableTableModel;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.ResultSetWrapper;
+import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.QueryHolder;
+
+import java.sql.SQLWarning;
+
+/**
+ * Counts what happens while a SQL file is executed instead of displaying results.
+ * Result sets are not read and no result tabs are opened.
+ *
+ * Counters are written by the executer thread and read by the progress timer on the EDT.
+ */
+class RunSqlFileExecuterHandler extends DefaultSQLExecuterHandler
+{
+   /**
+    * More errors are counted but not written to the message panel.
+    */
+   private static final int MAX_ERRORS_SHOWN = 100;
+
+   private volatile int _statementCount;
+   private volatile int _errorCount;
+   private volatile int _warningCount;
+   private volatile int _resultSetCount;
+   private volatile long _updateCount;
+
+   RunSqlFileExecuterHandler(ISession session)
+   {
+      super(session);
+   }
+
+   @Override
+   public void sqlToBeExecuted(QueryHolder queryHolder)
+   {
+      ++_statementCount;
+   }
+
+   @Override
+   public void sqlDataUpdated(int updateCount)
+   {
+      _updateCount += updateCount;
+   }
+
+   @Override
+   public void sqlResultSetAvailable(ResultSetWrapper rst, SQLExecutionInfo info, IDataSetUpdateableTableModel model)
+   {
+      ++_resultSetCount;
+   }
+
+   @Override
+   public String sqlExecutionException(Throwable th, String postErrorString)
+   {
+      ++_errorCount;
+
+      if (_errorCount <= MAX_ERRORS_SHOWN)
+      {
+         return super.sqlExecutionException(th, postErrorString);
+      }
+      return "" + th;
+   }
+
+   @Override
+   public void sqlExecutionWarning(SQLWarning warn)
+   {
+      ++_warningCount;
+
+      if (_warningCount <= MAX_ERRORS_SHOWN)
+      {
+         super.sqlExecutionWarning(warn);
+      }
+   }
+
+   int getStatementCount()
+   {
+      return _statementCount;
+   }
+
+   int getErrorCount()
+   {
+      return _errorCount;
+   }
+
+   int getWarningCount()
+   {
+      return _warningCount;
+   }
+
+   int getResultSetCount()
+   {
+      return _resultSetCount;
+   }
+
+   long getUpdateCount()
+   {
+      return _updateCount;
+   }
+}
@@ -0,0 +1,55 @@
+package net.sourceforge.squirrel_sql.client.session.action.runsqlfile;
+
+import net.sourceforge.squirrel_sql.client.Main;
+import net.sourceforge.squirrel_sql.fw.gui.GUIUtils;
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+
+class RunSqlFileProgressDialog extends JDialog
+{
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(RunSqlFileProgressDialog.class);
+
+   JProgressBar progressBar = new JProgressBar(0, RunSqlFileCtrl.PROGRESS_MAX);
+   JTextField txtStatements = new JTextField();
+   JTextField txtErrors = new JTextField();
+   JButton btnCancel = new JButton(s_stringMgr.getString("RunSqlFileProgressDialog.cancel"));
+
+   RunSqlFileProgressDialog(String fileName)
+   {
+      super(Main.getApplication().getMainFrame(), s_stringMgr.getString("RunSqlFileProgressDialog.title", fileName), false);
+
+      getContentPane().setLayout(new GridBagLayout());
+
+      GridBagConstraints gbc;
+
+      gbc = new GridBagConstraints(0,0,2,1,1,0,GridBagConstraints.NORTHWEST,GridBagConstraints.HORIZONTAL, new Insets(5,5,5,5),0,0 );
+      getContentPane().add(progressBar, gbc);
+      progressBar.setStringPainted(true);
+
+      gbc = new GridBagConstraints(0,1,1,1,0,0,GridBagConstraints.NORTHWEST,GridBagConstraints.NONE, new Insets(5,5,5,5),0,0 );
+      getContentPane().add(new JLabel(s_stringMgr.getString("RunSqlFileProgressDialog.statements")), gbc);
+
+      gbc = new GridBagConstraints(1,1,1,1,0,0,GridBagConstraints.NORTHWEST,GridBagConstraints.NONE, new Insets(5,5,5,5),0,0 );
+      getContentPane().add(txtStatements, gbc);
+      txtStatements.setEditable(false);
+      GUIUtils.forceWidth(txtStatements, 120);
+
+      gbc = new GridBagConstraints(0,2,1,1,0,0,GridBagConstraints.NORTHWEST,GridBagConstraints.NONE, new Insets(0,5,5,5),0,0 );
+      getContentPane().add(new JLabel(s_stringMgr.getString("RunSqlFileProgressDialog.errors")), gbc);
+
+      gbc = new GridBagConstraints(1,2,1,1,0,0,GridBagConstraints.NORTHWEST,GridBagConstraints.NONE, new Insets(0,5,5,5),0,0 );
+      getContentPane().add(txtErrors, gbc);
+      txtErrors.setEditable(false);
+      GUIUtils.forceWidth(txtErrors, 120);
+
+      gbc = new GridBagConstraints(0,3,2,1,0,0,GridBagConstraints.CENTER,GridBagConstraints.NONE, new Insets(5,5,5,5),0,0 );
+      getContentPane().add(btnCancel, gbc);
+
+      setSize(new Dimension(400, 190));
+
+      setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+   }
+}
@@ -6,6 +6,8 @@ import net.sourceforge.squirrel_sql.client.session.ISession;
 import net.sourceforge.squirrel_sql.fw.dialects.DialectFactory;
 import net.sourceforge.squirrel_sql.fw.dialects.DialectType;
 import net.sourceforge.squirrel_sql.fw.gui.action.fileexport.*;
+import net.sourceforge.squirrel_sql.fw.sql.ISQLConnection;
+import net.sourceforge.squirrel_sql.fw.sql.ProgressAbortCallback;
 import net.sourceforge.squirrel_sql.fw.sql.SQLUtilities;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.IQueryTokenizer;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.QueryHolder;
@@ -19,8 +21,13 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 public class ExportToFileHandler
 {
@@ -34,7 +41,7 @@ public class ExportToFileHandler
    private final ISession _session;
    private final ISQLPanelAPI _sqlPaneAPI;
 
-   private boolean _abortExecution = false;
+   private volatile boolean _abortExecution = false;
 
 
    public ExportToFileHandler(ISession session, ISQLPanelAPI sqlPaneAPI)
@@ -51,6 +58,8 @@ public class ExportToFileHandler
 
       StringBuilder sqlsNotToWriteToFile = new StringBuilder();
 
+      List<FileToExport> filesToExport = new ArrayList<>();
+
       while(queryTokenizer.hasQuery())
       {
          QueryHolder query = queryTokenizer.nextQuery();
@@ -98,14 +107,26 @@ public class ExportToFileHandler
 
          TableExportPreferences prefs = TableExportPreferencesDAO.createExportPreferencesForFile(fileName);
 
-         callResultSetExport(prefs, file , sqlToWriteToFile);
+         filesToExport.add(new FileToExport(prefs, file, sqlToWriteToFile));
+      }
 
-         if(_abortExecution)
+      int degreeOfParallelism = SqlToFileParallelism.getDegreeOfParallelism(_session, filesToExport.size());
+      if (1 < degreeOfParallelism)
+      {
+         callParallelResultSetExports(filesToExport, degreeOfParallelism);
+      }
+      else
+      {
+         for (FileToExport fileToExport : filesToExport)
          {
-            _abortExecution = false;
-            break;
-         }
+            callResultSetExport(fileToExport._prefs, fileToExport._file, fileToExport._sql);
 
+            if(_abortExecution)
+            {
+               _abortExecution = false;
+               break;
+            }
+         }
       }
 
 
@@ -161,10 +182,22 @@ public class ExportToFileHandler
    }
 
    private void doWriteFile(TableExportPreferences prefs, File file, String sqlToWriteToFile, Connection con, DialectType dialectType, FileExportProgressManager fileExportProgressManager)
+   {
+      try
+      {
+         writeFile(prefs, file, sqlToWriteToFile, con, dialectType, fileExportProgressManager.getOrCreateProgressCallback());
+      }
+      finally
+      {
+         fileExportProgressManager.hideProgressMonitor();
+      }
+   }
+
+   private void writeFile(TableExportPreferences prefs, File file, String sqlToWriteToFile, Connection con, DialectType dialectType, ProgressAbortCallback progressCallback)
    {
       try(Statement stat = SQLUtilities.createStatementForStreamingResults(con, dialectType))
       {
-         ExportFileWriter.writeFile(new ResultSetExportData(stat, sqlToWriteToFile ,dialectType), prefs, fileExportProgressManager.getOrCreateProgressCallback());
+         ExportFileWriter.writeFile(new ResultSetExportData(stat, sqlToWriteToFile ,dialectType), prefs, progressCallback);
          Main.getApplication().getMessageHandler().showMessage(s_stringMgr.getString("ExportToFileHandler.wrote.file", file.getPath()));
       }
       catch (Throwable e)
@@ -174,10 +207,87 @@ public class ExportToFileHandler
 
          _abortExecution = _session.getProperties().getAbortOnError();
       }
+   }
+
+   /**
+    * Writes the files in parallel, each worker on a connection checked out from the session's query connection pool.
+    * A single progress dialog shows the progress of all files.
+    */
+   private void callParallelResultSetExports(List<FileToExport> filesToExport, int degreeOfParallelism)
+   {
+      String separator = _session.getProperties().getSQLStatementSeparator();
+      String sqlsJoined = filesToExport.stream().map(f -> f._sql).collect(Collectors.joining((1 == separator.length() ? separator : " " + separator) + "\n"));
+
+      File exportDir = filesToExport.get(0)._file.getAbsoluteFile().getParentFile();
+      DialectType dialectType = DialectFactory.getDialectType(_session.getMetaData());
+      FileExportProgressManager fileExportProgressManager = new FileExportProgressManager(_session, sqlsJoined, () -> exportDir);
+
+      // Execution will stop at this point displaying a modal progress frame.
+      fileExportProgressManager.getOrCreateProgressCallback(() -> _executorService.submit(() -> doWriteFilesInParallel(filesToExport, degreeOfParallelism, dialectType, fileExportProgressManager)));
+
+      _abortExecution = false;
+   }
+
+   private void doWriteFilesInParallel(List<FileToExport> filesToExport, int degreeOfParallelism, DialectType dialectType, FileExportProgressManager fileExportProgressManager)
+   {
+      ConcurrentLinkedQueue<FileToExport> queue = new ConcurrentLinkedQueue<>(filesToExport);
+
+      List<Callable<Void>> workers = new ArrayList<>();
+      for (int i = 0; i < degreeOfParallelism; i++)
+      {
+         workers.add(() -> runWorker(queue, filesToExport.size(), dialectType, fileExportProgressManager));
+      }
+
+      ExecutorService executorService = SqlToFileParallelism.createExecutorService(degreeOfParallelism);
+      try
+      {
+         executorService.invokeAll(workers);
+      }
+      catch (InterruptedException e)
+      {
+         s_log.error(e);
+      }
       finally
       {
+         executorService.shutdownNow();
          fileExportProgressManager.hideProgressMonitor();
       }
    }
 
+   private Void runWorker(ConcurrentLinkedQueue<FileToExport> queue, int fileCount, DialectType dialectType, FileExportProgressManager fileExportProgressManager)
+   {
+      ISQLConnection conn = _session.checkOutUserQuerySQLConnection();
+      try
+      {
+         FileToExport fileToExport;
+         while (false == _abortExecution && false == fileExportProgressManager.isAborted() && null != (fileToExport = queue.poll()))
+         {
+            String fileName = fileToExport._file.getName();
+
+            Main.getApplication().getMessageHandler().showMessage(s_stringMgr.getString("ExportToFileHandler.writing.file", fileToExport._file.getPath()));
+            writeFile(fileToExport._prefs, fileToExport._file, fileToExport._sql, conn.getConnection(), dialectType, fileExportProgressManager.createSubTaskProgressCallback(fileName));
+            fileExportProgressManager.subTaskFinished(fileName, fileCount);
+         }
+      }
+      finally
+      {
+         _session.returnUserQuerySQLConnection(conn);
+      }
+      return null;
+   }
+
+   private static class FileToExport
+   {
+      private final TableExportPreferences _prefs;
+      private final File _file;
+      private final String _sql;
+
+      private FileToExport(TableExportPreferences prefs, File file, String sql)
+      {
+         _prefs = prefs;
+         _file = file;
+         _sql = sql;
+      }
+   }
+
 }
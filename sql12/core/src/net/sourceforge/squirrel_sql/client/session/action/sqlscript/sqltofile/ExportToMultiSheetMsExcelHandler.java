@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 public class ExportToMultiSheetMsExcelHandler
 {
@@ -39,6 +40,8 @@ public class ExportToMultiSheetMsExcelHandler
 
    private ExecutorService _executorService = Executors.newSingleThreadExecutor();
 
+   private ParallelSheetQueries _parallelSheetQueries;
+
    public ExportToMultiSheetMsExcelHandler(ISession session, ISQLPanelAPI sqlPaneAPI)
    {
       _session = session;
@@ -257,6 +260,11 @@ public class ExportToMultiSheetMsExcelHandler
       }
       finally
       {
+         if (null != _parallelSheetQueries)
+         {
+            _parallelSheetQueries.close();
+            _parallelSheetQueries = null;
+         }
          fileExportProgressManager.hideProgressMonitor();
       }
    }
@@ -270,6 +278,23 @@ public class ExportToMultiSheetMsExcelHandler
       DialectType dialect = DialectFactory.getDialectType(_session.getMetaData());
       TableExportPreferences exportPreferencesForFile = TableExportPreferencesDAO.createExportPreferencesForFile(wb.getWorkbookFile().getName());
 
+      int degreeOfParallelism = SqlToFileParallelism.getDegreeOfParallelism(_session, wb.getSheets().size());
+      if (1 < degreeOfParallelism)
+      {
+         progress(prog, s_stringMgr.getString("ExportToMultiSheetMsExcelHandler.executingQueries.in.parallel", wb.getSheets().size(), degreeOfParallelism));
+
+         _parallelSheetQueries = new ParallelSheetQueries(_session, dialect, exportPreferencesForFile, degreeOfParallelism);
+         List<IExportData> sheetsData = _parallelSheetQueries.start(wb.getSheets().stream().map(MsExcelSheet::getSheetSql).collect(Collectors.toList()));
+
+         for (int i = 0; i < wb.getSheets().size(); i++)
+         {
+            ExportSqlNamed exportSqlNamed = new ExportSqlNamed(wb.getSheets().get(i).getSheetSql(), wb.getSheets().get(i).getSheetName());
+            buf.add(new ExportDataInfo(sheetsData.get(i), exportSqlNamed.getExportNameFileNormalized()));
+         }
+
+         return new ExportDataInfoList(buf, excelExportFile);
+      }
+
       for (int i = 0; i < wb.getSheets().size(); i++)
       {
          MsExcelSheet msExcelSheet = wb.getSheets().get(i);
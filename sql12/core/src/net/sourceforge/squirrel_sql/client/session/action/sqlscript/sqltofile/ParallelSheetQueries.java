@@ -0,0 +1,239 @@
+package net.sourceforge.squirrel_sql.client.session.action.sqlscript.sqltofile;
+
+import net.sourceforge.squirrel_sql.client.session.ISession;
+import net.sourceforge.squirrel_sql.fw.dialects.DialectType;
+import net.sourceforge.squirrel_sql.fw.gui.action.fileexport.ExportDataException;
+import net.sourceforge.squirrel_sql.fw.gui.action.fileexport.ExportDataRow;
+import net.sourceforge.squirrel_sql.fw.gui.action.fileexport.IExportData;
+import net.sourceforge.squirrel_sql.fw.gui.action.fileexport.ResultSetExportData;
+import net.sourceforge.squirrel_sql.fw.gui.action.fileexport.TableExportPreferences;
+import net.sourceforge.squirrel_sql.fw.sql.ISQLConnection;
+import net.sourceforge.squirrel_sql.fw.sql.SQLUtilities;
+import net.sourceforge.squirrel_sql.fw.util.StringUtilities;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executes the SQLs of the sheets of a MS Excel workbook in parallel, each on a connection checked out from the session's query connection pool.
+ *
+ * A workbook is written sheet by sheet. So the queries of the next sheets execute while the current sheet is being written.
+ * At most degreeOfParallelism queries are executed or open at a time. When a sheet was written and its {@link IExportData} was closed
+ * its connection is returned to the pool and the query of the next sheet not yet started is executed.
+ */
+class ParallelSheetQueries
+{
+   private static final ILogger s_log = LoggerController.createLogger(ParallelSheetQueries.class);
+
+   private final ISession _session;
+   private final DialectType _dialect;
+   private final TableExportPreferences _prefs;
+   private final int _degreeOfParallelism;
+   private final ExecutorService _executorService;
+
+   private final List<SheetQuery> _sheetQueries = new ArrayList<>();
+   private int _nextToStart;
+   private int _openCount;
+   private boolean _shutdown;
+
+   ParallelSheetQueries(ISession session, DialectType dialect, TableExportPreferences prefs, int degreeOfParallelism)
+   {
+      _session = session;
+      _dialect = dialect;
+      _prefs = prefs;
+      _degreeOfParallelism = degreeOfParallelism;
+      _executorService = SqlToFileParallelism.createExecutorService(degreeOfParallelism);
+   }
+
+   /**
+    * @return Per SQL the data to export. Accessing the data waits for its query to be executed.
+    */
+   synchronized List<IExportData> start(List<String> sqls)
+   {
+      for (String sql : sqls)
+      {
+         _sheetQueries.add(new SheetQuery(sql));
+      }
+
+      startNextQueries();
+
+      return new ArrayList<>(_sheetQueries);
+   }
+
+   private synchronized void startNextQueries()
+   {
+      while (false == _shutdown && _openCount < _degreeOfParallelism && _nextToStart < _sheetQueries.size())
+      {
+         SheetQuery sheetQuery = _sheetQueries.get(_nextToStart++);
+         if (false == sheetQuery._closed)
+         {
+            sheetQuery._started = true;
+            ++_openCount;
+            _executorService.submit(sheetQuery::execute);
+         }
+      }
+   }
+
+   /**
+    * Closes data the export didn't close, e.g. because it was canceled or failed.
+    * Queries not yet started will not be executed. Connections of running queries are returned when the queries are done.
+    */
+   void close()
+   {
+      List<SheetQuery> sheetQueries;
+      synchronized (this)
+      {
+         _shutdown = true;
+         sheetQueries = new ArrayList<>(_sheetQueries);
+      }
+
+      sheetQueries.forEach(SheetQuery::close);
+      _executorService.shutdown();
+   }
+
+   private class SheetQuery implements IExportData
+   {
+      private final String _sql;
+      private final CompletableFuture<ResultSetExportData> _result = new CompletableFuture<>();
+
+      /**
+       * Written by the executing thread before _result completes.
+       */
+      private ISQLConnection _conn;
+
+      // Guarded by ParallelSheetQueries.this
+      private boolean _started;
+      private boolean _closed;
+
+      private SheetQuery(String sql)
+      {
+         _sql = sql;
+      }
+
+      private void execute()
+      {
+         synchronized (ParallelSheetQueries.this)
+         {
+            if (_closed)
+            {
+               _result.complete(null);
+               return;
+            }
+         }
+
+         Statement stat = null;
+         boolean success = false;
+         try
+         {
+            _conn = _session.checkOutUserQuerySQLConnection();
+
+            stat = SQLUtilities.createStatementForStreamingResults(_conn.getConnection(), _dialect);
+            if (_prefs.isLimitRowsChecked() && false == StringUtilities.isEmpty(_prefs.getRowsLimit()))
+            {
+               stat.setMaxRows(Integer.parseInt(_prefs.getRowsLimit()));
+            }
+            _result.complete(new ResultSetExportData(stat, _sql, _dialect));
+            success = true;
+         }
+         catch (Throwable t)
+         {
+            _result.completeExceptionally(t);
+         }
+         finally
+         {
+            if (false == success)
+            {
+               // On success the statement is closed with the ResultSetExportData.
+               SQLUtilities.closeStatement(stat);
+            }
+         }
+      }
+
+      private ResultSetExportData getResultSetExportData()
+      {
+         try
+         {
+            return _result.get();
+         }
+         catch (InterruptedException e)
+         {
+            throw Utilities.wrapRuntime(e);
+         }
+         catch (ExecutionException e)
+         {
+            s_log.error("An error was encountered while attempting to build the data set for export. See logs for details.", e.getCause());
+            throw Utilities.wrapRuntime(new ExportDataException("An error was encountered while attempting to build the data set for export. See logs for details.", e.getCause()));
+         }
+      }
+
+      @Override
+      public Iterator<String> getHeaderColumns()
+      {
+         return getResultSetExportData().getHeaderColumns();
+      }
+
+      @Override
+      public Iterator<ExportDataRow> getRows()
+      {
+         return getResultSetExportData().getRows();
+      }
+
+      @Override
+      public int getColumnCount()
+      {
+         return getResultSetExportData().getColumnCount();
+      }
+
+      @Override
+      public void close()
+      {
+         synchronized (ParallelSheetQueries.this)
+         {
+            if (_closed)
+            {
+               return;
+            }
+            _closed = true;
+
+            if (false == _started)
+            {
+               return;
+            }
+         }
+
+         _result.whenComplete((resultSetExportData, t) -> release(resultSetExportData));
+      }
+
+      private void release(ResultSetExportData resultSetExportData)
+      {
+         try
+         {
+            if (null != resultSetExportData)
+            {
+               resultSetExportData.close();
+            }
+         }
+         finally
+         {
+            if (null != _conn)
+            {
+               _session.returnUserQuerySQLConnection(_conn);
+            }
+
+            synchronized (ParallelSheetQueries.this)
+            {
+               --_openCount;
+            }
+            startNextQueries();
+         }
+      }
+   }
+}
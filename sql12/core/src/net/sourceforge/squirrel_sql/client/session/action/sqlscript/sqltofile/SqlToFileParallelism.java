@@ -0,0 +1,43 @@
+package net.sourceforge.squirrel_sql.client.session.action.sqlscript.sqltofile;
+
+import net.sourceforge.squirrel_sql.client.session.ISession;
+import net.sourceforge.squirrel_sql.client.session.properties.SessionProperties;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exports of several SQLs run in parallel only on connections of the session's query connection pool,
+ * each SQL on a connection of its own. Without pool they run one after the other on the session's main connection.
+ */
+class SqlToFileParallelism
+{
+   /**
+    * @return 1 if the exports must run one after the other.
+    * Otherwise the number of connections to check out, at most {@link SessionProperties#getSqlToFileExportParallelism()}.
+    */
+   static int getDegreeOfParallelism(ISession session, int exportCount)
+   {
+      SessionProperties props = session.getProperties();
+
+      if (2 > exportCount
+          || false == session.getConnectionPool().isAutoCommit()
+          || 2 > props.getQueryConnectionPoolSize()
+          || 2 > props.getSqlToFileExportParallelism())
+      {
+         return 1;
+      }
+
+      return Math.min(props.getSqlToFileExportParallelism(), Math.min(props.getQueryConnectionPoolSize(), exportCount));
+   }
+
+   static ExecutorService createExecutorService(int threadCount)
+   {
+      return Executors.newFixedThreadPool(threadCount, r -> {
+         Thread t = new Thread(r);
+         t.setName("SQL to file export Thread");
+         t.setDaemon(true);
+         return t;
+      });
+   }
+}
@@ -1,5 +1,6 @@
 package net.sourceforge.squirrel_sql.client.session.mainpanel;
 
+import net.sourceforge.squirrel_sql.client.session.ISQLExecuterHandler;
 import net.sourceforge.squirrel_sql.client.session.ISession;
 import net.sourceforge.squirrel_sql.client.session.mainpanel.notificationsound.FinishedNotificationSoundHandler;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.ResultSetDataSet;
@@ -70,10 +71,19 @@ class CancelPanelCtrl
    private void onSetSql(QueryHolder sql)
    {
       _currentSql = sql;
-      String label = s_stringMgr.getString("SQLResultExecuterPanel.currentSQLLabel", String.valueOf(_currentQueryIndex), String.valueOf(_queryCount), sql.getCleanQuery());
+      String label = s_stringMgr.getString("SQLResultExecuterPanel.currentSQLLabel", String.valueOf(_currentQueryIndex), getQueryCountString(), sql.getCleanQuery());
       _panel.sqlLbl.setText(label);
    }
 
+   private String getQueryCountString()
+   {
+      if (ISQLExecuterHandler.STATEMENT_COUNT_UNKNOWN == _queryCount)
+      {
+         return "?";
+      }
+      return String.valueOf(_queryCount);
+   }
+
    private void onCopyCurrentSqlToClip()
    {
       if(null == _currentSql || StringUtilities.isEmpty(_currentSql.getOriginalQuery(), true))
@@ -84,7 +84,7 @@ class SQLExecutionHandler implements ISQLExecuterHandler
       _executer = new SQLExecuterTask(_session, sql, this, buf, tableToBeEdited);
       SquirrelPreferences prefs = _session.getApplication().getSquirrelPreferences();
 
-      if (prefs.getLargeScriptStmtCount() > 0  && _executer.getQueryCount() > prefs.getLargeScriptStmtCount())
+      if (prefs.getLargeScriptStmtCount() > 0  && (_executer.isStreamingScript() || _executer.getQueryCount() > prefs.getLargeScriptStmtCount()))
       {
          _executer.clearExecutionListeners();
          setLargeScript(true);
@@ -157,6 +157,12 @@ class SQLExecutionHandler implements ISQLExecuterHandler
       {
          return true;
       }
+      if (ISQLExecuterHandler.STATEMENT_COUNT_UNKNOWN == total)
+      {
+         // Streamed scripts are large
+         total = Integer.MAX_VALUE;
+      }
+
       boolean result = true;
       // Back-off a bit after a hundred updates to allow the UI to update
       if (total > 200 && current > 100 && current % 10 != 0)
@@ -266,7 +272,7 @@ class SQLExecutionHandler implements ISQLExecuterHandler
 
       Object[] args = new Object[]{
             Integer.valueOf(processedStatementCount),
-            Integer.valueOf(statementCount),
+            ISQLExecuterHandler.STATEMENT_COUNT_UNKNOWN == statementCount ? "?" : Integer.valueOf(statementCount),
             numberResultRowsRead == null ? 0 : numberResultRowsRead,
             nbrFmt.format(totalLength),
             nbrFmt.format(executionLength),
@@ -399,6 +405,7 @@ class SQLExecutionHandler implements ISQLExecuterHandler
 
 
       _rsds.setLimitDataRead(true);
+      _rsds.setRowStoreConfig(_session.getApplication().getSquirrelPreferences().createResultRowStoreConfig());
 
 
 
@@ -17,24 +17,53 @@ package net.sourceforge.squirrel_sql.client.session.mainpanel;
  * License along with this library; if not, write to the Free Software
  * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
  */
+import net.sourceforge.squirrel_sql.client.session.mainpanel.sqlhistory.SQLHistoryStore;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 /**
  * This class represents SQL history.
  *
+ * When a {@link SQLHistoryStore} is attached the items held here are just the most recent ones.
+ * New items are appended to the store immediately and {@link #search(String, Predicate, int)}
+ * covers the whole stored history.
+ *
  * @author <A HREF="mailto:colbell@users.sourceforge.net">Colin Bell</A>
  */
 public class SQLHistory
 {
+	private static final ILogger s_log = LoggerController.createLogger(SQLHistory.class);
+
+	/**
+	 * Number of recent items loaded from the store when the user did not limit the history size.
+	 * Older items are found by {@link #search(String, Predicate, int)}.
+	 */
+	public static final int RECENT_ITEM_COUNT_WITHOUT_SIZE_LIMIT = 1000;
+
 	private List<SQLHistoryItem> _history = new ArrayList<>();
 	private List<SqlHistoryListener> _sqlHistoryListeners = new ArrayList<>();
 
+	private SQLHistoryStore _store;
+
 	public SQLHistory()
 	{
 	}
 
+	/**
+	 * @param recentItemCount Number of the most recent items to load from the store.
+	 */
+	public SQLHistory(SQLHistoryStore store, int recentItemCount) throws IOException
+	{
+		_store = store;
+		_history.addAll(store.readRecentItems(recentItemCount));
+	}
+
 	public SQLHistoryItem[] getSQLHistoryItems()
 	{
 		SQLHistoryItem[] data = new SQLHistoryItem[_history.size()];
@@ -66,6 +95,18 @@ public class SQLHistory
 
 		_history.add(0, sqlHistoryItem);
 
+		if (null != _store)
+		{
+			try
+			{
+				_store.append(sqlHistoryItem);
+			}
+			catch (IOException e)
+			{
+				s_log.error("Failed to append to SQL history store", e);
+			}
+		}
+
 		new ArrayList<>(_sqlHistoryListeners).forEach(l -> l.newSqlHistoryItem(sqlHistoryItem));
 	}
 
@@ -78,4 +119,45 @@ public class SQLHistory
 	{
 		_sqlHistoryListeners.remove(sqlHistoryListener);
 	}
+
+	/**
+	 * Searches the whole history, newest first. May be called from any thread.
+	 *
+	 * @param indexedText See {@link SQLHistoryStore#search(String, Predicate, int)}
+	 */
+	public List<SQLHistoryItem> search(String indexedText, Predicate<SQLHistoryItem> matcher, int maxResults)
+	{
+		if (null != _store)
+		{
+			try
+			{
+				return _store.search(indexedText, matcher, maxResults);
+			}
+			catch (IOException e)
+			{
+				s_log.error("Failed to search SQL history store, searching recent items only", e);
+			}
+		}
+
+		List<SQLHistoryItem> ret = new ArrayList<>();
+		for (SQLHistoryItem item : getSQLHistoryItems())
+		{
+			if (ret.size() < maxResults && matcher.test(item))
+			{
+				ret.add(item);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Limits the stored history. Whole segments are deleted, so a bit more than <code>maxSize</code> items may remain.
+	 */
+	public void limitStoredHistory(int maxSize)
+	{
+		if (null != _store)
+		{
+			_store.deleteOldSegments(maxSize);
+		}
+	}
 }
@@ -1,5 +1,6 @@
 package net.sourceforge.squirrel_sql.client.session.mainpanel;
 
+import net.sourceforge.squirrel_sql.client.Main;
 import net.sourceforge.squirrel_sql.client.session.ISQLPanelAPI;
 import net.sourceforge.squirrel_sql.client.session.ISession;
 import net.sourceforge.squirrel_sql.client.session.SessionUtils;
@@ -17,6 +18,8 @@ import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import static java.lang.Math.max;
@@ -28,6 +31,8 @@ public class SQLHistoryController
 
    private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(SQLHistoryController.class);
 
+   private static final int MAX_SEARCH_RESULTS = 10000;
+
    private SQLHistoryDlg _dlg;
    private ArrayList<SQLHistoryItemWrapper> _sqlHistoryItemWrappers;
    private boolean _dontReactToChkFiltered;
@@ -236,35 +241,47 @@ public class SQLHistoryController
       SortableTableModel stm = (SortableTableModel) _dlg.tblHistoryItems.getModel();
       SqlHistoryTableModel tm = (SqlHistoryTableModel) stm.getActualModel();
 
-      if(_dlg.chkFiltered.isSelected())
+      String filter = _dlg.txtFilter.getText();
+
+      if(null == filter || 0 == filter.length())
       {
-          ArrayList<SQLHistoryItemWrapper> clone = 
-              new ArrayList<SQLHistoryItemWrapper>(_sqlHistoryItemWrappers);
-         tm.setData(clone);
+         tm.setData(new ArrayList<>(_sqlHistoryItemWrappers));
+         setChkFiltered(false);
+         return;
       }
 
+      SQLHistoryDlg.FilterCboItems sel = (SQLHistoryDlg.FilterCboItems) _dlg.cboFilterItems.getSelectedItem();
+      Predicate<SQLHistoryItem> matcher = createMatcher(filter, sel);
+
+      // Regular expressions can't be looked up in the token index.
+      String indexedText = SQLHistoryDlg.FilterCboItems.REG_EX == sel ? null : filter;
 
-      ArrayList<SQLHistoryItemWrapper> toRemove = new ArrayList<SQLHistoryItemWrapper>();
-      for (SQLHistoryItemWrapper itemWrapper : tm.getData())
+      // The filter searches the whole stored history, not just the items of the SQL panel.
+      _dlg.btnApplyFilter.setEnabled(false);
+      Main.getApplication().getThreadPool().addTask(() ->
       {
-         if(false == matchesFilter(itemWrapper))
+         List<SQLHistoryItem> found = new ArrayList<>();
+         try
          {
-            toRemove.add(itemWrapper);
+            found = Main.getApplication().getSQLHistory().search(indexedText, matcher, MAX_SEARCH_RESULTS);
          }
-      }
-
+         finally
+         {
+            final ArrayList<SQLHistoryItem> finalFound = new ArrayList<>(found);
+            GUIUtils.processOnSwingEventThread(() -> onSearchFinished(tm, finalFound));
+         }
+      });
+   }
 
-      boolean filtered;
-      if(0 < toRemove.size())
-      {
-         tm.removeData(toRemove);
-         filtered = true;
-      }
-      else
-      {
-         filtered = false;
-      }
+   private void onSearchFinished(SqlHistoryTableModel tm, ArrayList<SQLHistoryItem> found)
+   {
+      _dlg.btnApplyFilter.setEnabled(true);
+      tm.setData(SQLHistoryItemWrapper.wrap(found));
+      setChkFiltered(true);
+   }
 
+   private void setChkFiltered(boolean filtered)
+   {
       try
       {
          _dontReactToChkFiltered = true;
@@ -276,31 +293,21 @@ public class SQLHistoryController
       }
    }
 
-   private boolean matchesFilter(SQLHistoryItemWrapper itemWrapper)
+   private static Predicate<SQLHistoryItem> createMatcher(String filter, SQLHistoryDlg.FilterCboItems sel)
    {
-      String filter = _dlg.txtFilter.getText();
-
-      if(null == filter || 0 == filter.length())
-      {
-         return true;
-      }
+      final String ucfilter = filter.toUpperCase();
 
-      String ucfilter;
-
-      SQLHistoryDlg.FilterCboItems sel = (SQLHistoryDlg.FilterCboItems) _dlg.cboFilterItems.getSelectedItem();
       switch (sel)
       {
          case CONTAINS:
-            ucfilter = filter.toUpperCase();
-            return -1 < itemWrapper.getUpperCaseSQL().indexOf(ucfilter);
+            return item -> -1 < item.getSQL().toUpperCase().indexOf(ucfilter);
          case STARTS_WITH:
-            ucfilter = filter.toUpperCase();
-            return itemWrapper.getUpperCaseSQL().startsWith(ucfilter);
+            return item -> item.getSQL().toUpperCase().startsWith(ucfilter);
          case ENDS_WITH:
-            ucfilter = filter.toUpperCase();
-            return itemWrapper.getUpperCaseSQL().endsWith(ucfilter);
+            return item -> item.getSQL().toUpperCase().endsWith(ucfilter);
          case REG_EX:
-            return Pattern.compile(filter, Pattern.CASE_INSENSITIVE).matcher(itemWrapper.getUpperCaseSQL()).matches();
+            Pattern pattern = Pattern.compile(filter, Pattern.CASE_INSENSITIVE);
+            return item -> pattern.matcher(item.getSQL().toUpperCase()).matches();
       }
 
       throw new IllegalArgumentException("How can I ever get here?????");
@@ -404,22 +411,11 @@ public class SQLHistoryController
          return SQLHistoryItemWrapper.getColumns().length;
       }
 
-      ArrayList<SQLHistoryItemWrapper> getData()
-      {
-         return _tempSqlHistoryItemWrappers;
-      }
-
       public void setData(ArrayList<SQLHistoryItemWrapper> sqlHistoryItemWrappers)
       {
          _tempSqlHistoryItemWrappers = sqlHistoryItemWrappers;
          _parent.tableChanged();
       }
-
-      public void removeData(ArrayList<SQLHistoryItemWrapper> toRemove)
-      {
-         _tempSqlHistoryItemWrappers.removeAll(toRemove);
-         _parent.tableChanged();
-      }
    }
 }
 
@@ -131,6 +131,8 @@ public class ObjectTree extends JTree
 
 			addToPopup(DatabaseObjectType.SESSION, actions.get(FilterObjectsAction.class));
 
+			addToPopup(DatabaseObjectType.SCHEMA, actions.get(CancelSchemaLoadingAction.class));
+
 			if (_session.getSQLConnection().getSQLMetaData().supportsCatalogs())
 			{
 				addToPopup(DatabaseObjectType.CATALOG,actions.get(SetDefaultCatalogAction.class));
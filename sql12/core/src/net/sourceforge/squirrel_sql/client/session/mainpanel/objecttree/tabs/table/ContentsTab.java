@@ -43,9 +43,11 @@ import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
 import javax.swing.*;
 import java.awt.*;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 /**
  * This is the tab showing the contents (data) of the table.
@@ -82,6 +84,15 @@ public class ContentsTab extends BaseTableTab
    private PleaseWaitDialog _waitDialog = null;
 
 	private SquirrelPreferences _prefs = null;
+
+   /**
+    * Non null while further pages of the table can be read, see {@link SessionProperties#getContentsPaging()}.
+    */
+   private volatile ContentsTabPaging _paging;
+   private volatile ResultSetDataSet _pagedDataSet;
+   private String _pagingColumnsExpression;
+   private boolean _readingNextPage;
+   private IDataSetViewer _viewerWithContinueReadChannel;
    
    public ContentsTab(ObjectTreePanel treePanel) {
       _treePanel = treePanel;
@@ -161,6 +172,19 @@ public class ContentsTab extends BaseTableTab
             }
             final ITableInfo ti = getTableInfo();
 
+            _paging = null;
+            _pagedDataSet = null;
+            ContentsTabPaging paging = null;
+            if (props.getContentsLimitRows() && props.getContentsPaging())
+            {
+               paging = ContentsTabPaging.create(md,
+                                                 DialectFactory.getDialectType(md),
+                                                 ti,
+                                                 md.getColumnInfo(ti),
+                                                 _sqlFilterClauses.get(OrderByClausePanel.getClauseIdentifier(), ti.getQualifiedName()),
+                                                 props.getContentsNbrRowsToShow());
+            }
+
             /**
              * When the SessionProperties are set to read-only (either table or text)
              * but the user has selected "Make Editable" on the Popup menu, we want
@@ -239,16 +263,25 @@ public class ContentsTab extends BaseTableTab
 
 
 
-            rs = createResultSet(ti, stmt, coded + pseudoColumn, true);
+            rs = createResultSet(ti, stmt, coded + pseudoColumn, true, paging);
+
+            if(null == rs && null != paging)
+            {
+               // E.g. Oracle before 12c does not know the OFFSET/FETCH clause.
+               s_log.info("Failed to read first page of " + ti.getQualifiedName() + ", reading without paging");
+               paging = null;
+               rs = createResultSet(ti, stmt, coded + pseudoColumn, false, null);
+            }
 
             if(null == rs)
             {
+               paging = null;
                pseudoColumn = "";
-               rs = createResultSet(ti, stmt, coded, false);
+               rs = createResultSet(ti, stmt, coded, false, null);
 
                if(null == rs)
                {
-                  rs = createResultSet(ti, stmt, "*", false);
+                  rs = createResultSet(ti, stmt, "*", false, null);
 
                   if(null == rs)
                   {
@@ -274,6 +307,7 @@ public class ContentsTab extends BaseTableTab
             // info to the ResultSet to override what it got from the ResultSetMetaData.
             final ResultSetDataSet rsds = new ResultSetDataSet(md.getColumnInfo(getTableInfo()));
             rsds.setLimitDataRead(true);
+            rsds.setRowStoreConfig(_prefs.createResultRowStoreConfig());
 
             // to allow the fw to save and reload user options related to
             // specific columns, we construct a unique name for the table
@@ -291,6 +325,15 @@ public class ContentsTab extends BaseTableTab
                 try { rs.close(); } catch (SQLException e) {}
             }
 
+            if (null != paging)
+            {
+               paging.pageRead(rsds.getAllDataForReadOnly(), rsds.currentRowCount());
+               _pagingColumnsExpression = coded + pseudoColumn;
+               _pagedDataSet = rsds;
+               _paging = paging;
+               GUIUtils.processOnSwingEventThread(() -> initContinueReadChannel());
+            }
+
 
             //?? remember which column is the rowID (if any) so we can
             //?? prevent editing on it
@@ -317,28 +360,15 @@ public class ContentsTab extends BaseTableTab
       }
    }
 
-   private ResultSet createResultSet(ITableInfo ti, Statement stmt, String columnsExpression, boolean showWaitDialog)
+   /**
+    * @param paging null to read the whole table, else the first page is read.
+    */
+   private ResultSet createResultSet(ITableInfo ti, Statement stmt, String columnsExpression, boolean showWaitDialog, ContentsTabPaging paging)
    {
       final StringBuffer buf = new StringBuffer();
       try
       {
-
-         buf.append("select ")
-               .append(columnsExpression)
-               .append(" from ")
-               .append(ti.getQualifiedName())
-               .append(" tbl");
-
-         String clause = _sqlFilterClauses.get(WhereClausePanel.getClauseIdentifier(), ti.getQualifiedName());
-         if ((clause != null) && (clause.length() > 0))
-         {
-            buf.append(" where ").append(clause);
-         }
-         clause = _sqlFilterClauses.get(OrderByClausePanel.getClauseIdentifier(), ti.getQualifiedName());
-         if ((clause != null) && (clause.length() > 0))
-         {
-            buf.append(" order by ").append(clause);
-         }
+         buf.append(createContentSelect(ti, columnsExpression, paging));
 
          if (s_log.isDebugEnabled()) {
             s_log.debug("createDataSet running SQL: " + buf.toString());
@@ -363,6 +393,171 @@ public class ContentsTab extends BaseTableTab
    }
 
 
+   private String createContentSelect(ITableInfo ti, String columnsExpression, ContentsTabPaging paging)
+   {
+      final StringBuilder buf = new StringBuilder();
+
+      buf.append("select ")
+            .append(columnsExpression)
+            .append(" from ")
+            .append(ti.getQualifiedName())
+            .append(" tbl");
+
+      String clause = _sqlFilterClauses.get(WhereClausePanel.getClauseIdentifier(), ti.getQualifiedName());
+      String keyCondition = null == paging ? null : paging.getKeyCondition();
+      if ((clause != null) && (clause.length() > 0))
+      {
+         buf.append(" where ").append(clause);
+         if (null != keyCondition)
+         {
+            buf.append(" and (").append(keyCondition).append(")");
+         }
+      }
+      else if (null != keyCondition)
+      {
+         buf.append(" where ").append(keyCondition);
+      }
+
+      clause = null == paging ? _sqlFilterClauses.get(OrderByClausePanel.getClauseIdentifier(), ti.getQualifiedName()) : paging.getOrderBy();
+      if ((clause != null) && (clause.length() > 0))
+      {
+         buf.append(" order by ").append(clause);
+      }
+
+      if (null != paging)
+      {
+         buf.append(" ").append(paging.getPagingClause());
+      }
+
+      return buf.toString();
+   }
+
+   private void initContinueReadChannel()
+   {
+      IDataSetViewer viewer = getComponent().getViewer();
+      if (_viewerWithContinueReadChannel == viewer)
+      {
+         return;
+      }
+      _viewerWithContinueReadChannel = viewer;
+
+      viewer.setContinueReadChannel(new ContinueReadChannel()
+      {
+         @Override
+         public void readMoreResults()
+         {
+            onReadNextPage();
+         }
+
+         @Override
+         public void closeStatementAndResultSet()
+         {
+            // Each page is read by its own statement that is closed right away.
+         }
+      });
+   }
+
+   private void onReadNextPage()
+   {
+      final ContentsTabPaging paging = _paging;
+      final ResultSetDataSet rsds = _pagedDataSet;
+
+      if (null == paging || paging.isAllRead() || _readingNextPage)
+      {
+         return;
+      }
+
+      IDataSetViewer viewer = getComponent().getViewer();
+      if (viewer instanceof DataSetViewerTablePanel && ((DataSetViewerTablePanel) viewer).hasPendingChanges())
+      {
+         // Showing the next page would discard the buffered changes.
+         return;
+      }
+
+      _readingNextPage = true;
+      final ITableInfo ti = getTableInfo();
+      final String columnsExpression = _pagingColumnsExpression;
+      _app.getThreadPool().addTask(() -> readNextPage(ti, columnsExpression, paging, rsds));
+   }
+
+   private void readNextPage(ITableInfo ti, String columnsExpression, ContentsTabPaging paging, ResultSetDataSet rsds)
+   {
+      final String sql = createContentSelect(ti, columnsExpression, paging);
+      try
+      {
+         if (s_log.isDebugEnabled())
+         {
+            s_log.debug("readNextPage running SQL: " + sql);
+         }
+
+         final List<Object[]> page;
+         PreparedStatement pstmt = getSession().getSQLConnection().prepareStatement(sql);
+         try
+         {
+            paging.setKeyParameters(pstmt);
+            ResultSet rs = pstmt.executeQuery();
+            try
+            {
+               page = rsds.readContentsTabResultSet(rs);
+               paging.pageRead(page, page.size());
+            }
+            finally
+            {
+               SQLUtilities.closeResultSet(rs);
+            }
+         }
+         finally
+         {
+            SQLUtilities.closeStatement(pstmt);
+         }
+
+         // The rows are added on the event dispatch thread because the table reads the data set's rows there.
+         GUIUtils.processOnSwingEventThread(() -> onNextPageRead(paging, rsds, page));
+      }
+      catch (Throwable t)
+      {
+         s_log.error("Failed to read next page of contents: " + sql, t);
+         getSession().showErrorMessage(t);
+         GUIUtils.processOnSwingEventThread(() -> _readingNextPage = false);
+      }
+   }
+
+   private void onNextPageRead(ContentsTabPaging paging, ResultSetDataSet rsds, List<Object[]> page)
+   {
+      _readingNextPage = false;
+
+      if (_paging != paging)
+      {
+         // The tab was reloaded meanwhile.
+         return;
+      }
+
+      IDataSetViewer viewer = getComponent().getViewer();
+      int firstNewRow = rsds.currentRowCount();
+      rsds.appendRows(page);
+
+      if (viewer instanceof DataSetViewerTablePanel)
+      {
+         // Only the new rows are added to the table.
+         ((DataSetViewerTablePanel) viewer).rowsAppended(rsds.getAllDataForReadOnly(), firstNewRow);
+         return;
+      }
+
+      try
+      {
+         TableState tableState = viewer.getResultSortableTableState();
+         viewer.show(rsds);
+         if (null != tableState)
+         {
+            viewer.applyResultSortableTableState(tableState);
+         }
+      }
+      catch (DataSetException e)
+      {
+         throw new RuntimeException(e);
+      }
+   }
+
    private StringBuilder gatherColumnsForContentSelect(ISQLDatabaseMetaData md,
                                                        final ITableInfo ti) throws SQLException
    {
@@ -549,6 +744,18 @@ public class ContentsTab extends BaseTableTab
       return _dataSetUpdateableTableModel.insertRow(values, colDefs);
    }
 
+   @Override
+   public String getWarningOnPendingChanges(PendingChanges pendingChanges, ColumnDisplayDefinition[] colDefs)
+   {
+      return _dataSetUpdateableTableModel.getWarningOnPendingChanges(pendingChanges, colDefs);
+   }
+
+   @Override
+   public String applyPendingChanges(PendingChanges pendingChanges, ColumnDisplayDefinition[] colDefs)
+   {
+      return _dataSetUpdateableTableModel.applyPendingChanges(pendingChanges, colDefs);
+   }
+
    @Override
    public void addListener(DataSetUpdateableTableModelListener l)
    {
@@ -0,0 +1,232 @@
+package net.sourceforge.squirrel_sql.client.session.mainpanel.objecttree.tabs.table;
+
+import net.sourceforge.squirrel_sql.fw.dialects.DialectType;
+import net.sourceforge.squirrel_sql.fw.dialects.DialectUtils2;
+import net.sourceforge.squirrel_sql.fw.sql.ISQLDatabaseMetaData;
+import net.sourceforge.squirrel_sql.fw.sql.ITableInfo;
+import net.sourceforge.squirrel_sql.fw.sql.PrimaryKeyInfo;
+import net.sourceforge.squirrel_sql.fw.sql.TableColumnInfo;
+import net.sourceforge.squirrel_sql.fw.util.StringUtilities;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the Contents tab page by page, see {@link ContentsTab#createDataSet()}.
+ *
+ * When the table has a primary key of numeric or date columns and the user did not define an order by clause
+ * the pages are read by key: <code>where (pk > :lastPk) order by pk</code>. So reading a page costs the same
+ * wherever it is in the table. Otherwise the dialect's LIMIT/OFFSET clause is used.
+ */
+class ContentsTabPaging
+{
+   private static final ILogger s_log = LoggerController.createLogger(ContentsTabPaging.class);
+
+   private final DialectType _dialectType;
+   private final int _pageSize;
+
+   /**
+    * Indexes of the primary key columns in the rows read, null if pages are read by offset.
+    */
+   private final int[] _keyIndexes;
+   private final String[] _keyColumns;
+
+   private final String _orderBy;
+
+   private long _rowCount;
+   private Object[] _lastKey;
+   private boolean _allRead;
+
+   private ContentsTabPaging(DialectType dialectType, int pageSize, int[] keyIndexes, String[] keyColumns, String orderBy)
+   {
+      _dialectType = dialectType;
+      _pageSize = pageSize;
+      _keyIndexes = keyIndexes;
+      _keyColumns = keyColumns;
+      _orderBy = orderBy;
+   }
+
+   /**
+    * @param columnInfos The table's columns in the order they are selected.
+    * @param userOrderBy The order by clause the user defined for the table, if any.
+    * @return null if the dialect has no known paging clause.
+    */
+   static ContentsTabPaging create(ISQLDatabaseMetaData md, DialectType dialectType, ITableInfo ti, TableColumnInfo[] columnInfos, String userOrderBy, int pageSize)
+   {
+      if (0 >= pageSize || null == DialectUtils2.getPagingClause(dialectType, 0, pageSize))
+      {
+         return null;
+      }
+
+      PrimaryKeyInfo[] pkInfos = new PrimaryKeyInfo[0];
+      try
+      {
+         pkInfos = md.getPrimaryKey(ti);
+      }
+      catch (Throwable t)
+      {
+         s_log.debug("Could not read primary key of " + ti.getQualifiedName() + ", paging by offset", t);
+      }
+
+      Arrays.sort(pkInfos, Comparator.comparingInt(PrimaryKeyInfo::getKeySequence));
+
+      int[] keyIndexes = new int[pkInfos.length];
+      String[] keyColumns = new String[pkInfos.length];
+      boolean keysetPossible = 0 < pkInfos.length;
+      for (int i = 0; i < pkInfos.length && keysetPossible; i++)
+      {
+         keyIndexes[i] = indexOf(columnInfos, pkInfos[i].getColumnName());
+         keyColumns[i] = "tbl." + DialectUtils2.checkColumnDoubleQuotes(dialectType, pkInfos[i].getColumnName());
+         keysetPossible = 0 <= keyIndexes[i];
+      }
+
+      if (keysetPossible && StringUtilities.isEmpty(userOrderBy, true))
+      {
+         boolean exactKeyValues = Arrays.stream(keyIndexes).allMatch(ix -> isReadExactly(columnInfos[ix].getDataType()));
+         String pkOrderBy = String.join(", ", keyColumns);
+
+         if (exactKeyValues)
+         {
+            return new ContentsTabPaging(dialectType, pageSize, keyIndexes, keyColumns, pkOrderBy);
+         }
+
+         // Offset paging needs a stable order
+         return new ContentsTabPaging(dialectType, pageSize, null, null, pkOrderBy);
+      }
+
+      String orderBy = userOrderBy;
+      if (StringUtilities.isEmpty(orderBy, true) && DialectUtils2.isOrderByRequiredForPaging(dialectType))
+      {
+         orderBy = "1";
+      }
+      return new ContentsTabPaging(dialectType, pageSize, null, null, orderBy);
+   }
+
+   /**
+    * Strings may be truncated when the Contents tab is read, see LimitReadLengthFeatureUnstable.
+    * So only values of these types are bound as keys to read the next page.
+    */
+   private static boolean isReadExactly(int sqlType)
+   {
+      switch (sqlType)
+      {
+         case Types.BIGINT:
+         case Types.INTEGER:
+         case Types.SMALLINT:
+         case Types.TINYINT:
+         case Types.DECIMAL:
+         case Types.NUMERIC:
+         case Types.DATE:
+         case Types.TIMESTAMP:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   private static int indexOf(TableColumnInfo[] columnInfos, String columnName)
+   {
+      for (int i = 0; i < columnInfos.length; i++)
+      {
+         if (columnInfos[i].getColumnName().equalsIgnoreCase(columnName))
+         {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   boolean isKeyset()
+   {
+      return null != _keyIndexes;
+   }
+
+   /**
+    * @return The condition that restricts the next page to rows after the last row read. Null for the first page
+    * or when pages are read by offset. Its parameters are set by {@link #setKeyParameters(PreparedStatement)}.
+    */
+   String getKeyCondition()
+   {
+      if (null == _keyIndexes || null == _lastKey)
+      {
+         return null;
+      }
+
+      // (k1 > ?) or (k1 = ? and k2 > ?) or ...
+      StringBuilder ret = new StringBuilder();
+      for (int i = 0; i < _keyColumns.length; i++)
+      {
+         if (0 < i)
+         {
+            ret.append(" or ");
+         }
+         ret.append("(");
+         for (int j = 0; j < i; j++)
+         {
+            ret.append(_keyColumns[j]).append(" = ? and ");
+         }
+         ret.append(_keyColumns[i]).append(" > ?)");
+      }
+      return ret.toString();
+   }
+
+   void setKeyParameters(PreparedStatement pstmt) throws SQLException
+   {
+      if (null == getKeyCondition())
+      {
+         return;
+      }
+
+      int paramIx = 1;
+      for (int i = 0; i < _keyIndexes.length; i++)
+      {
+         for (int j = 0; j <= i; j++)
+         {
+            pstmt.setObject(paramIx++, _lastKey[j]);
+         }
+      }
+   }
+
+   /**
+    * @return The order by clause without the "order by" keywords, null if none.
+    */
+   String getOrderBy()
+   {
+      return _orderBy;
+   }
+
+   String getPagingClause()
+   {
+      return DialectUtils2.getPagingClause(_dialectType, isKeyset() ? 0 : _rowCount, _pageSize);
+   }
+
+   /**
+    * @param rows All rows read so far, the last pageRowCount of them were read by the last page query.
+    */
+   void pageRead(List<Object[]> rows, int pageRowCount)
+   {
+      _rowCount += pageRowCount;
+      _allRead = pageRowCount < _pageSize;
+
+      if (null != _keyIndexes && 0 < pageRowCount)
+      {
+         Object[] lastRow = rows.get(rows.size() - 1);
+         _lastKey = new Object[_keyIndexes.length];
+         for (int i = 0; i < _keyIndexes.length; i++)
+         {
+            _lastKey[i] = lastRow[_keyIndexes[i]];
+         }
+      }
+   }
+
+   boolean isAllRead()
+   {
+      return _allRead;
+   }
+}
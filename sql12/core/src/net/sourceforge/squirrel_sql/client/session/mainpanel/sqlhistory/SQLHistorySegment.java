@@ -0,0 +1,300 @@
+package net.sourceforge.squirrel_sql.client.session.mainpanel.sqlhistory;
+
+import net.sourceforge.squirrel_sql.client.session.mainpanel.SQLHistoryItem;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.zip.CRC32;
+
+/**
+ * One file of the append only SQL history log.
+ *
+ * A record is <code>int payloadLength, int payloadCrc, payload</code> where the payload is
+ * <code>long lastUsageTime, int aliasLength, alias UTF-8, int sqlLength, sql UTF-8</code>.
+ * Lengths of -1 stand for null. The CRC lets us drop a record that was torn by a crash while it was written.
+ *
+ * The offset of a record in its file is the record's id within the segment.
+ */
+class SQLHistorySegment
+{
+   private static final ILogger s_log = LoggerController.createLogger(SQLHistorySegment.class);
+
+   static final String SEGMENT_FILE_SUFFIX = ".log";
+   static final String INDEX_FILE_SUFFIX = ".idx";
+
+   private static final int RECORD_HEADER_LENGTH = 8;
+
+   private final int _number;
+   private final File _file;
+   private final File _indexFile;
+
+   private long _length;
+
+   /**
+    * The active segment's index is always in memory.
+    * A sealed segment's index is loaded on demand and may be reclaimed.
+    */
+   private SQLHistoryTokenIndex _activeIndex;
+   private SoftReference<SQLHistoryTokenIndex> _sealedIndexRef = new SoftReference<>(null);
+
+   SQLHistorySegment(File dir, int number)
+   {
+      _number = number;
+      String baseName = String.format("segment-%08d", number);
+      _file = new File(dir, baseName + SEGMENT_FILE_SUFFIX);
+      _indexFile = new File(dir, baseName + INDEX_FILE_SUFFIX);
+      _length = _file.length();
+   }
+
+   int getNumber()
+   {
+      return _number;
+   }
+
+   long getLength()
+   {
+      return _length;
+   }
+
+   /**
+    * Validates the records, cuts off a record torn by a crash and builds the in memory index.
+    */
+   void openForAppend() throws IOException
+   {
+      SQLHistoryTokenIndex index = new SQLHistoryTokenIndex();
+      long validLength = readAll((offset, item) -> index.add(offset, item.getSQL()));
+
+      if (validLength < _length)
+      {
+         s_log.warn("Truncating SQL history segment " + _file + " from " + _length + " to " + validLength + " bytes. The remaining bytes were not a complete record.");
+         try (RandomAccessFile raf = new RandomAccessFile(_file, "rw"))
+         {
+            raf.setLength(validLength);
+         }
+         _length = validLength;
+      }
+
+      _activeIndex = index;
+   }
+
+   /**
+    * Writes the index file. Afterwards the segment is read only.
+    */
+   void seal() throws IOException
+   {
+      if (null != _activeIndex)
+      {
+         _activeIndex.write(_indexFile);
+         _sealedIndexRef = new SoftReference<>(_activeIndex);
+         _activeIndex = null;
+      }
+   }
+
+   void append(SQLHistoryItem item) throws IOException
+   {
+      byte[] payload = toPayload(item);
+
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+
+      ByteArrayOutputStream bos = new ByteArrayOutputStream(RECORD_HEADER_LENGTH + payload.length);
+      DataOutputStream dos = new DataOutputStream(bos);
+      dos.writeInt(payload.length);
+      dos.writeInt((int) crc.getValue());
+      dos.write(payload);
+
+      // The file is opened per append. Once close() returned the record survives a crash of SQuirreL.
+      try (FileOutputStream fos = new FileOutputStream(_file, true))
+      {
+         fos.write(bos.toByteArray());
+      }
+
+      _activeIndex.add((int) _length, item.getSQL());
+      _length += bos.size();
+   }
+
+   SQLHistoryTokenIndex getIndex()
+   {
+      if (null != _activeIndex)
+      {
+         return _activeIndex;
+      }
+
+      SQLHistoryTokenIndex ret = _sealedIndexRef.get();
+      if (null != ret)
+      {
+         return ret;
+      }
+
+      try
+      {
+         ret = SQLHistoryTokenIndex.read(_indexFile);
+      }
+      catch (IOException e)
+      {
+         s_log.warn("Failed to read SQL history index " + _indexFile + ". Rebuilding it.", e);
+         ret = null;
+      }
+
+      if (null == ret)
+      {
+         ret = rebuildIndex();
+      }
+
+      _sealedIndexRef = new SoftReference<>(ret);
+      return ret;
+   }
+
+   private SQLHistoryTokenIndex rebuildIndex()
+   {
+      SQLHistoryTokenIndex ret = new SQLHistoryTokenIndex();
+      try
+      {
+         readAll((offset, item) -> ret.add(offset, item.getSQL()));
+         ret.write(_indexFile);
+      }
+      catch (IOException e)
+      {
+         s_log.error("Failed to rebuild SQL history index " + _indexFile, e);
+      }
+      return ret;
+   }
+
+   /**
+    * @return The length of the valid records.
+    */
+   long readAll(RecordHandler handler) throws IOException
+   {
+      if (false == _file.exists())
+      {
+         return 0;
+      }
+
+      long offset = 0;
+      try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(_file))))
+      {
+         while (offset + RECORD_HEADER_LENGTH <= _length)
+         {
+            int payloadLength = dis.readInt();
+            int crcValue = dis.readInt();
+
+            if (payloadLength < 0 || _length < offset + RECORD_HEADER_LENGTH + payloadLength)
+            {
+               break;
+            }
+
+            byte[] payload = new byte[payloadLength];
+            dis.readFully(payload);
+
+            SQLHistoryItem item = toItem(payload, crcValue);
+            if (null == item)
+            {
+               break;
+            }
+
+            handler.record((int) offset, item);
+            offset += RECORD_HEADER_LENGTH + payloadLength;
+         }
+      }
+      catch (EOFException e)
+      {
+         // Torn record at the end
+      }
+      return offset;
+   }
+
+   SQLHistoryItem read(RandomAccessFile raf, int offset) throws IOException
+   {
+      raf.seek(offset);
+      int payloadLength = raf.readInt();
+      int crcValue = raf.readInt();
+      byte[] payload = new byte[payloadLength];
+      raf.readFully(payload);
+
+      return toItem(payload, crcValue);
+   }
+
+   RandomAccessFile openForRead() throws IOException
+   {
+      return new RandomAccessFile(_file, "r");
+   }
+
+   void delete()
+   {
+      _file.delete();
+      _indexFile.delete();
+   }
+
+   private static SQLHistoryItem toItem(byte[] payload, int crcValue) throws IOException
+   {
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      if ((int) crc.getValue() != crcValue)
+      {
+         return null;
+      }
+
+      DataInputStream dis = new DataInputStream(new ByteArrayInputStream(payload));
+      long time = dis.readLong();
+      String aliasName = readString(dis);
+      String sql = readString(dis);
+
+      SQLHistoryItem ret = new SQLHistoryItem(null == sql ? "" : sql, aliasName);
+      ret.setLastUsageTime(-1 == time ? null : new Date(time));
+      return ret;
+   }
+
+   private static byte[] toPayload(SQLHistoryItem item) throws IOException
+   {
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      DataOutputStream dos = new DataOutputStream(bos);
+      dos.writeLong(null == item.getLastUsageTime() ? -1 : item.getLastUsageTime().getTime());
+      writeString(dos, item.getAliasName());
+      writeString(dos, item.getSQL());
+      dos.flush();
+      return bos.toByteArray();
+   }
+
+   private static void writeString(DataOutputStream dos, String s) throws IOException
+   {
+      if (null == s)
+      {
+         dos.writeInt(-1);
+         return;
+      }
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      dos.writeInt(bytes.length);
+      dos.write(bytes);
+   }
+
+   private static String readString(DataInputStream dis) throws IOException
+   {
+      int length = dis.readInt();
+      if (-1 == length)
+      {
+         return null;
+      }
+      byte[] bytes = new byte[length];
+      dis.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+   interface RecordHandler
+   {
+      void record(int offset, SQLHistoryItem item);
+   }
+}
@@ -0,0 +1,213 @@
+package net.sourceforge.squirrel_sql.client.session.mainpanel.sqlhistory;
+
+import net.sourceforge.squirrel_sql.client.session.mainpanel.SQLHistoryItem;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Append only SQL history log.
+ *
+ * Each executed statement is appended to the active segment file right away instead of rewriting the whole
+ * history at shutdown. When the active segment exceeds {@link #MAX_SEGMENT_LENGTH} it is sealed together with
+ * its token index and a new segment is started. Searching the whole history reads only the records
+ * the indexes name as candidates.
+ *
+ * Reexecuting a statement appends it again. Readers keep the newest record of an SQL only.
+ */
+public class SQLHistoryStore
+{
+   private static final ILogger s_log = LoggerController.createLogger(SQLHistoryStore.class);
+
+   private static final long MAX_SEGMENT_LENGTH = 1024 * 1024;
+
+   private final File _dir;
+
+   /**
+    * Oldest first, the last one is the active segment.
+    */
+   private final List<SQLHistorySegment> _segments = new ArrayList<>();
+
+   public SQLHistoryStore(File dir) throws IOException
+   {
+      _dir = dir;
+
+      if (false == _dir.exists() && false == _dir.mkdirs())
+      {
+         throw new IOException("Failed to create SQL history directory " + _dir);
+      }
+
+      List<Integer> numbers = new ArrayList<>();
+      File[] files = _dir.listFiles();
+      for (File file : null == files ? new File[0] : files)
+      {
+         String name = file.getName();
+         if (name.startsWith("segment-") && name.endsWith(SQLHistorySegment.SEGMENT_FILE_SUFFIX))
+         {
+            try
+            {
+               numbers.add(Integer.parseInt(name.substring("segment-".length(), name.length() - SQLHistorySegment.SEGMENT_FILE_SUFFIX.length())));
+            }
+            catch (NumberFormatException e)
+            {
+               s_log.warn("Ignoring unexpected file in SQL history directory: " + file);
+            }
+         }
+      }
+      Collections.sort(numbers);
+
+      for (Integer number : numbers)
+      {
+         _segments.add(new SQLHistorySegment(_dir, number));
+      }
+
+      if (_segments.isEmpty())
+      {
+         _segments.add(new SQLHistorySegment(_dir, 1));
+      }
+
+      getActiveSegment().openForAppend();
+   }
+
+   public synchronized boolean isEmpty()
+   {
+      return 1 == _segments.size() && 0 == getActiveSegment().getLength();
+   }
+
+   public synchronized void append(SQLHistoryItem item) throws IOException
+   {
+      SQLHistorySegment active = getActiveSegment();
+      if (MAX_SEGMENT_LENGTH <= active.getLength())
+      {
+         active.seal();
+         active = new SQLHistorySegment(_dir, active.getNumber() + 1);
+         active.openForAppend();
+         _segments.add(active);
+      }
+
+      active.append(item);
+   }
+
+   /**
+    * @return The newest distinct statements, newest first. Reads only as many segments as needed.
+    */
+   public synchronized List<SQLHistoryItem> readRecentItems(int maxCount) throws IOException
+   {
+      List<SQLHistoryItem> ret = new ArrayList<>();
+      HashSet<String> sqls = new HashSet<>();
+
+      for (int i = _segments.size() - 1; i >= 0 && ret.size() < maxCount; i--)
+      {
+         List<SQLHistoryItem> segmentItems = new ArrayList<>();
+         _segments.get(i).readAll((offset, item) -> segmentItems.add(item));
+
+         for (int j = segmentItems.size() - 1; j >= 0 && ret.size() < maxCount; j--)
+         {
+            SQLHistoryItem item = segmentItems.get(j);
+            if (sqls.add(item.getSQL()))
+            {
+               ret.add(item);
+            }
+         }
+      }
+      return ret;
+   }
+
+   /**
+    * Searches the whole history, newest first.
+    *
+    * @param indexedText Text every result contains, ignoring case. It is used to look up candidates in the token indexes.
+    *                    If null all records are candidates.
+    * @param matcher Decides if a candidate is a result.
+    * @param maxResults The search stops when this number of distinct statements was found.
+    */
+   public synchronized List<SQLHistoryItem> search(String indexedText, Predicate<SQLHistoryItem> matcher, int maxResults) throws IOException
+   {
+      List<String> queryTokens = null == indexedText ? null : SQLHistoryTokenIndex.tokenize(indexedText);
+
+      List<SQLHistoryItem> ret = new ArrayList<>();
+      HashSet<String> sqls = new HashSet<>();
+
+      for (int i = _segments.size() - 1; i >= 0 && ret.size() < maxResults; i--)
+      {
+         SQLHistorySegment segment = _segments.get(i);
+
+         if (null == queryTokens || queryTokens.isEmpty())
+         {
+            List<SQLHistoryItem> segmentItems = new ArrayList<>();
+            segment.readAll((offset, item) -> segmentItems.add(item));
+            for (int j = segmentItems.size() - 1; j >= 0 && ret.size() < maxResults; j--)
+            {
+               addIfMatching(segmentItems.get(j), matcher, sqls, ret);
+            }
+            continue;
+         }
+
+         int[] candidates = segment.getIndex().findCandidates(queryTokens);
+         if (0 == candidates.length)
+         {
+            continue;
+         }
+
+         try (RandomAccessFile raf = segment.openForRead())
+         {
+            for (int j = candidates.length - 1; j >= 0 && ret.size() < maxResults; j--)
+            {
+               SQLHistoryItem item = segment.read(raf, candidates[j]);
+               if (null != item)
+               {
+                  addIfMatching(item, matcher, sqls, ret);
+               }
+            }
+         }
+      }
+      return ret;
+   }
+
+   /**
+    * Deletes the oldest sealed segments that are not needed to keep at least <code>minRecordCount</code> records.
+    */
+   public synchronized void deleteOldSegments(int minRecordCount)
+   {
+      int keptRecordCount = 0;
+      int firstToDelete = -1;
+      for (int i = _segments.size() - 1; i >= 0; i--)
+      {
+         if (minRecordCount <= keptRecordCount)
+         {
+            firstToDelete = i;
+            break;
+         }
+         keptRecordCount += _segments.get(i).getIndex().getRecordCount();
+      }
+
+      for (int i = firstToDelete; i >= 0; i--)
+      {
+         SQLHistorySegment segment = _segments.remove(i);
+         segment.delete();
+         s_log.info("Deleted SQL history segment " + segment.getNumber() + " because it exceeds the history size limit.");
+      }
+   }
+
+   private void addIfMatching(SQLHistoryItem item, Predicate<SQLHistoryItem> matcher, HashSet<String> sqls, List<SQLHistoryItem> ret)
+   {
+      // The newest record of an SQL decides. Older ones are ignored even if they match.
+      if (sqls.add(item.getSQL()) && matcher.test(item))
+      {
+         ret.add(item);
+      }
+   }
+
+   private SQLHistorySegment getActiveSegment()
+   {
+      return _segments.get(_segments.size() - 1);
+   }
+}
@@ -0,0 +1,278 @@
+package net.sourceforge.squirrel_sql.client.session.mainpanel.sqlhistory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index of one {@link SQLHistorySegment}: Maps the upper case tokens of the SQL statements
+ * to the offsets of the records that contain them.
+ */
+class SQLHistoryTokenIndex
+{
+   /**
+    * Version 1 wrote tokens by DataOutputStream.writeUTF(), which fails for tokens longer than 65535 bytes.
+    */
+   private static final int FILE_FORMAT_VERSION = 2;
+
+   private final HashMap<String, Postings> _postingsByToken = new HashMap<>();
+   private int _recordCount;
+
+   void add(int offset, String sql)
+   {
+      ++_recordCount;
+      for (String token : tokenize(sql))
+      {
+         Postings postings = _postingsByToken.computeIfAbsent(token, t -> new Postings());
+
+         // Records are added in offset order, so a token that occurs twice in a statement is detected here.
+         if (0 == postings._size || postings._offsets[postings._size - 1] != offset)
+         {
+            postings.add(offset);
+         }
+      }
+   }
+
+   int getRecordCount()
+   {
+      return _recordCount;
+   }
+
+   /**
+    * @param queryTokens Tokens as returned by {@link #tokenize(String)}.
+    *
+    * @return Ascending offsets of the records where each query token is contained in at least one of the record's tokens.
+    * This is a superset of the records that contain the text the query tokens were taken from.
+    */
+   int[] findCandidates(List<String> queryTokens)
+   {
+      int[] ret = null;
+      for (String queryToken : queryTokens)
+      {
+         int[] matches = findRecordsWithTokenContaining(queryToken);
+         ret = null == ret ? matches : intersect(ret, matches);
+
+         if (0 == ret.length)
+         {
+            break;
+         }
+      }
+      return null == ret ? new int[0] : ret;
+   }
+
+   private int[] findRecordsWithTokenContaining(String queryToken)
+   {
+      Postings exact = _postingsByToken.get(queryToken);
+
+      List<Postings> matching = new ArrayList<>();
+      for (Map.Entry<String, Postings> entry : _postingsByToken.entrySet())
+      {
+         if (entry.getKey().contains(queryToken))
+         {
+            matching.add(entry.getValue());
+         }
+      }
+
+      if (1 == matching.size() && null != exact)
+      {
+         return Arrays.copyOf(exact._offsets, exact._size);
+      }
+
+      int size = 0;
+      for (Postings postings : matching)
+      {
+         size += postings._size;
+      }
+
+      int[] ret = new int[size];
+      int pos = 0;
+      for (Postings postings : matching)
+      {
+         System.arraycopy(postings._offsets, 0, ret, pos, postings._size);
+         pos += postings._size;
+      }
+
+      Arrays.sort(ret);
+      return distinct(ret);
+   }
+
+   void write(File file) throws IOException
+   {
+      try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+      {
+         dos.writeInt(FILE_FORMAT_VERSION);
+         dos.writeInt(_recordCount);
+         dos.writeInt(_postingsByToken.size());
+         for (Map.Entry<String, Postings> entry : _postingsByToken.entrySet())
+         {
+            writeToken(dos, entry.getKey());
+            Postings postings = entry.getValue();
+            dos.writeInt(postings._size);
+            for (int i = 0; i < postings._size; i++)
+            {
+               dos.writeInt(postings._offsets[i]);
+            }
+         }
+      }
+   }
+
+   /**
+    * @return null if the file does not exist or has an unknown format.
+    */
+   static SQLHistoryTokenIndex read(File file) throws IOException
+   {
+      if (false == file.exists())
+      {
+         return null;
+      }
+
+      try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+      {
+         if (FILE_FORMAT_VERSION != dis.readInt())
+         {
+            return null;
+         }
+
+         SQLHistoryTokenIndex ret = new SQLHistoryTokenIndex();
+         ret._recordCount = dis.readInt();
+         int tokenCount = dis.readInt();
+         for (int i = 0; i < tokenCount; i++)
+         {
+            String token = readToken(dis);
+            Postings postings = new Postings(dis.readInt());
+            for (int j = 0; j < postings._offsets.length; j++)
+            {
+               postings.add(dis.readInt());
+            }
+            ret._postingsByToken.put(token, postings);
+         }
+         return ret;
+      }
+   }
+
+   private static void writeToken(DataOutputStream dos, String token) throws IOException
+   {
+      byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+      dos.writeInt(bytes.length);
+      dos.write(bytes);
+   }
+
+   private static String readToken(DataInputStream dis) throws IOException
+   {
+      byte[] bytes = new byte[dis.readInt()];
+      dis.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+   /**
+    * Splits at everything that can't be part of an SQL identifier or number.
+    */
+   static List<String> tokenize(String text)
+   {
+      List<String> ret = new ArrayList<>();
+      if (null == text)
+      {
+         return ret;
+      }
+
+      String upperText = text.toUpperCase();
+      int begin = -1;
+      for (int i = 0; i <= upperText.length(); i++)
+      {
+         boolean tokenChar = i < upperText.length() && isTokenChar(upperText.charAt(i));
+
+         if (tokenChar && -1 == begin)
+         {
+            begin = i;
+         }
+         else if (false == tokenChar && -1 != begin)
+         {
+            String token = upperText.substring(begin, i);
+            if (false == ret.contains(token))
+            {
+               ret.add(token);
+            }
+            begin = -1;
+         }
+      }
+      return ret;
+   }
+
+   private static boolean isTokenChar(char c)
+   {
+      return Character.isLetterOrDigit(c) || '_' == c || '$' == c || '#' == c;
+   }
+
+   private static int[] intersect(int[] a, int[] b)
+   {
+      int[] ret = new int[Math.min(a.length, b.length)];
+      int size = 0;
+      for (int i = 0, j = 0; i < a.length && j < b.length; )
+      {
+         if (a[i] < b[j])
+         {
+            ++i;
+         }
+         else if (a[i] > b[j])
+         {
+            ++j;
+         }
+         else
+         {
+            ret[size++] = a[i];
+            ++i;
+            ++j;
+         }
+      }
+      return Arrays.copyOf(ret, size);
+   }
+
+   private static int[] distinct(int[] sorted)
+   {
+      int size = 0;
+      for (int i = 0; i < sorted.length; i++)
+      {
+         if (0 == size || sorted[size - 1] != sorted[i])
+         {
+            sorted[size++] = sorted[i];
+         }
+      }
+      return Arrays.copyOf(sorted, size);
+   }
+
+   private static class Postings
+   {
+      private int[] _offsets;
+      private int _size;
+
+      Postings()
+      {
+         this(4);
+      }
+
+      Postings(int capacity)
+      {
+         _offsets = new int[capacity];
+      }
+
+      void add(int offset)
+      {
+         if (_size == _offsets.length)
+         {
+            _offsets = Arrays.copyOf(_offsets, Math.max(4, _offsets.length * 2));
+         }
+         _offsets[_size++] = offset;
+      }
+   }
+}
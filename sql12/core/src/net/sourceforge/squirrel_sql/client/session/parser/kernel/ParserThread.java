@@ -10,6 +10,8 @@ import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
 import net.sourceforge.squirrel_sql.fw.util.StringUtilities;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -19,6 +21,8 @@ public class ParserThread
 {
    private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(ParserThread.class);
 
+   private static final int MAX_CACHED_PARSING_RESULTS = 1000;
+
    private final ExecutorService _executorService;
    private ISession _session;
    private ParsingFinishedListener _parsingFinishedListener;
@@ -26,6 +30,13 @@ public class ParserThread
    private ErrorInfo[] _errorInfos = new ErrorInfo[0];
    private TableAliasInfo[] _tableAliasInfos = new TableAliasInfo[0];
 
+   /**
+    * Parsing results by statement text. Positions within a ParsingResult are relative to the statement's begin,
+    * so a result stays valid when the statement moved because of edits elsewhere in the editor.
+    * Accessed by the parser's single executor thread only.
+    */
+   private final HashMap<String, ParsingResult> _parsingResultByStatement = new HashMap<>();
+
    private ParseTerminateRequestCheck _parseTerminateRequestCheck = () -> onCheckExitThreadRequested();
    private volatile boolean _exitThreadRequested = false;
 
@@ -93,11 +104,14 @@ public class ParserThread
       ArrayList<ErrorInfo> errorInfosBuffer = new ArrayList<>();
       ArrayList<TableAliasInfo> tableAliasInfosBuffer = new ArrayList<>();
 
+      HashSet<String> currentStatements = new HashSet<>();
+
       for (StatementBounds statementBounds : statementBoundsList)
       {
          _parseTerminateRequestCheck.check();
 
-         ParsingResult parsingResult = JSqlParserAdapter.executeParsing(statementBounds);
+         currentStatements.add(statementBounds.getStatement());
+         ParsingResult parsingResult = getParsingResult(statementBounds);
 
          _parseTerminateRequestCheck.check();
 
@@ -152,6 +166,32 @@ public class ParserThread
 
       _errorInfos = errorInfosBuffer.toArray(new ErrorInfo[0]);
       _tableAliasInfos = tableAliasInfosBuffer.toArray(new TableAliasInfo[0]);
+
+      // Statements that were edited or removed since the last parse won't come again.
+      _parsingResultByStatement.keySet().retainAll(currentStatements);
+   }
+
+   /**
+    * Only statements that are new or were edited since the last parse are passed to the parser.
+    *
+    * When the cache is full further results are not cached. This way, in an editor holding more statements than the cache can hold,
+    * the cached statements stay cached instead of each parse run evicting the results the next run needs.
+    */
+   private ParsingResult getParsingResult(StatementBounds statementBounds) throws ParseException
+   {
+      ParsingResult parsingResult = _parsingResultByStatement.get(statementBounds.getStatement());
+
+      if (null == parsingResult)
+      {
+         parsingResult = JSqlParserAdapter.executeParsing(statementBounds);
+
+         if (MAX_CACHED_PARSING_RESULTS > _parsingResultByStatement.size())
+         {
+            _parsingResultByStatement.put(statementBounds.getStatement(), parsingResult);
+         }
+      }
+
+      return parsingResult;
    }
 
    private boolean aliasesMayGotLostByParserErrors(List<TableAliasInfo> tableAliasInfos, ParsingResult parsingResult)
@@ -107,11 +107,25 @@ public class SqlCommentHelper
 
    boolean isInComment(int pos)
    {
-      for(int i=0; i < _commentIntervals.length; ++i)
+      // The intervals are sorted and don't overlap. So we look for the last interval beginning at or before pos.
+      int low = 0;
+      int high = _commentIntervals.length - 1;
+
+      while (low <= high)
       {
-         if(_commentIntervals[i][0] <= pos && pos <= _commentIntervals[i][1])
+         int mid = (low + high) >>> 1;
+
+         if(_commentIntervals[mid][0] <= pos)
          {
-            return true;
+            if(pos <= _commentIntervals[mid][1])
+            {
+               return true;
+            }
+            low = mid + 1;
+         }
+         else
+         {
+            high = mid - 1;
          }
       }
 
@@ -5,8 +5,14 @@ public class StatementBeginPrediction
 {
    static int predictNextStatementBegin(String sqlEditorText, int startPos, ParseTerminateRequestCheck check)
    {
-      SqlCommentHelper sqlCommentHelper = new SqlCommentHelper(sqlEditorText, check);
+      return predictNextStatementBegin(sqlEditorText, startPos, new SqlCommentHelper(sqlEditorText, check), check);
+   }
 
+   /**
+    * @param sqlCommentHelper Must have been created for sqlEditorText. Allows to reuse the comment intervals when predicting all statement begins of a text.
+    */
+   static int predictNextStatementBegin(String sqlEditorText, int startPos, SqlCommentHelper sqlCommentHelper, ParseTerminateRequestCheck check)
+   {
       int ret = startPos;
 
       int openBracketsCount = 0;
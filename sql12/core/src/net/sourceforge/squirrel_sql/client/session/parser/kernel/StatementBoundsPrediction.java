@@ -10,15 +10,18 @@ public class StatementBoundsPrediction
    {
       ArrayList<StatementBounds> ret = new ArrayList<>();
 
-      int beg = StatementBeginPrediction.predictNextStatementBegin(text, 0, check);
-      int end = StatementBeginPrediction.predictNextStatementBegin(text, beg + 1, check);
+      // Comment intervals are computed once for the whole text instead of once per statement.
+      SqlCommentHelper sqlCommentHelper = new SqlCommentHelper(text, check);
+
+      int beg = StatementBeginPrediction.predictNextStatementBegin(text, 0, sqlCommentHelper, check);
+      int end = StatementBeginPrediction.predictNextStatementBegin(text, beg + 1, sqlCommentHelper, check);
 
       while (beg < end && end-1 < text.length())
       {
          ret.add(new StatementBounds(text.substring(beg, end), beg, end));
 
-         beg = StatementBeginPrediction.predictNextStatementBegin(text, end, check);
-         end = StatementBeginPrediction.predictNextStatementBegin(text, beg + 1, check);
+         beg = StatementBeginPrediction.predictNextStatementBegin(text, end, sqlCommentHelper, check);
+         end = StatementBeginPrediction.predictNextStatementBegin(text, beg + 1, sqlCommentHelper, check);
       }
 
       return ret;
@@ -28,6 +28,7 @@ class SQLPropertiesPanel extends JPanel
 
    private IntegerField _metaDataLoadingTimeOutTxt = new IntegerField(8, 0);
    private IntegerField _queryConnectionPoolSizeTxt = new IntegerField(3, 0);
+   private IntegerField _sqlToFileExportParallelismTxt = new IntegerField(3, 1);
 
    private JCheckBox _autoCommitChk = new JCheckBox(s_stringMgr.getString("SessionSQLPropertiesPanel.autocommit"));
    private JCheckBox _commitOnClose = new JCheckBox(s_stringMgr.getString("SessionSQLPropertiesPanel.commitonclose"));
@@ -81,6 +82,7 @@ class SQLPropertiesPanel extends JPanel
       _loadColumsInBackgroundChk.setSelected(props.getLoadColumnsInBackground());
       _metaDataLoadingTimeOutTxt.setInt((int)props.getMetaDataLoadingTimeOut());
       _queryConnectionPoolSizeTxt.setInt(props.getQueryConnectionPoolSize());
+      _sqlToFileExportParallelismTxt.setInt(props.getSqlToFileExportParallelism());
 
       _autoCommitChk.setSelected(props.getAutoCommit());
       _commitOnClose.setSelected(props.getCommitOnClosingConnection());
@@ -171,6 +173,7 @@ class SQLPropertiesPanel extends JPanel
       props.setLoadColumnsInBackground(_loadColumsInBackgroundChk.isSelected());
       props.setMetaDataLoadingTimeOut(_metaDataLoadingTimeOutTxt.getInt());
       props.setQueryConnectionPoolSize(_queryConnectionPoolSizeTxt.getInt());
+      props.setSqlToFileExportParallelism(Math.max(1, _sqlToFileExportParallelismTxt.getInt()));
       props.setAutoCommit(_autoCommitChk.isSelected());
       props.setCommitOnClosingConnection(_commitOnClose.isSelected());
 
@@ -421,6 +424,12 @@ class SQLPropertiesPanel extends JPanel
       gbc = new GridBagConstraints(1, 1, 1, 1, 0, 0, GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(0, 5, 0, 0), 0, 0);
       queryConnectionPool.add(_queryConnectionPoolSizeTxt, gbc);
 
+      gbc = new GridBagConstraints(0, 2, 1, 1, 0, 0, GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(5, 0, 0, 0), 0, 0);
+      queryConnectionPool.add(new JLabel(s_stringMgr.getString("SessionSQLPropertiesPanel.sqlToFileExportParallelism")), gbc);
+
+      gbc = new GridBagConstraints(1, 2, 1, 1, 0, 0, GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(5, 5, 0, 0), 0, 0);
+      queryConnectionPool.add(_sqlToFileExportParallelismTxt, gbc);
+
       queryConnectionPool.setBorder(BorderFactory.createTitledBorder(s_stringMgr.getString("SessionSQLPropertiesPanel.queryConnectionPool")));
 
       gbc = new GridBagConstraints(0, 0, 1, 1, 1, 1, GridBagConstraints.NORTHWEST, GridBagConstraints.BOTH, new Insets(5, 0, 5, 0), 0, 0);
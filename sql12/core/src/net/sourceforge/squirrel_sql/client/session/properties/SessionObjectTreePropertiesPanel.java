@@ -162,6 +162,8 @@ public class SessionObjectTreePropertiesPanel
 			String CATALOG_PREFIX = s_stringMgr.getString("sessionPropertiesPanel.catalogPrefix");
 			// i18n[sessionPropertiesPanel.limitRowsContents=Contents - Limit rows]
 			String LIMIT_ROWS_CONTENTS = s_stringMgr.getString("sessionPropertiesPanel.limitRowsContents");
+			// i18n[sessionPropertiesPanel.contentsPaging=Read further pages of this size when scrolling to the end]
+			String CONTENTS_PAGING = s_stringMgr.getString("sessionPropertiesPanel.contentsPaging");
 			// i18n[sessionPropertiesPanel.schemaPrefix=Limit Schema Objects using these comma-delimited prefixes:]
 			String SCHEMA_PREFIX = s_stringMgr.getString("sessionPropertiesPanel.schemaPrefix");
 			// i18n[sessionPropertiesPanel.showRowCount=Show Row Count for Tables (can slow application)]
@@ -172,6 +174,7 @@ public class SessionObjectTreePropertiesPanel
 
 		private IntegerField _contentsNbrRowsToShowField = new IntegerField(5);
 		private JCheckBox _contentsLimitRowsChk = new JCheckBox(i18n.LIMIT_ROWS_CONTENTS);
+		private JCheckBox _contentsPagingChk = new JCheckBox(i18n.CONTENTS_PAGING);
 		private JCheckBox _showRowCountChk = new JCheckBox(i18n.SHOW_ROW_COUNT);
       private JTextField _catalogFilterInclude = new JTextField();
       private JTextField _catalogFilterExclude = new JTextField();
@@ -201,6 +204,7 @@ public class SessionObjectTreePropertiesPanel
 		{
 			_contentsNbrRowsToShowField.setInt(props.getContentsNbrRowsToShow());
 			_contentsLimitRowsChk.setSelected(props.getContentsLimitRows());
+			_contentsPagingChk.setSelected(props.getContentsPaging());
 			_showRowCountChk.setSelected(props.getShowRowCount());
 			_loadSchemasCatalogsChk.setSelected(props.getLoadSchemasCatalogs());
 			_loadConnectionsCurrentCatalogOnlyChk.setSelected(props.getLoadConnectionsCurrentCatalogOnly());
@@ -220,6 +224,7 @@ public class SessionObjectTreePropertiesPanel
 		{
 			props.setContentsNbrRowsToShow(_contentsNbrRowsToShowField.getInt());
 			props.setContentsLimitRows(_contentsLimitRowsChk.isSelected());
+			props.setContentsPaging(_contentsPagingChk.isSelected());
 
          final boolean oldShowRowCount = props.getShowRowCount();
          final boolean newShowRowCount = _showRowCountChk.isSelected();
@@ -282,6 +287,7 @@ public class SessionObjectTreePropertiesPanel
 		private void updateControlStatus()
 		{
 			_contentsNbrRowsToShowField.setEnabled(_contentsLimitRowsChk.isSelected());
+			_contentsPagingChk.setEnabled(_contentsLimitRowsChk.isSelected());
 		}
 
 		private void createGUI()
@@ -339,6 +345,12 @@ public class SessionObjectTreePropertiesPanel
 			// i18n[generalPropertiesPanel.rows=rows]
 			pnl.add(new JLabel(s_stringMgr.getString("generalPropertiesPanel.rows")), gbc);
 
+			++gbc.gridy; // new line
+			gbc.gridx = 0;
+			gbc.gridwidth = GridBagConstraints.REMAINDER;
+			gbc.insets = new Insets(0, 24, 4, 4);
+			pnl.add(_contentsPagingChk, gbc);
+
 			return pnl;
 		}
 		private JPanel createFilterPanel()
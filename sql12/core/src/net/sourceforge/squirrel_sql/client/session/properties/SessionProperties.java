@@ -56,6 +56,7 @@ public class SessionProperties implements Cloneable, Serializable, ISessionPrope
       String LOAD_COLUMNS_IN_BACKGROUND = "loadColumnsInBackground";
       String META_DATA_LOADING_TIME_OUT = "timeOutMetaDataLoading";
       String QUERY_CONNECTION_POOL_SIZE = "queryConnectionPoolSize";
+      String SQL_TO_FILE_EXPORT_PARALLELISM = "sqlToFileExportParallelism";
       String AUTO_COMMIT = "autoCommit";
 
       String CATALOG_FILTER_INCLUDE = "catalogFilterInclude";
@@ -70,6 +71,7 @@ public class SessionProperties implements Cloneable, Serializable, ISessionPrope
       String COMMIT_ON_CLOSING_CONNECTION = "commitOnClosingConnection";
       String CONTENTS_LIMIT_ROWS = "contentsLimitRows";
       String CONTENTS_NBR_ROWS_TO_SHOW = "contentsNbrOfRowsToShow";
+      String CONTENTS_PAGING = "contentsPaging";
       String FONT_INFO = "fontInfo";
       String LARGE_RESULT_SET_OBJECT_INFO = "largeResultSetObjectInfo";
       String LIMIT_SQL_ENTRY_HISTORY_SIZE = "limitSqlEntryHistorySize";
@@ -128,6 +130,12 @@ public class SessionProperties implements Cloneable, Serializable, ISessionPrope
    private boolean _commitOnClosingConnection = false;
 
    private boolean _contentsLimitRows = true;
+
+   /**
+    * If <CODE>true</CODE> and contents rows are limited then further pages of
+    * the limit's size are read when scrolling to the end of the Contents tab.
+    */
+   private boolean _contentsPaging = false;
    private boolean _sqlLimitRows = true;
 
    private boolean _sqlReadOn = false;
@@ -266,6 +274,11 @@ public class SessionProperties implements Cloneable, Serializable, ISessionPrope
    private long _useMetaDataLoadingTimeOut;
    private int _queryConnectionPoolSize;
 
+   /**
+    * Maximum number of SQLs written to files concurrently, each on a connection of the query connection pool.
+    */
+   private int _sqlToFileExportParallelism = 4;
+
    private boolean _keepTableLayoutOnRerun = true;
    private boolean _showRowNumberInTextLayout;
 
@@ -546,6 +559,21 @@ public class SessionProperties implements Cloneable, Serializable, ISessionPrope
       }
    }
 
+   public int getSqlToFileExportParallelism()
+   {
+      return _sqlToFileExportParallelism;
+   }
+
+   public void setSqlToFileExportParallelism(int value)
+   {
+      if (_sqlToFileExportParallelism != value)
+      {
+         int oldValue = _sqlToFileExportParallelism;
+         _sqlToFileExportParallelism = value;
+         getPropertyChangeReporter().firePropertyChange(IPropertyNames.SQL_TO_FILE_EXPORT_PARALLELISM, oldValue, _sqlToFileExportParallelism);
+      }
+   }
+
 
 
    public boolean getLimitSQLResultTabs()
@@ -665,6 +693,23 @@ public class SessionProperties implements Cloneable, Serializable, ISessionPrope
       }
    }
 
+   public boolean getContentsPaging()
+   {
+      return _contentsPaging;
+   }
+
+   public void setContentsPaging(boolean value)
+   {
+      if (_contentsPaging != value)
+      {
+         final boolean oldValue = _contentsPaging;
+         _contentsPaging = value;
+         getPropertyChangeReporter().firePropertyChange(
+            IPropertyNames.CONTENTS_PAGING,
+            oldValue, _contentsPaging);
+      }
+   }
+
    public boolean getSQLLimitRows()
    {
       return _sqlLimitRows;
@@ -57,6 +57,8 @@ public class SessionPropertiesBeanInfo extends SimpleBeanInfo
 							"getContentsLimitRows", "setContentsLimitRows"),
 						new PropertyDescriptor(IPropNames.CONTENTS_NBR_ROWS_TO_SHOW, SessionProperties.class,
 							"getContentsNbrRowsToShow", "setContentsNbrRowsToShow"),
+						new PropertyDescriptor(IPropNames.CONTENTS_PAGING, SessionProperties.class,
+							"getContentsPaging", "setContentsPaging"),
 						new PropertyDescriptor(IPropNames.FONT_INFO, SessionProperties.class, "getFontInfo",
 							"setFontInfo"),
 						new PropertyDescriptor(IPropNames.META_DATA_OUTPUT_CLASS_NAME, SessionProperties.class,
@@ -140,6 +142,9 @@ public class SessionPropertiesBeanInfo extends SimpleBeanInfo
 						new PropertyDescriptor(IPropNames.QUERY_CONNECTION_POOL_SIZE, SessionProperties.class,
 													  "getQueryConnectionPoolSize", "setQueryConnectionPoolSize"),
 
+						new PropertyDescriptor(IPropNames.SQL_TO_FILE_EXPORT_PARALLELISM, SessionProperties.class,
+													  "getSqlToFileExportParallelism", "setSqlToFileExportParallelism"),
+
 						new PropertyDescriptor(IPropNames.SQL_READ_ON, SessionProperties.class,
                         "getSQLReadOn", "setSQLReadOn"),
 
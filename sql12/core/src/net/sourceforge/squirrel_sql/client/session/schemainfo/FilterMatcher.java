@@ -1,11 +1,13 @@
 package net.sourceforge.squirrel_sql.client.session.schemainfo;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 public class FilterMatcher
 {
    private String _sqlOrMetaDataMatchString;
+   private ArrayList<String> _includeFilterStrings = new ArrayList<>();
    private ArrayList<Pattern> _includeFilterPatterns = new ArrayList<>();
    private ArrayList<Pattern> _excludeFilterPatterns = new ArrayList<>();
 
@@ -25,6 +27,7 @@ public class FilterMatcher
                                           .replaceAll("_", ".{1}");
 
                _includeFilterPatterns.add(Pattern.compile(regExStr, Pattern.CASE_INSENSITIVE));
+               _includeFilterStrings.add(splits[i].trim());
 
                if(1 == _includeFilterPatterns.size())
                {
@@ -84,6 +87,14 @@ public class FilterMatcher
       return matchesPatterns;
    }
 
+   /**
+    * @return The trimmed SQL like patterns the include patterns were made of. Used by {@link SchemaObjectIndex}.
+    */
+   List<String> getIncludeFilterStrings()
+   {
+      return _includeFilterStrings;
+   }
+
    public String getMetaDataMatchString()
    {
       return _sqlOrMetaDataMatchString;
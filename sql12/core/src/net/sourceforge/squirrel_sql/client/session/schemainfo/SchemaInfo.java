@@ -44,6 +44,7 @@ import javax.swing.*;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class SchemaInfo
 {
@@ -98,6 +99,8 @@ public class SchemaInfo
    
    final HashMap<CaseInsensitiveString,CaseInsensitiveString> _tablesLoadingColsInBackground = new HashMap<>();
 
+   private final SchemaInfoColumnPrefetcher _columnPrefetcher = new SchemaInfoColumnPrefetcher(this);
+
 
    private SchemaInfoCache _schemaInfoCache;
 
@@ -112,6 +115,11 @@ public class SchemaInfo
    private boolean _storedProceduresLoaded;
    private boolean _udtsLoaded;
 
+   /**
+    * Not null while all objects or all tables are being (re)loaded.
+    */
+   private volatile SchemaInfoLoader _schemaInfoLoader;
+
    public SchemaInfo(IApplication app)
    {
       _sessionListener = new SessionAdapter()
@@ -140,6 +148,7 @@ public class SchemaInfo
          {
             if (null != _session && _session.getIdentifier().equals(evt.getSession().getIdentifier()))
             {
+               cancelSchemaLoading();
                SchemaInfoCacheSerializer.store(_session, _schemaInfoCache);
             }
          }
@@ -202,8 +211,16 @@ public class SchemaInfo
    	breathing();
    	
       _schemaInfoCache.clearAllTableData();
-   	loadTables(Main.getApplication().getCatalogLoadModelManager().createAliasCatalogLoadModel(_session), null, null, null, 0);
-      notifyTablesLoaded();   	
+      _schemaInfoLoader = new SchemaInfoLoader(_session);
+      try
+      {
+         loadTables(Main.getApplication().getCatalogLoadModelManager().createAliasCatalogLoadModel(_session), null, null, null, 0);
+      }
+      finally
+      {
+         _schemaInfoLoader = null;
+      }
+      notifyTablesLoaded();
 
    	GUIUtils.processOnSwingEventThread(() -> reloadAllTablesFinished());
    }
@@ -232,6 +249,7 @@ public class SchemaInfo
             _storedProceduresLoaded = false;
             _udtsLoaded = false;
          }
+         _schemaInfoLoader = new SchemaInfoLoader(_session);
          breathing();
 
 
@@ -253,11 +271,38 @@ public class SchemaInfo
             _session.getSessionPanel().setStatusBarProgressFinished();
          }
 
+         _schemaInfoLoader = null;
          _loading = false;
          _loaded = true;
       }
    }
 
+   /**
+    * Stops loading the tables, stored procedures and UDTs of the given schema.
+    * Objects that were loaded so far remain in the cache. Has no effect when no load is in progress.
+    */
+   public void cancelSchemaLoading(String schemaName)
+   {
+      SchemaInfoLoader schemaInfoLoader = _schemaInfoLoader;
+      if (null != schemaInfoLoader)
+      {
+         schemaInfoLoader.cancel(schemaName);
+      }
+   }
+
+   /**
+    * Stops loading the tables, stored procedures and UDTs of all schemas.
+    * Objects that were loaded so far remain in the cache. Has no effect when no load is in progress.
+    */
+   public void cancelSchemaLoading()
+   {
+      SchemaInfoLoader schemaInfoLoader = _schemaInfoLoader;
+      if (null != schemaInfoLoader)
+      {
+         schemaInfoLoader.cancel();
+      }
+   }
+
    private void _loadAllObjects(AliasCatalogLoadModel aliasCatalogLoadModel)
    {
       int progress = 0;
@@ -471,13 +516,28 @@ public class SchemaInfo
    private void setProgress(final String note, final int value)
    {
       breathing();
+      showProgress(note, value);
+   }
 
+   /**
+    * Unlike {@link #setProgress(String, int)} doesn't pause. Used when schemas are loaded in parallel.
+    */
+   private void showProgress(final String note, final int value)
+   {
       if (_session == null || _session.getSessionPanel() == null)
       {
          return;
       }
 
-     _session.getSessionPanel().setStatusBarProgress(note, 0, MAX_PROGRESS, value);
+      if (null != _schemaInfoLoader)
+      {
+         // The stop button appears when the progress bar is created, i.e. on the first call.
+         _session.getSessionPanel().setStatusBarProgress(note, 0, MAX_PROGRESS, value, e -> cancelSchemaLoading());
+      }
+      else
+      {
+         _session.getSessionPanel().setStatusBarProgress(note, 0, MAX_PROGRESS, value);
+      }
      
       if(shouldShowLongSessionStartupTimeDialog())
       {
@@ -521,33 +581,12 @@ public class SchemaInfo
    {
       try
       {
-
-         ProgressCallBack pcb = new ProgressCallBackAdaptor()
-         {  @Override
-            public void currentlyLoading(String simpleName)
-            {
-               setProgress(msg + " (" + simpleName + ")", beginProgress);
-            }
-         };
-
-
          SchemaLoadInfo[] schemaLoadInfos = _schemaInfoCache.getMatchingSchemaLoadInfos(schema);
 
-         for (int i = 0; i < schemaLoadInfos.length; i++)
-         {
-            if(schemaLoadInfos[i].isLoadProcedures())
-            {
-               for (String catalog : aliasCatalogLoadModel.getCatalogStringsToLoad())
-               {
-                  IProcedureInfo[] procedures = _dmd.getProcedures(catalog, schemaLoadInfos[i].getSchemaName(), procNamePattern, pcb);
-
-                  for (IProcedureInfo procedure : procedures)
-                  {
-                     _schemaInfoCache.writeToProcedureCache(procedure);
-                  }
-               }
-            }
-         }
+         getSchemaInfoLoader().load(schemaLoadInfos,
+                                    _dmd,
+                                    (dmd, schemaLoadInfo, pcb) -> loadStoredProceduresOfSchema(dmd, aliasCatalogLoadModel, schemaLoadInfo, procNamePattern, pcb),
+                                    createProgress(msg, beginProgress));
       }
       catch (Throwable th)
       {
@@ -556,35 +595,29 @@ public class SchemaInfo
 
    }
 
-   private void privateLoadUDTs(AliasCatalogLoadModel aliasCatalogLoadModel, String schema, String udtNamePattern, final String msg, final int beginProgress)
+   private void loadStoredProceduresOfSchema(SQLDatabaseMetaData dmd, AliasCatalogLoadModel aliasCatalogLoadModel, SchemaLoadInfo schemaLoadInfo, String procNamePattern, ProgressCallBack pcb) throws SQLException
    {
-      try
+      if(schemaLoadInfo.isLoadProcedures())
       {
+         for (String catalog : aliasCatalogLoadModel.getCatalogStringsToLoad())
+         {
+            IProcedureInfo[] procedures = dmd.getProcedures(catalog, schemaLoadInfo.getSchemaName(), procNamePattern, pcb);
 
-         ProgressCallBack pcb = new ProgressCallBackAdaptor()
-         {  @Override
-            public void currentlyLoading(String simpleName)
-            {
-               setProgress(msg + " (" + simpleName + ")", beginProgress);
-            }
-         };
+            _schemaInfoCache.writeToProcedureCache(procedures);
+         }
+      }
+   }
 
+   private void privateLoadUDTs(AliasCatalogLoadModel aliasCatalogLoadModel, String schema, String udtNamePattern, final String msg, final int beginProgress)
+   {
+      try
+      {
          SchemaLoadInfo[] schemaLoadInfos = _schemaInfoCache.getMatchingSchemaLoadInfos(schema);
 
-         for (SchemaLoadInfo schemaLoadInfo : schemaLoadInfos)
-         {
-            if (schemaLoadInfo.isLoadUDTs())
-            {
-               for (String catalog : aliasCatalogLoadModel.getCatalogStringsToLoad())
-               {
-                  IUDTInfo[] udts = _dmd.getUDTs(catalog, schemaLoadInfo.getSchemaName(), udtNamePattern, null, pcb);
-                  for (IUDTInfo udt : udts)
-                  {
-                     _schemaInfoCache.writeToUDTCache(udt);
-                  }
-               }
-            }
-         }
+         getSchemaInfoLoader().load(schemaLoadInfos,
+                                    _dmd,
+                                    (dmd, schemaLoadInfo, pcb) -> loadUDTsOfSchema(dmd, aliasCatalogLoadModel, schemaLoadInfo, udtNamePattern, pcb),
+                                    createProgress(msg, beginProgress));
       }
       catch (Throwable th)
       {
@@ -593,6 +626,18 @@ public class SchemaInfo
 
    }
 
+   private void loadUDTsOfSchema(SQLDatabaseMetaData dmd, AliasCatalogLoadModel aliasCatalogLoadModel, SchemaLoadInfo schemaLoadInfo, String udtNamePattern, ProgressCallBack pcb) throws SQLException
+   {
+      if (schemaLoadInfo.isLoadUDTs())
+      {
+         for (String catalog : aliasCatalogLoadModel.getCatalogStringsToLoad())
+         {
+            IUDTInfo[] udts = dmd.getUDTs(catalog, schemaLoadInfo.getSchemaName(), udtNamePattern, null, pcb);
+            _schemaInfoCache.writeToUDTCache(udts);
+         }
+      }
+   }
+
    private void privateLoadCatalogs()
    {
       try
@@ -958,22 +1003,22 @@ public class SchemaInfo
 
    public String[] getKeywords()
    {
-      return _schemaInfoCache.getKeywordsForReadOnly().values().toArray(new String[_schemaInfoCache.getKeywordsForReadOnly().size()]);
+      return _schemaInfoCache.getKeywordsForReadOnly().values().toArray(new String[0]);
    }
 
    public String[] getDataTypes()
    {
-      return _schemaInfoCache.getDataTypesForReadOnly().values().toArray(new String[_schemaInfoCache.getDataTypesForReadOnly().size()]);
+      return _schemaInfoCache.getDataTypesForReadOnly().values().toArray(new String[0]);
    }
 
    public String[] getFunctions()
    {
-      return _schemaInfoCache.getFunctionsForReadOnly().values().toArray(new String[_schemaInfoCache.getFunctionsForReadOnly().size()]);
+      return _schemaInfoCache.getFunctionsForReadOnly().values().toArray(new String[0]);
    }
 
    public String[] getTables()
    {
-      return _schemaInfoCache.getTableNamesForReadOnly().values().toArray(new String[_schemaInfoCache.getTableNamesForReadOnly().size()]);
+      return _schemaInfoCache.getSortedTableNamesForReadOnly().toArray(new String[0]);
    }
 
    public String[] getCatalogs()
@@ -1012,13 +1057,16 @@ public class SchemaInfo
          ret.addAll(Arrays.asList(tableInfosForUncachedTypes));
       }
 
-      List<ITableInfo> tis = _schemaInfoCache.getITableInfosForReadOnly();
+      boolean hasPlatformDependendMatches = null != catalog && DriverMatch.isComHttxDriver(_session.getSQLConnection());
+
+      // The index narrows by catalog, schema and name. The checks below remain because it may return more than matches.
+      List<ITableInfo> tis = _schemaInfoCache.findITableInfosForReadOnly(hasPlatformDependendMatches ? null : catalog, schema, filterMatcher);
 
       for(ITableInfo iTableInfo : tis)
       {
          if(   null != catalog
             && false == catalog.equalsIgnoreCase(iTableInfo.getCatalogName())
-            && false == fulfillsPlatformDependendMatches(iTableInfo, catalog)
+            && (false == hasPlatformDependendMatches || false == fulfillsPlatformDependendMatches(iTableInfo, catalog))
             )
          {
             continue;
@@ -1046,16 +1094,7 @@ public class SchemaInfo
 
    private boolean fulfillsPlatformDependendMatches(ITableInfo iTableInfo, String catalog)
    {
-      if(DriverMatch.isComHttxDriver(_session.getSQLConnection()))
-      {
-         return ( iTableInfo.getCatalogName()==null && "\".\"".equals(catalog));
-      }
-      else
-      {
-         return false;
-      }
-
-
+      return ( iTableInfo.getCatalogName()==null && "\".\"".equals(catalog));
    }
 
    private ITableInfo[] getTableInfosForUncachedTypes(String catalog, String schema, ObjFilterMatcher filterMatcher, String[] types)
@@ -1117,10 +1156,8 @@ public class SchemaInfo
    {
       ArrayList<IProcedureInfo> ret = new ArrayList<>();
 
-      for (Iterator<IProcedureInfo> i = _schemaInfoCache.getIProcedureInfosForReadOnly().keySet().iterator(); i.hasNext();)
+      for (IProcedureInfo iProcInfo : _schemaInfoCache.findIProcedureInfosForReadOnly(catalog, schema, filterMatcher))
       {
-
-         IProcedureInfo iProcInfo = i.next();
          boolean toAdd = true;
          if (null != catalog && false == catalog.equalsIgnoreCase(iProcInfo.getCatalogName()))
          {
@@ -1156,10 +1193,8 @@ public class SchemaInfo
    {
       ArrayList<IUDTInfo> ret = new ArrayList<IUDTInfo>();
 
-      for (Iterator<IUDTInfo> i = _schemaInfoCache.getIUDTInfosForReadOnly().keySet().iterator(); i.hasNext();)
+      for (IUDTInfo iProcInfo : _schemaInfoCache.findIUDTInfosForReadOnly(catalog, schema, filterMatcher))
       {
-
-         IUDTInfo iProcInfo = i.next();
          boolean toAdd = true;
          if (null != catalog && false == catalog.equalsIgnoreCase(iProcInfo.getCatalogName()))
          {
@@ -1201,45 +1236,74 @@ public class SchemaInfo
    {
       try
       {
-         ProgressCallBack pcb = new ProgressCallBackAdaptor()
-         {
-            @Override
-            public void currentlyLoading(String simpleName)
-            {
-               setProgress(msg + " (" + simpleName + ")", beginProgress);
-            }
-         };
-
          SchemaLoadInfo[] schemaLoadInfos = _schemaInfoCache.getMatchingSchemaLoadInfos(schema, types);
 
-         for (SchemaLoadInfo schemaLoadInfo : schemaLoadInfos)
-         {
-            List<ITableInfo> infos = new ArrayList<>();
+         getSchemaInfoLoader().load(schemaLoadInfos,
+                                    _dmd,
+                                    (dmd, schemaLoadInfo, pcb) -> loadTablesOfSchema(dmd, aliasCatalogLoadModel, schemaLoadInfo, tableNamePattern, pcb),
+                                    createProgress(msg, beginProgress));
+      }
+      catch (Throwable th)
+      {
+         s_log.error("failed to load table names", th);
+      }
+   }
 
-            if (null == schemaLoadInfo.getTableTypes() || 0 < schemaLoadInfo.getTableTypes().length)
-            {
-               // With Oracle this takes quite a lot of time if schemaLoadInfos[i].tableTypes has length 0
-               // that's why this if is here
-               for (String catalog : aliasCatalogLoadModel.getCatalogStringsToLoad())
-               {
-                  infos.addAll(List.of(_dmd.getTables(catalog, schemaLoadInfo.getSchemaName(), tableNamePattern, schemaLoadInfo.getTableTypes(), pcb)));
-               }
-            }
+   private void loadTablesOfSchema(SQLDatabaseMetaData dmd, AliasCatalogLoadModel aliasCatalogLoadModel, SchemaLoadInfo schemaLoadInfo, String tableNamePattern, ProgressCallBack pcb) throws SQLException
+   {
+      List<ITableInfo> infos = new ArrayList<>();
 
-            _schemaInfoCache.writeToTableCache(infos.toArray(new ITableInfo[0]));
+      if (null == schemaLoadInfo.getTableTypes() || 0 < schemaLoadInfo.getTableTypes().length)
+      {
+         // With Oracle this takes quite a lot of time if schemaLoadInfos[i].tableTypes has length 0
+         // that's why this if is here
+         for (String catalog : aliasCatalogLoadModel.getCatalogStringsToLoad())
+         {
+            infos.addAll(List.of(dmd.getTables(catalog, schemaLoadInfo.getSchemaName(), tableNamePattern, schemaLoadInfo.getTableTypes(), pcb)));
          }
       }
-      catch (Throwable th)
+
+      _schemaInfoCache.writeToTableCache(infos.toArray(new ITableInfo[0]));
+   }
+
+   /**
+    * Worker threads of a parallel load show progress without pausing.
+    */
+   private Consumer<String> createProgress(String msg, int beginProgress)
+   {
+      Thread callingThread = Thread.currentThread();
+      return note ->
       {
-         s_log.error("failed to load table names", th);
+         if (callingThread == Thread.currentThread())
+         {
+            setProgress(msg + " (" + note + ")", beginProgress);
+         }
+         else
+         {
+            showProgress(msg + " (" + note + ")", beginProgress);
+         }
+      };
+   }
+
+   /**
+    * Outside of loading all objects, e.g. when reloading a single object, a loader is created that can't be canceled.
+    */
+   private SchemaInfoLoader getSchemaInfoLoader()
+   {
+      SchemaInfoLoader schemaInfoLoader = _schemaInfoLoader;
+      if (null == schemaInfoLoader)
+      {
+         return new SchemaInfoLoader(_session);
       }
+      return schemaInfoLoader;
    }
 
    /**
+    * Also used by {@link SchemaInfoColumnPrefetcher} for tables it could not load together with their schema.
     *
     * @return true only when the table's columns are loaded within this call.
     */
-   private boolean loadColumns(final CaseInsensitiveString tableName)
+   boolean loadColumns(final CaseInsensitiveString tableName)
    {
       try
       {
@@ -1327,8 +1391,39 @@ public class SchemaInfo
    {
       CaseInsensitiveString cissTableName = new CaseInsensitiveString(tableName);
       loadColumns(cissTableName);
-      List<ExtendedColumnInfo> extColInfo = _schemaInfoCache.getExtendedColumnInfosForReadOnly(cissTableName);
+      return filterExtendedColumnInfos(catalog, schema, _schemaInfoCache.getExtendedColumnInfosForReadOnly(cissTableName));
+   }
 
+   /**
+    * Unlike {@link #getExtendedColumnInfos(String, String, String)} never accesses the database.
+    * If the table's columns were not loaded before a background load is started, see {@link #prefetchColumns(Collection)}.
+    *
+    * @return null if the table's columns are not loaded yet.
+    */
+   public ExtendedColumnInfo[] getExtendedColumnInfosIfLoaded(String catalog, String schema, String tableName)
+   {
+      CaseInsensitiveString cissTableName = new CaseInsensitiveString(tableName);
+      if (false == _schemaInfoCache.didTryLoadingColumns(cissTableName))
+      {
+         prefetchColumns(Collections.singletonList(tableName));
+         return null;
+      }
+      return filterExtendedColumnInfos(catalog, schema, _schemaInfoCache.getExtendedColumnInfosForReadOnly(cissTableName));
+   }
+
+   /**
+    * Loads the columns of whole schemas in the background, see {@link SchemaInfoColumnPrefetcher}.
+    *
+    * @param priorityTableNames Names of tables whose schemas are loaded first, e.g. tables referenced in the SQL editor.
+    *                           Names that are no tables are ignored.
+    */
+   public void prefetchColumns(Collection<String> priorityTableNames)
+   {
+      _columnPrefetcher.prefetch(priorityTableNames);
+   }
+
+   private ExtendedColumnInfo[] filterExtendedColumnInfos(String catalog, String schema, List<ExtendedColumnInfo> extColInfo)
+   {
       if (null == extColInfo)
       {
          return new ExtendedColumnInfo[0];
@@ -1366,6 +1461,11 @@ public class SchemaInfo
       }
    }
 
+   SchemaInfoCache getSchemaInfoCache()
+   {
+      return _schemaInfoCache;
+   }
+
    public void dispose()
    {
       // The SessionManager is global to SQuirreL.
@@ -1596,7 +1696,7 @@ public class SchemaInfo
       HashMap<String, String> caseSensitiveProcNames = new HashMap<String, String>();
 
       CaseInsensitiveString caseInsensitiveProcName = new CaseInsensitiveString(simpleProcName);
-      String caseSensitiveProcName = _schemaInfoCache.getProcedureNamesForReadOnly().remove(caseInsensitiveProcName);
+      String caseSensitiveProcName = _schemaInfoCache.getProcedureNamesForReadOnly().get(caseInsensitiveProcName);
 
       caseSensitiveProcNames.put(caseSensitiveProcName, caseSensitiveProcName);
 
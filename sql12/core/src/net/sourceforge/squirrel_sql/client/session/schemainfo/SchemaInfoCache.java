@@ -12,6 +12,7 @@ import net.sourceforge.squirrel_sql.client.session.schemainfo.basetabletype.Base
 import net.sourceforge.squirrel_sql.client.session.schemainfo.synonym.SynonymHandler;
 import net.sourceforge.squirrel_sql.fw.sql.DatabaseObjectInfo;
 import net.sourceforge.squirrel_sql.fw.sql.DatabaseObjectType;
+import net.sourceforge.squirrel_sql.fw.sql.IDatabaseObjectInfo;
 import net.sourceforge.squirrel_sql.fw.sql.IProcedureInfo;
 import net.sourceforge.squirrel_sql.fw.sql.ITableInfo;
 import net.sourceforge.squirrel_sql.fw.sql.IUDTInfo;
@@ -20,22 +21,21 @@ import net.sourceforge.squirrel_sql.fw.sql.TableInfo;
 import net.sourceforge.squirrel_sql.fw.util.Utilities;
 import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
+ * The schema cache file is written in {@link SchemaInfoCacheBinaryFormat}.
+ * Java serialization is only used to read cache files written by former SQuirreL versions.
+ *
  * This class is Serializable and yet doesn't declare serialVersionUID.  This is done intentionally so that 
  * the SchemaInfoCacheSerializer can detect incompatible class changes (by catching Exception when attempting
  * to read the serialized file).  This was deemed to be a less error-prone way of handling changes to this
@@ -54,47 +54,25 @@ public class SchemaInfoCache implements Serializable
    private List<String> _catalogs = new ArrayList<>();
    private List<String> _schemas = new ArrayList<>();
 
-   private TreeMap<CaseInsensitiveString, String> _keywords = new TreeMap<>();
-   private TreeMap<CaseInsensitiveString, String> _dataTypes = new TreeMap<>();
-   private Map<CaseInsensitiveString, String> _functions =  Collections.synchronizedMap(new TreeMap<>());
+   // Written by replacing the whole map so that readers don't need to lock.
+   private volatile TreeMap<CaseInsensitiveString, String> _keywords = new TreeMap<>();
+   private volatile TreeMap<CaseInsensitiveString, String> _dataTypes = new TreeMap<>();
+   private volatile TreeMap<CaseInsensitiveString, String> _functions = new TreeMap<>();
 
    /////////////////////////////////////////////////////////////////////////////
    // Schema dependent data.
    // Are changed only in this class
    //
-   private TreeMap<CaseInsensitiveString, String> _internalTableNameTreeMap = new TreeMap<>();
-   
-   private Map<CaseInsensitiveString, String> _tableNames = Collections.synchronizedMap(_internalTableNameTreeMap);
-   
-
-   /** 
-    * This data structure can be accessed by multiple concurrent threads.  
-    * Traversal via iterators is fast and cannot encounter interference from 
-    * other threads otherwise ConcurrentModificationExceptions may 
-    * result (Bug #1752089)
-    * 
-    * One other thing: it must maintain the order in which items were inserted
-    * so that traversal yields insertion order (Bug 1805954).
-    */
-   private CopyOnWriteArrayList<ITableInfo> _iTableInfos = new CopyOnWriteArrayList<>();
-   
-   private Hashtable<CaseInsensitiveString, List<ITableInfo>> _tableInfosBySimpleName =  new Hashtable<>();
+   // Writes are synchronized on this and publish a new immutable snapshot.
+   // Reads use the current snapshot without locking.
+   //
+   private volatile SchemaObjectIndex<ITableInfo> _tableIndex = new SchemaObjectIndex<>(SchemaObjectIndex.Kind.TABLES);
 
    private SchemaInfoColumnCache _schemaInfoColumnCache = new SchemaInfoColumnCache();
 
+   private volatile SchemaObjectIndex<IProcedureInfo> _procedureIndex = new SchemaObjectIndex<>(SchemaObjectIndex.Kind.PROCEDURES_AND_UDTS);
 
-   private Map<CaseInsensitiveString, String> _procedureNames = Collections.synchronizedMap(new TreeMap<>());
-   
-   private Map<IProcedureInfo, IProcedureInfo> _iProcedureInfos =  Collections.synchronizedMap(new TreeMap<>());
-
-   private Hashtable<CaseInsensitiveString, List<IProcedureInfo>> _procedureInfosBySimpleName = new Hashtable<>();
-
-
-   private Map<CaseInsensitiveString, String> _udtNames = Collections.synchronizedMap(new TreeMap<>());
-
-   private Map<IUDTInfo, IUDTInfo> _iUdtInfos = Collections.synchronizedMap(new TreeMap<>());
-
-   private Hashtable<CaseInsensitiveString, List<IUDTInfo>> _udtInfosBySimpleName = new Hashtable<>();
+   private volatile SchemaObjectIndex<IUDTInfo> _udtIndex = new SchemaObjectIndex<>(SchemaObjectIndex.Kind.PROCEDURES_AND_UDTS);
 
    //
    ///////////////////////////////////////////////////////////////////////////
@@ -108,6 +86,21 @@ public class SchemaInfoCache implements Serializable
    private transient ISession _session = null;
 
 
+   SQLAliasSchemaProperties getSchemaPropsCacheIsBasedOn()
+   {
+      return _schemaPropsCacheIsBasedOn;
+   }
+
+   void setSchemaPropsCacheIsBasedOn(SQLAliasSchemaProperties schemaPropsCacheIsBasedOn)
+   {
+      _schemaPropsCacheIsBasedOn = schemaPropsCacheIsBasedOn;
+   }
+
+   SchemaInfoColumnCache getSchemaInfoColumnCache()
+   {
+      return _schemaInfoColumnCache;
+   }
+
    void setSession(ISession session)
    {
       _session = session;
@@ -273,118 +266,34 @@ public class SchemaInfoCache implements Serializable
    }
 
    /**
-    * Adds the specified array of ITableInfos to the internal list(s), and sorts
-    * the combination.
-    *  
+    * Adds the specified array of ITableInfos to the cache.
+    * Tables that are already cached, i.e. have a case insensitive equal qualified name, are ignored.
+    *
     * @param infos the array of ITableInfos to add.
     */
-   public void writeToTableCache(ITableInfo[] infos)
+   public synchronized void writeToTableCache(ITableInfo[] infos)
    {
-      ArrayList<ITableInfo> infosToWriteToCache = new ArrayList<>();
-      for (ITableInfo info : infos)
-      {
-         String tableName = info.getSimpleName();
-         CaseInsensitiveString ciTableName = new CaseInsensitiveString(tableName);
-         _tableNames.put(ciTableName, tableName);
-
-         List<ITableInfo> aITabInfos = _tableInfosBySimpleName.get(ciTableName);
-         if (null == aITabInfos)
-         {
-            aITabInfos = new ArrayList<>();
-            _tableInfosBySimpleName.put(ciTableName, aITabInfos);
-            aITabInfos.add(info);
-            infosToWriteToCache.add(info);
-         }
-         else if(false == containsTableInfo(aITabInfos, info))
-         {
-            aITabInfos.add(info);
-            infosToWriteToCache.add(info);
-         }
-      }
-      // CopyOnWriteArrayList is unfortunately not sort-able as a List.  So this
-      // will throw an UnsupportedOperationException:
-      //
-      // Collections.sort(_iTableInfos, new TableInfoSimpleNameComparator());
-      //
-      // The following is the best approach according to concurrency master 
-      // Doug Lea, in this post: 
-      // http://osdir.com/ml/java.jsr.166-concurrency/2004-06/msg00001.html
-      //
-      // Here we copy the existing internal array into a new array that
-      // is large enough to hold the original and new elements.  Then sort it.  
-      // And finally, create a new CopyOnWriteArrayList with the sorted array.
-
-      /* Now, create an array large enough to hold the original and the new */
-      int currSize = _iTableInfos.size();
-      ITableInfo[] tableArr = _iTableInfos.toArray(new ITableInfo[currSize + infosToWriteToCache.size()]);
-      /*
-       * Append the new tables to the new array, starting at the end of the
-       * original
-       */
-      for (int i = 0; i < infosToWriteToCache.size(); i++)
-      {
-         tableArr[currSize + i] = infosToWriteToCache.get(i);
-      }
-
-      /* Sort it and store in a new CopyOnWriteArrayList */
-      Arrays.sort(tableArr, new TableInfoSimpleNameComparator());
-      _iTableInfos = new CopyOnWriteArrayList<>(tableArr);
+      _tableIndex = _tableIndex.with(Arrays.asList(infos));
    }
 
-   /**
-    * Needed to prevent duplicate tables showing up in the Object tree,
-    * when a table is created.
-    */
-   private boolean containsTableInfo(List<ITableInfo> tableInfos, ITableInfo info)
+   public synchronized void writeToProcedureCache(IProcedureInfo procedure)
    {
-      for (ITableInfo buf : tableInfos)
-      {
-         if(StringUtils.equalsIgnoreCase(buf.getQualifiedName(), info.getQualifiedName()))
-         {
-            return true;
-         }
-      }
-
-      return false;
+      writeToProcedureCache(new IProcedureInfo[]{procedure});
    }
 
-
-   public void writeToProcedureCache(IProcedureInfo procedure)
+   public synchronized void writeToProcedureCache(IProcedureInfo[] procedures)
    {
-      String proc = procedure.getSimpleName();
-      if (proc.length() > 0)
-      {
-         CaseInsensitiveString ciProc = new CaseInsensitiveString(proc);
-         _procedureNames.put(ciProc ,proc);
-
-         List<IProcedureInfo> aIProcInfos = _procedureInfosBySimpleName.get(ciProc);
-         if(null == aIProcInfos)
-         {
-            aIProcInfos = new ArrayList<IProcedureInfo>();
-            _procedureInfosBySimpleName.put(ciProc, aIProcInfos);
-         }
-         aIProcInfos.add(procedure);
-      }
-      _iProcedureInfos.put(procedure, procedure);
+      _procedureIndex = _procedureIndex.with(Arrays.asList(procedures));
    }
 
-   public void writeToUDTCache(IUDTInfo udtInfo)
+   public synchronized void writeToUDTCache(IUDTInfo udtInfo)
    {
-      String udt = udtInfo.getSimpleName();
-      if (udt.length() > 0)
-      {
-         CaseInsensitiveString ciudt = new CaseInsensitiveString(udt);
-         _udtNames.put(ciudt , udt);
+      writeToUDTCache(new IUDTInfo[]{udtInfo});
+   }
 
-         List<IUDTInfo> udtInfos = _udtInfosBySimpleName.get(ciudt);
-         if(null == udtInfos)
-         {
-            udtInfos = new ArrayList<IUDTInfo>();
-            _udtInfosBySimpleName.put(ciudt, udtInfos);
-         }
-         udtInfos.add(udtInfo);
-      }
-      _iUdtInfos.put(udtInfo, udtInfo);
+   public synchronized void writeToUDTCache(IUDTInfo[] udtInfos)
+   {
+      _udtIndex = _udtIndex.with(Arrays.asList(udtInfos));
    }
 
 
@@ -453,24 +362,13 @@ public class SchemaInfoCache implements Serializable
 
    }
 
-   private void clearAllSchemaDependentData()
+   private synchronized void clearAllSchemaDependentData()
    {
-      _tableNames.clear();
-
-      _internalTableNameTreeMap.clear();
-
-      synchronized(_iTableInfos)
-      {
-          _iTableInfos.clear();
-      }
-      _tableInfosBySimpleName.clear();
+      _tableIndex = new SchemaObjectIndex<>(SchemaObjectIndex.Kind.TABLES);
 
       _schemaInfoColumnCache.clearColumns();
 
-
-      _procedureNames.clear();
-      _iProcedureInfos.clear();
-      _procedureInfosBySimpleName.clear();
+      _procedureIndex = new SchemaObjectIndex<>(SchemaObjectIndex.Kind.PROCEDURES_AND_UDTS);
 
       _schemas.clear();
 
@@ -480,121 +378,70 @@ public class SchemaInfoCache implements Serializable
    {
       _catalogs.clear();
 
-      _keywords.clear();
-      _dataTypes.clear();
-      _functions.clear();
+      _keywords = new TreeMap<>();
+      _dataTypes = new TreeMap<>();
+      _functions = new TreeMap<>();
    }
 
-   void clearAllTableData()
+   synchronized void clearAllTableData()
    {
-   	_iTableInfos = new CopyOnWriteArrayList<>();
-   	_tableInfosBySimpleName = new Hashtable<>();
-   	_tableNames = Collections.synchronizedMap(_internalTableNameTreeMap);
+      _tableIndex = new SchemaObjectIndex<>(SchemaObjectIndex.Kind.TABLES);
    	_schemaInfoColumnCache.clearColumns();
    }
    
-   void clearTables(String catalogName, String schemaName, String simpleName, String[] types)
+   synchronized void clearTables(String catalogName, String schemaName, String simpleName, String[] types)
    {
-      for(Iterator<ITableInfo> i = _iTableInfos.iterator(); i.hasNext();)
-      {
-         ITableInfo ti = i.next();
-
-         boolean matches = matchesMetaString(ti.getCatalogName(), catalogName);
-         matches &= matchesMetaString(ti.getSchemaName(), schemaName);
-         matches &= matchesMetaString(ti.getSimpleName(), simpleName);
+      SchemaObjectIndex<ITableInfo> tableIndex = _tableIndex.without(ti -> matches(ti, catalogName, schemaName, simpleName) && matchesType(ti, types));
 
-         if(null != types)
-         {
-            boolean found = false;
-            for (int j = 0; j < types.length; j++)
-            {
-               if(types[j].equals(ti.getType()))
-               {
-                  found = true;
-                  break;
-               }
-            }
-
-            matches &= found;
-         }
+      if (tableIndex == _tableIndex)
+      {
+         return;
+      }
 
-         if(matches)
+      for (ITableInfo ti : _tableIndex.getObjects())
+      {
+         CaseInsensitiveString ciSimpleTableName = new CaseInsensitiveString(ti.getSimpleName());
+         if (false == tableIndex.getNames().containsKey(ciSimpleTableName))
          {
-             // CopyOnWriteArrayList has snapshot iterators that don't support 
-             // iterator.remove()
-             _iTableInfos.remove(ti);
-
-            CaseInsensitiveString ciSimpleTableName = new CaseInsensitiveString(ti.getSimpleName());
-            List<ITableInfo> tableInfos = _tableInfosBySimpleName.get(ciSimpleTableName);
-            tableInfos.remove(ti);
-            if(0 == tableInfos.size())
-            {
-               _tableInfosBySimpleName.remove(ciSimpleTableName);
-               _tableNames.remove(ciSimpleTableName);
-            }
-
             _schemaInfoColumnCache.clearColumns(ciSimpleTableName);
          }
       }
 
+      _tableIndex = tableIndex;
    }
 
-   void clearStoredProcedures(String catalogName, String schemaName, String simpleName)
+   synchronized void clearStoredProcedures(String catalogName, String schemaName, String simpleName)
    {
-      for(Iterator<IProcedureInfo> i = _iProcedureInfos.keySet().iterator(); i.hasNext();)
-      {
-         IProcedureInfo pi = i.next();
-
-
-         boolean matches = matchesMetaString(pi.getCatalogName(), catalogName);
-         matches &= matchesMetaString(pi.getSchemaName(), schemaName);
-         matches &= matchesMetaString(pi.getSimpleName(), simpleName);
-
-
-         if(matches)
-         {
-            i.remove();
+      _procedureIndex = _procedureIndex.without(pi -> matches(pi, catalogName, schemaName, simpleName));
+   }
 
-            CaseInsensitiveString ciSimpleName = new CaseInsensitiveString(pi.getSimpleName());
-            List<IProcedureInfo> procedureInfos = _procedureInfosBySimpleName.get(ciSimpleName);
-            procedureInfos.remove(pi);
-            if(0 == procedureInfos.size())
-            {
-               _procedureInfosBySimpleName.remove(ciSimpleName);
-               _procedureNames.remove(ciSimpleName);
-            }
+   synchronized void clearUDTs(String catalogName, String schemaName, String simpleName)
+   {
+      _udtIndex = _udtIndex.without(udtInfo -> matches(udtInfo, catalogName, schemaName, simpleName));
+   }
 
-         }
-      }
+   private boolean matches(IDatabaseObjectInfo doi, String catalogName, String schemaName, String simpleName)
+   {
+      return    matchesMetaString(doi.getCatalogName(), catalogName)
+             && matchesMetaString(doi.getSchemaName(), schemaName)
+             && matchesMetaString(doi.getSimpleName(), simpleName);
    }
 
-   void clearUDTs(String catalogName, String schemaName, String simpleName)
+   private boolean matchesType(ITableInfo ti, String[] types)
    {
-      for(Iterator<IUDTInfo> i = _iUdtInfos.keySet().iterator(); i.hasNext();)
+      if(null == types)
       {
-         IUDTInfo udtInfo = i.next();
-
-
-         boolean matches = matchesMetaString(udtInfo.getCatalogName(), catalogName);
-         matches &= matchesMetaString(udtInfo.getSchemaName(), schemaName);
-         matches &= matchesMetaString(udtInfo.getSimpleName(), simpleName);
-
+         return true;
+      }
 
-         if(matches)
+      for (String type : types)
+      {
+         if(type.equals(ti.getType()))
          {
-            i.remove();
-
-            CaseInsensitiveString ciSimpleName = new CaseInsensitiveString(udtInfo.getSimpleName());
-            List<IUDTInfo> udtInfos = _udtInfosBySimpleName.get(ciSimpleName);
-            udtInfos.remove(udtInfo);
-            if(0 == udtInfos.size())
-            {
-               _udtInfosBySimpleName.remove(ciSimpleName);
-               _udtNames.remove(ciSimpleName);
-            }
-
+            return true;
          }
       }
+      return false;
    }
 
 
@@ -628,21 +475,18 @@ public class SchemaInfoCache implements Serializable
 
    void writeKeywords(Hashtable<CaseInsensitiveString, String> keywordsBuf)
    {
-      _keywords.clear();
-      _keywords.putAll(keywordsBuf);
+      _keywords = new TreeMap<>(keywordsBuf);
    }
 
 
    void writeDataTypes(Hashtable<CaseInsensitiveString, String> dataTypesBuf)
    {
-      _dataTypes.clear();
-      _dataTypes.putAll(dataTypesBuf);
+      _dataTypes = new TreeMap<>(dataTypesBuf);
    }
 
    void writeFunctions(Hashtable<CaseInsensitiveString, String> functionsBuf)
    {
-      _functions.clear();
-      _functions.putAll(functionsBuf);
+      _functions = new TreeMap<>(functionsBuf);
    }
 
    List<String> getCatalogsForReadOnly()
@@ -672,17 +516,34 @@ public class SchemaInfoCache implements Serializable
 
    Map<CaseInsensitiveString, String> getTableNamesForReadOnly()
    {
-      return _internalTableNameTreeMap;
+      return _tableIndex.getNames();
+   }
+
+   /**
+    * @return Table names ordered case insensitively.
+    */
+   List<String> getSortedTableNamesForReadOnly()
+   {
+      return _tableIndex.getSortedNames();
    }
 
    List<ITableInfo> getITableInfosForReadOnly()
    {
-      return _iTableInfos;
+      return _tableIndex.getObjects();
+   }
+
+   /**
+    * @return Candidates in the order of {@link #getITableInfosForReadOnly()} that callers still need to filter.
+    * See {@link SchemaObjectIndex#find(String, String, FilterMatcher)}.
+    */
+   List<ITableInfo> findITableInfosForReadOnly(String catalog, String schema, FilterMatcher filterMatcher)
+   {
+      return _tableIndex.find(catalog, schema, filterMatcher);
    }
 
-   Hashtable<CaseInsensitiveString, List<ITableInfo>> getTableInfosBySimpleNameForReadOnly()
+   Map<CaseInsensitiveString, List<ITableInfo>> getTableInfosBySimpleNameForReadOnly()
    {
-      return _tableInfosBySimpleName;
+      return _tableIndex.getBySimpleName();
    }
 
 
@@ -704,17 +565,27 @@ public class SchemaInfoCache implements Serializable
 
    Map<CaseInsensitiveString, String> getProcedureNamesForReadOnly()
    {
-      return _procedureNames;
+      return _procedureIndex.getNames();
+   }
+
+   List<IProcedureInfo> getIProcedureInfosForReadOnly()
+   {
+      return _procedureIndex.getObjects();
+   }
+
+   List<IProcedureInfo> findIProcedureInfosForReadOnly(String catalog, String schema, FilterMatcher filterMatcher)
+   {
+      return _procedureIndex.find(catalog, schema, filterMatcher);
    }
 
-   Map<IProcedureInfo, IProcedureInfo> getIProcedureInfosForReadOnly()
+   public List<IUDTInfo> getIUDTInfosForReadOnly()
    {
-      return _iProcedureInfos;
+      return _udtIndex.getObjects();
    }
 
-   public Map<IUDTInfo, IUDTInfo> getIUDTInfosForReadOnly()
+   List<IUDTInfo> findIUDTInfosForReadOnly(String catalog, String schema, FilterMatcher filterMatcher)
    {
-      return _iUdtInfos;
+      return _udtIndex.find(catalog, schema, filterMatcher);
    }
 
 
@@ -726,7 +597,7 @@ public class SchemaInfoCache implements Serializable
     */
    void replaceDatabaseObjectTypeConstantObjectsByConstantObjectsOfThisVM()
    {
-      for (ITableInfo iTableInfo : _iTableInfos)
+      for (ITableInfo iTableInfo : _tableIndex.getObjects())
       {
          if(iTableInfo instanceof TableInfo)
          {
@@ -734,7 +605,7 @@ public class SchemaInfoCache implements Serializable
          }
       }
 
-      for (IProcedureInfo iProcedureInfo : _iProcedureInfos.keySet())
+      for (IProcedureInfo iProcedureInfo : _procedureIndex.getObjects())
       {
          if(iProcedureInfo instanceof DatabaseObjectInfo)
          {
@@ -744,17 +615,4 @@ public class SchemaInfoCache implements Serializable
 
    }
 
-   /**
-    * A comparator for ITableInfos that compares them using their simple name.
-    * All other data (such as schema) is ignored, since it isn't likely that we 
-    * will need to compare tables in multiple schemas/catalogs in the same list.
-    */
-   private class TableInfoSimpleNameComparator implements Comparator<ITableInfo>
-   {
-      public int compare(ITableInfo o1, ITableInfo o2)
-      {
-         return o1.getSimpleName().compareTo(o2.getSimpleName());
-      }
-   }
-
 }
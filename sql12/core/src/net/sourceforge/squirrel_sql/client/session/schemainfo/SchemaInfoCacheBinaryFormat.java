@@ -0,0 +1,570 @@
+package net.sourceforge.squirrel_sql.client.session.schemainfo;
+
+import net.sourceforge.squirrel_sql.client.gui.db.SQLAliasSchemaProperties;
+import net.sourceforge.squirrel_sql.client.session.ExtendedColumnInfo;
+import net.sourceforge.squirrel_sql.fw.sql.IDatabaseObjectInfo;
+import net.sourceforge.squirrel_sql.fw.sql.IProcedureInfo;
+import net.sourceforge.squirrel_sql.fw.sql.ITableInfo;
+import net.sourceforge.squirrel_sql.fw.sql.IUDTInfo;
+import net.sourceforge.squirrel_sql.fw.sql.ProcedureInfo;
+import net.sourceforge.squirrel_sql.fw.sql.TableColumnInfo;
+import net.sourceforge.squirrel_sql.fw.sql.TableInfo;
+import net.sourceforge.squirrel_sql.fw.sql.UDTInfo;
+import net.sourceforge.squirrel_sql.fw.sql.databasemetadata.ProcedureInfoOrigin;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The file format of the schema cache written by {@link SchemaInfoCacheSerializer}.
+ *
+ * Layout, all integers are unsigned varints unless noted otherwise:
+ * <pre>
+ * magic (4 bytes "SQSC"), format version
+ * string table: count, then per string its UTF-8 length and bytes
+ * SQLAliasSchemaProperties the cache is based on: length and Java serialized bytes, 0 if null
+ * catalogs, schemas, keywords, data types, functions: count, then string references
+ * sections of schema dependent objects: count, then per section catalog and schema references,
+ *    its length in bytes and its tables, procedures and UDTs
+ * column cache: count of tables with columns, per table its name and columns,
+ *    then count and names of tables whose columns were inaccessible
+ * </pre>
+ * A string reference is the string's index in the string table plus one, 0 stands for null.
+ * Each distinct string is stored once, which for tables and columns repeating
+ * catalog, schema, table and type names makes the file a fraction of the Java serialized size.
+ *
+ * Reading needs no reflection. When the version doesn't match reading fails like it did for
+ * incompatible Java serialized caches and the cache is reloaded from the database.
+ */
+class SchemaInfoCacheBinaryFormat
+{
+   private static final byte[] MAGIC = "SQSC".getBytes(StandardCharsets.US_ASCII);
+
+   /**
+    * Increase when the layout changes.
+    */
+   static final int FORMAT_VERSION = 1;
+
+   private SchemaInfoCacheBinaryFormat()
+   {
+   }
+
+   static void write(SchemaInfoCache cache, OutputStream out) throws IOException
+   {
+      Writer body = new Writer();
+
+      body.writeBytes(serialize(cache.getSchemaPropsCacheIsBasedOn()));
+
+      body.writeStrings(cache.getCatalogsForReadOnly());
+      body.writeStrings(cache.getSchemasForReadOnly());
+      body.writeStrings(cache.getKeywordsForReadOnly().values());
+      body.writeStrings(cache.getDataTypesForReadOnly().values());
+      body.writeStrings(cache.getFunctionsForReadOnly().values());
+
+      writeSections(cache, body);
+
+      writeColumns(cache.getSchemaInfoColumnCache(), body);
+
+
+      Writer header = new Writer();
+      header.out.write(MAGIC);
+      header.writeInt(FORMAT_VERSION);
+      header.writeInt(body.strings.size());
+      for (String s : body.strings.keySet())
+      {
+         byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+         header.writeInt(bytes.length);
+         header.out.write(bytes);
+      }
+
+      header.out.writeTo(out);
+      body.out.writeTo(out);
+   }
+
+   static SchemaInfoCache read(byte[] data) throws IOException
+   {
+      try
+      {
+         Reader in = new Reader(ByteBuffer.wrap(data));
+
+         for (byte b : MAGIC)
+         {
+            if (b != in.buf.get())
+            {
+               throw new IOException("Not a schema cache file");
+            }
+         }
+
+         int version = in.readInt();
+         if (FORMAT_VERSION != version)
+         {
+            throw new IOException("Schema cache file has format version " + version + ", expected is " + FORMAT_VERSION);
+         }
+
+         in.strings = new String[in.readInt()];
+         for (int i = 0; i < in.strings.length; i++)
+         {
+            int len = in.readInt();
+            in.strings[i] = new String(data, in.buf.position(), len, StandardCharsets.UTF_8);
+            in.buf.position(in.buf.position() + len);
+         }
+
+         SchemaInfoCache cache = new SchemaInfoCache();
+
+         cache.setSchemaPropsCacheIsBasedOn((SQLAliasSchemaProperties) deserialize(in.readBytes()));
+
+         cache.writeCatalogs(in.readStrings().toArray(new String[0]));
+         cache.writeSchemas(in.readStrings().toArray(new String[0]));
+         cache.writeKeywords(toCaseInsensitiveMap(in.readStrings()));
+         cache.writeDataTypes(toCaseInsensitiveMap(in.readStrings()));
+         cache.writeFunctions(toCaseInsensitiveMap(in.readStrings()));
+
+         readSections(cache, in);
+
+         readColumns(cache.getSchemaInfoColumnCache(), in);
+
+         return cache;
+      }
+      catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException e)
+      {
+         throw new IOException("Corrupt schema cache file", e);
+      }
+   }
+
+   private static void writeSections(SchemaInfoCache cache, Writer out) throws IOException
+   {
+      LinkedHashMap<List<String>, Section> sections = new LinkedHashMap<>();
+
+      for (ITableInfo ti : cache.getITableInfosForReadOnly())
+      {
+         getSection(sections, ti).tables.add(ti);
+      }
+      for (IProcedureInfo pi : cache.getIProcedureInfosForReadOnly())
+      {
+         getSection(sections, pi).procedures.add(pi);
+      }
+      for (IUDTInfo udt : cache.getIUDTInfosForReadOnly())
+      {
+         getSection(sections, udt).udts.add(udt);
+      }
+
+      out.writeInt(sections.size());
+      for (Map.Entry<List<String>, Section> entry : sections.entrySet())
+      {
+         out.writeString(entry.getKey().get(0));
+         out.writeString(entry.getKey().get(1));
+
+         Writer sectionOut = new Writer(out.strings);
+         writeSection(entry.getValue(), sectionOut);
+
+         out.writeInt(sectionOut.out.size());
+         sectionOut.out.writeTo(out.out);
+      }
+   }
+
+   private static Section getSection(Map<List<String>, Section> sections, IDatabaseObjectInfo doi)
+   {
+      return sections.computeIfAbsent(Arrays.asList(doi.getCatalogName(), doi.getSchemaName()), k -> new Section());
+   }
+
+   private static void writeSection(Section section, Writer out)
+   {
+      out.writeInt(section.tables.size());
+      for (ITableInfo ti : section.tables)
+      {
+         writeTable(ti, out);
+      }
+
+      out.writeInt(section.procedures.size());
+      for (IProcedureInfo pi : section.procedures)
+      {
+         out.writeString(pi.getSimpleName());
+         out.writeString(pi.getQualifiedName());
+         out.writeString(pi.getRemarks());
+         out.writeInt(pi.getProcedureType());
+
+         ProcedureInfoOrigin origin = pi instanceof ProcedureInfo ? ((ProcedureInfo) pi).getProcedureInfoOrigin() : null;
+         out.writeInt(null == origin ? 0 : origin.ordinal() + 1);
+      }
+
+      out.writeInt(section.udts.size());
+      for (IUDTInfo udt : section.udts)
+      {
+         out.writeString(udt.getSimpleName());
+         out.writeString(udt.getQualifiedName());
+         out.writeString(udt.getJavaClassName());
+         out.writeString(udt.getDataType());
+         out.writeString(udt.getRemarks());
+      }
+   }
+
+   private static void writeTable(ITableInfo ti, Writer out)
+   {
+      out.writeString(ti.getSimpleName());
+      out.writeString(ti.getQualifiedName());
+      out.writeString(ti.getType());
+      out.writeString(ti.getRemarks());
+
+      // Child tables of super tables, see SQLDatabaseMetaData.getTables(...)
+      ITableInfo[] childTables = ti.getChildTables();
+      out.writeInt(null == childTables ? 0 : childTables.length);
+      if (null != childTables)
+      {
+         for (ITableInfo childTable : childTables)
+         {
+            out.writeString(childTable.getCatalogName());
+            out.writeString(childTable.getSchemaName());
+            writeTable(childTable, out);
+         }
+      }
+   }
+
+   /**
+    * The objects of all sections are written to the cache at once,
+    * because each write rebuilds the index of its object kind.
+    */
+   private static void readSections(SchemaInfoCache cache, Reader in)
+   {
+      List<ITableInfo> tables = new ArrayList<>();
+      List<IProcedureInfo> procedures = new ArrayList<>();
+      List<IUDTInfo> udts = new ArrayList<>();
+
+      int sectionCount = in.readInt();
+      for (int i = 0; i < sectionCount; i++)
+      {
+         String catalog = in.readString();
+         String schema = in.readString();
+         int sectionEnd = in.readInt();
+         sectionEnd += in.buf.position();
+
+         int tableCount = in.readInt();
+         for (int j = 0; j < tableCount; j++)
+         {
+            tables.add(readTable(catalog, schema, in));
+         }
+
+         int procedureCount = in.readInt();
+         for (int j = 0; j < procedureCount; j++)
+         {
+            String simpleName = in.readString();
+            String qualifiedName = in.readString();
+            String remarks = in.readString();
+            int procType = in.readInt();
+            int origin = in.readInt();
+            procedures.add(ProcedureInfo.restore(catalog, schema, simpleName, qualifiedName, remarks, procType, 0 == origin ? null : ProcedureInfoOrigin.values()[origin - 1]));
+         }
+
+         int udtCount = in.readInt();
+         for (int j = 0; j < udtCount; j++)
+         {
+            String simpleName = in.readString();
+            String qualifiedName = in.readString();
+            String javaClassName = in.readString();
+            String dataType = in.readString();
+            String remarks = in.readString();
+            udts.add(UDTInfo.restore(catalog, schema, simpleName, qualifiedName, javaClassName, dataType, remarks));
+         }
+
+         if (sectionEnd != in.buf.position())
+         {
+            throw new IndexOutOfBoundsException("Section length mismatch");
+         }
+      }
+
+      cache.writeToTableCache(tables.toArray(new ITableInfo[0]));
+      cache.writeToProcedureCache(procedures.toArray(new IProcedureInfo[0]));
+      cache.writeToUDTCache(udts.toArray(new IUDTInfo[0]));
+   }
+
+   private static TableInfo readTable(String catalog, String schema, Reader in)
+   {
+      String simpleName = in.readString();
+      String qualifiedName = in.readString();
+      String type = in.readString();
+      String remarks = in.readString();
+
+      TableInfo ret = TableInfo.restore(catalog, schema, simpleName, qualifiedName, type, remarks);
+
+      int childCount = in.readInt();
+      for (int i = 0; i < childCount; i++)
+      {
+         String childCatalog = in.readString();
+         String childSchema = in.readString();
+         ret.addChild(readTable(childCatalog, childSchema, in));
+      }
+
+      return ret;
+   }
+
+   private static void writeColumns(SchemaInfoColumnCache columnCache, Writer out)
+   {
+      Map<CaseInsensitiveString, List<ExtendedColumnInfo>> columnsByTableName = columnCache.copyExtendedColumnInfosByTableName();
+
+      out.writeInt(columnsByTableName.size());
+      for (Map.Entry<CaseInsensitiveString, List<ExtendedColumnInfo>> entry : columnsByTableName.entrySet())
+      {
+         out.writeString(entry.getKey().toString());
+         out.writeInt(entry.getValue().size());
+         for (ExtendedColumnInfo eci : entry.getValue())
+         {
+            TableColumnInfo tci = eci.getTableColumnInfo();
+            out.writeString(tci.getCatalogName());
+            out.writeString(tci.getSchemaName());
+            out.writeString(tci.getQualifiedName());
+            out.writeString(tci.getTableName());
+            out.writeString(tci.getColumnName());
+            out.writeSignedInt(tci.getDataType());
+            out.writeString(tci.getTypeName());
+            out.writeSignedInt(tci.getColumnSize());
+            out.writeSignedInt(tci.getDecimalDigits());
+            out.writeSignedInt(tci.getRadix());
+            out.writeSignedInt(tci.isNullAllowed());
+            out.writeString(tci.getRemarks());
+            out.writeString(tci.getDefaultValue());
+            out.writeSignedInt(tci.getOctetLength());
+            out.writeSignedInt(tci.getOrdinalPosition());
+            out.writeString(tci.isNullable());
+            out.writeString(tci.isAutoIncrement());
+         }
+      }
+
+      Set<CaseInsensitiveString> inaccessible = columnCache.copyTablesWithInaccessibleColumns();
+      out.writeInt(inaccessible.size());
+      for (CaseInsensitiveString tableName : inaccessible)
+      {
+         out.writeString(tableName.toString());
+      }
+   }
+
+   private static void readColumns(SchemaInfoColumnCache columnCache, Reader in)
+   {
+      int tableCount = in.readInt();
+      for (int i = 0; i < tableCount; i++)
+      {
+         String tableName = in.readString();
+         TableColumnInfo[] infos = new TableColumnInfo[in.readInt()];
+         for (int j = 0; j < infos.length; j++)
+         {
+            infos[j] = new TableColumnInfo(in.readString(), // catalog
+                                           in.readString(), // schema
+                                           in.readString(), // qualified name
+                                           in.readString(), // table name
+                                           in.readString(), // column name
+                                           in.readSignedInt(), // data type
+                                           in.readString(), // type name
+                                           in.readSignedInt(), // column size
+                                           in.readSignedInt(), // decimal digits
+                                           in.readSignedInt(), // radix
+                                           in.readSignedInt(), // is null allowed
+                                           in.readString(), // remarks
+                                           in.readString(), // default value
+                                           in.readSignedInt(), // octet length
+                                           in.readSignedInt(), // ordinal position
+                                           in.readString(), // is nullable
+                                           in.readString()); // is auto increment
+         }
+         columnCache.writeColumsToCache(infos, new CaseInsensitiveString(tableName));
+      }
+
+      int inaccessibleCount = in.readInt();
+      for (int i = 0; i < inaccessibleCount; i++)
+      {
+         columnCache.restoreColumsNotAccessible(new CaseInsensitiveString(in.readString()));
+      }
+   }
+
+   private static Hashtable<CaseInsensitiveString, String> toCaseInsensitiveMap(List<String> strings)
+   {
+      Hashtable<CaseInsensitiveString, String> ret = new Hashtable<>();
+      for (String s : strings)
+      {
+         ret.put(new CaseInsensitiveString(s), s);
+      }
+      return ret;
+   }
+
+   private static byte[] serialize(SQLAliasSchemaProperties schemaProps) throws IOException
+   {
+      if (null == schemaProps)
+      {
+         return new byte[0];
+      }
+
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      try (ObjectOutputStream oos = new ObjectOutputStream(bos))
+      {
+         oos.writeObject(schemaProps);
+      }
+      return bos.toByteArray();
+   }
+
+   private static Object deserialize(byte[] bytes) throws IOException
+   {
+      if (0 == bytes.length)
+      {
+         return null;
+      }
+
+      try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+      {
+         return ois.readObject();
+      }
+      catch (ClassNotFoundException e)
+      {
+         throw Utilities.wrapRuntime(e);
+      }
+   }
+
+   private static class Section
+   {
+      private final List<ITableInfo> tables = new ArrayList<>();
+      private final List<IProcedureInfo> procedures = new ArrayList<>();
+      private final List<IUDTInfo> udts = new ArrayList<>();
+   }
+
+   private static class Writer
+   {
+      private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+      /**
+       * String table shared by all writers of one file. Values are the indexes.
+       */
+      private final HashMap<String, Integer> strings;
+
+      private Writer()
+      {
+         this(new LinkedHashMap<>());
+      }
+
+      private Writer(HashMap<String, Integer> strings)
+      {
+         this.strings = strings;
+      }
+
+      private void writeInt(int value)
+      {
+         // Unsigned LEB128 varint
+         while (0 != (value & ~0x7F))
+         {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+         }
+         out.write(value);
+      }
+
+      /**
+       * Zig-zag encoded so that small negative values, e.g. -1 for unknown sizes, stay short.
+       */
+      private void writeSignedInt(int value)
+      {
+         writeInt((value << 1) ^ (value >> 31));
+      }
+
+      private void writeString(String s)
+      {
+         if (null == s)
+         {
+            writeInt(0);
+            return;
+         }
+
+         Integer index = strings.get(s);
+         if (null == index)
+         {
+            index = strings.size();
+            strings.put(s, index);
+         }
+         writeInt(index + 1);
+      }
+
+      private void writeStrings(Iterable<String> strings)
+      {
+         ArrayList<String> buf = new ArrayList<>();
+         strings.forEach(buf::add);
+
+         writeInt(buf.size());
+         for (String s : buf)
+         {
+            writeString(s);
+         }
+      }
+
+      private void writeBytes(byte[] bytes)
+      {
+         writeInt(bytes.length);
+         out.write(bytes, 0, bytes.length);
+      }
+   }
+
+   private static class Reader
+   {
+      private final ByteBuffer buf;
+      private String[] strings;
+
+      private Reader(ByteBuffer buf)
+      {
+         this.buf = buf;
+      }
+
+      private int readInt()
+      {
+         int ret = 0;
+         for (int shift = 0; ; shift += 7)
+         {
+            byte b = buf.get();
+            ret |= (b & 0x7F) << shift;
+            if (0 == (b & 0x80))
+            {
+               return ret;
+            }
+         }
+      }
+
+      private int readSignedInt()
+      {
+         int value = readInt();
+         return (value >>> 1) ^ -(value & 1);
+      }
+
+      private String readString()
+      {
+         int ref = readInt();
+         return 0 == ref ? null : strings[ref - 1];
+      }
+
+      private List<String> readStrings()
+      {
+         int count = readInt();
+         ArrayList<String> ret = new ArrayList<>(count);
+         for (int i = 0; i < count; i++)
+         {
+            ret.add(Objects.requireNonNull(readString()));
+         }
+         return ret;
+      }
+
+      private byte[] readBytes()
+      {
+         byte[] ret = new byte[readInt()];
+         buf.get(ret);
+         return ret;
+      }
+   }
+}
@@ -12,6 +12,7 @@ import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.Hashtable;
 
 public class SchemaInfoCacheSerializer
@@ -38,27 +39,46 @@ public class SchemaInfoCacheSerializer
          // Current Alias Schema properties dont want cache.
          // so we don't cache.
 
-         try
+         for (File file : new File[]{schemaCacheFile, getLegacySchemaCacheFile(session.getAlias())})
          {
-            if(schemaCacheFile.exists() && false == schemaCacheFile.delete())
+            try
+            {
+               if(file.exists() && false == file.delete())
+               {
+                  s_log.error("Failed to delete Schema cache file " + file.getPath());
+               }
+            }
+            catch (Exception e)
             {
-               s_log.error("Failed to delete Schema cache file " + schemaCacheFile.getPath());
+               s_log.error("Could not delete Schema cache file " + file.getPath(), e);
             }
          }
+
+         return new SchemaInfoCache();
+      }
+
+      if(schemaCacheFile.exists())
+      {
+         try
+         {
+            return SchemaInfoCacheBinaryFormat.read(Files.readAllBytes(schemaCacheFile.toPath()));
+         }
          catch (Exception e)
          {
-            s_log.error("Could not delete Schema cache file " + schemaCacheFile.getPath(), e);
+            s_log.error("Failed to load Schema cache. Note: this can happen when the SQuirreL version changed", e);
+            return new SchemaInfoCache();
          }
-
-         return new SchemaInfoCache();
       }
 
-      if(false == schemaCacheFile.exists())
+      File legacySchemaCacheFile = getLegacySchemaCacheFile(session.getAlias());
+      if(false == legacySchemaCacheFile.exists())
       {
          return new SchemaInfoCache();
       }
 
-      try (FileInputStream fis = new FileInputStream(schemaCacheFile);
+      // Java serialized cache file written by former SQuirreL versions.
+      // It is replaced by the binary file when the cache is stored next time.
+      try (FileInputStream fis = new FileInputStream(legacySchemaCacheFile);
            ObjectInputStream ois = new ObjectInputStream(fis))
       {
 
@@ -117,10 +137,15 @@ public class SchemaInfoCacheSerializer
 
          schemaInfoCache.prepareSerialization();
 
-         try (FileOutputStream fos = new FileOutputStream(schemaCacheFile);
-               ObjectOutputStream oOut = new ObjectOutputStream(fos))
+         try (OutputStream out = new BufferedOutputStream(new FileOutputStream(schemaCacheFile)))
+         {
+            SchemaInfoCacheBinaryFormat.write(schemaInfoCache, out);
+         }
+
+         File legacySchemaCacheFile = getLegacySchemaCacheFile(session.getAlias());
+         if(legacySchemaCacheFile.exists() && false == legacySchemaCacheFile.delete())
          {
-            oOut.writeObject(schemaInfoCache);
+            s_log.warn("Failed to delete legacy Schema cache file " + legacySchemaCacheFile.getPath());
          }
 
          // i18n[SchemaInfoCacheSerializer.endStore=Finished writing schema cache for Alias{0}. file: {1}]
@@ -165,13 +190,26 @@ public class SchemaInfoCacheSerializer
 
 
    public static File getSchemaCacheFile(SQLAlias alias)
+   {
+      return getSchemaCacheFile(alias, "_schemacache.bin");
+   }
+
+   /**
+    * The Java serialized cache file written by former SQuirreL versions.
+    */
+   private static File getLegacySchemaCacheFile(SQLAlias alias)
+   {
+      return getSchemaCacheFile(alias, "_schemacache.ser");
+   }
+
+   private static File getSchemaCacheFile(SQLAlias alias, String suffix)
    {
       String uniquePrefix = alias.getIdentifier().toString();
 
       uniquePrefix = uniquePrefix.replace(':', '_').replace(File.separatorChar, '-');
 
       String path = new ApplicationFiles().getUserSettingsDirectory().getPath() +
-                    File.separator + "schemacaches" + File.separator + uniquePrefix + "_schemacache.ser";
+                    File.separator + "schemacaches" + File.separator + uniquePrefix + suffix;
 
       File ret = new File(path);
       ret.getParentFile().mkdirs();
@@ -182,21 +220,28 @@ public class SchemaInfoCacheSerializer
 
    public static void aliasRemoved(SQLAlias alias)
    {
-      File schemaCacheFile = getSchemaCacheFile(alias);
-      if(schemaCacheFile.exists())
+      for (File schemaCacheFile : new File[]{getSchemaCacheFile(alias), getLegacySchemaCacheFile(alias)})
       {
-         schemaCacheFile.delete();
+         if(schemaCacheFile.exists())
+         {
+            schemaCacheFile.delete();
+         }
       }
    }
 
    public static void deleteCacheFile(IApplication app, SQLAlias alias, boolean verbose)
    {
-      File schemaCacheFile = SchemaInfoCacheSerializer.getSchemaCacheFile(alias);
-
       String aliasName = null == alias.getName() || 0 == alias.getName().trim().length() ? "<unnamed>" : alias.getName();
 
-      if (schemaCacheFile.exists())
+      boolean anyExisted = false;
+      for (File schemaCacheFile : new File[]{getSchemaCacheFile(alias), getLegacySchemaCacheFile(alias)})
       {
+         if (false == schemaCacheFile.exists())
+         {
+            continue;
+         }
+
+         anyExisted = true;
          if (schemaCacheFile.delete())
          {
             // i18n[SchemaPropertiesController.cacheDeleted=Deleted {0}]
@@ -207,9 +252,9 @@ public class SchemaInfoCacheSerializer
             // i18n[SchemaPropertiesController.cacheDeleteFailed=Could not delete {0}]
             app.getMessageHandler().showWarningMessage(s_stringMgr.getString("SchemaInfoCacheSerializer.cacheDeleteFailed", schemaCacheFile.getPath()));
          }
-
       }
-      else if(verbose)
+
+      if(false == anyExisted && verbose)
       {
          // i18n[SchemaPropertiesController.cacheToDelNotExists=Cache file for Alias "{0}" does not exist. No file was deleted]
          app.getMessageHandler().showWarningMessage(s_stringMgr.getString("SchemaInfoCacheSerializer.cacheToDelNotExists", aliasName));
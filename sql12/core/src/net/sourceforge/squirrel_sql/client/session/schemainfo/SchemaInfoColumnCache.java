@@ -92,6 +92,36 @@ public class SchemaInfoColumnCache implements Serializable
       s_log.error("Failed to load columns for table " + simpleTableName, th);
    }
 
+   /**
+    * @return A copy, used to write the schema cache file.
+    */
+   Map<CaseInsensitiveString, List<ExtendedColumnInfo>> copyExtendedColumnInfosByTableName()
+   {
+      synchronized (_extendedColumnInfosByTableName)
+      {
+         return new TreeMap<>(_extendedColumnInfosByTableName);
+      }
+   }
+
+   /**
+    * @return A copy, used to write the schema cache file.
+    */
+   Set<CaseInsensitiveString> copyTablesWithInaccessibleColumns()
+   {
+      synchronized (_tablesWithInaccessibleColumns)
+      {
+         return new HashSet<>(_tablesWithInaccessibleColumns);
+      }
+   }
+
+   /**
+    * Used when reading the schema cache file. Unlike {@link #writeColumsNotAccessible(Throwable, CaseInsensitiveString)} doesn't log.
+    */
+   void restoreColumsNotAccessible(CaseInsensitiveString simpleTableName)
+   {
+      _tablesWithInaccessibleColumns.add(new CaseInsensitiveString(simpleTableName.toString()));
+   }
+
    public List<ExtendedColumnInfo> getExtendedColumnInfosForReadOnly(CaseInsensitiveString cissTableName)
    {
       return _extendedColumnInfosByTableName.get(cissTableName);
@@ -0,0 +1,286 @@
+package net.sourceforge.squirrel_sql.client.session.schemainfo;
+
+import net.sourceforge.squirrel_sql.fw.sql.ITableInfo;
+import net.sourceforge.squirrel_sql.fw.sql.TableColumnInfo;
+import net.sourceforge.squirrel_sql.fw.sql.databasemetadata.SQLDatabaseMetaData;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the columns of whole schemas in the background with one <code>DatabaseMetaData.getColumns(catalog, schema, "%", "%")</code>
+ * call per schema and writes them to the {@link SchemaInfoColumnCache}. This way code completion usually finds columns
+ * in the cache instead of accessing the database table by table.
+ *
+ * Schemas that contain the priority tables are loaded first. When new priority tables are requested
+ * while a prefetch is running, the running prefetch stops after the current schema and starts over with the new priorities.
+ *
+ * The column cache is keyed by simple table name and contains the columns of all tables of that name.
+ * So a table name that exists in several schemas is written only when all these schemas were loaded by the same prefetch.
+ * Tables that are not written are left to the usual per table loading. Priority tables among them are loaded
+ * per table in the background when the prefetch is done, see {@link SchemaInfo#loadColumns(CaseInsensitiveString)}.
+ */
+class SchemaInfoColumnPrefetcher
+{
+   private static final ILogger s_log = LoggerController.createLogger(SchemaInfoColumnPrefetcher.class);
+
+   /**
+    * Schemas without priority tables are prefetched only as long as the tables prefetched by one run stay below this number.
+    */
+   private static final int MAX_TABLE_COUNT_WITHOUT_PRIORITY = 5000;
+
+   private final SchemaInfo _schemaInfo;
+
+   private final LinkedHashSet<CaseInsensitiveString> _requestedPriorityTableNames = new LinkedHashSet<>();
+   private boolean _prefetchRequested;
+   private boolean _running;
+
+   /**
+    * Only accessed by the prefetch thread.
+    * Per prefetched schema the names of its tables the prefetch didn't write to the cache.
+    * Those tables are loaded per table when needed but don't make the schema being prefetched again.
+    */
+   private final HashMap<List<String>, Set<CaseInsensitiveString>> _tablesLeftToPerTableLoadingBySchema = new HashMap<>();
+   private SchemaInfoCache _prefetchedCache;
+
+   SchemaInfoColumnPrefetcher(SchemaInfo schemaInfo)
+   {
+      _schemaInfo = schemaInfo;
+   }
+
+   /**
+    * Returns immediately, the columns are loaded on the application's thread pool.
+    *
+    * @param priorityTableNames Names of tables the user is likely to need columns of, most important first.
+    *                           Names that are no tables are ignored.
+    */
+   void prefetch(Collection<String> priorityTableNames)
+   {
+      synchronized (this)
+      {
+         for (String priorityTableName : priorityTableNames)
+         {
+            _requestedPriorityTableNames.add(new CaseInsensitiveString(priorityTableName));
+         }
+         _prefetchRequested = true;
+
+         if (_running)
+         {
+            return;
+         }
+         _running = true;
+      }
+
+      _schemaInfo._session.getApplication().getThreadPool().addTask(this::runPrefetches);
+   }
+
+   private void runPrefetches()
+   {
+      while (true)
+      {
+         List<CaseInsensitiveString> priorityTableNames;
+         synchronized (this)
+         {
+            if (false == _prefetchRequested)
+            {
+               _running = false;
+               return;
+            }
+            _prefetchRequested = false;
+            priorityTableNames = new ArrayList<>(_requestedPriorityTableNames);
+            _requestedPriorityTableNames.clear();
+         }
+
+         try
+         {
+            prefetchSchemas(priorityTableNames);
+         }
+         catch (Throwable t)
+         {
+            s_log.error("Failed to prefetch columns", t);
+         }
+      }
+   }
+
+   private void prefetchSchemas(List<CaseInsensitiveString> priorityTableNames)
+   {
+      SchemaInfoCache cache = _schemaInfo.getSchemaInfoCache();
+      if (false == _schemaInfo.isLoaded() || null == cache || _schemaInfo._session.isClosed())
+      {
+         return;
+      }
+
+      if (cache != _prefetchedCache)
+      {
+         _tablesLeftToPerTableLoadingBySchema.clear();
+         _prefetchedCache = cache;
+      }
+
+      Map<CaseInsensitiveString, List<ITableInfo>> tablesBySimpleName = cache.getTableInfosBySimpleNameForReadOnly();
+
+      LinkedHashMap<List<String>, List<ITableInfo>> tablesBySchema = new LinkedHashMap<>();
+      for (ITableInfo tableInfo : cache.getITableInfosForReadOnly())
+      {
+         tablesBySchema.computeIfAbsent(getSchemaKey(tableInfo), k -> new ArrayList<>()).add(tableInfo);
+      }
+
+      LinkedHashSet<List<String>> prioritySchemas = new LinkedHashSet<>();
+      for (CaseInsensitiveString priorityTableName : priorityTableNames)
+      {
+         List<ITableInfo> tableInfos = tablesBySimpleName.get(priorityTableName);
+         if (null != tableInfos)
+         {
+            tableInfos.forEach(tableInfo -> prioritySchemas.add(getSchemaKey(tableInfo)));
+         }
+      }
+
+      List<List<String>> schemasToLoad = new ArrayList<>();
+      int tableCountWithoutPriority = 0;
+      for (List<String> schema : prioritySchemas)
+      {
+         if (needsPrefetch(cache, schema, tablesBySchema.get(schema)))
+         {
+            schemasToLoad.add(schema);
+         }
+      }
+      for (Map.Entry<List<String>, List<ITableInfo>> entry : tablesBySchema.entrySet())
+      {
+         if (false == prioritySchemas.contains(entry.getKey()) && needsPrefetch(cache, entry.getKey(), entry.getValue()))
+         {
+            tableCountWithoutPriority += entry.getValue().size();
+            if (MAX_TABLE_COUNT_WITHOUT_PRIORITY < tableCountWithoutPriority)
+            {
+               break;
+            }
+            schemasToLoad.add(entry.getKey());
+         }
+      }
+
+      HashSet<List<String>> loadedSchemas = new HashSet<>();
+      HashMap<CaseInsensitiveString, List<TableColumnInfo>> columnsByTableName = new HashMap<>();
+
+      for (List<String> schema : schemasToLoad)
+      {
+         synchronized (this)
+         {
+            if (_prefetchRequested)
+            {
+               // Start over with the new priorities. The priorities of this run stay requested.
+               _requestedPriorityTableNames.addAll(priorityTableNames);
+               return;
+            }
+         }
+
+         SQLDatabaseMetaData dmd = _schemaInfo.getSQLDatabaseMetaData();
+         if (null == dmd || cache != _schemaInfo.getSchemaInfoCache() || _schemaInfo._session.isClosed())
+         {
+            return;
+         }
+
+         List<ITableInfo> schemaTables = tablesBySchema.get(schema);
+         HashSet<CaseInsensitiveString> schemaTableNames = new HashSet<>();
+         schemaTables.forEach(tableInfo -> schemaTableNames.add(new CaseInsensitiveString(tableInfo.getSimpleName())));
+
+         TableColumnInfo[] infos;
+         try
+         {
+            infos = dmd.getColumnInfo(schema.get(0), schema.get(1), "%");
+         }
+         catch (Throwable t)
+         {
+            s_log.warn("Failed to prefetch columns of catalog=" + schema.get(0) + " schema=" + schema.get(1) + ". Columns will be loaded per table.", t);
+            _tablesLeftToPerTableLoadingBySchema.put(schema, schemaTableNames);
+            continue;
+         }
+
+         for (TableColumnInfo info : infos)
+         {
+            CaseInsensitiveString tableName = new CaseInsensitiveString(info.getTableName());
+            if (schemaTableNames.contains(tableName))
+            {
+               columnsByTableName.computeIfAbsent(tableName, k -> new ArrayList<>()).add(info);
+            }
+         }
+         loadedSchemas.add(schema);
+
+         HashSet<CaseInsensitiveString> tablesLeftToPerTableLoading = new HashSet<>();
+         for (CaseInsensitiveString tableName : schemaTableNames)
+         {
+            if (cache.didTryLoadingColumns(tableName))
+            {
+               continue;
+            }
+
+            List<TableColumnInfo> columns = columnsByTableName.get(tableName);
+            if (null != columns && isLoadedInAllSchemas(tableName, tablesBySimpleName, loadedSchemas))
+            {
+               columnsByTableName.remove(tableName);
+               cache.writeColumsToCache(columns.toArray(new TableColumnInfo[0]), tableName);
+            }
+            else
+            {
+               // No columns returned or the name exists in a schema that is not yet loaded.
+               // If a later schema of this prefetch completes the name it is written then.
+               tablesLeftToPerTableLoading.add(tableName);
+            }
+         }
+         _tablesLeftToPerTableLoadingBySchema.put(schema, tablesLeftToPerTableLoading);
+      }
+
+      // Priority tables that are still not loaded failed to load with their schema, had no columns returned
+      // or their name exists in a schema that was not loaded.
+      for (CaseInsensitiveString priorityTableName : priorityTableNames)
+      {
+         if (tablesBySimpleName.containsKey(priorityTableName) && false == cache.didTryLoadingColumns(priorityTableName))
+         {
+            _schemaInfo.loadColumns(priorityTableName);
+         }
+      }
+   }
+
+   private boolean needsPrefetch(SchemaInfoCache cache, List<String> schema, List<ITableInfo> schemaTables)
+   {
+      if (null == schemaTables)
+      {
+         return false;
+      }
+
+      Set<CaseInsensitiveString> tablesLeftToPerTableLoading = _tablesLeftToPerTableLoadingBySchema.get(schema);
+      for (ITableInfo tableInfo : schemaTables)
+      {
+         CaseInsensitiveString tableName = new CaseInsensitiveString(tableInfo.getSimpleName());
+         if (false == cache.didTryLoadingColumns(tableName) && (null == tablesLeftToPerTableLoading || false == tablesLeftToPerTableLoading.contains(tableName)))
+         {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private static boolean isLoadedInAllSchemas(CaseInsensitiveString tableName, Map<CaseInsensitiveString, List<ITableInfo>> tablesBySimpleName, Set<List<String>> loadedSchemas)
+   {
+      for (ITableInfo tableInfo : tablesBySimpleName.get(tableName))
+      {
+         if (false == loadedSchemas.contains(getSchemaKey(tableInfo)))
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static List<String> getSchemaKey(ITableInfo tableInfo)
+   {
+      return Arrays.asList(tableInfo.getCatalogName(), tableInfo.getSchemaName());
+   }
+}
@@ -0,0 +1,198 @@
+package net.sourceforge.squirrel_sql.client.session.schemainfo;
+
+import net.sourceforge.squirrel_sql.client.gui.db.SchemaLoadInfo;
+import net.sourceforge.squirrel_sql.client.session.ISession;
+import net.sourceforge.squirrel_sql.fw.sql.ISQLConnection;
+import net.sourceforge.squirrel_sql.fw.sql.ProgressCallBack;
+import net.sourceforge.squirrel_sql.fw.sql.ProgressCallBackAdaptor;
+import net.sourceforge.squirrel_sql.fw.sql.databasemetadata.SQLDatabaseMetaData;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the schema dependent part of loading {@link SchemaInfo}, that is tables, stored procedures and UDTs.
+ *
+ * There is one task per schema. When the session's query connection pool is active
+ * the tasks run in parallel, each worker on a connection checked out from the pool.
+ * Otherwise they run one after the other on the calling thread and the session's main connection.
+ *
+ * The objects of a schema are written to {@link SchemaInfoCache} by the task itself,
+ * so code completion and syntax highlighting see them as soon as the schema is done.
+ *
+ * Loading can be canceled for single schemas or for all schemas.
+ */
+class SchemaInfoLoader
+{
+   private static final ILogger s_log = LoggerController.createLogger(SchemaInfoLoader.class);
+
+   /**
+    * Meta data loading should not occupy more connections than this, even if the pool is larger.
+    */
+   private static final int MAX_META_DATA_CONNECTIONS = 4;
+
+   private final ISession _session;
+   private final Set<String> _canceledSchemas = ConcurrentHashMap.newKeySet();
+   private volatile boolean _canceled;
+
+   interface SchemaLoader
+   {
+      void load(SQLDatabaseMetaData dmd, SchemaLoadInfo schemaLoadInfo, ProgressCallBack pcb) throws Exception;
+   }
+
+   SchemaInfoLoader(ISession session)
+   {
+      _session = session;
+   }
+
+   /**
+    * @param mainDmd Meta data of the session's main connection used when loading does not run in parallel.
+    * @param progress Receives notes on what is currently loading. Is called from worker threads.
+    */
+   void load(SchemaLoadInfo[] schemaLoadInfos, SQLDatabaseMetaData mainDmd, SchemaLoader schemaLoader, Consumer<String> progress)
+   {
+      int threadCount = getMetaDataConnectionCount(schemaLoadInfos.length);
+
+      if (1 == threadCount)
+      {
+         for (SchemaLoadInfo schemaLoadInfo : schemaLoadInfos)
+         {
+            loadSchema(mainDmd, schemaLoadInfo, schemaLoader, progress);
+         }
+         return;
+      }
+
+      ConcurrentLinkedQueue<SchemaLoadInfo> queue = new ConcurrentLinkedQueue<>(List.of(schemaLoadInfos));
+      AtomicInteger doneCount = new AtomicInteger();
+
+      List<Callable<Void>> workers = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++)
+      {
+         workers.add(() -> runWorker(queue, schemaLoader, note -> progress.accept(note + " (" + doneCount.get() + "/" + schemaLoadInfos.length + ")"), doneCount));
+      }
+
+      ExecutorService executorService = Executors.newFixedThreadPool(threadCount, r -> {
+         Thread t = new Thread(r);
+         t.setName("SchemaInfo Loader Thread");
+         t.setDaemon(true);
+         return t;
+      });
+
+      try
+      {
+         executorService.invokeAll(workers);
+      }
+      catch (InterruptedException e)
+      {
+         _canceled = true;
+         throw Utilities.wrapRuntime(e);
+      }
+      finally
+      {
+         executorService.shutdownNow();
+      }
+   }
+
+   private Void runWorker(ConcurrentLinkedQueue<SchemaLoadInfo> queue, SchemaLoader schemaLoader, Consumer<String> progress, AtomicInteger doneCount)
+   {
+      ISQLConnection conn = _session.checkOutUserQuerySQLConnection();
+      try
+      {
+         SQLDatabaseMetaData dmd = conn.getSQLMetaData();
+
+         SchemaLoadInfo schemaLoadInfo;
+         while (null != (schemaLoadInfo = queue.poll()))
+         {
+            loadSchema(dmd, schemaLoadInfo, schemaLoader, progress);
+            doneCount.incrementAndGet();
+         }
+      }
+      finally
+      {
+         _session.returnUserQuerySQLConnection(conn);
+      }
+      return null;
+   }
+
+   private void loadSchema(SQLDatabaseMetaData dmd, SchemaLoadInfo schemaLoadInfo, SchemaLoader schemaLoader, Consumer<String> progress)
+   {
+      String schemaName = schemaLoadInfo.getSchemaName();
+
+      if (isCanceled(schemaName))
+      {
+         return;
+      }
+
+      ProgressCallBack pcb = new ProgressCallBackAdaptor()
+      {
+         @Override
+         public void currentlyLoading(String simpleName)
+         {
+            if (isCanceled(schemaName))
+            {
+               throw new SchemaLoadingCanceledException();
+            }
+
+            progress.accept(null == schemaName ? simpleName : schemaName + "." + simpleName);
+         }
+      };
+
+      try
+      {
+         schemaLoader.load(dmd, schemaLoadInfo, pcb);
+      }
+      catch (SchemaLoadingCanceledException e)
+      {
+         s_log.info("Loading meta data of schema " + schemaName + " was canceled");
+      }
+      catch (Throwable th)
+      {
+         s_log.error("Failed to load meta data of schema " + schemaName, th);
+      }
+   }
+
+   private int getMetaDataConnectionCount(int schemaCount)
+   {
+      if (2 > schemaCount
+          || false == _session.getConnectionPool().isAutoCommit()
+          || 2 > _session.getProperties().getQueryConnectionPoolSize())
+      {
+         return 1;
+      }
+
+      return Math.min(MAX_META_DATA_CONNECTIONS, Math.min(_session.getProperties().getQueryConnectionPoolSize(), schemaCount));
+   }
+
+   /**
+    * Objects of the schema that were loaded so far stay in the cache.
+    */
+   void cancel(String schemaName)
+   {
+      _canceledSchemas.add(schemaName);
+   }
+
+   void cancel()
+   {
+      _canceled = true;
+   }
+
+   private boolean isCanceled(String schemaName)
+   {
+      return _canceled || (null != schemaName && _canceledSchemas.contains(schemaName));
+   }
+
+   private static class SchemaLoadingCanceledException extends RuntimeException
+   {
+   }
+}
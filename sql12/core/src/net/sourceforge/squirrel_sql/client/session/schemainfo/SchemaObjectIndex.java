@@ -0,0 +1,569 @@
+package net.sourceforge.squirrel_sql.client.session.schemainfo;
+
+import net.sourceforge.squirrel_sql.fw.sql.IDatabaseObjectInfo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable snapshot of the tables, stored procedures or UDTs held by {@link SchemaInfoCache}.
+ *
+ * Writers derive a new snapshot by {@link #with(Collection)} or {@link #without(Predicate)}
+ * and publish it by assigning a volatile field. Readers never lock and never see a half written state.
+ *
+ * Lookup structures are built lazily, once per snapshot, when they are first needed:
+ * maps by simple name, by catalog and/or schema, and a name index that narrows {@link FilterMatcher}
+ * lookups by the literal prefix of the include patterns, or by the trigrams of their longest literal part.
+ * The index only narrows. Callers still apply their filters to what {@link #find(String, String, FilterMatcher)} returns.
+ *
+ * Like {@link SchemaInfoCache} this class deliberately declares no serialVersionUID.
+ */
+final class SchemaObjectIndex<T extends IDatabaseObjectInfo> implements Serializable
+{
+   /**
+    * Characters that make an include string a regular expression other than the simple SQL like pattern.
+    * See the conversion in {@link FilterMatcher}.
+    */
+   private static final String REG_EXP_CHARS = "\\^$|?*+()[]{}";
+
+   private static final int TRIGRAM_LENGTH = 3;
+
+   enum Kind
+   {
+      /**
+       * Ordered by simple name. Objects with case insensitive equal qualified names are duplicates.
+       */
+      TABLES,
+
+      /**
+       * Ordered by qualified name. Objects with equal qualified names are duplicates.
+       */
+      PROCEDURES_AND_UDTS
+   }
+
+   private final Kind _kind;
+   private final List<T> _objects;
+
+   private transient volatile Lookup<T> _lookup;
+
+   SchemaObjectIndex(Kind kind)
+   {
+      this(kind, Collections.emptyList());
+   }
+
+   private SchemaObjectIndex(Kind kind, List<T> objects)
+   {
+      _kind = kind;
+      _objects = objects;
+   }
+
+   /**
+    * @return A new snapshot containing this snapshot's objects plus those of toAdd that are no duplicates.
+    */
+   SchemaObjectIndex<T> with(Collection<T> toAdd)
+   {
+      Set<String> identities = createIdentitySet();
+      for (T object : _objects)
+      {
+         identities.add(object.getQualifiedName());
+      }
+
+      ArrayList<T> newObjects = new ArrayList<>();
+      for (T object : toAdd)
+      {
+         if (identities.add(object.getQualifiedName()))
+         {
+            newObjects.add(object);
+         }
+      }
+
+      if (newObjects.isEmpty())
+      {
+         return this;
+      }
+
+      Comparator<IDatabaseObjectInfo> comparator = getComparator();
+
+      // Stable: Existing objects stay in front of new objects that compare equal.
+      newObjects.sort(comparator);
+
+      ArrayList<T> merged = new ArrayList<>(_objects.size() + newObjects.size());
+      int i = 0;
+      int j = 0;
+      while (i < _objects.size() && j < newObjects.size())
+      {
+         if (comparator.compare(_objects.get(i), newObjects.get(j)) <= 0)
+         {
+            merged.add(_objects.get(i++));
+         }
+         else
+         {
+            merged.add(newObjects.get(j++));
+         }
+      }
+      merged.addAll(_objects.subList(i, _objects.size()));
+      merged.addAll(newObjects.subList(j, newObjects.size()));
+
+      return new SchemaObjectIndex<>(_kind, Collections.unmodifiableList(merged));
+   }
+
+   /**
+    * @return A new snapshot without the objects that match toRemove.
+    */
+   SchemaObjectIndex<T> without(Predicate<T> toRemove)
+   {
+      ArrayList<T> remaining = new ArrayList<>(_objects.size());
+      for (T object : _objects)
+      {
+         if (false == toRemove.test(object))
+         {
+            remaining.add(object);
+         }
+      }
+
+      if (remaining.size() == _objects.size())
+      {
+         return this;
+      }
+
+      return new SchemaObjectIndex<>(_kind, Collections.unmodifiableList(remaining));
+   }
+
+   List<T> getObjects()
+   {
+      return _objects;
+   }
+
+   /**
+    * @return The objects whose catalog and schema equal the given ones ignoring case and whose names may match the filter.
+    *         Null parameters don't restrict. The result keeps the order of {@link #getObjects()}.
+    */
+   List<T> find(String catalog, String schema, FilterMatcher filterMatcher)
+   {
+      Lookup<T> lookup = getLookup();
+
+      int[] positions = lookup.getScopePositions(catalog, schema);
+
+      if (null != filterMatcher && (null == positions || 0 < positions.length))
+      {
+         positions = intersect(positions, lookup.getNameCandidatePositions(filterMatcher.getIncludeFilterStrings()));
+      }
+
+      if (null == positions)
+      {
+         return _objects;
+      }
+
+      ArrayList<T> ret = new ArrayList<>(positions.length);
+      for (int position : positions)
+      {
+         ret.add(_objects.get(position));
+      }
+      return ret;
+   }
+
+   List<T> getBySimpleName(CaseInsensitiveString simpleName)
+   {
+      return getLookup().bySimpleName.get(simpleName);
+   }
+
+   Map<CaseInsensitiveString, List<T>> getBySimpleName()
+   {
+      return getLookup().bySimpleName;
+   }
+
+   /**
+    * @return Simple names by their case insensitive version.
+    */
+   Map<CaseInsensitiveString, String> getNames()
+   {
+      return getLookup().names;
+   }
+
+   /**
+    * @return The distinct simple names ordered case insensitively.
+    */
+   List<String> getSortedNames()
+   {
+      return getLookup().sortedNames;
+   }
+
+   private Lookup<T> getLookup()
+   {
+      Lookup<T> lookup = _lookup;
+      if (null == lookup)
+      {
+         // Concurrent readers may build the lookup twice. That is cheaper than synchronizing.
+         lookup = new Lookup<>(_objects);
+         _lookup = lookup;
+      }
+      return lookup;
+   }
+
+   private Set<String> createIdentitySet()
+   {
+      if (Kind.TABLES == _kind)
+      {
+         return new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+      }
+      return new HashSet<>();
+   }
+
+   private Comparator<IDatabaseObjectInfo> getComparator()
+   {
+      if (Kind.TABLES == _kind)
+      {
+         return Comparator.comparing(IDatabaseObjectInfo::getSimpleName);
+      }
+      return Comparator.comparing(IDatabaseObjectInfo::getQualifiedName);
+   }
+
+   /**
+    * @param a Ascending positions, null means all positions.
+    * @param b Ascending positions, null means all positions.
+    */
+   private static int[] intersect(int[] a, int[] b)
+   {
+      if (null == a)
+      {
+         return b;
+      }
+      if (null == b)
+      {
+         return a;
+      }
+
+      int[] ret = new int[Math.min(a.length, b.length)];
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < a.length && j < b.length)
+      {
+         if (a[i] < b[j])
+         {
+            ++i;
+         }
+         else if (a[i] > b[j])
+         {
+            ++j;
+         }
+         else
+         {
+            ret[count++] = a[i];
+            ++i;
+            ++j;
+         }
+      }
+      return Arrays.copyOf(ret, count);
+   }
+
+   private static String toIndexCase(String s)
+   {
+      return s.toUpperCase(Locale.ROOT);
+   }
+
+   private static String scopeKey(String catalog, String schema)
+   {
+      return (null == catalog ? "" : toIndexCase(catalog)) + '\u0000' + (null == schema ? "" : toIndexCase(schema));
+   }
+
+   private static long trigram(String s, int beginIndex)
+   {
+      return ((long) s.charAt(beginIndex) << 32) | ((long) s.charAt(beginIndex + 1) << 16) | s.charAt(beginIndex + 2);
+   }
+
+
+   private static class Lookup<T extends IDatabaseObjectInfo>
+   {
+      private final Map<CaseInsensitiveString, List<T>> bySimpleName;
+      private final Map<CaseInsensitiveString, String> names;
+      private final List<String> sortedNames;
+
+      private final Map<String, int[]> byCatalog;
+      private final Map<String, int[]> bySchema;
+      private final Map<String, int[]> byCatalogAndSchema;
+
+      /**
+       * Upper case simple names by position.
+       */
+      private final String[] indexNames;
+
+      /**
+       * Positions ordered by {@link #indexNames}.
+       */
+      private final int[] positionsByIndexName;
+
+      private volatile Map<Long, int[]> _byTrigram;
+
+      private Lookup(List<T> objects)
+      {
+         HashMap<CaseInsensitiveString, List<T>> bySimpleNameBuf = new HashMap<>();
+         TreeMap<CaseInsensitiveString, String> namesBuf = new TreeMap<>();
+         HashMap<String, PositionList> byCatalogBuf = new HashMap<>();
+         HashMap<String, PositionList> bySchemaBuf = new HashMap<>();
+         HashMap<String, PositionList> byCatalogAndSchemaBuf = new HashMap<>();
+
+         indexNames = new String[objects.size()];
+
+         for (int i = 0; i < objects.size(); i++)
+         {
+            T object = objects.get(i);
+
+            if (0 < object.getSimpleName().length())
+            {
+               CaseInsensitiveString ciSimpleName = new CaseInsensitiveString(object.getSimpleName());
+               bySimpleNameBuf.computeIfAbsent(ciSimpleName, k -> new ArrayList<>()).add(object);
+               namesBuf.put(ciSimpleName, object.getSimpleName());
+            }
+
+            if (null != object.getCatalogName())
+            {
+               byCatalogBuf.computeIfAbsent(scopeKey(object.getCatalogName(), null), k -> new PositionList()).add(i);
+            }
+            if (null != object.getSchemaName())
+            {
+               bySchemaBuf.computeIfAbsent(scopeKey(null, object.getSchemaName()), k -> new PositionList()).add(i);
+            }
+            if (null != object.getCatalogName() && null != object.getSchemaName())
+            {
+               byCatalogAndSchemaBuf.computeIfAbsent(scopeKey(object.getCatalogName(), object.getSchemaName()), k -> new PositionList()).add(i);
+            }
+
+            indexNames[i] = toIndexCase(object.getSimpleName());
+         }
+
+         bySimpleNameBuf.replaceAll((k, v) -> Collections.unmodifiableList(v));
+         bySimpleName = Collections.unmodifiableMap(bySimpleNameBuf);
+         names = Collections.unmodifiableMap(new HashMap<>(namesBuf));
+         sortedNames = Collections.unmodifiableList(new ArrayList<>(namesBuf.values()));
+
+         byCatalog = toArrays(byCatalogBuf);
+         bySchema = toArrays(bySchemaBuf);
+         byCatalogAndSchema = toArrays(byCatalogAndSchemaBuf);
+
+         positionsByIndexName = IntStream.range(0, indexNames.length)
+                                              .boxed()
+                                              .sorted(Comparator.comparing(p -> indexNames[p]))
+                                              .mapToInt(Integer::intValue)
+                                              .toArray();
+      }
+
+      private static Map<String, int[]> toArrays(HashMap<String, PositionList> buf)
+      {
+         HashMap<String, int[]> ret = new HashMap<>();
+         buf.forEach((k, v) -> ret.put(k, v.toArray()));
+         return ret;
+      }
+
+      /**
+       * @return null if catalog and schema don't restrict.
+       */
+      private int[] getScopePositions(String catalog, String schema)
+      {
+         if (null == catalog && null == schema)
+         {
+            return null;
+         }
+
+         Map<String, int[]> map;
+         if (null == catalog)
+         {
+            map = bySchema;
+         }
+         else if (null == schema)
+         {
+            map = byCatalog;
+         }
+         else
+         {
+            map = byCatalogAndSchema;
+         }
+
+         int[] ret = map.get(scopeKey(catalog, schema));
+         return null == ret ? new int[0] : ret;
+      }
+
+      /**
+       * @return null if the include strings can't be used to narrow the search.
+       */
+      private int[] getNameCandidatePositions(List<String> includeFilterStrings)
+      {
+         if (includeFilterStrings.isEmpty())
+         {
+            return null;
+         }
+
+         BitSet candidates = new BitSet(indexNames.length);
+
+         for (String includeFilterString : includeFilterStrings)
+         {
+            if (includeFilterString.chars().anyMatch(c -> 0 <= REG_EXP_CHARS.indexOf(c)))
+            {
+               return null;
+            }
+
+            String pattern = toIndexCase(includeFilterString);
+
+            int wildCardIndex = indexOfWildCard(pattern);
+            String prefix = -1 == wildCardIndex ? pattern : pattern.substring(0, wildCardIndex);
+
+            if (0 < prefix.length())
+            {
+               addPrefixCandidates(prefix, candidates);
+            }
+            else
+            {
+               String literal = getLongestLiteral(pattern);
+               if (TRIGRAM_LENGTH > literal.length())
+               {
+                  return null;
+               }
+               addTrigramCandidates(literal, candidates);
+            }
+         }
+
+         return candidates.stream().toArray();
+      }
+
+      private void addPrefixCandidates(String prefix, BitSet candidates)
+      {
+         int low = 0;
+         int high = positionsByIndexName.length;
+         while (low < high)
+         {
+            int mid = (low + high) >>> 1;
+            if (indexNames[positionsByIndexName[mid]].compareTo(prefix) < 0)
+            {
+               low = mid + 1;
+            }
+            else
+            {
+               high = mid;
+            }
+         }
+
+         for (int i = low; i < positionsByIndexName.length && indexNames[positionsByIndexName[i]].startsWith(prefix); i++)
+         {
+            candidates.set(positionsByIndexName[i]);
+         }
+      }
+
+      private void addTrigramCandidates(String literal, BitSet candidates)
+      {
+         Map<Long, int[]> byTrigram = getByTrigram();
+
+         int[] positions = null;
+         for (int i = 0; i + TRIGRAM_LENGTH <= literal.length(); i++)
+         {
+            int[] buf = byTrigram.get(trigram(literal, i));
+            if (null == buf)
+            {
+               return;
+            }
+            positions = intersect(positions, buf);
+         }
+
+         for (int position : positions)
+         {
+            candidates.set(position);
+         }
+      }
+
+      private Map<Long, int[]> getByTrigram()
+      {
+         Map<Long, int[]> byTrigram = _byTrigram;
+         if (null == byTrigram)
+         {
+            HashMap<Long, PositionList> buf = new HashMap<>();
+            for (int position = 0; position < indexNames.length; position++)
+            {
+               String name = indexNames[position];
+               for (int i = 0; i + TRIGRAM_LENGTH <= name.length(); i++)
+               {
+                  PositionList positions = buf.computeIfAbsent(trigram(name, i), k -> new PositionList());
+
+                  // A trigram may occur several times in a name.
+                  if (positions.last() != position)
+                  {
+                     positions.add(position);
+                  }
+               }
+            }
+
+            HashMap<Long, int[]> ret = new HashMap<>();
+            buf.forEach((k, v) -> ret.put(k, v.toArray()));
+            byTrigram = ret;
+            _byTrigram = byTrigram;
+         }
+         return byTrigram;
+      }
+
+      private static int indexOfWildCard(String pattern)
+      {
+         for (int i = 0; i < pattern.length(); i++)
+         {
+            if ('%' == pattern.charAt(i) || '_' == pattern.charAt(i))
+            {
+               return i;
+            }
+         }
+         return -1;
+      }
+
+      private static String getLongestLiteral(String pattern)
+      {
+         String ret = "";
+         for (String literal : pattern.split("[%_]"))
+         {
+            if (literal.length() > ret.length())
+            {
+               ret = literal;
+            }
+         }
+         return ret;
+      }
+   }
+
+   /**
+    * Growable list of ascending positions.
+    */
+   private static class PositionList
+   {
+      private int[] _buf = new int[4];
+      private int _size;
+
+      void add(int position)
+      {
+         if (_size == _buf.length)
+         {
+            _buf = Arrays.copyOf(_buf, _size * 2);
+         }
+         _buf[_size++] = position;
+      }
+
+      int last()
+      {
+         return 0 == _size ? -1 : _buf[_size - 1];
+      }
+
+      int[] toArray()
+      {
+         return Arrays.copyOf(_buf, _size);
+      }
+   }
+}
@@ -0,0 +1,197 @@
+package net.sourceforge.squirrel_sql.client.startup;
+
+import net.sourceforge.squirrel_sql.fw.util.JsonMarshalUtil;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the independent startup tasks of {@link net.sourceforge.squirrel_sql.client.Application#startup()}
+ * on a small pool while the startup thread goes on with the tasks that need it.
+ * Background tasks may depend on other background tasks. The startup thread waits for a task
+ * by {@link #await(String)} right before it needs the task's result.
+ *
+ * All tasks are timed, see {@link #finish(File)}.
+ */
+public class StartupTaskPipeline
+{
+   private static final ILogger s_log = LoggerController.createLogger(StartupTaskPipeline.class);
+
+   private final long _beginTime = System.currentTimeMillis();
+   private final ForkJoinPool _pool;
+
+   private final HashMap<String, CompletableFuture<Void>> _futuresByName = new HashMap<>();
+   private final List<StartupTaskTimingJsonBean> _timings = new ArrayList<>();
+
+   public StartupTaskPipeline()
+   {
+      _pool = new ForkJoinPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+   }
+
+   /**
+    * Starts the task on the pool as soon as all dependencies completed.
+    */
+   public synchronized void submit(String name, Runnable task, String... dependencies)
+   {
+      if (_futuresByName.containsKey(name))
+      {
+         throw new IllegalArgumentException("Duplicate startup task " + name);
+      }
+
+      CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependencies.length];
+      for (int i = 0; i < dependencies.length; i++)
+      {
+         dependencyFutures[i] = getFuture(dependencies[i]);
+      }
+
+      CompletableFuture<Void> future = CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> runTimed(name, task), _pool);
+      _futuresByName.put(name, future);
+   }
+
+   /**
+    * Runs the task on the calling thread.
+    */
+   public void run(String name, Runnable task)
+   {
+      runTimed(name, task);
+   }
+
+   /**
+    * Waits for a task passed to {@link #submit(String, Runnable, String...)}.
+    * If the task failed its exception is rethrown.
+    */
+   public void await(String name)
+   {
+      CompletableFuture<Void> future;
+      synchronized (this)
+      {
+         future = getFuture(name);
+      }
+
+      long begin = System.currentTimeMillis();
+      try
+      {
+         future.join();
+      }
+      catch (CompletionException e)
+      {
+         throw Utilities.wrapRuntime(e.getCause());
+      }
+
+      long waited = System.currentTimeMillis() - begin;
+      if (0 < waited)
+      {
+         addTiming("await " + name, Thread.currentThread().getName(), begin, waited);
+      }
+   }
+
+   public void awaitAll()
+   {
+      List<String> names;
+      synchronized (this)
+      {
+         names = new ArrayList<>(_futuresByName.keySet());
+      }
+      names.forEach(this::await);
+   }
+
+   /**
+    * Adds a timing measured by somebody else, e.g. the plugins' load and initialize times.
+    */
+   public void addTiming(String name, long durationMillis)
+   {
+      addTiming(name, null, -1, durationMillis);
+   }
+
+   /**
+    * Waits for all tasks, writes the timing report and releases the pool.
+    */
+   public void finish(File timingReportFile)
+   {
+      try
+      {
+         awaitAll();
+      }
+      finally
+      {
+         _pool.shutdown();
+      }
+
+      writeTimingReport(timingReportFile);
+   }
+
+   private void writeTimingReport(File timingReportFile)
+   {
+      StartupTimingReportJsonBean report = new StartupTimingReportJsonBean();
+      report.setStartupBeginTime(_beginTime);
+      report.setTotalMillis(System.currentTimeMillis() - _beginTime);
+      report.setParallelism(_pool.getParallelism());
+
+      synchronized (_timings)
+      {
+         report.getTaskTimings().addAll(_timings);
+      }
+
+      s_log.info("Startup took " + report.getTotalMillis() + " ms, task timings are written to " + timingReportFile);
+
+      try
+      {
+         JsonMarshalUtil.writeObjectToFile(timingReportFile, report);
+      }
+      catch (Exception e)
+      {
+         s_log.warn("Failed to write startup timing report to " + timingReportFile, e);
+      }
+   }
+
+   private void runTimed(String name, Runnable task)
+   {
+      long begin = System.currentTimeMillis();
+      try
+      {
+         task.run();
+      }
+      finally
+      {
+         long duration = System.currentTimeMillis() - begin;
+         addTiming(name, Thread.currentThread().getName(), begin, duration);
+
+         if (s_log.isDebugEnabled())
+         {
+            s_log.debug("Startup task " + name + " took " + duration + " ms");
+         }
+      }
+   }
+
+   private void addTiming(String name, String threadName, long begin, long durationMillis)
+   {
+      StartupTaskTimingJsonBean timing = new StartupTaskTimingJsonBean();
+      timing.setName(name);
+      timing.setThreadName(threadName);
+      timing.setStartMillis(-1 == begin ? -1 : begin - _beginTime);
+      timing.setDurationMillis(durationMillis);
+
+      synchronized (_timings)
+      {
+         _timings.add(timing);
+      }
+   }
+
+   private CompletableFuture<Void> getFuture(String name)
+   {
+      CompletableFuture<Void> ret = _futuresByName.get(name);
+      if (null == ret)
+      {
+         throw new IllegalArgumentException("Unknown startup task " + name);
+      }
+      return ret;
+   }
+}
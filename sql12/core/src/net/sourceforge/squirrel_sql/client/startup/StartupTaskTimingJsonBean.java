@@ -0,0 +1,52 @@
+package net.sourceforge.squirrel_sql.client.startup;
+
+public class StartupTaskTimingJsonBean
+{
+   private String _name;
+   private String _threadName;
+   private long _startMillis;
+   private long _durationMillis;
+
+   public String getName()
+   {
+      return _name;
+   }
+
+   public void setName(String name)
+   {
+      _name = name;
+   }
+
+   public String getThreadName()
+   {
+      return _threadName;
+   }
+
+   public void setThreadName(String threadName)
+   {
+      _threadName = threadName;
+   }
+
+   /**
+    * Milliseconds since startup began. -1 if unknown, e.g. for plugin timings.
+    */
+   public long getStartMillis()
+   {
+      return _startMillis;
+   }
+
+   public void setStartMillis(long startMillis)
+   {
+      _startMillis = startMillis;
+   }
+
+   public long getDurationMillis()
+   {
+      return _durationMillis;
+   }
+
+   public void setDurationMillis(long durationMillis)
+   {
+      _durationMillis = durationMillis;
+   }
+}
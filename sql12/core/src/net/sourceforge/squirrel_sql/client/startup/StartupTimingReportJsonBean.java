@@ -0,0 +1,55 @@
+package net.sourceforge.squirrel_sql.client.startup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StartupTimingReportJsonBean
+{
+   private long _startupBeginTime;
+   private long _totalMillis;
+   private int _parallelism;
+   private List<StartupTaskTimingJsonBean> _taskTimings = new ArrayList<>();
+
+   /**
+    * As returned by System.currentTimeMillis()
+    */
+   public long getStartupBeginTime()
+   {
+      return _startupBeginTime;
+   }
+
+   public void setStartupBeginTime(long startupBeginTime)
+   {
+      _startupBeginTime = startupBeginTime;
+   }
+
+   public long getTotalMillis()
+   {
+      return _totalMillis;
+   }
+
+   public void setTotalMillis(long totalMillis)
+   {
+      _totalMillis = totalMillis;
+   }
+
+   public int getParallelism()
+   {
+      return _parallelism;
+   }
+
+   public void setParallelism(int parallelism)
+   {
+      _parallelism = parallelism;
+   }
+
+   public List<StartupTaskTimingJsonBean> getTaskTimings()
+   {
+      return _taskTimings;
+   }
+
+   public void setTaskTimings(List<StartupTaskTimingJsonBean> taskTimings)
+   {
+      _taskTimings = taskTimings;
+   }
+}
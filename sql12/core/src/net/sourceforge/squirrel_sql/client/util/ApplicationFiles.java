@@ -238,6 +238,14 @@ public class ApplicationFiles
       return new File(_userSettingsDir + File.separator + "prefs.xml");
    }
 
+   /**
+    * @return directory that holds the temporary files of results that are spilled to disk.
+    */
+   public File getResultSpillDir()
+   {
+      return new File(_userSettingsDir + File.separator + "resultSpill");
+   }
+
    /**
     * @return file that contains the selections user chose for Cell import/export.
     */
@@ -316,6 +324,15 @@ public class ApplicationFiles
       return new File(_userSettingsDir + File.separator + "sql_history.xml");
    }
 
+   /**
+    * Directory of the append only SQL history, see {@link net.sourceforge.squirrel_sql.client.session.mainpanel.sqlhistory.SQLHistoryStore}.
+    * {@link #getUserSQLHistoryFile()} is read only once to migrate older histories.
+    */
+   public File getSQLHistoryStoreDir()
+   {
+      return new File(_userSettingsDir + File.separator + "sqlhistory");
+   }
+
    public File getSquirrelHomeDir()
    {
       return _squirrelHomeDir;
@@ -520,4 +537,14 @@ public class ApplicationFiles
    {
       return new File(_userSettingsDir + File.separator + "objectTreeSelectionStore.json");
    }
+
+   public File getClassDiscoveryCacheJsonFile()
+   {
+      return new File(_userSettingsDir + File.separator + "classDiscoveryCache.json");
+   }
+
+   public File getStartupTimingReportJsonFile()
+   {
+      return new File(_userSettingsDir + File.separator + "startupTimingReport.json");
+   }
 }
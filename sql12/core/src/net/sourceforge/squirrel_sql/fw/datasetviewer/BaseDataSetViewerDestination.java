@@ -116,10 +116,15 @@ public abstract class BaseDataSetViewerDestination implements IDataSetViewer
 		if (ds.getDataSetDefinition() != null)
 		{
 			setColumnDefinitions(ds.getDataSetDefinition().getColumnDefinitions());
-			final int colCount = ds.getColumnCount();
-			while (ds.next(msgHandler))
+
+			IRowStore rowStore = ds.getRowStore();
+			if (null == rowStore || false == useRowStore(rowStore))
 			{
-				addRow(ds, colCount);
+				final int colCount = ds.getColumnCount();
+				while (ds.next(msgHandler))
+				{
+					addRow(ds, colCount);
+				}
 			}
 			close();
 			allRowsAdded();
@@ -128,6 +133,17 @@ public abstract class BaseDataSetViewerDestination implements IDataSetViewer
 	}
 
 
+	/**
+	 * Called after {@link #setColumnDefinitions(ColumnDisplayDefinition[])} when the data set shown holds its rows in an {@link IRowStore}.
+	 * Viewers that hold rows should use the store as their rows, so that a result is stored only once.
+	 *
+	 * @return false if the viewer did not use the store. Then rows are added by {@link #addRow(IDataSet, int)}.
+	 */
+	protected boolean useRowStore(IRowStore rowStore)
+	{
+		return false;
+	}
+
 	protected void addRow(IDataSet ds, int columnCount) throws DataSetException
 	{
 		Object[] row = new Object[columnCount];
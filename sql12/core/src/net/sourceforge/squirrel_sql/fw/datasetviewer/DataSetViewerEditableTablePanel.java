@@ -25,6 +25,7 @@ import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Map;
 import javax.swing.DefaultCellEditor;
 import javax.swing.JOptionPane;
 import javax.swing.JTable;
@@ -54,6 +55,12 @@ public class DataSetViewerEditableTablePanel extends DataSetViewerTablePanel
 
 	/* Menu for right-mouse-click when in cell editors */
 	TablePopupMenu cellPopupMenu = null;
+
+	/**
+	 * Edits, inserts and deletes not yet written to the DB.
+	 * Null when changes are written immediately.
+	 */
+	private PendingChanges _pendingChanges;
 	
 	/**
 	 * Internal definitions
@@ -216,6 +223,19 @@ public class DataSetViewerEditableTablePanel extends DataSetViewerTablePanel
 			// so fall through to next section
 		}
 
+		// When edits are buffered the checks on the DB are done for all
+		// pending changes at once, see applyPendingChanges().
+		if (null != _pendingChanges)
+		{
+			if (_pendingChanges.isDeleted(row))
+			{
+				return new int[0];
+			}
+
+			_pendingChanges.addUpdate(row, getRow(row), col, newValue, getColDefs()[col]);
+			return getColumnsToUpdate(col);
+		}
+
 		// call the function in the app code that checks for unexpected
 		// conditions in the current DB
 		if (getUpdateableModelReference() != null)
@@ -290,6 +310,11 @@ public class DataSetViewerEditableTablePanel extends DataSetViewerTablePanel
 
 
 		// No problems, so indicate a successful update of the underlying data.
+		return getColumnsToUpdate(col);
+	}
+
+	private int[] getColumnsToUpdate(int col)
+	{
 		// In case we are editing an SQL result that contains the edited colum
 		// more than once, we need to tell the caller to update all columns.
 		// Otherwise generation of where clauses for further editing will fail.
@@ -357,6 +382,20 @@ public class DataSetViewerEditableTablePanel extends DataSetViewerTablePanel
 		// the indexes that we have are indexes in the SortableTableModel.
 		SortableTableModel tableModel = (SortableTableModel)((JTable)getComponent()).getModel();
 
+		// When edits are buffered rows are only marked as deleted, see applyPendingChanges().
+		if (null != _pendingChanges)
+		{
+			for (int row : rows)
+			{
+				int modelRow = tableModel.transformToModelRow(row);
+				_pendingChanges.addDelete(modelRow, getRow(modelRow));
+			}
+
+			((JTable) getComponent()).clearSelection();
+			getComponent().repaint();
+			return;
+		}
+
 		Object[][] rowData = new Object[rows.length][getColDefs().length];
 		for (int i=0; i<rows.length; i++) {
 			for (int j = 0; j< getColDefs().length; j++)
@@ -472,6 +511,14 @@ public class DataSetViewerEditableTablePanel extends DataSetViewerTablePanel
 	 */
 	protected String insertRow(Object[] values) {
 
+		if (null != _pendingChanges)
+		{
+			SortableTableModel sortedModel = (SortableTableModel)((JTable)getComponent()).getModel();
+			sortedModel.insertRow(values);
+			_pendingChanges.addInsert(sortedModel.getActualModel().getRowCount() - 1, values);
+			return null;
+		}
+
 		String message = 
 			((IDataSetUpdateableTableModel)getUpdateableModelReference()).
 				insertRow(values, getColDefs());
@@ -500,4 +547,183 @@ public class DataSetViewerEditableTablePanel extends DataSetViewerTablePanel
 		// everything is ok
 		return null;
 	}
+
+	/**
+	 * When edit buffering is on, edits, inserts and deletes are collected
+	 * and shown in the table until the user applies or discards them.
+	 * Applying checks all changed rows with few queries and writes all changes
+	 * in one transaction using JDBC batches. This is much faster than
+	 * checking and writing each cell on its own when the DB is far away.
+	 */
+	@Override
+	public void setEditBuffering(boolean b)
+	{
+		if (b == isEditBuffering())
+		{
+			return;
+		}
+
+		if (b)
+		{
+			_pendingChanges = new PendingChanges();
+		}
+		else
+		{
+			if (hasPendingChanges())
+			{
+				int option = JOptionPane.showConfirmDialog(GUIUtils.getOwningWindow(getComponent()),
+																		 s_stringMgr.getString("dataSetViewerEditableTablePanel.discardPendingChangesQuestion", _pendingChanges.size()),
+																		 s_stringMgr.getString("dataSetViewerEditableTablePanel.warning"),
+																		 JOptionPane.YES_NO_OPTION,
+																		 JOptionPane.WARNING_MESSAGE);
+				if (option != JOptionPane.YES_OPTION)
+				{
+					return;
+				}
+				discardPendingChanges();
+			}
+			_pendingChanges = null;
+		}
+
+		getTable().getColoringService().getPendingChangesColorHandler().setPendingChanges(_pendingChanges);
+	}
+
+	@Override
+	public boolean isEditBuffering()
+	{
+		return null != _pendingChanges;
+	}
+
+	@Override
+	public boolean hasPendingChanges()
+	{
+		return null != _pendingChanges && false == _pendingChanges.isEmpty();
+	}
+
+	@Override
+	public void applyPendingChanges()
+	{
+		if (false == hasPendingChanges())
+		{
+			return;
+		}
+
+		// Make sure a value currently being edited is part of the changes.
+		if (getCurrentCellEditor() != null) {
+			getCurrentCellEditor().stopCellEditing();
+			setCurrentCellEditor(null);
+		}
+
+		IDataSetUpdateableTableModel updateableTableModel = (IDataSetUpdateableTableModel) getUpdateableModelReference();
+
+		String message = updateableTableModel.getWarningOnPendingChanges(_pendingChanges, getColDefs());
+		if (message != null)
+		{
+			int option = JOptionPane.showConfirmDialog(GUIUtils.getOwningWindow(getComponent()),
+																	 message,
+																	 s_stringMgr.getString("baseDataSetViewerDestination.warning"),
+																	 JOptionPane.YES_NO_OPTION,
+																	 JOptionPane.WARNING_MESSAGE);
+
+			if ( option != JOptionPane.YES_OPTION)
+			{
+				return;	// no update done to underlying data
+			}
+		}
+
+		message = updateableTableModel.applyPendingChanges(_pendingChanges, getColDefs());
+		if (message != null)
+		{
+			// The changes were not applied, they stay pending.
+			JOptionPane.showMessageDialog(GUIUtils.getOwningWindow(getComponent()),
+													message,
+													s_stringMgr.getString("baseDataSetViewerDestination.error"),
+													JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+
+		// The applying may have refreshed the table and thus the pending changes already.
+		if (false == hasPendingChanges())
+		{
+			return;
+		}
+
+		int[] deletedModelRows = _pendingChanges.getDeletedModelRows();
+		resetPendingChanges();
+		removeModelRows(deletedModelRows);
+	}
+
+	@Override
+	public void discardPendingChanges()
+	{
+		if (false == hasPendingChanges())
+		{
+			return;
+		}
+
+		if (getCurrentCellEditor() != null) {
+			getCurrentCellEditor().cancelCellEditing();
+			setCurrentCellEditor(null);
+		}
+
+		DataSetViewerTableModel model = getTable().getDataSetViewerTableModel();
+
+		for (Map.Entry<Integer, PendingChanges.PendingUpdate> entry : _pendingChanges.getUpdatesByModelRow().entrySet())
+		{
+			Object[] originalValues = entry.getValue().getOriginalValues();
+			for (int col = 0; col < originalValues.length; col++)
+			{
+				model.resetValueAt(entry.getKey(), col, originalValues[col]);
+			}
+		}
+
+		for (Map.Entry<Integer, Object[]> entry : _pendingChanges.getDeletesByModelRow().entrySet())
+		{
+			// Rows that were edited before they were deleted
+			Object[] originalValues = entry.getValue();
+			for (int col = 0; null != originalValues && col < originalValues.length; col++)
+			{
+				model.resetValueAt(entry.getKey(), col, originalValues[col]);
+			}
+		}
+
+		int[] insertedModelRows = _pendingChanges.getInsertedModelRows();
+		resetPendingChanges();
+		removeModelRows(insertedModelRows);
+	}
+
+	/**
+	 * A new data set is shown, pending changes of the former one are meaningless now.
+	 */
+	@Override
+	public void clear()
+	{
+		super.clear();
+
+		if (null != _pendingChanges)
+		{
+			resetPendingChanges();
+		}
+	}
+
+	private void resetPendingChanges()
+	{
+		_pendingChanges = new PendingChanges();
+		getTable().getColoringService().getPendingChangesColorHandler().setPendingChanges(_pendingChanges);
+	}
+
+	private void removeModelRows(int[] modelRows)
+	{
+		if (0 == modelRows.length)
+		{
+			return;
+		}
+
+		DataSetViewerTable myJTable = getTable();
+		myJTable.getDataSetViewerTableModel().deleteRows(modelRows);
+		myJTable.getSortableTableModel().fireTableDataChanged();
+		myJTable.clearSelection();
+		myJTable.invalidate();
+		myJTable.repaint();
+	}
 }
@@ -30,6 +30,13 @@ import java.util.List;
 public final class DataSetViewerTableModel extends AbstractTableModel
 {
    private List<Object[]> _data = new ArrayList<>();
+
+   /**
+    * Same instance as _data when the rows of a data set are used, null otherwise.
+    * See {@link #useRowStore(IRowStore)}
+    */
+   private IRowStore _rowStore;
+
    private ColumnDisplayDefinition[] _colDefs = new ColumnDisplayDefinition[0];
    private IDataSetViewAccess _dataSetViewAccess = null;
 
@@ -74,7 +81,7 @@ public final class DataSetViewerTableModel extends AbstractTableModel
 				// goes away (because the cell is being re-painted).
 				return false;	// cell is not editable
 			}
-			(_data.get(row))[col] = newValue;
+			setCellValue(row, col, newValue);
 		}
 
 		return _dataSetViewAccess.isColumnEditable(col, getValueAt(row, col));
@@ -86,12 +93,37 @@ public final class DataSetViewerTableModel extends AbstractTableModel
 		{
 			return Integer.valueOf(row + 1);
 		}
+		else if(null != _rowStore)
+		{
+			return _rowStore.getValueAt(row, columnModelIndex);
+		}
 		else
 		{
 			return _data.get(row)[columnModelIndex];
 		}
 	}
 
+	/**
+	 * Sets a value without changing the underlying data, e.g. when discarding buffered changes.
+	 */
+	void resetValueAt(int row, int col, Object value)
+	{
+		setCellValue(row, col, value);
+		fireTableCellUpdated(row, col);
+	}
+
+	private void setCellValue(int row, int col, Object value)
+	{
+		if(null != _rowStore)
+		{
+			_rowStore.setValueAt(row, col, value);
+		}
+		else
+		{
+			_data.get(row)[col] = value;
+		}
+	}
+
 	public int getRowCount()
 	{
 		return _data.size();
@@ -138,14 +170,59 @@ public final class DataSetViewerTableModel extends AbstractTableModel
 		_colDefs = hdgs;
 	}
 
+	/**
+	 * Uses the rows of a data set instead of copying them. The store stays owned by the data set,
+	 * that is why {@link #clear()} only lets go of it.
+	 */
+	void useRowStore(IRowStore rowStore)
+	{
+		setData(rowStore);
+	}
+
+	private void setData(List<Object[]> data)
+	{
+		_data = data;
+		_rowStore = data instanceof IRowStore ? (IRowStore) data : null;
+	}
+
 	public void addRow(Object[] row)
 	{
 		_data.add(row);
 	}
 
+	/**
+	 * Fires an insert event for the new rows only. When this model uses the rows of the data set
+	 * (see {@link #useRowStore(IRowStore)}) the new rows are already there, otherwise copies are added.
+	 */
+	void rowsAppended(List<Object[]> dataSetRows, int firstNewRow)
+	{
+		int firstRow = firstNewRow;
+
+		if(dataSetRows != _data)
+		{
+			firstRow = _data.size();
+			for (int i = firstNewRow; i < dataSetRows.size(); i++)
+			{
+				_data.add(dataSetRows.get(i).clone());
+			}
+		}
+
+		if(firstRow < _data.size())
+		{
+			fireTableRowsInserted(firstRow, _data.size() - 1);
+		}
+	}
+
 	void clear()
 	{
-		_data.clear();
+		if(null != _rowStore)
+		{
+			setData(new ArrayList<>());
+		}
+		else
+		{
+			_data.clear();
+		}
 	}
 
 	public void allRowsAdded()
@@ -164,7 +241,7 @@ public final class DataSetViewerTableModel extends AbstractTableModel
 
 		for (int i = 0; i < colsToUpdate.length; i++)
 		{
-			_data.get(row)[colsToUpdate[i]] = newValue;
+			setCellValue(row, colsToUpdate[i], newValue);
 		}
 	}
 	
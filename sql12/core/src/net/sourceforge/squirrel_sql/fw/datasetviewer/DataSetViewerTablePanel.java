@@ -130,6 +130,24 @@ public class DataSetViewerTablePanel extends BaseDataSetViewerDestination implem
 	}
 	
 
+	/**
+	 * Rows were appended to the data set this table shows. Adds only the new rows to the table.
+	 *
+	 * @param dataSetRows all rows of the data set
+	 * @param firstNewRow index of the first appended row in dataSetRows
+	 */
+	public void rowsAppended(List<Object[]> dataSetRows, int firstNewRow)
+	{
+		_table.getDataSetViewerTableModel().rowsAppended(dataSetRows, firstNewRow);
+	}
+
+	@Override
+	protected boolean useRowStore(IRowStore rowStore)
+	{
+		_table.getDataSetViewerTableModel().useRowStore(rowStore);
+		return true;
+	}
+
 	public void setColumnDefinitions(ColumnDisplayDefinition[] colDefs)
 	{
 		super.setColumnDefinitions(colDefs);
@@ -366,6 +384,31 @@ public class DataSetViewerTablePanel extends BaseDataSetViewerDestination implem
 	 * Initiate operations to insert a new row into the table.
 	 */
 	public void insertRow() {}	// cannot insert row into read-only table
+
+	/**
+	 * Switch buffering of edits, inserts and deletes on or off.
+	 */
+	public void setEditBuffering(boolean b) {}	// nothing to buffer in read-only table
+
+	public boolean isEditBuffering()
+	{
+		return false;
+	}
+
+	public boolean hasPendingChanges()
+	{
+		return false;
+	}
+
+	/**
+	 * Write buffered changes to the underlying data.
+	 */
+	public void applyPendingChanges() {}
+
+	/**
+	 * Drop buffered changes and show the unchanged data again.
+	 */
+	public void discardPendingChanges() {}
 	
 	
 
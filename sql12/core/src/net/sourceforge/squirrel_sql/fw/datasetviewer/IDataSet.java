@@ -29,4 +29,13 @@ public interface IDataSet
    boolean next(IMessageHandler msgHandler) throws DataSetException;
 
    Object get(int columnIndex) throws DataSetException;
+
+   /**
+    * @return The rows of this data set if they are held in an {@link IRowStore}, null otherwise.
+    * Viewers may use this store as their rows instead of copying the rows into a store of their own.
+    */
+   default IRowStore getRowStore()
+   {
+      return null;
+   }
 }
\ No newline at end of file
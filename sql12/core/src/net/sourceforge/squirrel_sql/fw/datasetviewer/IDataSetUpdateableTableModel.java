@@ -100,6 +100,21 @@ public interface IDataSetUpdateableTableModel extends IDataSetUpdateableModel
 	 */
 	public String insertRow(Object[] values, ColumnDisplayDefinition[] colDefs);
 
+	/**
+	 * Get warning message about unusual conditions, if any, for the rows
+	 * that buffered edits and deletes refer to. Unlike getWarningOnCurrentData()
+	 * this checks many rows with one query.
+	 */
+	public String getWarningOnPendingChanges(PendingChanges pendingChanges, ColumnDisplayDefinition[] colDefs);
+
+	/**
+	 * Write buffered edits, inserts and deletes to the DB.
+	 * If this succeeded this returns a null string.
+	 * The changes are done within a transaction
+	 * so they are either all done or all not done.
+	 */
+	public String applyPendingChanges(PendingChanges pendingChanges, ColumnDisplayDefinition[] colDefs);
+
    void addListener(DataSetUpdateableTableModelListener l);
    void removeListener(DataSetUpdateableTableModelListener l);
 
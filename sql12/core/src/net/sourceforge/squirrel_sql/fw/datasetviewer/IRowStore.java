@@ -0,0 +1,20 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer;
+
+import java.util.List;
+
+/**
+ * A list of rows that does not hold its rows as Object[] on heap.
+ * <p>
+ * {@link #get(int)} may return a newly materialized row array. Changes to
+ * that array are not necessarily written back to the store. To change cells
+ * use {@link #setValueAt(int, int, Object)}, to read single cells prefer
+ * {@link #getValueAt(int, int)}.
+ *
+ * @see RowStoreConfig
+ */
+public interface IRowStore extends List<Object[]>
+{
+   Object getValueAt(int row, int col);
+
+   void setValueAt(int row, int col, Object value);
+}
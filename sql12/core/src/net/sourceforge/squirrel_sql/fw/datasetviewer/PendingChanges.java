@@ -0,0 +1,200 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.CellComponentFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The edits, inserts and deletes of an editable table that are buffered until the user applies or discards them,
+ * see {@link DataSetViewerEditableTablePanel#setEditBuffering(boolean)}.
+ *
+ * Rows are identified by their index in the {@link DataSetViewerTableModel}.
+ * While changes are buffered rows are never removed from that model, inserted rows are appended to it.
+ * Thus the indexes stay valid until the changes are applied or discarded.
+ */
+public class PendingChanges
+{
+   private final LinkedHashMap<Integer, PendingUpdate> _updatesByModelRow = new LinkedHashMap<>();
+   private final LinkedHashMap<Integer, Object[]> _insertsByModelRow = new LinkedHashMap<>();
+
+   /**
+    * The values are the rows as read from the DB. Null for inserted rows that were deleted before they were applied.
+    */
+   private final LinkedHashMap<Integer, Object[]> _deletesByModelRow = new LinkedHashMap<>();
+
+   /**
+    * @param currentValues The row's values before this edit. Only the values of the first edit of a row are kept,
+    *                      they are needed to find the row in the DB.
+    */
+   void addUpdate(int modelRow, Object[] currentValues, int col, Object newValue, ColumnDisplayDefinition colDef)
+   {
+      Object[] insertedValues = _insertsByModelRow.get(modelRow);
+      if (null != insertedValues)
+      {
+         insertedValues[col] = newValue;
+         return;
+      }
+
+      PendingUpdate pendingUpdate = _updatesByModelRow.computeIfAbsent(modelRow, r -> new PendingUpdate(currentValues));
+
+      Object originalValue = pendingUpdate.getOriginalValues()[col];
+      if (originalValue == newValue || (null != originalValue && null != newValue && CellComponentFactory.areEqual(colDef, originalValue, newValue)))
+      {
+         // The user changed the cell back to the value in the DB.
+         pendingUpdate._newValuesByCol.remove(col);
+         if (pendingUpdate._newValuesByCol.isEmpty())
+         {
+            _updatesByModelRow.remove(modelRow);
+         }
+      }
+      else
+      {
+         pendingUpdate._newValuesByCol.put(col, newValue);
+      }
+   }
+
+   void addInsert(int modelRow, Object[] values)
+   {
+      _insertsByModelRow.put(modelRow, values);
+   }
+
+   /**
+    * @param currentValues The row's values as shown in the table.
+    */
+   void addDelete(int modelRow, Object[] currentValues)
+   {
+      if (null != _insertsByModelRow.remove(modelRow))
+      {
+         _deletesByModelRow.put(modelRow, null);
+         return;
+      }
+
+      PendingUpdate pendingUpdate = _updatesByModelRow.remove(modelRow);
+      _deletesByModelRow.put(modelRow, null == pendingUpdate ? currentValues : pendingUpdate.getOriginalValues());
+   }
+
+   public boolean isEmpty()
+   {
+      return _updatesByModelRow.isEmpty() && _insertsByModelRow.isEmpty() && _deletesByModelRow.isEmpty();
+   }
+
+   /**
+    * @return Number of changed rows.
+    */
+   public int size()
+   {
+      return _updatesByModelRow.size() + _insertsByModelRow.size() + getDeletes().size();
+   }
+
+   public boolean isUpdated(int modelRow, int col)
+   {
+      PendingUpdate pendingUpdate = _updatesByModelRow.get(modelRow);
+      return null != pendingUpdate && pendingUpdate._newValuesByCol.containsKey(col);
+   }
+
+   public boolean isInserted(int modelRow)
+   {
+      return _insertsByModelRow.containsKey(modelRow);
+   }
+
+   public boolean isDeleted(int modelRow)
+   {
+      return _deletesByModelRow.containsKey(modelRow);
+   }
+
+   public List<PendingUpdate> getUpdates()
+   {
+      return new ArrayList<>(_updatesByModelRow.values());
+   }
+
+   public List<Object[]> getInserts()
+   {
+      return new ArrayList<>(_insertsByModelRow.values());
+   }
+
+   /**
+    * @return The rows to delete from the DB with their values as read from the DB.
+    */
+   public List<Object[]> getDeletes()
+   {
+      List<Object[]> ret = new ArrayList<>();
+      for (Object[] values : _deletesByModelRow.values())
+      {
+         if (null != values)
+         {
+            ret.add(values);
+         }
+      }
+      return ret;
+   }
+
+   /**
+    * Model rows that are to be removed from the table when the changes are applied.
+    */
+   int[] getDeletedModelRows()
+   {
+      return _deletesByModelRow.keySet().stream().mapToInt(Integer::intValue).toArray();
+   }
+
+   /**
+    * Model rows that are to be removed from the table when the changes are discarded.
+    */
+   int[] getInsertedModelRows()
+   {
+      List<Integer> ret = new ArrayList<>(_insertsByModelRow.keySet());
+      for (Map.Entry<Integer, Object[]> entry : _deletesByModelRow.entrySet())
+      {
+         if (null == entry.getValue())
+         {
+            ret.add(entry.getKey());
+         }
+      }
+      return ret.stream().mapToInt(Integer::intValue).toArray();
+   }
+
+   Map<Integer, PendingUpdate> getUpdatesByModelRow()
+   {
+      return Collections.unmodifiableMap(_updatesByModelRow);
+   }
+
+   Map<Integer, Object[]> getDeletesByModelRow()
+   {
+      return Collections.unmodifiableMap(_deletesByModelRow);
+   }
+
+
+   /**
+    * The changed cells of one row.
+    */
+   public static class PendingUpdate
+   {
+      private final Object[] _originalValues;
+      private final TreeMap<Integer, Object> _newValuesByCol = new TreeMap<>();
+
+      private PendingUpdate(Object[] originalValues)
+      {
+         _originalValues = originalValues;
+      }
+
+      /**
+       * The row as read from the DB, used to find the row.
+       */
+      public Object[] getOriginalValues()
+      {
+         return _originalValues;
+      }
+
+      /**
+       * Changed columns in ascending order.
+       */
+      public Map<Integer, Object> getNewValuesByCol()
+      {
+         return Collections.unmodifiableMap(_newValuesByCol);
+      }
+   }
+}
@@ -23,6 +23,7 @@ package net.sourceforge.squirrel_sql.fw.datasetviewer;
 
 import net.sourceforge.squirrel_sql.fw.dialects.DialectType;
 import net.sourceforge.squirrel_sql.fw.sql.JDBCTypeMapper;
+import net.sourceforge.squirrel_sql.fw.sql.ResultSetReadPlan;
 import net.sourceforge.squirrel_sql.fw.sql.ResultSetReader;
 import net.sourceforge.squirrel_sql.fw.sql.TableColumnInfo;
 import net.sourceforge.squirrel_sql.fw.util.IMessageHandler;
@@ -49,6 +50,16 @@ public class ResultSetDataSet implements IDataSet
 
    private List<Object[]> _alData;
 
+   /**
+    * Same instance as _alData when an {@link IRowStore} is used, null otherwise.
+    */
+   private IRowStore _rowStore;
+
+   /**
+    * See {@link #setRowStoreConfig(RowStoreConfig)}
+    */
+   private RowStoreConfig _rowStoreConfig;
+
    /**
     * If <TT>true</TT> cancel has been requested.
     */
@@ -59,6 +70,11 @@ public class ResultSetDataSet implements IDataSet
     */
    private ResultSetReader _rdr = null;
 
+   /**
+    * Data type components per column, resolved once per result set, see {@link ResultSetReadPlan}.
+    */
+   private ResultSetReadPlan _readPlan = null;
+
    /**
     * The type of dialect of the session from which this data set came.
     * Plugins can now override behavior for standard SQL types, so
@@ -110,6 +126,28 @@ public class ResultSetDataSet implements IDataSet
       this._limitDataRead = limitDataRead;
    }
 
+   /**
+    * Allows to store rows column by column or to spill them to disk, see {@link RowStoreConfig}.
+    * Must be called before the ResultSet is set.
+    *
+    * @param rowStoreConfig null means rows are held in an ArrayList.
+    */
+   public void setRowStoreConfig(RowStoreConfig rowStoreConfig)
+   {
+      _rowStoreConfig = rowStoreConfig;
+   }
+
+   public RowStoreConfig getRowStoreConfig()
+   {
+      return _rowStoreConfig;
+   }
+
+   @Override
+   public IRowStore getRowStore()
+   {
+      return _rowStore;
+   }
+
    /**
     * Form used by ContentsTab, and for SQL results
     *
@@ -185,6 +223,11 @@ public class ResultSetDataSet implements IDataSet
 
          _dataSetDefinition = new DataSetDefinition(colDefs, columnIndices);
 
+         if (null != _rowStoreConfig)
+         {
+            setData(_rowStoreConfig.createRowStore(colDefs));
+         }
+
          // Read the entire row, since some drivers complain if columns are
          // read out of sequence
          _rdr = new ResultSetReader(rs, dialectType);
@@ -230,7 +273,12 @@ public class ResultSetDataSet implements IDataSet
 
       if (useColumnDefs)
       {
-         row = _rdr.readRow(colDefs, blockMode, _limitDataRead);
+         if (null == _readPlan)
+         {
+            // Built once per result set, see reset()
+            _readPlan = _rdr.createReadPlan(colDefs);
+         }
+         row = _rdr.readRow(_readPlan, blockMode, _limitDataRead);
       }
       else
       {
@@ -284,7 +332,10 @@ public class ResultSetDataSet implements IDataSet
       // TODO: This should be handled with an Iterator
       if (++_iCurrent < _alData.size())
       {
-         _currentRow = _alData.get(_iCurrent);
+         if (null == _rowStore)
+         {
+            _currentRow = _alData.get(_iCurrent);
+         }
          return true;
       }
       return false;
@@ -298,6 +349,16 @@ public class ResultSetDataSet implements IDataSet
    @Override
    public Object get(int columnIndex)
    {
+      if (null != _rowStore)
+      {
+         // Reads the cell without materializing the row.
+         if (0 <= _iCurrent && _iCurrent < _rowStore.size())
+         {
+            return _rowStore.getValueAt(_iCurrent, columnIndex);
+         }
+         return null;
+      }
+
       if (_currentRow != null)
       {
          return _currentRow[columnIndex];
@@ -569,7 +630,8 @@ public class ResultSetDataSet implements IDataSet
       _currentRow = null;
       _columnCount = 0;
       _dataSetDefinition = null;
-      _alData = null;
+      setData(null);
+      _readPlan = null;
    }
 
    public void resetCursor()
@@ -668,6 +730,55 @@ public class ResultSetDataSet implements IDataSet
       }
    }
 
+   /**
+    * Reads the rows of a further result of the same query, e.g. the next page of a paged Contents tab,
+    * see {@link #setContentsTabResultSet(ResultSet, String, DialectType)}.
+    * The result must have the same columns as the first one.
+    *
+    * The rows of this data set are not changed, so this may run outside the event dispatch thread
+    * while the rows are displayed. Add the rows read by {@link #appendRows(List)}.
+    *
+    * @return The rows read from the ResultSet
+    */
+   public List<Object[]> readContentsTabResultSet(ResultSet rs) throws DataSetException
+   {
+      try
+      {
+         _rdr = new ResultSetReader(new ResultSetWrapper(rs), _dialectType);
+
+         ArrayList<Object[]> ret = new ArrayList<>();
+         for (; ; )
+         {
+            if (_cancel)
+            {
+               break;
+            }
+
+            Object[] row = createRow(_dataSetDefinition.getColumnIndices(), true, _dataSetDefinition.getColumnDefinitions(), BlockMode.FIRST_BLOCK);
+            if (null == row)
+            {
+               break;
+            }
+            ret.add(row);
+         }
+
+         return ret;
+      }
+      catch (SQLException ex)
+      {
+         throw new DataSetException(ex);
+      }
+   }
+
+   /**
+    * @param rows e.g. read by {@link #readContentsTabResultSet(ResultSet)}
+    */
+   public void appendRows(List<Object[]> rows)
+   {
+      _alData.addAll(rows);
+      resetCursor();
+   }
+
    public int currentRowCount()
    {
       return _alData.size();
@@ -696,6 +807,22 @@ public class ResultSetDataSet implements IDataSet
    public void replaceDataOnUserEdits(ArrayList<Object[]> updatedRows)
    {
       resetCursor();
-      _alData = updatedRows;
+
+      if (null != _rowStore)
+      {
+         List<Object[]> rowStore = _rowStoreConfig.createRowStore(_dataSetDefinition.getColumnDefinitions());
+         rowStore.addAll(updatedRows);
+         setData(rowStore);
+      }
+      else
+      {
+         setData(updatedRows);
+      }
+   }
+
+   private void setData(List<Object[]> data)
+   {
+      _alData = data;
+      _rowStore = data instanceof IRowStore ? (IRowStore) data : null;
    }
 }
@@ -0,0 +1,48 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.columnar.ColumnarRowList;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.spill.SpillingRowList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides how {@link ResultSetDataSet} holds its rows. Result tables use the same store,
+ * see {@link IDataSet#getRowStore()}.
+ * <p>
+ * Spilling takes precedence over columnar storage: A {@link SpillingRowList} encodes the rows
+ * of spilled chunks compactly by itself while it holds the chunks in memory as rows.
+ */
+public class RowStoreConfig
+{
+   private final boolean _columnar;
+   private final File _spillDir;
+   private final int _rowsInMemory;
+
+   /**
+    * @param columnar     see {@link ColumnarRowList}. Ignored when spillDir is not null.
+    * @param spillDir     if not null rows are spilled to files in this directory, see {@link SpillingRowList}
+    * @param rowsInMemory the number of rows a {@link SpillingRowList} keeps on heap.
+    */
+   public RowStoreConfig(boolean columnar, File spillDir, int rowsInMemory)
+   {
+      _columnar = columnar;
+      _spillDir = spillDir;
+      _rowsInMemory = rowsInMemory;
+   }
+
+   public List<Object[]> createRowStore(ColumnDisplayDefinition[] colDefs)
+   {
+      if (null != _spillDir)
+      {
+         return new SpillingRowList(_spillDir, _rowsInMemory);
+      }
+      else if (_columnar)
+      {
+         return new ColumnarRowList(colDefs);
+      }
+
+      return new ArrayList<>();
+   }
+}
@@ -110,9 +110,19 @@ public class TableState
          {
             tableSortingAdmin.updateSortedColumn(tableStateSortingItem.getSortedModelColumn(), tableStateSortingItem.getColumnOrder(), false);
          }
-         sortableTableModel.sortTableBySortingAdmin();
+
+         // Selected rows refer to the sorted order, so they are applied when sorting is done.
+         // Large tables are sorted in the background.
+         sortableTableModel.sortTableBySortingAdmin(() -> applySelectionAndScrolling(table));
+      }
+      else
+      {
+         applySelectionAndScrolling(table);
       }
+   }
 
+   private void applySelectionAndScrolling(JTable table)
+   {
       table.getSelectionModel().clearSelection();
       if(-1 < _selectedCol && -1 < _selectedRow)
       {
@@ -19,7 +19,7 @@ public class DataTypePropertiesManager
     * Load the options previously selected by user for specific cols to use in WHERE clause when editing
     * cells.
     */
-   public void loadDataTypeProperties()
+   public synchronized void loadDataTypeProperties()
    {
       try
       {
@@ -45,7 +45,7 @@ public class DataTypePropertiesManager
    /**
     * Save the options selected by user for Cell Import Export.
     */
-   public void saveDataTypeProperties()
+   public synchronized void saveDataTypeProperties()
    {
       try
       {
@@ -58,7 +58,7 @@ public class DataTypePropertiesManager
       }
    }
 
-   public DTProperties getDataTypeProperties()
+   public synchronized DTProperties getDataTypeProperties()
    {
       if(null == _dataTypeProperties)
       {
@@ -26,6 +26,7 @@ public class ColoringService
    private FindColorHandler _findColorHandler;
    private MarkDuplicatesHandler _markDuplicatesHandler;
    private NullValueColorHandler _nullValueColorHandler;
+   private PendingChangesColorHandler _pendingChangesColorHandler;
    private ColoringCallback _coloringCallback;
 
    public ColoringService(DataSetViewerTable dataSetViewerTable)
@@ -35,6 +36,7 @@ public class ColoringService
       _findColorHandler = new FindColorHandler();
       _markDuplicatesHandler = new MarkDuplicatesHandler(dataSetViewerTable);
       _nullValueColorHandler = new NullValueColorHandler(_dataSetViewerTable);
+      _pendingChangesColorHandler = new PendingChangesColorHandler(dataSetViewerTable);
    }
 
    public void colorCell(CellRenderer cellRenderer, IDataTypeComponent dataTypeObject, JTable table, Object value, boolean isSelected, boolean hasFocus, int rowIx, int columnIx)
@@ -74,6 +76,12 @@ public class ColoringService
          customBackground = markDuplicateBackground;
       }
 
+      Color pendingChangeBackground = _pendingChangesColorHandler.getBackgroundForCell(rowIx, columnIx, isSelected);
+      if(null != pendingChangeBackground)
+      {
+         customBackground = pendingChangeBackground;
+      }
+
       Color findBackground = _findColorHandler.getBackgroundForCell(rowIx, columnIx);
       if(null != findBackground)
       {
@@ -135,6 +143,11 @@ public class ColoringService
       return _findColorHandler;
    }
 
+   public PendingChangesColorHandler getPendingChangesColorHandler()
+   {
+      return _pendingChangesColorHandler;
+   }
+
    public MarkDuplicatesHandler getMarkDuplicatesHandler()
    {
       return _markDuplicatesHandler;
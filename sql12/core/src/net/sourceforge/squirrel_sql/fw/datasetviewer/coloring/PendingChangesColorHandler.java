@@ -0,0 +1,63 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.coloring;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.DataSetViewerTable;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.PendingChanges;
+import net.sourceforge.squirrel_sql.fw.util.SquirrelConstants;
+
+import java.awt.Color;
+
+/**
+ * Marks the cells and rows of buffered changes that were not yet applied to the DB.
+ */
+public class PendingChangesColorHandler
+{
+   private DataSetViewerTable _dataSetViewerTable;
+   private PendingChanges _pendingChanges;
+
+   public PendingChangesColorHandler(DataSetViewerTable dataSetViewerTable)
+   {
+      _dataSetViewerTable = dataSetViewerTable;
+   }
+
+   /**
+    * @param pendingChanges null when edits are not buffered.
+    */
+   public void setPendingChanges(PendingChanges pendingChanges)
+   {
+      _pendingChanges = pendingChanges;
+      _dataSetViewerTable.repaint();
+   }
+
+   public Color getBackgroundForCell(int viewRow, int viewColumn, boolean isSelected)
+   {
+      if(null == _pendingChanges || _pendingChanges.isEmpty())
+      {
+         // A little performance
+         return null;
+      }
+
+      int modelRow = _dataSetViewerTable.getSortableTableModel().transformToModelRow(viewRow);
+      int modelColumn = _dataSetViewerTable.getColumnModel().getColumn(viewColumn).getModelIndex();
+
+      Color ret = null;
+      if(_pendingChanges.isDeleted(modelRow))
+      {
+         ret = SquirrelConstants.PENDING_DELETE_COLOR;
+      }
+      else if(_pendingChanges.isInserted(modelRow))
+      {
+         ret = SquirrelConstants.PENDING_INSERT_COLOR;
+      }
+      else if(_pendingChanges.isUpdated(modelRow, modelColumn))
+      {
+         ret = SquirrelConstants.PENDING_UPDATE_COLOR;
+      }
+
+      if(null != ret && isSelected)
+      {
+         ret = ret.darker();
+      }
+
+      return ret;
+   }
+}
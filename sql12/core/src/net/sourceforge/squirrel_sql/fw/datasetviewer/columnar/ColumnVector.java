@@ -0,0 +1,71 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition;
+
+import java.sql.Types;
+
+/**
+ * Storage of the values of one column of a {@link ColumnarRowList}.
+ *
+ * Typed implementations refuse values they can not store without loss
+ * by returning false from {@link #add(Object)} or {@link #set(int, Object)}.
+ * The ColumnarRowList then converts the column into an {@link ObjectColumnVector}.
+ */
+abstract class ColumnVector
+{
+   abstract Object get(int row);
+
+   abstract boolean add(Object value);
+
+   abstract boolean set(int row, Object value);
+
+   abstract void remove(int row);
+
+   abstract int size();
+
+   static ColumnVector create(ColumnDisplayDefinition colDef)
+   {
+      if (null == colDef)
+      {
+         return new ObjectColumnVector();
+      }
+
+      switch (colDef.getSqlType())
+      {
+         case Types.INTEGER:
+            return new IntColumnVector();
+
+         case Types.BIGINT:
+            return new LongColumnVector();
+
+         case Types.DOUBLE:
+         case Types.FLOAT:
+            return new DoubleColumnVector();
+
+         case Types.DECIMAL:
+         case Types.NUMERIC:
+            return new DecimalColumnVector();
+
+         case Types.DATE:
+         case Types.TIME:
+         case Types.TIMESTAMP:
+         case -101: // Oracle's 'TIMESTAMP WITH TIME ZONE' == -101
+         case -102: // Oracle's 'TIMESTAMP WITH LOCAL TIME ZONE' == -102
+            return new TemporalColumnVector();
+
+         case Types.CHAR:
+         case Types.NCHAR:
+         case Types.VARCHAR:
+         case Types.NVARCHAR:
+            return new DictionaryStringColumnVector();
+
+         default:
+            return new ObjectColumnVector();
+      }
+   }
+
+   static int grow(int currentCapacity, int minCapacity)
+   {
+      return Math.max(minCapacity, currentCapacity + (currentCapacity >> 1) + 16);
+   }
+}
@@ -0,0 +1,138 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.IRowStore;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A list of rows that stores its data column by column.
+ * <p>
+ * Numeric and date/time columns are held in primitive arrays with a null bitmap,
+ * CHAR/VARCHAR columns of low cardinality are dictionary encoded.
+ * This needs far less heap than a List<Object[]> of boxed values.
+ * <p>
+ * Cells should be accessed by {@link #getValueAt(int, int)} and {@link #setValueAt(int, int, Object)}.
+ * {@link #get(int)} materializes a new row array on each call. Changes to
+ * that array are not written back to the list.
+ */
+public class ColumnarRowList extends AbstractList<Object[]> implements IRowStore, RandomAccess
+{
+   private final ColumnDisplayDefinition[] _colDefs;
+   private final ColumnVector[] _columns;
+   private int _size;
+
+   public ColumnarRowList(ColumnDisplayDefinition[] colDefs)
+   {
+      _colDefs = colDefs;
+      _columns = new ColumnVector[colDefs.length];
+      initColumns();
+   }
+
+   private void initColumns()
+   {
+      for (int i = 0; i < _colDefs.length; i++)
+      {
+         _columns[i] = ColumnVector.create(_colDefs[i]);
+      }
+   }
+
+   public int getColumnCount()
+   {
+      return _columns.length;
+   }
+
+   @Override
+   public Object getValueAt(int row, int col)
+   {
+      return _columns[col].get(row);
+   }
+
+   @Override
+   public void setValueAt(int row, int col, Object value)
+   {
+      if (false == _columns[col].set(row, value))
+      {
+         _columns[col] = new ObjectColumnVector(_columns[col]);
+         _columns[col].set(row, value);
+      }
+   }
+
+   @Override
+   public Object[] get(int row)
+   {
+      if (row < 0 || row >= _size)
+      {
+         throw new IndexOutOfBoundsException("Row " + row + " size " + _size);
+      }
+
+      Object[] ret = new Object[_columns.length];
+      for (int i = 0; i < _columns.length; i++)
+      {
+         ret[i] = _columns[i].get(row);
+      }
+      return ret;
+   }
+
+   @Override
+   public int size()
+   {
+      return _size;
+   }
+
+   @Override
+   public boolean add(Object[] row)
+   {
+      for (int i = 0; i < _columns.length; i++)
+      {
+         Object value = i < row.length ? row[i] : null;
+
+         if (false == _columns[i].add(value))
+         {
+            _columns[i] = new ObjectColumnVector(_columns[i]);
+            _columns[i].add(value);
+         }
+      }
+
+      ++_size;
+      ++modCount;
+      return true;
+   }
+
+   @Override
+   public Object[] set(int row, Object[] values)
+   {
+      Object[] ret = get(row);
+
+      for (int i = 0; i < _columns.length; i++)
+      {
+         setValueAt(row, i, i < values.length ? values[i] : null);
+      }
+
+      return ret;
+   }
+
+   @Override
+   public Object[] remove(int row)
+   {
+      Object[] ret = get(row);
+
+      for (ColumnVector column : _columns)
+      {
+         column.remove(row);
+      }
+
+      --_size;
+      ++modCount;
+      return ret;
+   }
+
+   @Override
+   public void clear()
+   {
+      initColumns();
+      _size = 0;
+      ++modCount;
+   }
+}
@@ -0,0 +1,58 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Stores BigDecimals as unscaled long value and scale.
+ * BigDecimals whose unscaled value does not fit into a long are refused.
+ */
+class DecimalColumnVector extends NullableColumnVector
+{
+   private long[] _unscaledValues = new long[0];
+   private short[] _scales = new short[0];
+
+   @Override
+   protected boolean setNonNull(int row, Object value)
+   {
+      if (value.getClass() != BigDecimal.class)
+      {
+         return false;
+      }
+
+      BigDecimal bigDecimal = (BigDecimal) value;
+
+      if (bigDecimal.scale() < Short.MIN_VALUE || bigDecimal.scale() > Short.MAX_VALUE || bigDecimal.unscaledValue().bitLength() > 63)
+      {
+         return false;
+      }
+
+      _unscaledValues[row] = bigDecimal.unscaledValue().longValue();
+      _scales[row] = (short) bigDecimal.scale();
+      return true;
+   }
+
+   @Override
+   protected Object getNonNull(int row)
+   {
+      return BigDecimal.valueOf(_unscaledValues[row], _scales[row]);
+   }
+
+   @Override
+   protected void ensureCapacity(int minCapacity)
+   {
+      if (_unscaledValues.length < minCapacity)
+      {
+         int newCapacity = grow(_unscaledValues.length, minCapacity);
+         _unscaledValues = Arrays.copyOf(_unscaledValues, newCapacity);
+         _scales = Arrays.copyOf(_scales, newCapacity);
+      }
+   }
+
+   @Override
+   protected void shiftDown(int row, int size)
+   {
+      System.arraycopy(_unscaledValues, row + 1, _unscaledValues, row, size - row - 1);
+      System.arraycopy(_scales, row + 1, _scales, row, size - row - 1);
+   }
+}
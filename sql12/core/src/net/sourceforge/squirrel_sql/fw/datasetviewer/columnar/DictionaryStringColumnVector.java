@@ -0,0 +1,74 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Stores each distinct String only once and per row just the int code of the String.
+ * Meant for low cardinality text columns. When the column turns out not to be
+ * of low cardinality further values are refused so that the column is converted
+ * into an {@link ObjectColumnVector}.
+ */
+class DictionaryStringColumnVector extends NullableColumnVector
+{
+   private static final int MAX_DICTIONARY_SIZE = 1 << 15;
+
+   /**
+    * Number of rows after which the ratio of distinct values to rows is checked.
+    */
+   private static final int CARDINALITY_CHECK_MIN_ROWS = 1000;
+
+   private final ArrayList<String> _dictionary = new ArrayList<>();
+   private final HashMap<String, Integer> _codeByString = new HashMap<>();
+
+   private int[] _codes = new int[0];
+
+   @Override
+   protected boolean setNonNull(int row, Object value)
+   {
+      if (value.getClass() != String.class)
+      {
+         return false;
+      }
+
+      Integer code = _codeByString.get(value);
+
+      if (null == code)
+      {
+         if (_dictionary.size() >= MAX_DICTIONARY_SIZE
+             || (row >= CARDINALITY_CHECK_MIN_ROWS && _dictionary.size() > row / 2))
+         {
+            return false;
+         }
+
+         code = _dictionary.size();
+         _dictionary.add((String) value);
+         _codeByString.put((String) value, code);
+      }
+
+      _codes[row] = code;
+      return true;
+   }
+
+   @Override
+   protected Object getNonNull(int row)
+   {
+      return _dictionary.get(_codes[row]);
+   }
+
+   @Override
+   protected void ensureCapacity(int minCapacity)
+   {
+      if (_codes.length < minCapacity)
+      {
+         _codes = Arrays.copyOf(_codes, grow(_codes.length, minCapacity));
+      }
+   }
+
+   @Override
+   protected void shiftDown(int row, int size)
+   {
+      System.arraycopy(_codes, row + 1, _codes, row, size - row - 1);
+   }
+}
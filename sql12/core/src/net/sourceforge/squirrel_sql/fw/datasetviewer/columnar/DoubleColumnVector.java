@@ -0,0 +1,41 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import java.util.Arrays;
+
+class DoubleColumnVector extends NullableColumnVector
+{
+   private double[] _values = new double[0];
+
+   @Override
+   protected boolean setNonNull(int row, Object value)
+   {
+      if (value.getClass() != Double.class)
+      {
+         return false;
+      }
+
+      _values[row] = (Double) value;
+      return true;
+   }
+
+   @Override
+   protected Object getNonNull(int row)
+   {
+      return _values[row];
+   }
+
+   @Override
+   protected void ensureCapacity(int minCapacity)
+   {
+      if (_values.length < minCapacity)
+      {
+         _values = Arrays.copyOf(_values, grow(_values.length, minCapacity));
+      }
+   }
+
+   @Override
+   protected void shiftDown(int row, int size)
+   {
+      System.arraycopy(_values, row + 1, _values, row, size - row - 1);
+   }
+}
@@ -0,0 +1,107 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import java.util.BitSet;
+
+/**
+ * Base class of column vectors that store their values in primitive arrays.
+ * Null values are kept in a bitmap.
+ */
+abstract class NullableColumnVector extends ColumnVector
+{
+   private final BitSet _nulls = new BitSet();
+   private int _size;
+
+   /**
+    * @return false if the value can not be stored by this vector.
+    */
+   protected abstract boolean setNonNull(int row, Object value);
+
+   protected abstract Object getNonNull(int row);
+
+   protected abstract void ensureCapacity(int minCapacity);
+
+   /**
+    * Moves all values behind row one position to the front.
+    */
+   protected abstract void shiftDown(int row, int size);
+
+   @Override
+   Object get(int row)
+   {
+      checkRow(row);
+
+      if (_nulls.get(row))
+      {
+         return null;
+      }
+      return getNonNull(row);
+   }
+
+   @Override
+   boolean add(Object value)
+   {
+      ensureCapacity(_size + 1);
+
+      if (null == value)
+      {
+         _nulls.set(_size);
+      }
+      else if (false == setNonNull(_size, value))
+      {
+         return false;
+      }
+
+      ++_size;
+      return true;
+   }
+
+   @Override
+   boolean set(int row, Object value)
+   {
+      checkRow(row);
+
+      if (null == value)
+      {
+         _nulls.set(row);
+         return true;
+      }
+
+      if (false == setNonNull(row, value))
+      {
+         return false;
+      }
+
+      _nulls.clear(row);
+      return true;
+   }
+
+   @Override
+   void remove(int row)
+   {
+      checkRow(row);
+
+      shiftDown(row, _size);
+
+      for (int i = row; i < _size - 1; i++)
+      {
+         _nulls.set(i, _nulls.get(i + 1));
+      }
+      _nulls.clear(_size - 1);
+
+      --_size;
+   }
+
+   @Override
+   int size()
+   {
+      return _size;
+   }
+
+   private void checkRow(int row)
+   {
+      if (row < 0 || row >= _size)
+      {
+         throw new IndexOutOfBoundsException("Row " + row + " size " + _size);
+      }
+   }
+}
@@ -0,0 +1,58 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import java.util.ArrayList;
+
+/**
+ * Holds the values as they are. Used for all types without a compact representation
+ * and as fallback when a typed column meets a value it can not store.
+ */
+class ObjectColumnVector extends ColumnVector
+{
+   private final ArrayList<Object> _values;
+
+   ObjectColumnVector()
+   {
+      _values = new ArrayList<>();
+   }
+
+   ObjectColumnVector(ColumnVector toConvert)
+   {
+      _values = new ArrayList<>(toConvert.size());
+      for (int i = 0; i < toConvert.size(); i++)
+      {
+         _values.add(toConvert.get(i));
+      }
+   }
+
+   @Override
+   Object get(int row)
+   {
+      return _values.get(row);
+   }
+
+   @Override
+   boolean add(Object value)
+   {
+      _values.add(value);
+      return true;
+   }
+
+   @Override
+   boolean set(int row, Object value)
+   {
+      _values.set(row, value);
+      return true;
+   }
+
+   @Override
+   void remove(int row)
+   {
+      _values.remove(row);
+   }
+
+   @Override
+   int size()
+   {
+      return _values.size();
+   }
+}
@@ -0,0 +1,80 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.columnar;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * Stores java.sql.Timestamp, java.sql.Date or java.sql.Time values as epoch millis
+ * (plus nanos for Timestamps). The first non null value determines the class
+ * of the column, values of other classes (e.g. driver specific subclasses) are refused.
+ */
+class TemporalColumnVector extends NullableColumnVector
+{
+   private Class<?> _type;
+
+   private long[] _millis = new long[0];
+   private int[] _nanos = new int[0];
+
+   @Override
+   protected boolean setNonNull(int row, Object value)
+   {
+      if (null == _type)
+      {
+         if (value.getClass() != Timestamp.class && value.getClass() != java.sql.Date.class && value.getClass() != Time.class)
+         {
+            return false;
+         }
+         _type = value.getClass();
+      }
+      else if (value.getClass() != _type)
+      {
+         return false;
+      }
+
+      _millis[row] = ((java.util.Date) value).getTime();
+
+      if (_type == Timestamp.class)
+      {
+         _nanos[row] = ((Timestamp) value).getNanos();
+      }
+      return true;
+   }
+
+   @Override
+   protected Object getNonNull(int row)
+   {
+      if (_type == Timestamp.class)
+      {
+         Timestamp ret = new Timestamp(_millis[row]);
+         ret.setNanos(_nanos[row]);
+         return ret;
+      }
+      else if (_type == Time.class)
+      {
+         return new Time(_millis[row]);
+      }
+      else
+      {
+         return new java.sql.Date(_millis[row]);
+      }
+   }
+
+   @Override
+   protected void ensureCapacity(int minCapacity)
+   {
+      if (_millis.length < minCapacity)
+      {
+         int newCapacity = grow(_millis.length, minCapacity);
+         _millis = Arrays.copyOf(_millis, newCapacity);
+         _nanos = Arrays.copyOf(_nanos, newCapacity);
+      }
+   }
+
+   @Override
+   protected void shiftDown(int row, int size)
+   {
+      System.arraycopy(_millis, row + 1, _millis, row, size - row - 1);
+      System.arraycopy(_nanos, row + 1, _nanos, row, size - row - 1);
+   }
+}
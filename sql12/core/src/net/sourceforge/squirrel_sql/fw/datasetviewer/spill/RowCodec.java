@@ -0,0 +1,218 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.spill;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of the rows of a {@link SpillingRowList} chunk.
+ * <p>
+ * Only the value classes read by the DataTypeXxx components for standard SQL types
+ * are encoded. Any other value (e.g. BLOB/CLOB descriptors or plugin types) stays
+ * on heap and only its index in the heap object list is written.
+ */
+class RowCodec
+{
+   private static final byte NULL = 0;
+   private static final byte STRING = 1;
+   private static final byte INTEGER = 2;
+   private static final byte LONG = 3;
+   private static final byte DOUBLE = 4;
+   private static final byte FLOAT = 5;
+   private static final byte SHORT = 6;
+   private static final byte BYTE = 7;
+   private static final byte BOOLEAN = 8;
+   private static final byte BIG_DECIMAL = 9;
+   private static final byte TIMESTAMP = 10;
+   private static final byte SQL_DATE = 11;
+   private static final byte SQL_TIME = 12;
+   private static final byte BYTES = 13;
+   private static final byte HEAP_OBJECT = 14;
+
+   static byte[] encode(List<Object[]> rows, List<Object> heapObjects) throws IOException
+   {
+      ByteArrayOutputStream bos = new ByteArrayOutputStream(rows.size() * 64);
+      DataOutputStream dos = new DataOutputStream(bos);
+
+      dos.writeInt(rows.size());
+      for (Object[] row : rows)
+      {
+         dos.writeInt(row.length);
+         for (Object value : row)
+         {
+            writeValue(dos, value, heapObjects);
+         }
+      }
+
+      dos.flush();
+      return bos.toByteArray();
+   }
+
+   static ArrayList<Object[]> decode(ByteBuffer buf, List<Object> heapObjects)
+   {
+      int rowCount = buf.getInt();
+      ArrayList<Object[]> ret = new ArrayList<>(rowCount);
+
+      for (int i = 0; i < rowCount; i++)
+      {
+         Object[] row = new Object[buf.getInt()];
+         for (int j = 0; j < row.length; j++)
+         {
+            row[j] = readValue(buf, heapObjects);
+         }
+         ret.add(row);
+      }
+
+      return ret;
+   }
+
+   private static void writeValue(DataOutputStream dos, Object value, List<Object> heapObjects) throws IOException
+   {
+      if (null == value)
+      {
+         dos.writeByte(NULL);
+         return;
+      }
+
+      Class<?> clazz = value.getClass();
+
+      if (clazz == String.class)
+      {
+         dos.writeByte(STRING);
+         writeBytes(dos, ((String) value).getBytes(StandardCharsets.UTF_8));
+      }
+      else if (clazz == Integer.class)
+      {
+         dos.writeByte(INTEGER);
+         dos.writeInt((Integer) value);
+      }
+      else if (clazz == Long.class)
+      {
+         dos.writeByte(LONG);
+         dos.writeLong((Long) value);
+      }
+      else if (clazz == Double.class)
+      {
+         dos.writeByte(DOUBLE);
+         dos.writeDouble((Double) value);
+      }
+      else if (clazz == Float.class)
+      {
+         dos.writeByte(FLOAT);
+         dos.writeFloat((Float) value);
+      }
+      else if (clazz == Short.class)
+      {
+         dos.writeByte(SHORT);
+         dos.writeShort((Short) value);
+      }
+      else if (clazz == Byte.class)
+      {
+         dos.writeByte(BYTE);
+         dos.writeByte((Byte) value);
+      }
+      else if (clazz == Boolean.class)
+      {
+         dos.writeByte(BOOLEAN);
+         dos.writeBoolean((Boolean) value);
+      }
+      else if (clazz == BigDecimal.class)
+      {
+         BigDecimal bigDecimal = (BigDecimal) value;
+         dos.writeByte(BIG_DECIMAL);
+         dos.writeInt(bigDecimal.scale());
+         writeBytes(dos, bigDecimal.unscaledValue().toByteArray());
+      }
+      else if (clazz == Timestamp.class)
+      {
+         dos.writeByte(TIMESTAMP);
+         dos.writeLong(((Timestamp) value).getTime());
+         dos.writeInt(((Timestamp) value).getNanos());
+      }
+      else if (clazz == java.sql.Date.class)
+      {
+         dos.writeByte(SQL_DATE);
+         dos.writeLong(((java.sql.Date) value).getTime());
+      }
+      else if (clazz == Time.class)
+      {
+         dos.writeByte(SQL_TIME);
+         dos.writeLong(((Time) value).getTime());
+      }
+      else if (clazz == byte[].class)
+      {
+         dos.writeByte(BYTES);
+         writeBytes(dos, (byte[]) value);
+      }
+      else
+      {
+         dos.writeByte(HEAP_OBJECT);
+         dos.writeInt(heapObjects.size());
+         heapObjects.add(value);
+      }
+   }
+
+   private static Object readValue(ByteBuffer buf, List<Object> heapObjects)
+   {
+      byte type = buf.get();
+      switch (type)
+      {
+         case NULL:
+            return null;
+         case STRING:
+            return new String(readBytes(buf), StandardCharsets.UTF_8);
+         case INTEGER:
+            return buf.getInt();
+         case LONG:
+            return buf.getLong();
+         case DOUBLE:
+            return buf.getDouble();
+         case FLOAT:
+            return buf.getFloat();
+         case SHORT:
+            return buf.getShort();
+         case BYTE:
+            return buf.get();
+         case BOOLEAN:
+            return buf.get() != 0;
+         case BIG_DECIMAL:
+            int scale = buf.getInt();
+            return new BigDecimal(new BigInteger(readBytes(buf)), scale);
+         case TIMESTAMP:
+            Timestamp timestamp = new Timestamp(buf.getLong());
+            timestamp.setNanos(buf.getInt());
+            return timestamp;
+         case SQL_DATE:
+            return new java.sql.Date(buf.getLong());
+         case SQL_TIME:
+            return new Time(buf.getLong());
+         case BYTES:
+            return readBytes(buf);
+         case HEAP_OBJECT:
+            return heapObjects.get(buf.getInt());
+         default:
+            throw new IllegalStateException("Unknown value type " + type + " in spill file");
+      }
+   }
+
+   private static void writeBytes(DataOutputStream dos, byte[] bytes) throws IOException
+   {
+      dos.writeInt(bytes.length);
+      dos.write(bytes);
+   }
+
+   private static byte[] readBytes(ByteBuffer buf)
+   {
+      byte[] ret = new byte[buf.getInt()];
+      buf.get(ret);
+      return ret;
+   }
+}
@@ -0,0 +1,462 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.spill;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.IRowStore;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+/**
+ * A list of rows that keeps only a window of rows on heap.
+ * <p>
+ * Rows are held in chunks of {@link #CHUNK_ROWS} rows. Only the most recently used chunks
+ * stay on heap, all other chunks are written to a spill file in the spill directory
+ * and are read back when one of their rows is accessed.
+ * This way scrolling, sorting and searching a result table page chunks in and out
+ * while the heap used stays bounded.
+ * <p>
+ * A chunk that was changed after it was read back is written to its old area of the file if it still fits there.
+ * Otherwise the old area is freed and reused for other chunks. The file is truncated when the list is cleared.
+ * <p>
+ * The spill file is deleted when the list is garbage collected or at JVM exit.
+ */
+public class SpillingRowList extends AbstractList<Object[]> implements IRowStore, RandomAccess
+{
+   private static final ILogger s_log = LoggerController.createLogger(SpillingRowList.class);
+
+   static final int CHUNK_ROWS = 2048;
+
+   private static final Cleaner s_cleaner = Cleaner.create();
+
+   private final File _spillDir;
+   private final int _maxChunksInMemory;
+
+   private final ArrayList<Chunk> _chunks = new ArrayList<>();
+
+   /**
+    * The chunks that are on heap, least recently used first.
+    */
+   private final LinkedHashSet<Chunk> _chunksInMemory = new LinkedHashSet<>();
+
+   /**
+    * Index of the first row of each chunk. Only valid as long as no row was removed
+    * from a chunk other than the last one, see {@link #_chunkStartsValid}.
+    */
+   private int[] _chunkStarts = new int[0];
+   private boolean _chunkStartsValid = true;
+
+   private int _size;
+
+   private SpillFile _spillFile;
+
+   /**
+    * @param spillDir     the directory the spill file is created in
+    * @param rowsInMemory the number of rows to keep on heap
+    */
+   public SpillingRowList(File spillDir, int rowsInMemory)
+   {
+      _spillDir = spillDir;
+      _maxChunksInMemory = Math.max(2, rowsInMemory / CHUNK_ROWS);
+   }
+
+   @Override
+   public synchronized int size()
+   {
+      return _size;
+   }
+
+   @Override
+   public synchronized Object[] get(int row)
+   {
+      checkRow(row);
+      int chunkIx = findChunk(row);
+      return getRows(_chunks.get(chunkIx)).get(row - _chunkStarts[chunkIx]);
+   }
+
+   @Override
+   public synchronized Object getValueAt(int row, int col)
+   {
+      return get(row)[col];
+   }
+
+   @Override
+   public synchronized void setValueAt(int row, int col, Object value)
+   {
+      checkRow(row);
+      int chunkIx = findChunk(row);
+      Chunk chunk = _chunks.get(chunkIx);
+      getRows(chunk).get(row - _chunkStarts[chunkIx])[col] = value;
+      chunk._dirty = true;
+   }
+
+   @Override
+   public synchronized boolean add(Object[] row)
+   {
+      Chunk last = _chunks.isEmpty() ? null : _chunks.get(_chunks.size() - 1);
+
+      if (null == last || last._rowCount >= CHUNK_ROWS)
+      {
+         last = new Chunk();
+         last._rows = new ArrayList<>(CHUNK_ROWS);
+
+         _chunks.add(last);
+         ensureChunkStartsCapacity();
+         _chunkStarts[_chunks.size() - 1] = _size;
+
+         makeMostRecentlyUsed(last);
+      }
+
+      getRows(last).add(row);
+      last._rowCount++;
+      last._dirty = true;
+
+      ++_size;
+      ++modCount;
+      return true;
+   }
+
+   @Override
+   public synchronized Object[] set(int row, Object[] values)
+   {
+      checkRow(row);
+      int chunkIx = findChunk(row);
+      Chunk chunk = _chunks.get(chunkIx);
+      chunk._dirty = true;
+      return getRows(chunk).set(row - _chunkStarts[chunkIx], values);
+   }
+
+   @Override
+   public synchronized Object[] remove(int row)
+   {
+      checkRow(row);
+      int chunkIx = findChunk(row);
+      Chunk chunk = _chunks.get(chunkIx);
+
+      Object[] ret = getRows(chunk).remove(row - _chunkStarts[chunkIx]);
+      chunk._rowCount--;
+      chunk._dirty = true;
+
+      if (0 == chunk._rowCount)
+      {
+         // Keeps chunk starts strictly ascending
+         _chunks.remove(chunkIx);
+         _chunksInMemory.remove(chunk);
+         freeFileArea(chunk);
+      }
+
+      if (chunkIx < _chunks.size() - 1 || 0 == chunk._rowCount)
+      {
+         _chunkStartsValid = false;
+      }
+
+      --_size;
+      ++modCount;
+      return ret;
+   }
+
+   @Override
+   public synchronized void clear()
+   {
+      _chunks.clear();
+      _chunksInMemory.clear();
+      _chunkStarts = new int[0];
+      _chunkStartsValid = true;
+      _size = 0;
+      ++modCount;
+
+      if (null != _spillFile)
+      {
+         try
+         {
+            _spillFile.truncate();
+         }
+         catch (IOException e)
+         {
+            throw Utilities.wrapRuntime(e);
+         }
+      }
+   }
+
+   private void checkRow(int row)
+   {
+      if (row < 0 || row >= _size)
+      {
+         throw new IndexOutOfBoundsException("Row " + row + " size " + _size);
+      }
+   }
+
+   private int findChunk(int row)
+   {
+      if (false == _chunkStartsValid)
+      {
+         int start = 0;
+         for (int i = 0; i < _chunks.size(); i++)
+         {
+            _chunkStarts[i] = start;
+            start += _chunks.get(i)._rowCount;
+         }
+         _chunkStartsValid = true;
+      }
+
+      int ix = Arrays.binarySearch(_chunkStarts, 0, _chunks.size(), row);
+      return ix >= 0 ? ix : -ix - 2;
+   }
+
+   private void ensureChunkStartsCapacity()
+   {
+      if (_chunkStarts.length < _chunks.size())
+      {
+         _chunkStarts = Arrays.copyOf(_chunkStarts, _chunkStarts.length * 2 + 16);
+      }
+   }
+
+   private ArrayList<Object[]> getRows(Chunk chunk)
+   {
+      if (null == chunk._rows)
+      {
+         chunk._rows = readChunk(chunk);
+         chunk._dirty = false;
+      }
+
+      makeMostRecentlyUsed(chunk);
+      return chunk._rows;
+   }
+
+   private void makeMostRecentlyUsed(Chunk chunk)
+   {
+      _chunksInMemory.remove(chunk);
+      _chunksInMemory.add(chunk);
+
+      while (_chunksInMemory.size() > _maxChunksInMemory)
+      {
+         Iterator<Chunk> it = _chunksInMemory.iterator();
+         Chunk eldest = it.next();
+         it.remove();
+         spill(eldest);
+      }
+   }
+
+   private void spill(Chunk chunk)
+   {
+      try
+      {
+         if (chunk._dirty)
+         {
+            // A new list each time, so values of a former version of the chunk are not kept.
+            List<Object> heapObjects = new ArrayList<>();
+            byte[] bytes = RowCodec.encode(chunk._rows, heapObjects);
+
+            if (null == _spillFile)
+            {
+               _spillFile = new SpillFile(_spillDir);
+               s_cleaner.register(this, _spillFile);
+            }
+
+            if (bytes.length > chunk._capacity)
+            {
+               freeFileArea(chunk);
+               chunk._fileOffset = _spillFile.allocate(bytes.length);
+               chunk._capacity = bytes.length;
+            }
+
+            _spillFile.write(chunk._fileOffset, bytes);
+            chunk._length = bytes.length;
+            chunk._heapObjects = heapObjects.isEmpty() ? null : heapObjects;
+            chunk._dirty = false;
+         }
+
+         chunk._rows = null;
+      }
+      catch (IOException e)
+      {
+         throw Utilities.wrapRuntime(e);
+      }
+   }
+
+   private ArrayList<Object[]> readChunk(Chunk chunk)
+   {
+      try
+      {
+         return RowCodec.decode(_spillFile.read(chunk._fileOffset, chunk._length), chunk._heapObjects);
+      }
+      catch (IOException e)
+      {
+         throw Utilities.wrapRuntime(e);
+      }
+   }
+
+   private void freeFileArea(Chunk chunk)
+   {
+      if (0 < chunk._capacity)
+      {
+         _spillFile.free(chunk._fileOffset, chunk._capacity);
+         chunk._fileOffset = -1;
+         chunk._capacity = 0;
+      }
+   }
+
+   private static class Chunk
+   {
+      private ArrayList<Object[]> _rows;
+      private int _rowCount;
+      private boolean _dirty;
+
+      private long _fileOffset = -1;
+      private int _length;
+
+      /**
+       * Size of the file area reserved for this chunk. May be larger than _length.
+       */
+      private int _capacity;
+
+      /**
+       * Values of the spilled rows that {@link RowCodec} can not encode stay on heap.
+       */
+      private List<Object> _heapObjects;
+   }
+
+   /**
+    * Must not reference its SpillingRowList because it is the Cleaner action of it.
+    */
+   private static class SpillFile implements Runnable
+   {
+      private final File _file;
+      private final RandomAccessFile _randomAccessFile;
+      private final FileChannel _channel;
+      private long _end;
+
+      /**
+       * Freed areas as offset and length, ordered by offset. Adjacent areas are merged.
+       */
+      private final TreeMap<Long, Integer> _freeAreas = new TreeMap<>();
+
+      private SpillFile(File spillDir) throws IOException
+      {
+         spillDir.mkdirs();
+         _file = File.createTempFile("result", ".spill", spillDir);
+         _file.deleteOnExit();
+         _randomAccessFile = new RandomAccessFile(_file, "rw");
+         _channel = _randomAccessFile.getChannel();
+      }
+
+      /**
+       * @return the offset of an area of at least length bytes. Freed areas are used first fit.
+       */
+      private long allocate(int length)
+      {
+         for (Map.Entry<Long, Integer> free : _freeAreas.entrySet())
+         {
+            if (free.getValue() >= length)
+            {
+               long offset = free.getKey();
+               _freeAreas.remove(offset);
+
+               if (free.getValue() > length)
+               {
+                  _freeAreas.put(offset + length, free.getValue() - length);
+               }
+
+               return offset;
+            }
+         }
+
+         long offset = _end;
+         _end += length;
+         return offset;
+      }
+
+      private void free(long offset, int length)
+      {
+         Map.Entry<Long, Integer> before = _freeAreas.floorEntry(offset);
+         if (null != before && before.getKey() + before.getValue() == offset)
+         {
+            offset = before.getKey();
+            length += before.getValue();
+            _freeAreas.remove(offset);
+         }
+
+         Integer after = _freeAreas.remove(offset + length);
+         if (null != after)
+         {
+            length += after;
+         }
+
+         if (offset + length == _end)
+         {
+            _end = offset;
+         }
+         else
+         {
+            _freeAreas.put(offset, length);
+         }
+      }
+
+      private void write(long offset, byte[] bytes) throws IOException
+      {
+         ByteBuffer buf = ByteBuffer.wrap(bytes);
+         while (buf.hasRemaining())
+         {
+            offset += _channel.write(buf, offset);
+         }
+      }
+
+      /**
+       * Reads into a heap buffer. Memory mapped buffers can not be unmapped explicitly
+       * and would keep file areas mapped until they are garbage collected.
+       */
+      private ByteBuffer read(long offset, int length) throws IOException
+      {
+         ByteBuffer buf = ByteBuffer.allocate(length);
+         while (buf.hasRemaining())
+         {
+            if (0 > _channel.read(buf, offset + buf.position()))
+            {
+               throw new IOException("Unexpected end of spill file " + _file);
+            }
+         }
+         buf.flip();
+         return buf;
+      }
+
+      private void truncate() throws IOException
+      {
+         _freeAreas.clear();
+         _end = 0;
+         _channel.truncate(0);
+      }
+
+      @Override
+      public void run()
+      {
+         try
+         {
+            _channel.close();
+            _randomAccessFile.close();
+         }
+         catch (IOException e)
+         {
+            s_log.warn("Failed to close spill file " + _file, e);
+         }
+
+         if (false == _file.delete())
+         {
+            s_log.info("Could not delete spill file " + _file + ". It will be deleted at exit.");
+         }
+      }
+   }
+}
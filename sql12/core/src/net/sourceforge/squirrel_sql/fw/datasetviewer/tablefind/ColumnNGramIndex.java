@@ -0,0 +1,181 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.tablefind;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Trigram index of the cell strings of one column.
+ *
+ * Returns the rows that may contain a search string of at least three characters.
+ * Trigrams are hashed to ints, so candidates must still be checked by {@link FindMatcher}.
+ * Cells longer than {@link #MAX_INDEXED_LENGTH} are not indexed and always are candidates.
+ * The index is built in parallel.
+ */
+class ColumnNGramIndex
+{
+   static final int N = 3;
+
+   private static final int MAX_INDEXED_LENGTH = 256;
+
+   /**
+    * Columns with more trigrams are not indexed, see {@link #getCandidateRows(String)}.
+    */
+   private static final long MAX_ENTRIES = 20_000_000;
+
+   /**
+    * Sorted distinct trigram hashes.
+    */
+   private final int[] _keys;
+
+   /**
+    * The rows of _keys[i] are _rows[_offsets[i]] to _rows[_offsets[i + 1] - 1], ascending.
+    */
+   private final int[] _offsets;
+   private final int[] _rows;
+
+   private final int[] _unindexedRows;
+
+   /**
+    * @param cells Must not be changed afterwards. When lowerCase is true the index is built for the lower case cell strings.
+    */
+   ColumnNGramIndex(String[] cells, boolean lowerCase)
+   {
+      String[] toIndex = cells;
+      if (lowerCase)
+      {
+         toIndex = new String[cells.length];
+         Arrays.parallelSetAll(toIndex, i -> cells[i].toLowerCase());
+      }
+
+      String[] finalToIndex = toIndex;
+      _unindexedRows = IntStream.range(0, cells.length).filter(i -> MAX_INDEXED_LENGTH < finalToIndex[i].length()).toArray();
+
+      long entryCount = 0;
+      int[] entryOffsets = new int[cells.length + 1];
+      for (int i = 0; i < cells.length && entryCount <= MAX_ENTRIES; i++)
+      {
+         int len = toIndex[i].length();
+         entryCount += len < N || MAX_INDEXED_LENGTH < len ? 0 : len - N + 1;
+         entryOffsets[i + 1] = (int) entryCount;
+      }
+
+      if (MAX_ENTRIES < entryCount)
+      {
+         _keys = null;
+         _offsets = null;
+         _rows = null;
+         return;
+      }
+
+      // High int is the trigram hash, low int is the row. Thus sorting groups rows by trigram.
+      long[] entries = new long[entryOffsets[cells.length]];
+      IntStream.range(0, cells.length).parallel().forEach(row ->
+      {
+         String cell = finalToIndex[row];
+         for (int i = entryOffsets[row], c = 0; i < entryOffsets[row + 1]; i++, c++)
+         {
+            entries[i] = ((long) hash(cell, c) << 32) | row;
+         }
+      });
+      Arrays.parallelSort(entries);
+
+      int[] keys = new int[entries.length];
+      int[] offsets = new int[entries.length + 1];
+      int[] rows = new int[entries.length];
+      int keyCount = 0;
+      int rowCount = 0;
+      for (int i = 0; i < entries.length; i++)
+      {
+         if (0 < i && entries[i] == entries[i - 1])
+         {
+            continue; // Trigram occurs more than once in the cell
+         }
+
+         int key = (int) (entries[i] >> 32);
+         if (0 == keyCount || keys[keyCount - 1] != key)
+         {
+            keys[keyCount] = key;
+            offsets[keyCount] = rowCount;
+            ++keyCount;
+         }
+         rows[rowCount++] = (int) entries[i];
+      }
+      offsets[keyCount] = rowCount;
+
+      _keys = Arrays.copyOf(keys, keyCount);
+      _offsets = Arrays.copyOf(offsets, keyCount + 1);
+      _rows = Arrays.copyOf(rows, rowCount);
+   }
+
+   /**
+    * @param searchString At least {@link #N} characters, in lower case for a lower case index.
+    * @return Ascending candidate rows or null if all rows are candidates because the column was too large to index.
+    */
+   int[] getCandidateRows(String searchString)
+   {
+      if (null == _keys)
+      {
+         return null;
+      }
+
+      int[] ret = null;
+      for (int c = 0; c <= searchString.length() - N; c++)
+      {
+         int ix = Arrays.binarySearch(_keys, hash(searchString, c));
+         if (0 > ix)
+         {
+            ret = new int[0];
+            break;
+         }
+
+         int[] rows = Arrays.copyOfRange(_rows, _offsets[ix], _offsets[ix + 1]);
+         ret = null == ret ? rows : intersect(ret, rows);
+
+         if (0 == ret.length)
+         {
+            break;
+         }
+      }
+
+      return union(ret, _unindexedRows);
+   }
+
+   private static int hash(String s, int pos)
+   {
+      return s.charAt(pos) * 0x9E3779B1 + s.charAt(pos + 1) * 0x85EBCA77 + s.charAt(pos + 2) * 0xC2B2AE3D;
+   }
+
+   private static int[] intersect(int[] a, int[] b)
+   {
+      int[] ret = new int[Math.min(a.length, b.length)];
+      int count = 0;
+      for (int i = 0, j = 0; i < a.length && j < b.length; )
+      {
+         if (a[i] < b[j])
+         {
+            ++i;
+         }
+         else if (a[i] > b[j])
+         {
+            ++j;
+         }
+         else
+         {
+            ret[count++] = a[i];
+            ++i;
+            ++j;
+         }
+      }
+      return Arrays.copyOf(ret, count);
+   }
+
+   private static int[] union(int[] a, int[] b)
+   {
+      if (0 == b.length)
+      {
+         return a;
+      }
+
+      return IntStream.concat(Arrays.stream(a), Arrays.stream(b)).sorted().distinct().toArray();
+   }
+}
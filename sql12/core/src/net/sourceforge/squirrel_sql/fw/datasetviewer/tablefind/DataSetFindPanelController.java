@@ -48,6 +48,16 @@ public class DataSetFindPanelController
    private String _currentSearchString = null;
    private ColsToSearchHolder _colsToSearchHolder = ColsToSearchHolder.UNFILTERED;
 
+   /**
+    * Matches of the current search. Null when search settings or the table changed.
+    */
+   private FindResult _findResult;
+
+   /**
+    * Incremented whenever _findResult becomes invalid, so that results of a search running in the background can be dropped.
+    */
+   private int _findResultGeneration;
+
    private enum FindMode
    {
       FORWARD, BACKWARD, HIGHLIGHT
@@ -85,6 +95,7 @@ public class DataSetFindPanelController
    private void onNarrowColsToSearch()
    {
       _colsToSearchHolder = new NarrowColsToSearchCtrl(_colsToSearchHolder, ensureFindService()).getColsToSearchFilter();
+      invalidateFindResult();
 
       _dataSetFindPanel.btnNarrowColsToSearch.setIcon(Main.getApplication().getResourcesFw().getIcon(LibraryResources.IImageNames.SELECT_COLUMN));
       if(_colsToSearchHolder.isNarrowed())
@@ -203,11 +214,18 @@ public class DataSetFindPanelController
    private void clearFind()
    {
       _trace.clear();
+      invalidateFindResult();
       ensureFindService();
       _findService.repaintAll();
       _tableTraverser.reset();
    }
 
+   private void invalidateFindResult()
+   {
+      _findResult = null;
+      ++_findResultGeneration;
+   }
+
    private void onFind(FindMode findMode)
    {
       checkDataSetViewerPanel();
@@ -221,6 +239,7 @@ public class DataSetFindPanelController
       if(false == StringUtils.equals(searchString, _currentSearchString))
       {
          _trace.clear();
+         invalidateFindResult();
          _findService.repaintAll();
          _tableTraverser.reset();
       }
@@ -234,48 +253,63 @@ public class DataSetFindPanelController
 
       _editableComboBoxHandler.addOrReplaceCurrentItem(_currentSearchString);
 
-      boolean matchFound = false;
-      for(int i = 0; i < _tableTraverser.getCellCount(); ++i)
+      if(null != _findResult)
       {
-         if (FindMode.FORWARD == findMode || FindMode.HIGHLIGHT == findMode)
-         {
-            _tableTraverser.forward();
-         }
-         else
-         {
-            _tableTraverser.backward();
-         }
+         showFindResult(findMode);
+         return;
+      }
+
+      DataSetFindPanel.MatchTypeCboItem matchType = (DataSetFindPanel.MatchTypeCboItem) _dataSetFindPanel.cboMatchType.getSelectedItem();
+      FindMatcher findMatcher = new FindMatcher(_currentSearchString, matchType, _dataSetFindPanel.chkCaseSensitive.isSelected());
 
-         if(   _colsToSearchHolder.isToSearch(_tableTraverser.getCol())
-            && matches(_currentSearchString, _findService.getViewDataAsString(_tableTraverser.getRow(), _tableTraverser.getCol())))
+      int findResultGeneration = _findResultGeneration;
+      _findService.findMatches(findMatcher, viewCol -> _colsToSearchHolder.isToSearch(viewCol), findResult ->
+      {
+         if(findResultGeneration == _findResultGeneration)
          {
-            matchFound = true;
+            _findResult = findResult;
+            showFindResult(findMode);
+         }
+      });
+   }
 
-            if (FindMode.HIGHLIGHT != findMode)
-            {
-               _findService.scrollToVisible(_tableTraverser.getRow(), _tableTraverser.getCol());
-            }
+   private void showFindResult(FindMode findMode)
+   {
+      if (0 == _findResult.size())
+      {
+         Main.getApplication().getMessageHandler().showMessage(s_stringMgr.getString("DataSetFindPanelController.noOccurenceFoundOf", _currentSearchString));
+         return;
+      }
 
-            _findService.repaintCell(_tableTraverser.getRow(), _tableTraverser.getCol());
+      long cellIndex = _tableTraverser.getCellIndex();
 
-            if (null != _trace.getCurrent())
-            {
-               _findService.repaintCell(_trace.getCurrent().x, _trace.getCurrent().y);
-            }
-            _trace.add(_tableTraverser.getRow(), _tableTraverser.getCol());
-
-            if (FindMode.HIGHLIGHT != findMode)
-            {
-               return;
-            }
+      if (FindMode.HIGHLIGHT == findMode)
+      {
+         // Like stepping forward through all cells the match before the current cell is added last and becomes current.
+         int start = _findResult.indexAfter(cellIndex);
+         for (int i = 0; i < _findResult.size(); i++)
+         {
+            int ix = (start + i) % _findResult.size();
+            _trace.add(_findResult.getRow(ix), _findResult.getCol(ix));
          }
+         _findService.repaintAll();
+         return;
       }
 
-      if (false == matchFound)
+      int ix = FindMode.FORWARD == findMode ? _findResult.indexAfter(cellIndex) : _findResult.indexBefore(cellIndex);
+      int row = _findResult.getRow(ix);
+      int col = _findResult.getCol(ix);
+
+      _tableTraverser.moveTo(row, col);
+
+      _findService.scrollToVisible(row, col);
+      _findService.repaintCell(row, col);
+
+      if (null != _trace.getCurrent())
       {
-         Main.getApplication().getMessageHandler().showMessage(s_stringMgr.getString("DataSetFindPanelController.noOccurenceFoundOf", _currentSearchString));
+         _findService.repaintCell(_trace.getCurrent().x, _trace.getCurrent().y);
       }
-
+      _trace.add(row, col);
    }
 
    private FindService ensureFindService()
@@ -315,36 +349,6 @@ public class DataSetFindPanelController
       }
    }
 
-   private boolean matches(String toMatchAgainst, String viewDataAsString)
-   {
-      DataSetFindPanel.MatchTypeCboItem sel = (DataSetFindPanel.MatchTypeCboItem) _dataSetFindPanel.cboMatchType.getSelectedItem();
-
-      if(false == _dataSetFindPanel.chkCaseSensitive.isSelected())
-      {
-         if (DataSetFindPanel.MatchTypeCboItem.REG_EX != sel)
-         {
-            toMatchAgainst = toMatchAgainst.toLowerCase();
-         }
-         viewDataAsString = viewDataAsString.toLowerCase();
-      }
-
-      switch (sel)
-      {
-         case CONTAINS:
-            return viewDataAsString.contains(toMatchAgainst);
-         case EXACT:
-            return viewDataAsString.equals(toMatchAgainst);
-         case STARTS_WITH:
-            return viewDataAsString.startsWith(toMatchAgainst);
-         case ENDS_WITH:
-            return viewDataAsString.endsWith(toMatchAgainst);
-         case REG_EX:
-            return viewDataAsString.matches(toMatchAgainst);
-      }
-
-      throw new IllegalArgumentException("Unknown match type " + sel);
-   }
-
    public DataSetFindPanel getPanel()
    {
       return _dataSetFindPanel;
@@ -361,6 +365,7 @@ public class DataSetFindPanelController
    {
       _findService = null;
       _trace.clear();
+      invalidateFindResult();
    }
 
    private Color onGetBackgroundColor(int viewRow, int viewColumn)
@@ -1,26 +1,39 @@
 package net.sourceforge.squirrel_sql.fw.datasetviewer.tablefind;
 
+import net.sourceforge.squirrel_sql.client.Main;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.DataSetViewerTable;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.ExtTableColumn;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.RowNumberTableColumn;
 import net.sourceforge.squirrel_sql.fw.gui.GUIUtils;
 import net.sourceforge.squirrel_sql.fw.gui.table.SortableTableModel;
 
+import javax.swing.SwingUtilities;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.TableColumnModelEvent;
 import javax.swing.event.TableColumnModelListener;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Rectangle;
 import java.awt.Window;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 
 public class DefaultFindService implements FindService
 {
    private DataSetViewerTable _table;
    private ColumnDisplayDefinition[] _columnDefinitions;
 
+   /**
+    * Created on the first search, discarded when the table's data changes.
+    */
+   private TableFindIndex _findIndex;
+
    public DefaultFindService(DataSetViewerTable table, ColumnDisplayDefinition[] columnDefinitions)
    {
       _table = table;
@@ -42,15 +55,90 @@ public class DefaultFindService implements FindService
    @Override
    public String getViewDataAsString(int row, int col)
    {
-      Object value = _table.getValueAt(row, col);
-      if (value instanceof String)
+      return TableFindIndex.toViewDataString(_table.getValueAt(row, col));
+   }
+
+   @Override
+   public void findMatches(FindMatcher findMatcher, IntPredicate isViewColToSearch, Consumer<FindResult> findResultCallBack)
+   {
+      if (null == _findIndex)
+      {
+         _findIndex = new TableFindIndex(_table.getDataSetViewerTableModel());
+      }
+
+      TableFindIndex findIndex = _findIndex;
+
+      if (findIndex.isPreparedFor(findMatcher))
+      {
+         findResultCallBack.accept(find(findIndex, findMatcher, isViewColToSearch));
+         return;
+      }
+
+      _table.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+      Main.getApplication().getThreadPool().addTask(() ->
+      {
+         try
+         {
+            findIndex.prepareFor(findMatcher);
+         }
+         finally
+         {
+            SwingUtilities.invokeLater(() ->
+            {
+               _table.setCursor(Cursor.getDefaultCursor());
+
+               if (findIndex == _findIndex && findIndex.isPreparedFor(findMatcher))
+               {
+                  findResultCallBack.accept(find(findIndex, findMatcher, isViewColToSearch));
+               }
+            });
+         }
+      }, "Building table search index");
+   }
+
+   /**
+    * Searches the columns in parallel.
+    */
+   private FindResult find(TableFindIndex findIndex, FindMatcher findMatcher, IntPredicate isViewColToSearch)
+   {
+      int colCount = getColCount();
+      int rowCount = findIndex.getRowCount();
+
+      int[] viewRowByModelRow = new int[rowCount];
+      for (int viewRow = 0; viewRow < rowCount; viewRow++)
       {
-         return (String) value;
+         viewRowByModelRow[_table.getSortableTableModel().transformToModelRow(viewRow)] = viewRow;
       }
-      else
+
+      int[] modelColByViewCol = new int[colCount];
+      for (int viewCol = 0; viewCol < colCount; viewCol++)
       {
-         return "" + value;
+         modelColByViewCol[viewCol] = _table.convertColumnIndexToModel(viewCol);
       }
+
+      int[] viewColsToSearch = IntStream.range(0, colCount).filter(isViewColToSearch).toArray();
+
+      long[] cellIndexes =
+            Arrays.stream(viewColsToSearch)
+                     .parallel()
+                     .mapToObj(viewCol ->
+                     {
+                        if (RowNumberTableColumn.ROW_NUMBER_MODEL_INDEX == modelColByViewCol[viewCol])
+                        {
+                           return IntStream.range(0, rowCount)
+                                           .filter(viewRow -> findMatcher.matches(TableFindIndex.toViewDataString(viewRow + 1)))
+                                           .mapToLong(viewRow -> (long) viewRow * colCount + viewCol);
+                        }
+
+                        return Arrays.stream(findIndex.findRows(findMatcher, modelColByViewCol[viewCol]))
+                                     .mapToLong(modelRow -> (long) viewRowByModelRow[modelRow] * colCount + viewCol);
+                     })
+                     .flatMapToLong(cellIxs -> cellIxs)
+                     .toArray();
+
+      Arrays.parallelSort(cellIndexes);
+
+      return new FindResult(cellIndexes, colCount);
    }
 
    @Override
@@ -119,6 +207,12 @@ public class DefaultFindService implements FindService
    {
       _table.getColoringService().getFindColorHandler().setFindServiceCallBack(findServiceCallBack);
 
+      _table.getDataSetViewerTableModel().addTableModelListener(e ->
+      {
+         _findIndex = null;
+         findServiceCallBack.tableCellStructureChanged();
+      });
+
       if (_table.getModel() instanceof SortableTableModel)
       {
          ((SortableTableModel)_table.getModel()).addSortingListener(tableSortingAdmin -> findServiceCallBack.tableCellStructureChanged());
@@ -0,0 +1,74 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.tablefind;
+
+import java.util.regex.Pattern;
+
+/**
+ * Decides if a cell's string matches the search settings of the {@link DataSetFindPanel}.
+ */
+public class FindMatcher
+{
+   private final String _searchString;
+   private final DataSetFindPanel.MatchTypeCboItem _matchType;
+   private final boolean _caseSensitive;
+   private final Pattern _regEx;
+
+   public FindMatcher(String searchString, DataSetFindPanel.MatchTypeCboItem matchType, boolean caseSensitive)
+   {
+      _matchType = matchType;
+      _caseSensitive = caseSensitive;
+
+      if (DataSetFindPanel.MatchTypeCboItem.REG_EX == matchType)
+      {
+         _searchString = searchString;
+         _regEx = Pattern.compile(searchString);
+      }
+      else
+      {
+         _searchString = caseSensitive ? searchString : searchString.toLowerCase();
+         _regEx = null;
+      }
+   }
+
+   public boolean matches(String viewDataAsString)
+   {
+      if(false == _caseSensitive)
+      {
+         viewDataAsString = viewDataAsString.toLowerCase();
+      }
+
+      switch (_matchType)
+      {
+         case CONTAINS:
+            return viewDataAsString.contains(_searchString);
+         case EXACT:
+            return viewDataAsString.equals(_searchString);
+         case STARTS_WITH:
+            return viewDataAsString.startsWith(_searchString);
+         case ENDS_WITH:
+            return viewDataAsString.endsWith(_searchString);
+         case REG_EX:
+            return _regEx.matcher(viewDataAsString).matches();
+      }
+
+      throw new IllegalArgumentException("Unknown match type " + _matchType);
+   }
+
+   public boolean isCaseSensitive()
+   {
+      return _caseSensitive;
+   }
+
+   /**
+    * @return A String every matching cell contains, in lower case when the search is not case sensitive.
+    * Null for regular expressions.
+    */
+   String getRequiredSubstring()
+   {
+      if (DataSetFindPanel.MatchTypeCboItem.REG_EX == _matchType)
+      {
+         return null;
+      }
+
+      return _searchString;
+   }
+}
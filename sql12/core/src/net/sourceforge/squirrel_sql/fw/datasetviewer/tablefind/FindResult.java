@@ -0,0 +1,70 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.tablefind;
+
+import java.util.Arrays;
+
+/**
+ * All cells matching a search, in the view's row major order like {@link TableTraverser} moves.
+ */
+public class FindResult
+{
+   /**
+    * viewRow * colCount + viewCol, ascending.
+    */
+   private final long[] _cellIndexes;
+   private final int _colCount;
+
+   FindResult(long[] cellIndexes, int colCount)
+   {
+      _cellIndexes = cellIndexes;
+      _colCount = colCount;
+   }
+
+   public int size()
+   {
+      return _cellIndexes.length;
+   }
+
+   public int getRow(int ix)
+   {
+      return (int) (_cellIndexes[ix] / _colCount);
+   }
+
+   public int getCol(int ix)
+   {
+      return (int) (_cellIndexes[ix] % _colCount);
+   }
+
+   /**
+    * @param cellIndex See {@link TableTraverser#getCellIndex()}
+    * @return Index of the first match after cellIndex, wrapping around at the end of the table. -1 if there are no matches.
+    */
+   public int indexAfter(long cellIndex)
+   {
+      if (0 == _cellIndexes.length)
+      {
+         return -1;
+      }
+
+      int ix = Arrays.binarySearch(_cellIndexes, cellIndex);
+      ix = 0 > ix ? -ix - 1 : ix + 1;
+
+      return ix < _cellIndexes.length ? ix : 0;
+   }
+
+   /**
+    * @param cellIndex See {@link TableTraverser#getCellIndex()}
+    * @return Index of the last match before cellIndex, wrapping around at the beginning of the table. -1 if there are no matches.
+    */
+   public int indexBefore(long cellIndex)
+   {
+      if (0 == _cellIndexes.length)
+      {
+         return -1;
+      }
+
+      int ix = Arrays.binarySearch(_cellIndexes, cellIndex);
+      ix = 0 > ix ? -ix - 2 : ix - 1;
+
+      return 0 <= ix ? ix : _cellIndexes.length - 1;
+   }
+}
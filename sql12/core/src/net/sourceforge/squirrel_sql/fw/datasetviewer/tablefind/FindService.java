@@ -5,6 +5,8 @@ import net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition;
 import java.awt.Dimension;
 import java.awt.Window;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 
 public interface FindService
 {
@@ -31,4 +33,10 @@ public interface FindService
    Window getParentWindow();
 
    ColumnDisplayDefinition getColumnDisplayDefinitionByViewIndex(int columnViewIx);
+
+   /**
+    * Searches all cells of the columns accepted by isViewColToSearch.
+    * The search index may be built in the background first. findResultCallBack is called on the event dispatch thread.
+    */
+   void findMatches(FindMatcher findMatcher, IntPredicate isViewColToSearch, Consumer<FindResult> findResultCallBack);
 }
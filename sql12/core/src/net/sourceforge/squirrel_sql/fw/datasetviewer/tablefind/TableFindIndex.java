@@ -0,0 +1,133 @@
+package net.sourceforge.squirrel_sql.fw.datasetviewer.tablefind;
+
+import javax.swing.table.TableModel;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Search index of the data of a result table, by model row and model column.
+ * Thus it stays valid when the table is sorted or columns are moved.
+ *
+ * The cell values are copied when the index is created, which must happen on the event dispatch thread.
+ * {@link #prepareFor(FindMatcher)} renders them to Strings once and builds the {@link ColumnNGramIndex}es
+ * the search needs. It is expensive and meant to run in the background. Searching is cheap afterwards.
+ */
+class TableFindIndex
+{
+   private final Object[][] _valuesByModelColumn;
+   private final int _rowCount;
+
+   private volatile String[][] _cellsByModelColumn;
+   private volatile ColumnNGramIndex[] _lowerCaseNGrams;
+   private volatile ColumnNGramIndex[] _caseSensitiveNGrams;
+
+   TableFindIndex(TableModel model)
+   {
+      _rowCount = model.getRowCount();
+      _valuesByModelColumn = new Object[model.getColumnCount()][_rowCount];
+
+      for (int col = 0; col < _valuesByModelColumn.length; col++)
+      {
+         for (int row = 0; row < _rowCount; row++)
+         {
+            _valuesByModelColumn[col][row] = model.getValueAt(row, col);
+         }
+      }
+   }
+
+   boolean isPreparedFor(FindMatcher findMatcher)
+   {
+      if (null == _cellsByModelColumn)
+      {
+         return false;
+      }
+
+      if (false == usesNGrams(findMatcher))
+      {
+         return true;
+      }
+
+      return null != (findMatcher.isCaseSensitive() ? _caseSensitiveNGrams : _lowerCaseNGrams);
+   }
+
+   synchronized void prepareFor(FindMatcher findMatcher)
+   {
+      if (null == _cellsByModelColumn)
+      {
+         String[][] cellsByModelColumn = new String[_valuesByModelColumn.length][];
+         IntStream.range(0, cellsByModelColumn.length).parallel().forEach(col ->
+         {
+            Object[] values = _valuesByModelColumn[col];
+            String[] cells = new String[_rowCount];
+            Arrays.parallelSetAll(cells, row -> toViewDataString(values[row]));
+            cellsByModelColumn[col] = cells;
+         });
+         _cellsByModelColumn = cellsByModelColumn;
+      }
+
+      if (usesNGrams(findMatcher))
+      {
+         if (findMatcher.isCaseSensitive() && null == _caseSensitiveNGrams)
+         {
+            _caseSensitiveNGrams = createNGramIndexes(false);
+         }
+         else if (false == findMatcher.isCaseSensitive() && null == _lowerCaseNGrams)
+         {
+            _lowerCaseNGrams = createNGramIndexes(true);
+         }
+      }
+   }
+
+   private ColumnNGramIndex[] createNGramIndexes(boolean lowerCase)
+   {
+      ColumnNGramIndex[] ret = new ColumnNGramIndex[_cellsByModelColumn.length];
+      IntStream.range(0, ret.length).parallel().forEach(col -> ret[col] = new ColumnNGramIndex(_cellsByModelColumn[col], lowerCase));
+      return ret;
+   }
+
+   /**
+    * Must be called only after {@link #prepareFor(FindMatcher)} was done for the findMatcher.
+    *
+    * @return The matching model rows in ascending order.
+    */
+   int[] findRows(FindMatcher findMatcher, int modelColumn)
+   {
+      String[] cells = _cellsByModelColumn[modelColumn];
+
+      int[] candidates = null;
+      if (usesNGrams(findMatcher))
+      {
+         ColumnNGramIndex nGramIndex = (findMatcher.isCaseSensitive() ? _caseSensitiveNGrams : _lowerCaseNGrams)[modelColumn];
+         candidates = nGramIndex.getCandidateRows(findMatcher.getRequiredSubstring());
+      }
+
+      IntStream rows = null == candidates ? IntStream.range(0, cells.length) : IntStream.of(candidates);
+
+      return rows.parallel().filter(row -> findMatcher.matches(cells[row])).toArray();
+   }
+
+   int getRowCount()
+   {
+      return _rowCount;
+   }
+
+   /**
+    * Like {@link DefaultFindService#getViewDataAsString(int, int)}
+    */
+   static String toViewDataString(Object value)
+   {
+      if (value instanceof String)
+      {
+         return (String) value;
+      }
+      else
+      {
+         return "" + value;
+      }
+   }
+
+   private static boolean usesNGrams(FindMatcher findMatcher)
+   {
+      return null != findMatcher.getRequiredSubstring() && ColumnNGramIndex.N <= findMatcher.getRequiredSubstring().length();
+   }
+}
@@ -47,6 +47,20 @@ public class TableTraverser
       }
    }
 
+   /**
+    * @return The current cell's index in row major order. -1 after {@link #reset()}.
+    */
+   public long getCellIndex()
+   {
+      return (long) _row * _findService.getColCount() + _col;
+   }
+
+   public void moveTo(int row, int col)
+   {
+      _row = row;
+      _col = col;
+   }
+
    public int getRow()
    {
       return _row;
@@ -16,6 +16,49 @@ public class DialectUtils2
       }
    }
 
+   /**
+    * @return The clause to append to a select statement, after its order by clause,
+    * to skip offset rows and return at most pageSize rows. Null if paging is not known for the dialect.
+    */
+   public static String getPagingClause(DialectType dialectType, long offset, int pageSize)
+   {
+      if (null == dialectType)
+      {
+         return null;
+      }
+
+      switch (dialectType)
+      {
+         case H2:
+         case HSQLDB:
+         case MARIADB:
+         case MYSQL:
+         case MYSQL5:
+         case NETEZZA:
+         case POSTGRES:
+         case SQLLITE:
+            return "LIMIT " + pageSize + " OFFSET " + offset;
+         case DB2:
+         case DERBY:
+         case FIREBIRD:
+         case MSSQL:
+         case ORACLE:
+            // SQL:2008 syntax. Oracle supports it as of 12c, SQL Server as of 2012, Firebird as of 3.0.
+            return "OFFSET " + offset + " ROWS FETCH NEXT " + pageSize + " ROWS ONLY";
+         default:
+            return null;
+      }
+   }
+
+   /**
+    * @return true if the dialect accepts the paging clause of {@link #getPagingClause(DialectType, long, int)}
+    * only in statements that have an order by clause.
+    */
+   public static boolean isOrderByRequiredForPaging(DialectType dialectType)
+   {
+      return dialectType == DialectType.MSSQL;
+   }
+
    private static boolean shouldQuoteColumnName(DialectType dialectType, String columnName)
    {
       if(dialectType == DialectType.HSQLDB || dialectType == DialectType.POSTGRES || dialectType == DialectType.H2)
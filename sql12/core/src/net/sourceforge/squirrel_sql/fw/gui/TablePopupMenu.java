@@ -61,6 +61,7 @@ public class TablePopupMenu extends BasePopupMenu
 
 	private JCheckBoxMenuItem _alwaysAdjustAllColWidtshActionItem;
 	private JCheckBoxMenuItem _showRowNumbersItem;
+	private JCheckBoxMenuItem _bufferEditsItem;
 
 
 	private DataSetViewerTableCopyAction _copy;
@@ -95,6 +96,9 @@ public class TablePopupMenu extends BasePopupMenu
 	private UndoMakeEditableAction _undoMakeEditable = new UndoMakeEditableAction();
 	private DeleteRowsAction _deleteRows = new DeleteRowsAction();
 	private InsertRowAction _insertRow = new InsertRowAction();
+	private BufferEditsAction _bufferEdits = new BufferEditsAction();
+	private ApplyPendingChangesAction _applyPendingChanges = new ApplyPendingChangesAction();
+	private DiscardPendingChangesAction _discardPendingChanges = new DiscardPendingChangesAction();
 	private SelectAllAction _select = new SelectAllAction();
 	private SelectRowsAction _selectRows = new SelectRowsAction();
 	private PrintAction _print = new PrintAction();
@@ -215,6 +219,13 @@ public class TablePopupMenu extends BasePopupMenu
 			addSeparator();
 			addAction(_insertRow);
 			addAction(_deleteRows);
+
+			_bufferEditsItem = new JCheckBoxMenuItem();
+			_bufferEditsItem.setSelected(_dataSetViewerTablePanel.isEditBuffering());
+			_bufferEditsItem.setAction(_bufferEdits);
+			addMenuItem(_bufferEditsItem);
+			addAction(_applyPendingChanges);
+			addAction(_discardPendingChanges);
 		}
 
 		addSeparator();
@@ -300,6 +311,13 @@ public class TablePopupMenu extends BasePopupMenu
 		_copyColumnHeader.setCurrentTableClickPosition(tableClickPosition);
 		_showColumnDetails.setCurrentTableClickPosition(tableClickPosition);
 
+		if (null != _bufferEditsItem)
+		{
+			_bufferEditsItem.setSelected(_dataSetViewerTablePanel.isEditBuffering());
+			_applyPendingChanges.setEnabled(_dataSetViewerTablePanel.hasPendingChanges());
+			_discardPendingChanges.setEnabled(_dataSetViewerTablePanel.hasPendingChanges());
+		}
+
 		super.show(invoker, x, y);
 	}
 
@@ -701,6 +719,46 @@ public class TablePopupMenu extends BasePopupMenu
 		}
 	}
 
+	private class BufferEditsAction extends BaseAction
+	{
+		BufferEditsAction()
+		{
+			super(s_stringMgr.getString("TablePopupMenu.bufferEdits"));
+		}
+
+		public void actionPerformed(ActionEvent evt)
+		{
+			_dataSetViewerTablePanel.setEditBuffering(_bufferEditsItem.isSelected());
+			_bufferEditsItem.setSelected(_dataSetViewerTablePanel.isEditBuffering());
+		}
+	}
+
+	private class ApplyPendingChangesAction extends BaseAction
+	{
+		ApplyPendingChangesAction()
+		{
+			super(s_stringMgr.getString("TablePopupMenu.applyPendingChanges"));
+		}
+
+		public void actionPerformed(ActionEvent evt)
+		{
+			_dataSetViewerTablePanel.applyPendingChanges();
+		}
+	}
+
+	private class DiscardPendingChangesAction extends BaseAction
+	{
+		DiscardPendingChangesAction()
+		{
+			super(s_stringMgr.getString("TablePopupMenu.discardPendingChanges"));
+		}
+
+		public void actionPerformed(ActionEvent evt)
+		{
+			_dataSetViewerTablePanel.discardPendingChanges();
+		}
+	}
+
 	private class SelectAllAction extends BaseAction
 	{
 		SelectAllAction()
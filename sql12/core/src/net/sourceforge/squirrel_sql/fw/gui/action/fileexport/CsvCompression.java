@@ -0,0 +1,109 @@
+package net.sourceforge.squirrel_sql.fw.gui.action.fileexport;
+
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On the fly compression of CSV export files.
+ * The compression is part of the file name, e.g. <code>result.csv.gz</code>.
+ *
+ * Only codecs that need no libraries beyond the JDK and the bundled commons-compress are offered.
+ * The pure Java LZ4 compressor of commons-compress is not offered because it is very slow on the repetitive data of CSV files.
+ */
+public enum CsvCompression
+{
+   NONE(null),
+   GZIP("gz"),
+   BZIP2("bz2");
+
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(CsvCompression.class);
+
+   private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+   private final String _fileSuffix;
+
+   CsvCompression(String fileSuffix)
+   {
+      _fileSuffix = fileSuffix;
+   }
+
+   /**
+    * @return The compression whose suffix the file name ends with, {@link #NONE} if there is none.
+    */
+   public static CsvCompression getByFileName(String fileName)
+   {
+      for (CsvCompression csvCompression : values())
+      {
+         if (NONE != csvCompression && StringUtils.endsWithIgnoreCase(fileName, csvCompression.getFileSuffix()))
+         {
+            return csvCompression;
+         }
+      }
+      return NONE;
+   }
+
+   public static CsvCompression getByTableExportPreferences(TableExportPreferences prefs)
+   {
+      if (false == prefs.isFormatCSV())
+      {
+         return NONE;
+      }
+
+      try
+      {
+         return valueOf(prefs.getCsvCompression());
+      }
+      catch (IllegalArgumentException | NullPointerException e)
+      {
+         return NONE;
+      }
+   }
+
+   /**
+    * @return The suffix including the leading dot, an empty string for {@link #NONE}.
+    */
+   public String getFileSuffix()
+   {
+      return null == _fileSuffix ? "" : "." + _fileSuffix;
+   }
+
+   public String removeFileSuffix(String fileName)
+   {
+      if (NONE == this || false == StringUtils.endsWithIgnoreCase(fileName, getFileSuffix()))
+      {
+         return fileName;
+      }
+      return fileName.substring(0, fileName.length() - getFileSuffix().length());
+   }
+
+   public OutputStream createCompressingStream(OutputStream out) throws IOException
+   {
+      switch (this)
+      {
+         case NONE:
+            return out;
+         case GZIP:
+            return new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+         case BZIP2:
+            return new BZip2CompressorOutputStream(out);
+         default:
+            throw new IllegalStateException("Unknown compression " + this);
+      }
+   }
+
+   @Override
+   public String toString()
+   {
+      if (NONE == this)
+      {
+         return s_stringMgr.getString("CsvCompression.none");
+      }
+      return name() + " (" + getFileSuffix() + ")";
+   }
+}
@@ -20,11 +20,16 @@ package net.sourceforge.squirrel_sql.fw.gui.action.fileexport;
 
 import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.CellComponentFactory;
 import net.sourceforge.squirrel_sql.fw.sql.ProgressAbortCallback;
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -33,16 +38,33 @@ import java.util.List;
 /**
  * Exports {@link IExportData} to a CSV file.
  * <b>Note:</b> This class is the result of a refactoring task. The code was taken from TableExportCsvCommand.
+ * <p>
+ * The file may be compressed on the fly, see {@link CsvCompression}.
+ * The export may be split into parts of a maximum number of rows or megabytes. The first part is written to the export file,
+ * the following parts to files with a number appended to the file name, e.g. result.csv, result_002.csv, result_003.csv.
+ * Each part starts with the column headers if headers are exported. Parts are split between rows,
+ * so a part may exceed the megabytes limit by one row plus the data still buffered by the compression.
  *
  * @author Stefan Willinger
  */
 public class DataExportCSVWriter extends AbstractDataExportFileWriter
 {
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(DataExportCSVWriter.class);
+
+   private static final int FILE_BUFFER_SIZE = 1024 * 1024;
+   private static final int WRITER_BUFFER_SIZE = 64 * 1024;
 
    private List<String> headerCells = new ArrayList<String>();
    private List<String> aRow = new ArrayList<String>();
    private BufferedWriter bw;
 
+   private File _file;
+   private CsvCompression _compression;
+   private ByteCountingOutputStream _partBytes;
+   private int _partNumber;
+   private long _rowsInPart;
+   private boolean _nextPartPending;
+
 
    /**
     * @param file
@@ -110,6 +132,68 @@ public class DataExportCSVWriter extends AbstractDataExportFileWriter
       bw.close();
    }
 
+   private void openPart(File file) throws IOException
+   {
+      ++_partNumber;
+      _rowsInPart = 0;
+
+      // Large buffers because CSV exports often are huge. The byte buffer lies below the compression,
+      // so the file gets written in few large chunks.
+      _partBytes = new ByteCountingOutputStream(new BufferedOutputStream(new FileOutputStream(file), FILE_BUFFER_SIZE));
+      bw = new BufferedWriter(new OutputStreamWriter(_compression.createCompressingStream(_partBytes), getCharset()), WRITER_BUFFER_SIZE);
+   }
+
+   private void startNextPart() throws IOException
+   {
+      bw.close();
+
+      File partFile = getPartFile(_partNumber + 1);
+      progress(s_stringMgr.getString("DataExportCSVWriter.beginWriting.part", partFile));
+      openPart(partFile);
+
+      if (getPrefs().isWithHeaders())
+      {
+         writeARow(this.headerCells);
+      }
+   }
+
+   private boolean isPartFull()
+   {
+      if (0 < getPrefs().getCsvSplitMaxRows() && getPrefs().getCsvSplitMaxRows() <= _rowsInPart)
+      {
+         return true;
+      }
+
+      return 0 < getPrefs().getCsvSplitMaxMegabytes() && (long) getPrefs().getCsvSplitMaxMegabytes() * 1024 * 1024 <= _partBytes.getCount();
+   }
+
+   private File getPartFile(int partNumber)
+   {
+      return getPartFile(_file, _compression, partNumber);
+   }
+
+   /**
+    * @return For part 2 of result.csv.gz the file result_002.csv.gz
+    */
+   static File getPartFile(File file, CsvCompression compression, int partNumber)
+   {
+      String name = compression.removeFileSuffix(file.getName());
+
+      String partSuffix = "_" + String.format("%03d", partNumber);
+
+      int extensionBegin = name.lastIndexOf('.');
+      if (0 < extensionBegin)
+      {
+         name = name.substring(0, extensionBegin) + partSuffix + name.substring(extensionBegin);
+      }
+      else
+      {
+         name = name + partSuffix;
+      }
+
+      return new File(file.getParentFile(), name + compression.getFileSuffix());
+   }
+
    /**
     * @see AbstractDataExportFileWriter#addHeaderCell(int, int, java.lang.String)
     */
@@ -125,7 +209,9 @@ public class DataExportCSVWriter extends AbstractDataExportFileWriter
    @Override
    protected void beforeWorking(File file) throws Exception
    {
-      bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), getCharset()));
+      _file = file;
+      _compression = CsvCompression.getByTableExportPreferences(getPrefs());
+      openPart(file);
    }
 
 
@@ -157,6 +243,13 @@ public class DataExportCSVWriter extends AbstractDataExportFileWriter
    {
       super.beforeRow(rowIdx);
       this.aRow.clear();
+
+      if (_nextPartPending)
+      {
+         // Starting the next part here instead of in afterRow() avoids an empty last part.
+         _nextPartPending = false;
+         startNextPart();
+      }
    }
 
    /**
@@ -166,7 +259,10 @@ public class DataExportCSVWriter extends AbstractDataExportFileWriter
    public void afterRow() throws Exception
    {
       writeARow(this.aRow);
+      ++_rowsInPart;
       super.afterRow();
+
+      _nextPartPending = isPartFull();
    }
 
    private void writeARow(List<String> data) throws IOException
@@ -195,5 +291,32 @@ public class DataExportCSVWriter extends AbstractDataExportFileWriter
       }
    }
 
+   private static class ByteCountingOutputStream extends FilterOutputStream
+   {
+      private long _count;
+
+      private ByteCountingOutputStream(OutputStream out)
+      {
+         super(out);
+      }
+
+      @Override
+      public void write(int b) throws IOException
+      {
+         out.write(b);
+         ++_count;
+      }
 
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException
+      {
+         out.write(b, off, len);
+         _count += len;
+      }
+
+      private long getCount()
+      {
+         return _count;
+      }
+   }
 }
@@ -79,16 +79,24 @@ public class DataExportExcelWriter
       {
          this._sheet = _workbook.createSheet(exportDataInfo.getExcelSheetTabName());
 
-         rowsCount += _writeExcelTab(exportDataInfo.getExportData(), prefs);
-
-         if(prefs.isExcelFirstRowFrozen())
+         try
          {
-            _sheet.createFreezePane(0, 1);
-         }
+            rowsCount += _writeExcelTab(exportDataInfo.getExportData(), prefs);
 
-         if(prefs.isExcelAutoFilter())
+            if(prefs.isExcelFirstRowFrozen())
+            {
+               _sheet.createFreezePane(0, 1);
+            }
+
+            if(prefs.isExcelAutoFilter())
+            {
+               _sheet.setAutoFilter(new CellRangeAddress(0, 0, 0, exportDataInfo.getExportData().getColumnCount() - 1));
+            }
+         }
+         finally
          {
-            _sheet.setAutoFilter(new CellRangeAddress(0, 0, 0, exportDataInfo.getExportData().getColumnCount() - 1));
+            // Releases the sheet's result set before the next sheet is written.
+            exportDataInfo.getExportData().close();
          }
       }
       _fileExportService.progress(s_stringMgr.getString("DataExportExcelWriter.finishedLoading", NumberFormat.getInstance().format(rowsCount)));
@@ -1,71 +1,130 @@
 package net.sourceforge.squirrel_sql.fw.gui.action.fileexport;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.CellComponentFactory;
 import net.sourceforge.squirrel_sql.fw.sql.ProgressAbortCallback;
 import net.sourceforge.squirrel_sql.fw.util.StringUtilities;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.PrintWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
 
+/**
+ * Writes rows as they come through a {@link JsonGenerator}, so memory use does not depend on the number of rows.
+ *
+ * The JSON format is <code>{"table": {"columns": [{"name": ...}, ...], "rows": [{"rowNumber": 1, "values": [{"value": ...}, ...]}, ...]}}</code>
+ * pretty printed by Jackson's default pretty printer.
+ *
+ * The JSON Lines format writes one compact JSON object per line: The columns object <code>{"columns": [...]}</code>
+ * if headers are exported, then one row object per row.
+ */
 public class DataExportJSONWriter extends AbstractDataExportFileWriter
 {
+   private static final String JSON_LINES_SEPARATOR = "\n";
 
-   private ObjectMapper _mapper;
-   private ObjectNode _root;
-   private ObjectNode _tableNode;
-   private ArrayNode _columns;
-   private ArrayNode _rows;
+   private final boolean _jsonLines;
+
+   private JsonGenerator _generator;
    int _currentRowNumber = 0;
-   private ObjectNode _currentRow;
-   private ArrayNode _currentValues;
 
    public DataExportJSONWriter(File file, TableExportPreferences prefs, ProgressAbortCallback progressController)
+   {
+      this(file, prefs, progressController, false);
+   }
+
+   public DataExportJSONWriter(File file, TableExportPreferences prefs, ProgressAbortCallback progressController, boolean jsonLines)
    {
       super(file, prefs, progressController);
+      _jsonLines = jsonLines;
    }
 
    @Override
-   protected void beforeWorking(File file)
+   protected void beforeWorking(File file) throws Exception
    {
-      _mapper = new ObjectMapper();
+      _generator = new ObjectMapper().getFactory().createGenerator(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), getCharset())));
 
-      _root = _mapper.createObjectNode();
+      if (_jsonLines)
+      {
+         _generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+      }
+      else
+      {
+         _generator.setPrettyPrinter(new DefaultPrettyPrinter());
 
-      _tableNode = _mapper.createObjectNode();
+         _generator.writeStartObject();
+         _generator.writeObjectFieldStart("table");
 
-      _root.set("table", _tableNode);
+         // The columns array is written even without headers.
+         _generator.writeArrayFieldStart("columns");
+      }
+   }
+
+   @Override
+   protected void beforeHeader() throws Exception
+   {
+      if (_jsonLines)
+      {
+         _generator.writeStartObject();
+         _generator.writeArrayFieldStart("columns");
+      }
+   }
 
-      _columns = _mapper.createArrayNode();
-      _tableNode.set("columns", _columns);
+   @Override
+   protected void addHeaderCell(int colIdx, String columnName) throws Exception
+   {
+      _generator.writeStartObject();
+      _generator.writeStringField("name", columnName);
+      _generator.writeEndObject();
+   }
 
+   @Override
+   protected void afterHeader() throws Exception
+   {
+      if (_jsonLines)
+      {
+         _generator.writeEndArray();
+         _generator.writeEndObject();
+         _generator.writeRaw(JSON_LINES_SEPARATOR);
+      }
    }
 
    @Override
    public void beforeRows()
    {
-      _rows = _mapper.createArrayNode();
-      _tableNode.set("rows", _rows);
+      if (false == _jsonLines)
+      {
+         try
+         {
+            _generator.writeEndArray();
+            _generator.writeArrayFieldStart("rows");
+         }
+         catch (IOException e)
+         {
+            throw Utilities.wrapRuntime(e);
+         }
+      }
    }
 
    @Override
-   public void beforeRow(int rowIdx)
+   public void beforeRow(int rowIdx) throws Exception
    {
-      _currentRow = _mapper.createObjectNode();
-      _rows.add(_currentRow);
-
-      _currentRow.put("rowNumber", ++_currentRowNumber);
-      _currentValues = _mapper.createArrayNode();
-      _currentRow.set("values", _currentValues);
+      _generator.writeStartObject();
+      _generator.writeNumberField("rowNumber", ++_currentRowNumber);
+      _generator.writeArrayFieldStart("values");
    }
 
    @Override
-   protected void addCell(ExportCellData cell)
+   protected void addCell(ExportCellData cell) throws Exception
    {
-      ObjectNode objectNode = _mapper.createObjectNode();
+      _generator.writeStartObject();
 
       String fieldName = "value";
 
@@ -73,68 +132,77 @@ public class DataExportJSONWriter extends AbstractDataExportFileWriter
       {
          if(cell.getObject() instanceof Integer)
          {
-            objectNode.put(fieldName, (Integer) cell.getObject());
+            _generator.writeNumberField(fieldName, (Integer) cell.getObject());
          }
          else if(cell.getObject() instanceof Double)
          {
-            objectNode.put(fieldName, (Double) cell.getObject());
+            _generator.writeNumberField(fieldName, (Double) cell.getObject());
          }
          else if(cell.getObject() instanceof Float)
          {
-            objectNode.put(fieldName, (Float) cell.getObject());
+            _generator.writeNumberField(fieldName, (Float) cell.getObject());
          }
          else if(cell.getObject() instanceof Short)
          {
-            objectNode.put(fieldName, (Short) cell.getObject());
+            _generator.writeFieldName(fieldName);
+            _generator.writeNumber((Short) cell.getObject());
          }
          else if(cell.getObject() instanceof Boolean)
          {
-            objectNode.put(fieldName, (Boolean) cell.getObject());
+            _generator.writeBooleanField(fieldName, (Boolean) cell.getObject());
          }
          else if(cell.getObject() instanceof Byte)
          {
-            objectNode.put(fieldName, (Byte) cell.getObject());
+            _generator.writeFieldName(fieldName);
+            _generator.writeNumber((short) (byte) (Byte) cell.getObject());
          }
          else if(cell.getObject() instanceof Long)
          {
-            objectNode.put(fieldName, (Long) cell.getObject());
+            _generator.writeNumberField(fieldName, (Long) cell.getObject());
          }
          else if(cell.getObject() instanceof BigDecimal)
          {
-            objectNode.put(fieldName, (BigDecimal) cell.getObject());
+            // Written through a node to keep the number normalization of the former tree based export.
+            _generator.writeFieldName(fieldName);
+            _generator.writeTree(JsonNodeFactory.instance.numberNode((BigDecimal) cell.getObject()));
          }
          else if (getPrefs().isUseGlobalPrefsFormating() && cell.getColumnDisplayDefinition() != null)
          {
-            objectNode.put(fieldName, CellComponentFactory.renderObject(cell.getObject(), cell.getColumnDisplayDefinition()));
+            _generator.writeStringField(fieldName, CellComponentFactory.renderObject(cell.getObject(), cell.getColumnDisplayDefinition()));
          }
          else
          {
-            objectNode.put(fieldName, cell.getObject().toString());
+            _generator.writeStringField(fieldName, cell.getObject().toString());
          }
       }
       else
       {
-         objectNode.put(fieldName, StringUtilities.NULL_AS_STRING);
+         _generator.writeStringField(fieldName, StringUtilities.NULL_AS_STRING);
       }
 
-      _currentValues.add(objectNode);
+      _generator.writeEndObject();
    }
 
-
    @Override
-   protected void addHeaderCell(int colIdx, String columnName)
+   public void afterRow() throws Exception
    {
-      _columns.add(_mapper.createObjectNode().put("name", columnName));
+      _generator.writeEndArray();
+      _generator.writeEndObject();
+      if (_jsonLines)
+      {
+         _generator.writeRaw(JSON_LINES_SEPARATOR);
+      }
    }
 
    @Override
    protected void afterWorking() throws Exception
    {
-      String jsonString = _mapper.writerWithDefaultPrettyPrinter().writeValueAsString(_root);
-
-      try(PrintWriter pw = new PrintWriter(getFile(), getCharset().name()))
+      if (false == _jsonLines)
       {
-         pw.print(jsonString.toCharArray());
+         _generator.writeEndArray();
+         _generator.writeEndObject();
+         _generator.writeEndObject();
       }
+      _generator.close();
    }
 }
@@ -20,24 +20,28 @@ package net.sourceforge.squirrel_sql.fw.gui.action.fileexport;
 
 import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.CellComponentFactory;
 import net.sourceforge.squirrel_sql.fw.sql.ProgressAbortCallback;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.PrintWriter;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 
 
 /**
  * Exports {@link IExportData} into a XML File.
  * <p>
- * Uses DOM for output
+ * Rows are written as they come through a StAX {@link XMLStreamWriter}, so memory use does not depend on the number of rows.
+ * The output is the same as the former DOM export serialized by an indenting {@link javax.xml.transform.Transformer}:
+ * Four spaces indentation, empty elements as <code>&lt;x/&gt;</code> and character references for carriage returns,
+ * control characters and characters the file's charset can't encode.
  * </p>
  * <b>Note:</b> This class is the result of a refactoring task. The code was taken from TableExportCsvCommand.
  *
@@ -45,14 +49,18 @@ import java.io.PrintWriter;
  */
 public class DataExportXMLWriter extends AbstractDataExportFileWriter
 {
+   private static final String INDENT = "    ";
+
+   private Writer _writer;
+   private XMLStreamWriter _xmlWriter;
+   private CharsetEncoder _encoder;
+   private boolean _rootStartTagWritten;
 
-   private DocumentBuilderFactory factory;
-   private DocumentBuilder builder;
-   private Document document;
-   private Element columns;
-   private Element root;
-   private Element rows;
-   private Element row;
+   /**
+    * Open elements, the last one is the innermost.
+    * The start tag of an element is written when its first child is written, an element without children is written as empty element.
+    */
+   private final ArrayList<OpenElement> _openElements = new ArrayList<>();
 
    /**
     * @param file
@@ -71,37 +79,21 @@ public class DataExportXMLWriter extends AbstractDataExportFileWriter
    @Override
    protected void afterWorking() throws Exception
    {
+      // rows
+      endElement();
+      // table
+      endElement();
 
-      // The XML document we created above is still in memory
-      // so we have to output it to a real file.
-      // In order to do it we first have to create
-      // an instance of DOMSource
-      DOMSource source = new DOMSource(document);
-
-      // PrintStream will be responsible for writing
-      // the text data to the file
-      PrintWriter pw = new PrintWriter(getFile(), getCharset().name());
-      StreamResult result = new StreamResult(pw);
-
-      // Once again we are using a factory of some sort,
-      // this time for getting a Transformer instance,
-      // which we use to output the XML
-      TransformerFactory transformerFactory = TransformerFactory.newInstance();
-      Transformer transformer = transformerFactory.newTransformer();
-      transformer.setOutputProperty(OutputKeys.ENCODING, getCharset().name());
-
-      // Indenting the XML
-      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-
-      // The actual output to a file goes here
-      transformer.transform(source, result);
+      _xmlWriter.writeCharacters(System.lineSeparator());
+      _xmlWriter.close();
+      _writer.close();
    }
 
    /**
     * @see AbstractDataExportFileWriter#addCell(int, int, IExportDataCell)
     */
    @Override
-   protected void addCell(ExportCellData cell)
+   protected void addCell(ExportCellData cell) throws Exception
    {
       String strCellValue = "";
       if (cell.getObject() != null)
@@ -116,10 +108,7 @@ public class DataExportXMLWriter extends AbstractDataExportFileWriter
          }
       }
 
-      Element value = document.createElement("value");
-      value.setAttribute("columnNumber", String.valueOf(cell.getColumnIndex()));
-      value.setTextContent(strCellValue);
-      row.appendChild(value);
+      textElement("value", "columnNumber", String.valueOf(cell.getColumnIndex()), strCellValue);
    }
 
    /**
@@ -128,14 +117,9 @@ public class DataExportXMLWriter extends AbstractDataExportFileWriter
    @Override
    protected void addHeaderCell(int colIdx, String columnName) throws Exception
    {
-      Element columnEl = document.createElement("column");
-      columnEl.setAttribute("number", String.valueOf(colIdx));
-      columns.appendChild(columnEl);
-
-      Element columnNameEl = document.createElement("name");
-      columnNameEl.setTextContent(columnName);
-      columnEl.appendChild(columnNameEl);
-
+      startElement("column", "number", String.valueOf(colIdx));
+      textElement("name", null, null, columnName);
+      endElement();
    }
 
    /**
@@ -144,21 +128,20 @@ public class DataExportXMLWriter extends AbstractDataExportFileWriter
    @Override
    protected void beforeWorking(File file) throws Exception
    {
-      // Using a factory to get DocumentBuilder for creating XML's
-      factory = DocumentBuilderFactory.newInstance();
-      builder = factory.newDocumentBuilder();
+      _encoder = getCharset().newEncoder();
+
+      // The XMLStreamWriter gets no OutputStreamWriter. Otherwise it would escape characters
+      // the charset can't encode by itself and differently from the former export.
+      _writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), getCharset()));
+      _writer.write("<?xml version=\"1.0\" encoding=\"" + getCharset().name() + "\" standalone=\"no\"?>" + System.lineSeparator());
 
-      // Here instead of parsing an existing document we want to
-      // create a new one.
-      document = builder.newDocument();
+      _xmlWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(_writer);
 
       // 'table' is the main tag in the XML.
-      root = document.createElement("table");
-      document.appendChild(root);
+      startElement("table", null, null);
 
       // 'columns' tag will contain informations about columns
-      columns = document.createElement("columns");
-      root.appendChild(columns);
+      startElement("columns", null, null);
    }
 
    /**
@@ -168,9 +151,14 @@ public class DataExportXMLWriter extends AbstractDataExportFileWriter
    public void beforeRow(int rowIdx) throws Exception
    {
       super.beforeRow(rowIdx);
-      row = document.createElement("row");
-      row.setAttribute("rowNumber", String.valueOf(rowIdx + 1));
-      rows.appendChild(row);
+      startElement("row", "rowNumber", String.valueOf(rowIdx + 1));
+   }
+
+   @Override
+   public void afterRow() throws Exception
+   {
+      super.afterRow();
+      endElement();
    }
 
    /**
@@ -180,10 +168,166 @@ public class DataExportXMLWriter extends AbstractDataExportFileWriter
    public void beforeRows()
    {
       super.beforeRows();
-      // 'rows' tag contains the data extracted from the table
-      rows = document.createElement("rows");
-      root.appendChild(rows);
+      try
+      {
+         // columns
+         endElement();
+
+         // 'rows' tag contains the data extracted from the table
+         startElement("rows", null, null);
+      }
+      catch (XMLStreamException e)
+      {
+         throw Utilities.wrapRuntime(e);
+      }
+   }
+
+   private void startElement(String name, String attributeName, String attributeValue) throws XMLStreamException
+   {
+      writeStartTagOfParent();
+      _openElements.add(new OpenElement(name, attributeName, attributeValue));
+   }
+
+   private void endElement() throws XMLStreamException
+   {
+      OpenElement element = _openElements.remove(_openElements.size() - 1);
+      indent();
+      if (element._startTagWritten)
+      {
+         _xmlWriter.writeEndElement();
+      }
+      else
+      {
+         _xmlWriter.writeEmptyElement(element._name);
+         writeAttribute(element._attributeName, element._attributeValue);
+      }
+   }
+
+   private void textElement(String name, String attributeName, String attributeValue, String text) throws XMLStreamException
+   {
+      writeStartTagOfParent();
+      indent();
+
+      if (null == text || text.isEmpty())
+      {
+         _xmlWriter.writeEmptyElement(name);
+         writeAttribute(attributeName, attributeValue);
+         return;
+      }
+
+      _xmlWriter.writeStartElement(name);
+      writeAttribute(attributeName, attributeValue);
+      writeText(text);
+      _xmlWriter.writeEndElement();
+   }
+
+   private void writeStartTagOfParent() throws XMLStreamException
+   {
+      if (_openElements.isEmpty())
+      {
+         return;
+      }
+
+      OpenElement parent = _openElements.remove(_openElements.size() - 1);
+      if (false == parent._startTagWritten)
+      {
+         indent();
+         _xmlWriter.writeStartElement(parent._name);
+         writeAttribute(parent._attributeName, parent._attributeValue);
+         parent._startTagWritten = true;
+         _rootStartTagWritten = true;
+      }
+      _openElements.add(parent);
+   }
+
+   private void indent() throws XMLStreamException
+   {
+      // The root element directly follows the XML declaration's line.
+      if (false == _rootStartTagWritten)
+      {
+         return;
+      }
+
+      StringBuilder sb = new StringBuilder(System.lineSeparator());
+      for (int i = 0; i < _openElements.size(); i++)
+      {
+         sb.append(INDENT);
+      }
+      _xmlWriter.writeCharacters(sb.toString());
+   }
+
+   private void writeAttribute(String attributeName, String attributeValue) throws XMLStreamException
+   {
+      if (null != attributeName)
+      {
+         _xmlWriter.writeAttribute(attributeName, attributeValue);
+      }
+   }
+
+   /**
+    * XMLStreamWriter escapes &lt;, &amp; and &gt;. Characters it would write unescaped unlike the former
+    * Transformer output are written as decimal character references.
+    */
+   private void writeText(String text) throws XMLStreamException
+   {
+      int runBegin = 0;
+      for (int i = 0; i < text.length(); )
+      {
+         int codePoint = text.codePointAt(i);
+         int charCount = Character.charCount(codePoint);
+
+         if (needsCharacterReference(text, i, codePoint, charCount))
+         {
+            if (runBegin < i)
+            {
+               _xmlWriter.writeCharacters(text.substring(runBegin, i));
+            }
+            _xmlWriter.writeEntityRef("#" + codePoint);
+            runBegin = i + charCount;
+         }
+
+         i += charCount;
+      }
+
+      if (runBegin < text.length())
+      {
+         _xmlWriter.writeCharacters(text.substring(runBegin));
+      }
+   }
+
+   private boolean needsCharacterReference(String text, int index, int codePoint, int charCount)
+   {
+      if ('\t' == codePoint || '\n' == codePoint)
+      {
+         return false;
+      }
+
+      if (codePoint < 0x20 || (0x7F <= codePoint && codePoint <= 0x9F))
+      {
+         return true;
+      }
+
+      // The Transformer wrote supplementary characters as references when writing UTF-8.
+      if (Character.isSupplementaryCodePoint(codePoint) && StandardCharsets.UTF_8.equals(getCharset()))
+      {
+         return true;
+      }
+
+      return false == _encoder.canEncode(text.subSequence(index, index + charCount));
    }
 
+   private static class OpenElement
+   {
+      private final String _name;
+      private final String _attributeName;
+      private final String _attributeValue;
+      private boolean _startTagWritten;
 
+      private OpenElement(String name, String attributeName, String attributeValue)
+      {
+         _name = name;
+         _attributeName = attributeName;
+         _attributeValue = attributeValue;
+      }
+   }
 }
@@ -129,10 +129,13 @@ public class ExportController
       _dlg.radFormatXML.addActionListener(e -> onFormat(true));
 
       _dlg.radFormatJSON.addActionListener(e -> onFormat(true));
+      _dlg.radFormatJSONLines.addActionListener(e -> onFormat(true));
 
 
       _dlg.chkSeparatorTab.addActionListener(e -> onFormat(false));
 
+      _dlg.cboCsvCompression.addActionListener(e -> onFormat(true));
+
 
       _dlg.chkExecCommand.addActionListener(e -> onChkExecCommand());
 
@@ -153,6 +156,7 @@ public class ExportController
          _dlg.cboCharsets.setEnabled(true);
          _dlg.lblLineSeparator.setEnabled(true);
          _dlg.cboLineSeparators.setEnabled(true);
+         setCsvCompressionAndSplitEnabled(true);
 
          _dlg.chkUseColoring.setEnabled(false);
          _dlg.btnUseColoringInfo.setEnabled(false);
@@ -189,6 +193,7 @@ public class ExportController
          _dlg.txtSeparatorChar.setEnabled(false);
          _dlg.lblLineSeparator.setEnabled(false);
          _dlg.cboLineSeparators.setEnabled(false);
+         setCsvCompressionAndSplitEnabled(false);
          _dlg.chkUseColoring.setEnabled(_dlg.radFormatXLSX.isSelected());
          _dlg.btnUseColoringInfo.setEnabled(_dlg.radFormatXLSX.isSelected());
 
@@ -203,7 +208,7 @@ public class ExportController
             replaceFileEnding();
          }
       }
-      else if (_dlg.radFormatXML.isSelected() || _dlg.radFormatJSON.isSelected())
+      else if (_dlg.radFormatXML.isSelected() || _dlg.radFormatJSON.isSelected() || _dlg.radFormatJSONLines.isSelected())
       {
          _dlg.lblSeparator.setEnabled(false);
          _dlg.lblCharset.setEnabled(true);
@@ -212,6 +217,7 @@ public class ExportController
          _dlg.txtSeparatorChar.setEnabled(false);
          _dlg.lblLineSeparator.setEnabled(false);
          _dlg.cboLineSeparators.setEnabled(false);
+         setCsvCompressionAndSplitEnabled(false);
 
          _dlg.chkUseColoring.setEnabled(false);
          _dlg.btnUseColoringInfo.setEnabled(false);
@@ -233,6 +239,17 @@ public class ExportController
       updateDestinationInfo();
    }
 
+   private void setCsvCompressionAndSplitEnabled(boolean b)
+   {
+      _dlg.lblCsvCompression.setEnabled(b);
+      _dlg.cboCsvCompression.setEnabled(b);
+      _dlg.lblCsvSplit.setEnabled(b);
+      _dlg.txtCsvSplitMaxMegabytes.setEnabled(b);
+      _dlg.lblCsvSplitMaxMegabytes.setEnabled(b);
+      _dlg.txtCsvSplitMaxRows.setEnabled(b);
+      _dlg.lblCsvSplitMaxRows.setEnabled(b);
+   }
+
    private void replaceFileEnding()
    {
       String newEnding;
@@ -257,22 +274,38 @@ public class ExportController
       {
          newEnding = FileEndings.JSON.get();
       }
+      else if (_dlg.radFormatJSONLines.isSelected())
+      {
+         newEnding = FileEndings.JSONL.get();
+      }
       else
       {
          throw new IllegalStateException("No valid output format");
       }
 
       String file = _cboFileHandler.getItem();
-      if(null == file || 0 == file.trim().length() || file.toUpperCase().endsWith("." + newEnding.toUpperCase()))
+      if(null == file || 0 == file.trim().length())
       {
          return;
       }
 
+      // A compression suffix like in result.csv.gz is removed first and appended again when CSV is compressed.
       file = file.trim();
+      file = CsvCompression.getByFileName(file).removeFileSuffix(file);
+
+      String compressionSuffix = "";
+      if (_dlg.radFormatCSV.isSelected())
+      {
+         compressionSuffix = ((CsvCompression) _dlg.cboCsvCompression.getSelectedItem()).getFileSuffix();
+      }
 
       String newFile;
 
-      if(-1 == file.lastIndexOf(".") || file.lastIndexOf(".") < file.lastIndexOf(File.separator))
+      if(file.toUpperCase().endsWith("." + newEnding.toUpperCase()))
+      {
+         newFile = file;
+      }
+      else if(-1 == file.lastIndexOf(".") || file.lastIndexOf(".") < file.lastIndexOf(File.separator))
       {
          newFile = file + "." + newEnding;
       }
@@ -292,8 +325,13 @@ public class ExportController
       {
          newFile = file;
       }
-      
-      _cboFileHandler.addOrReplaceCurrentItem(newFile);
+
+      newFile += compressionSuffix;
+
+      if (false == newFile.equals(_cboFileHandler.getItem()))
+      {
+         _cboFileHandler.addOrReplaceCurrentItem(newFile);
+      }
    }
 
    private void onCommandFile()
@@ -399,13 +437,22 @@ public class ExportController
          }
       }
 
-      if(    new File(singleExportFileName).exists()
-          && false == isExportingMultipleFiles() // For now in case of multiple export files these files will be replaced silently.
-        )
+      if(false == isExportingMultipleFiles()) // For now in case of multiple export files these files will be replaced silently.
       {
-         // i18n[TableExportCsvController.replaceFile=The export file already exisits. Would you like to replace it?]
-         String msg = s_stringMgr.getString("TableExportCsvController.replaceFile");
-         if(JOptionPane.OK_OPTION != JOptionPane.showConfirmDialog(_dlg, msg))
+         File existingPartFile = findExistingCsvPartFile(singleExportFileName);
+
+         String msg = null;
+         if(null != existingPartFile)
+         {
+            msg = s_stringMgr.getString("TableExportCsvController.replacePartFiles", existingPartFile.getAbsolutePath());
+         }
+         else if(new File(singleExportFileName).exists())
+         {
+            // i18n[TableExportCsvController.replaceFile=The export file already exisits. Would you like to replace it?]
+            msg = s_stringMgr.getString("TableExportCsvController.replaceFile");
+         }
+
+         if(null != msg && JOptionPane.OK_OPTION != JOptionPane.showConfirmDialog(_dlg, msg))
          {
             return;
          }
@@ -419,6 +466,23 @@ public class ExportController
       closeDlg();
    }
 
+   /**
+    * A split CSV export writes its second and further parts to files next to the export file, see {@link DataExportCSVWriter}.
+    * The parts of a former export are numbered consecutively, so checking the second part suffices.
+    *
+    * @return The file of the second part if the CSV export is split and this file exists, null otherwise.
+    */
+   private File findExistingCsvPartFile(String exportFileName)
+   {
+      if(false == _dlg.radFormatCSV.isSelected() || (0 >= _dlg.txtCsvSplitMaxRows.getInt() && 0 >= _dlg.txtCsvSplitMaxMegabytes.getInt()))
+      {
+         return null;
+      }
+
+      File partFile = DataExportCSVWriter.getPartFile(new File(exportFileName), (CsvCompression) _dlg.cboCsvCompression.getSelectedItem(), 2);
+      return partFile.exists() ? partFile : null;
+   }
+
    private boolean isExportingMultipleFiles()
    {
       return _exportSelectionPanelController.isExportMultipleSQLResults()
@@ -466,6 +530,7 @@ public class ExportController
 
       prefs.setFormatXML(_dlg.radFormatXML.isSelected());
       prefs.setFormatJSON(_dlg.radFormatJSON.isSelected());
+      prefs.setFormatJSONLines(_dlg.radFormatJSONLines.isSelected());
 
       prefs.setSeperatorTab(_dlg.chkSeparatorTab.isSelected());
 
@@ -473,6 +538,10 @@ public class ExportController
 
       prefs.setLineSeperator(((LineSeparator)_dlg.cboLineSeparators.getSelectedItem()).name());
 
+      prefs.setCsvCompression(((CsvCompression)_dlg.cboCsvCompression.getSelectedItem()).name());
+      prefs.setCsvSplitMaxMegabytes(_dlg.txtCsvSplitMaxMegabytes.getInt());
+      prefs.setCsvSplitMaxRows(_dlg.txtCsvSplitMaxRows.getInt());
+
       _exportSelectionPanelController.writeControlsToPrefs(prefs);
 
       prefs.setUseGlobalPrefsFormating(_dlg.radUseGlobalPrefsFormating.isSelected());
@@ -513,6 +582,10 @@ public class ExportController
          _dlg.txtSeparatorChar.setText(prefs.getSeperatorChar());
       }
 
+      _dlg.cboCsvCompression.setSelectedItem(CsvCompression.getByTableExportPreferences(prefs));
+      _dlg.txtCsvSplitMaxMegabytes.setInt(prefs.getCsvSplitMaxMegabytes());
+      _dlg.txtCsvSplitMaxRows.setInt(prefs.getCsvSplitMaxRows());
+
       if(prefs.isFormatCSV())
       {
          _dlg.radFormatCSV.setSelected(true);
@@ -533,6 +606,10 @@ public class ExportController
       {
          _dlg.radFormatJSON.setSelected(true);
       }
+      else if(prefs.isFormatJSONLines())
+      {
+         _dlg.radFormatJSONLines.setSelected(true);
+      }
       else
       {
          _dlg.radFormatCSV.setSelected(true);
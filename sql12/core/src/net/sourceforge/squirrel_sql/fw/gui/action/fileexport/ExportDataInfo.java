@@ -45,7 +45,7 @@ public class ExportDataInfo
       }
       else
       {
-         final String fileNameWithExtension = _exportNameFileNormalized + "." + FileEndings.getByTableExportPreferences(prefs);
+         final String fileNameWithExtension = _exportNameFileNormalized + "." + FileEndings.getByTableExportPreferences(prefs) + CsvCompression.getByTableExportPreferences(prefs).getFileSuffix();
          return new File(_multipleSqlResultExportDestinationInfo.getExportDir(), fileNameWithExtension);
       }
    }
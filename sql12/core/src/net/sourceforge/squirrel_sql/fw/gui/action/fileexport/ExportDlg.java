@@ -2,6 +2,7 @@ package net.sourceforge.squirrel_sql.fw.gui.action.fileexport;
 
 
 import net.sourceforge.squirrel_sql.client.Main;
+import net.sourceforge.squirrel_sql.fw.gui.IntegerField;
 import net.sourceforge.squirrel_sql.fw.gui.buttontabcomponent.SmallToolTipInfoButton;
 import net.sourceforge.squirrel_sql.fw.resources.LibraryResources;
 import net.sourceforge.squirrel_sql.fw.util.StringManager;
@@ -47,6 +48,7 @@ public class ExportDlg extends JDialog
 
    JRadioButton radFormatXML;
    JRadioButton radFormatJSON;
+   JRadioButton radFormatJSONLines;
    JLabel lblSeparator;
    JLabel lblLineSeparator;
    JLabel lblCharset;
@@ -63,6 +65,13 @@ public class ExportDlg extends JDialog
    JButton btnCancel;
    JComboBox cboCharsets;
 	JComboBox cboLineSeparators;
+   JLabel lblCsvCompression;
+   JComboBox<CsvCompression> cboCsvCompression;
+   JLabel lblCsvSplit;
+   IntegerField txtCsvSplitMaxMegabytes;
+   JLabel lblCsvSplitMaxMegabytes;
+   IntegerField txtCsvSplitMaxRows;
+   JLabel lblCsvSplitMaxRows;
 
 
    public ExportDlg(Window owner, JPanel exportSelectionPanel, ExportDialogType exportDialogType)
@@ -160,7 +169,11 @@ public class ExportDlg extends JDialog
       radFormatJSON = new JRadioButton(s_stringMgr.getString("TableExportCsvDlg.formatJSON"));
       ret.add(radFormatJSON, gbc);
 
-      gbc = new GridBagConstraints(1, 4, 1, 1, 1, 1, GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 0);
+      gbc = new GridBagConstraints(0, 4, 1, 1, 0, 0, GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 0);
+      radFormatJSONLines = new JRadioButton(s_stringMgr.getString("TableExportCsvDlg.formatJSONLines"));
+      ret.add(radFormatJSONLines, gbc);
+
+      gbc = new GridBagConstraints(1, 5, 1, 1, 1, 1, GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 0);
       ret.add(new JPanel(), gbc);
 
 
@@ -171,6 +184,7 @@ public class ExportDlg extends JDialog
       bg.add(radFormatXLS);
       bg.add(radFormatXML);
       bg.add(radFormatJSON);
+      bg.add(radFormatJSONLines);
 
       ret.setBorder(BorderFactory.createTitledBorder(s_stringMgr.getString("TableExportCsvDlg.export.format.title")));
 
@@ -401,6 +415,53 @@ public class ExportDlg extends JDialog
       gbc = new GridBagConstraints(1, 2, 2, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, fieldInsets, padx, pady);
       ret.add(cboCharsets, gbc);
 
+      // Row 4
+
+      gbc = new GridBagConstraints(0, 3, 1, 1, 0, 0, GridBagConstraints.EAST, GridBagConstraints.NONE, labelInsets, padx, pady);
+      lblCsvCompression = new JLabel(s_stringMgr.getString("ExportDlg.csvCompression"));
+      ret.add(lblCsvCompression, gbc);
+
+      cboCsvCompression = new JComboBox<>(CsvCompression.values());
+      gbc = new GridBagConstraints(1, 3, 2, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, fieldInsets, padx, pady);
+      ret.add(cboCsvCompression, gbc);
+
+      // Row 5
+
+      gbc = new GridBagConstraints(0, 4, 1, 1, 0, 0, GridBagConstraints.EAST, GridBagConstraints.NONE, labelInsets, padx, pady);
+      lblCsvSplit = new JLabel(s_stringMgr.getString("ExportDlg.csvSplit"));
+      lblCsvSplit.setToolTipText(s_stringMgr.getString("ExportDlg.csvSplit.tooltip"));
+      ret.add(lblCsvSplit, gbc);
+
+      gbc = new GridBagConstraints(1, 4, 2, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, fieldInsets, padx, pady);
+      ret.add(getCsvSplitPanel(), gbc);
+
+      return ret;
+   }
+
+   private JPanel getCsvSplitPanel()
+   {
+      JPanel ret = new JPanel(new GridBagLayout());
+
+      GridBagConstraints gbc;
+
+      txtCsvSplitMaxMegabytes = new IntegerField(5, 0);
+      txtCsvSplitMaxMegabytes.setToolTipText(s_stringMgr.getString("ExportDlg.csvSplit.tooltip"));
+      gbc = new GridBagConstraints(0, 0, 1, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 0);
+      ret.add(txtCsvSplitMaxMegabytes, gbc);
+
+      lblCsvSplitMaxMegabytes = new JLabel(s_stringMgr.getString("ExportDlg.csvSplitMaxMegabytes"));
+      gbc = new GridBagConstraints(1, 0, 1, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 3, 0, 10), 0, 0);
+      ret.add(lblCsvSplitMaxMegabytes, gbc);
+
+      txtCsvSplitMaxRows = new IntegerField(8, 0);
+      txtCsvSplitMaxRows.setToolTipText(s_stringMgr.getString("ExportDlg.csvSplit.tooltip"));
+      gbc = new GridBagConstraints(2, 0, 1, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 0);
+      ret.add(txtCsvSplitMaxRows, gbc);
+
+      lblCsvSplitMaxRows = new JLabel(s_stringMgr.getString("ExportDlg.csvSplitMaxRows"));
+      gbc = new GridBagConstraints(3, 0, 1, 1, 0, 0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 3, 0, 0), 0, 0);
+      ret.add(lblCsvSplitMaxRows, gbc);
+
       return ret;
    }
 
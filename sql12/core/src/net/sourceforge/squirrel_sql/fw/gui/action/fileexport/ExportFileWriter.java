@@ -69,6 +69,10 @@ public class ExportFileWriter
                {
                   ret += new DataExportJSONWriter(file, prefs, progressController).write(exportDataInfo.getExportData());
                }
+               else if (prefs.isFormatJSONLines())
+               {
+                  ret += new DataExportJSONWriter(file, prefs, progressController, true).write(exportDataInfo.getExportData());
+               }
                else
                {
                   throw new IllegalStateException("None of the format flags is true");
@@ -39,6 +39,7 @@ import java.text.NumberFormat;
  * There are several target formats supported:
  * <li>CSV</li>
  * <li>XML</li>
+ * <li>JSON and JSON Lines</li>
  * <li>XLS</li>
  * But be aware, exporting Excel format may use huge heap space, because the data structure must be build in memory.
  * <p>
@@ -51,6 +52,7 @@ import java.text.NumberFormat;
  * @author Stefan Willinger
  * @see DataExportCSVWriter
  * @see DataExportXMLWriter
+ * @see DataExportJSONWriter
  * @see DataExportExcelWriter
  */
 public class Exporter
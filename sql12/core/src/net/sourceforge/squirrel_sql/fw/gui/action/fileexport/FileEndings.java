@@ -9,7 +9,8 @@ public enum FileEndings
    XLSX("xlsx"),
    XLS("xls"),
    XML("xml"),
-   JSON("json");
+   JSON("json"),
+   JSONL("jsonl");
 
    private String _ending;
 
@@ -51,6 +52,10 @@ public enum FileEndings
       {
          return JSON.get();
       }
+      else if(prefs.isFormatJSONLines())
+      {
+         return JSONL.get();
+      }
       else if(prefs.isFormatXML())
       {
          return XML.get();
@@ -9,6 +9,8 @@ import net.sourceforge.squirrel_sql.fw.sql.ProgressAbortCallback;
 import net.sourceforge.squirrel_sql.fw.util.StringManager;
 import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class FileExportProgressManager
 {
    private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(FileExportProgressManager.class);
@@ -18,6 +20,8 @@ public class FileExportProgressManager
    private final ExportFileProvider _exportFileProvider;
    private ProgressAbortDialog progressDialog;
 
+   private final AtomicInteger _finishedSubTaskCount = new AtomicInteger();
+
    public FileExportProgressManager(ISession session, String sqlsJoined, ExportFileProvider exportFileProvider)
    {
       _session = session;
@@ -67,6 +71,26 @@ public class FileExportProgressManager
 
    }
 
+   /**
+    * For exports of several files running in parallel, each file is a sub task.
+    * The returned callback shows the sub task's messages in the common progress dialog but cannot finish or hide it.
+    * Must be called after the dialog was created by {@link #getOrCreateProgressCallback(DisplayReachedCallBack)}.
+    */
+   public ProgressAbortCallback createSubTaskProgressCallback(String subTaskName)
+   {
+      return new FileExportSubTaskProgressCallback(getOrCreateProgressCallback(), subTaskName);
+   }
+
+   /**
+    * Shows the overall progress of exports running in parallel.
+    * Thread safe, may be called by the threads running the sub tasks.
+    */
+   public void subTaskFinished(String subTaskName, int subTaskCount)
+   {
+      int finishedSubTaskCount = _finishedSubTaskCount.incrementAndGet();
+      getOrCreateProgressCallback().currentlyLoading(s_stringMgr.getString("FileExportProgressManager.sub.task.finished", subTaskName, finishedSubTaskCount, subTaskCount));
+   }
+
    /**
     * Hide the progress monitor.
     * The progress monitor will not be destroyed.
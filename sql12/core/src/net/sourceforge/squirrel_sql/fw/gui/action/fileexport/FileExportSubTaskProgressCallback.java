@@ -0,0 +1,78 @@
+package net.sourceforge.squirrel_sql.fw.gui.action.fileexport;
+
+import net.sourceforge.squirrel_sql.fw.sql.ProgressAbortCallback;
+
+/**
+ * The progress of one of several file exports running in parallel.
+ * Messages go to the common progress dialog prefixed by the sub task's name.
+ * The sub task cannot finish, hide or dispose the common dialog, see {@link FileExportProgressManager#hideProgressMonitor()}.
+ */
+class FileExportSubTaskProgressCallback implements ProgressAbortCallback
+{
+   private final ProgressAbortCallback _overallProgress;
+   private final String _subTaskName;
+
+   FileExportSubTaskProgressCallback(ProgressAbortCallback overallProgress, String subTaskName)
+   {
+      _overallProgress = overallProgress;
+      _subTaskName = subTaskName;
+   }
+
+   @Override
+   public void currentlyLoading(String simpleName)
+   {
+      _overallProgress.setTaskStatus(_subTaskName + ": " + simpleName);
+   }
+
+   @Override
+   public void setTaskStatus(String status)
+   {
+      if (null != status)
+      {
+         _overallProgress.setTaskStatus(_subTaskName + ": " + status);
+      }
+   }
+
+   @Override
+   public boolean isUserCanceled()
+   {
+      return _overallProgress.isUserCanceled();
+   }
+
+   @Override
+   public boolean isVisible()
+   {
+      return _overallProgress.isVisible();
+   }
+
+   @Override
+   public void setFinished()
+   {
+   }
+
+   @Override
+   public void setLoadingPrefix(String loadingPrefix)
+   {
+   }
+
+   @Override
+   public void setVisible(boolean b)
+   {
+   }
+
+   @Override
+   public void setTotalItems(int totalItems)
+   {
+   }
+
+   @Override
+   public boolean finishedLoading()
+   {
+      return false;
+   }
+
+   @Override
+   public void dispose()
+   {
+   }
+}
@@ -38,6 +38,18 @@ public class TableExportPreferences
    // PREF_KEY_FORMAT_JSON
    private boolean _formatJSON = false;
 
+   // PREF_KEY_FORMAT_JSON_LINES
+   private boolean _formatJSONLines = false;
+
+   // PREF_KEY_CSV_COMPRESSION
+   private String _csvCompression = CsvCompression.NONE.name();
+
+   // PREF_KEY_CSV_SPLIT_MAX_MEGABYTES, 0 means no split by size
+   private int _csvSplitMaxMegabytes = 0;
+
+   // PREF_KEY_CSV_SPLIT_MAX_ROWS, 0 means no split by rows
+   private int _csvSplitMaxRows = 0;
+
    // PREF_KEY_EXPORT_COMPLETE
    private boolean _exportComplete = true;
 
@@ -163,6 +175,46 @@ public class TableExportPreferences
       _formatJSON = formatJSON;
    }
 
+   public boolean isFormatJSONLines()
+   {
+      return _formatJSONLines;
+   }
+
+   public void setFormatJSONLines(boolean formatJSONLines)
+   {
+      _formatJSONLines = formatJSONLines;
+   }
+
+   public String getCsvCompression()
+   {
+      return _csvCompression;
+   }
+
+   public void setCsvCompression(String csvCompression)
+   {
+      _csvCompression = csvCompression;
+   }
+
+   public int getCsvSplitMaxMegabytes()
+   {
+      return _csvSplitMaxMegabytes;
+   }
+
+   public void setCsvSplitMaxMegabytes(int csvSplitMaxMegabytes)
+   {
+      _csvSplitMaxMegabytes = csvSplitMaxMegabytes;
+   }
+
+   public int getCsvSplitMaxRows()
+   {
+      return _csvSplitMaxRows;
+   }
+
+   public void setCsvSplitMaxRows(int csvSplitMaxRows)
+   {
+      _csvSplitMaxRows = csvSplitMaxRows;
+   }
+
    public boolean isExportCompleteTableOrSingleFile()
    {
       return _exportComplete;
@@ -27,6 +27,11 @@ public class TableExportPreferencesDAO
 
    private static final String PREF_KEY_FORMAT_XML = "SquirrelSQL.csvexport.formatXML";
    private static final String PREF_KEY_FORMAT_JSON = "SquirrelSQL.csvexport.formatJSON";
+   private static final String PREF_KEY_FORMAT_JSON_LINES = "SquirrelSQL.csvexport.formatJSONLines";
+
+   private static final String PREF_KEY_CSV_COMPRESSION = "SquirrelSQL.csvexport.csvCompression";
+   private static final String PREF_KEY_CSV_SPLIT_MAX_MEGABYTES = "SquirrelSQL.csvexport.csvSplitMaxMegabytes";
+   private static final String PREF_KEY_CSV_SPLIT_MAX_ROWS = "SquirrelSQL.csvexport.csvSplitMaxRows";
 
    private static final String PREF_KEY_LIMIT_ROWS = "SquirrelSQL.sqlexport.limitRows";
    private static final String PREF_KEY_LIMIT_ROWS_CHECKED = "SquirrelSQL.sqlexport.limitRowsChecked";
@@ -59,6 +64,11 @@ public class TableExportPreferencesDAO
 
       ret.setFormatXML(Props.getBoolean(PREF_KEY_FORMAT_XML, ret.isFormatXML()));
       ret.setFormatJSON(Props.getBoolean(PREF_KEY_FORMAT_JSON, ret.isFormatJSON()));
+      ret.setFormatJSONLines(Props.getBoolean(PREF_KEY_FORMAT_JSON_LINES, ret.isFormatJSONLines()));
+
+      ret.setCsvCompression(Props.getString(PREF_KEY_CSV_COMPRESSION, ret.getCsvCompression()));
+      ret.setCsvSplitMaxMegabytes(Props.getInt(PREF_KEY_CSV_SPLIT_MAX_MEGABYTES, ret.getCsvSplitMaxMegabytes()));
+      ret.setCsvSplitMaxRows(Props.getInt(PREF_KEY_CSV_SPLIT_MAX_ROWS, ret.getCsvSplitMaxRows()));
 
       ret.setRowsLimit(Props.getString(PREF_KEY_LIMIT_ROWS, ret.getRowsLimit()));
       ret.setLimitRowsChecked(Props.getBoolean(PREF_KEY_LIMIT_ROWS_CHECKED, ret.isLimitRowsChecked()));
@@ -91,6 +101,11 @@ public class TableExportPreferencesDAO
 
       Props.putBoolean(PREF_KEY_FORMAT_XML, prefs.isFormatXML());
       Props.putBoolean(PREF_KEY_FORMAT_JSON, prefs.isFormatJSON());
+      Props.putBoolean(PREF_KEY_FORMAT_JSON_LINES, prefs.isFormatJSONLines());
+
+      Props.putString(PREF_KEY_CSV_COMPRESSION, prefs.getCsvCompression());
+      Props.putInt(PREF_KEY_CSV_SPLIT_MAX_MEGABYTES, prefs.getCsvSplitMaxMegabytes());
+      Props.putInt(PREF_KEY_CSV_SPLIT_MAX_ROWS, prefs.getCsvSplitMaxRows());
 
       Props.putString(PREF_KEY_LIMIT_ROWS, prefs.getRowsLimit());
       Props.putBoolean(PREF_KEY_LIMIT_ROWS_CHECKED   , prefs.isLimitRowsChecked());
@@ -102,13 +117,26 @@ public class TableExportPreferencesDAO
 
       prefs.setFile(fileName);
 
-      if(FileEndings.CSV.fileEndsWith(fileName))
+      // The compression is given by the file name, e.g. result.csv.gz
+      CsvCompression csvCompression = CsvCompression.getByFileName(fileName);
+      prefs.setCsvCompression(csvCompression.name());
+      if(CsvCompression.NONE != csvCompression && FileEndings.CSV.fileEndsWith(csvCompression.removeFileSuffix(fileName)))
       {
          prefs.setFormatCSV(true);
          prefs.setFormatXLSOld(false);
          prefs.setFormatXLS(false);
          prefs.setFormatXML(false);
          prefs.setFormatJSON(false);
+         prefs.setFormatJSONLines(false);
+      }
+      else if(FileEndings.CSV.fileEndsWith(fileName))
+      {
+         prefs.setFormatCSV(true);
+         prefs.setFormatXLSOld(false);
+         prefs.setFormatXLS(false);
+         prefs.setFormatXML(false);
+         prefs.setFormatJSON(false);
+         prefs.setFormatJSONLines(false);
       }
       else if(FileEndings.XLS.fileEndsWith(fileName))
       {
@@ -117,6 +145,7 @@ public class TableExportPreferencesDAO
          prefs.setFormatXLS(false);
          prefs.setFormatXML(false);
          prefs.setFormatJSON(false);
+         prefs.setFormatJSONLines(false);
       }
       else if(FileEndings.XLSX.fileEndsWith(fileName))
       {
@@ -125,6 +154,7 @@ public class TableExportPreferencesDAO
          prefs.setFormatXLS(true);
          prefs.setFormatXML(false);
          prefs.setFormatJSON(false);
+         prefs.setFormatJSONLines(false);
       }
       else if(FileEndings.XML.fileEndsWith(fileName))
       {
@@ -133,6 +163,7 @@ public class TableExportPreferencesDAO
          prefs.setFormatXLS(false);
          prefs.setFormatXML(true);
          prefs.setFormatJSON(false);
+         prefs.setFormatJSONLines(false);
       }
       else if(FileEndings.JSON.fileEndsWith(fileName))
       {
@@ -141,6 +172,16 @@ public class TableExportPreferencesDAO
          prefs.setFormatXLS(false);
          prefs.setFormatXML(false);
          prefs.setFormatJSON(true);
+         prefs.setFormatJSONLines(false);
+      }
+      else if(FileEndings.JSONL.fileEndsWith(fileName))
+      {
+         prefs.setFormatCSV(false);
+         prefs.setFormatXLSOld(false);
+         prefs.setFormatXLS(false);
+         prefs.setFormatXML(false);
+         prefs.setFormatJSON(false);
+         prefs.setFormatJSONLines(true);
       }
       // else use the prefs predefined format
 
@@ -0,0 +1,151 @@
+package net.sourceforge.squirrel_sql.fw.gui.table;
+
+import net.sourceforge.squirrel_sql.client.Main;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.KeyboardFocusManager;
+import java.awt.Window;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+/**
+ * Sorts the row indexes of a {@link SortableTableModel} on a thread of the application's thread pool.
+ * The sort keys are prepared and the indexes are sorted in parallel, see {@link TableModelComparator}.
+ *
+ * If sorting takes a moment a progress dialog is shown that allows to cancel sorting.
+ * The callbacks are called on the event dispatch thread.
+ */
+class BackgroundTableSorter
+{
+   private static final ILogger s_log = LoggerController.createLogger(BackgroundTableSorter.class);
+
+   private static final int SHOW_PROGRESS_DELAY_MILLIS = 500;
+   private static final int PROGRESS_UPDATE_MILLIS = 200;
+
+   private final TableModelComparator _comparator;
+   private final Integer[] _indexes;
+
+   private TableSortingProgressDialog _progressDialog;
+   private Timer _progressTimer;
+   private volatile boolean _sorting;
+   private boolean _closed;
+
+   /**
+    * @param indexes The array to sort. It must not be accessed by others until sorting is done.
+    */
+   BackgroundTableSorter(TableModelComparator comparator, Integer[] indexes)
+   {
+      _comparator = comparator;
+      _indexes = indexes;
+   }
+
+   /**
+    * @param sorted Receives the sorted indexes.
+    * @param canceled Called when sorting was canceled or failed.
+    */
+   void start(Consumer<Integer[]> sorted, Runnable canceled)
+   {
+      long startTime = System.currentTimeMillis();
+      _progressTimer = new Timer(PROGRESS_UPDATE_MILLIS, e -> onUpdateProgress(startTime));
+      _progressTimer.start();
+
+      Main.getApplication().getThreadPool().addTask(() -> runSort(sorted, canceled), "Sorting table");
+   }
+
+   private void runSort(Consumer<Integer[]> sorted, Runnable canceled)
+   {
+      try
+      {
+         _comparator.prepareSortKeys();
+         _sorting = true;
+
+         // Stable like Arrays.sort(), so rows with equal keys keep their former order.
+         Arrays.parallelSort(_indexes, _comparator);
+
+         SwingUtilities.invokeLater(() -> {
+            close();
+            sorted.accept(_indexes);
+         });
+      }
+      catch (CancellationException e)
+      {
+         SwingUtilities.invokeLater(() -> {
+            close();
+            canceled.run();
+         });
+      }
+      catch (Throwable t)
+      {
+         s_log.error("Failed to sort table", t);
+         SwingUtilities.invokeLater(() -> {
+            close();
+            canceled.run();
+         });
+      }
+   }
+
+   private void onUpdateProgress(long startTime)
+   {
+      if (_closed)
+      {
+         return;
+      }
+
+      if (null == _progressDialog)
+      {
+         if (SHOW_PROGRESS_DELAY_MILLIS > System.currentTimeMillis() - startTime)
+         {
+            return;
+         }
+
+         Window owner = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+         if (null == owner)
+         {
+            owner = Main.getApplication().getMainFrame();
+         }
+
+         _progressDialog = new TableSortingProgressDialog(owner, _indexes.length);
+         _progressDialog.btnCancel.addActionListener(e -> cancel());
+         _progressDialog.setVisible(true);
+      }
+
+      if (_sorting)
+      {
+         _progressDialog.setSorting();
+      }
+      else
+      {
+         long total = Math.max(1, _comparator.getSortKeyCount());
+         _progressDialog.progressBar.setValue((int) (TableSortingProgressDialog.PROGRESS_MAX * _comparator.getPreparedSortKeyCount() / total));
+      }
+   }
+
+   /**
+    * Sorting stops soon after, then the canceled callback is called.
+    */
+   void cancel()
+   {
+      _comparator.cancel();
+
+      if (null != _progressDialog)
+      {
+         _progressDialog.btnCancel.setEnabled(false);
+      }
+   }
+
+   private void close()
+   {
+      _closed = true;
+      _progressTimer.stop();
+
+      if (null != _progressDialog)
+      {
+         _progressDialog.setVisible(false);
+         _progressDialog.dispose();
+      }
+   }
+}
@@ -30,6 +30,7 @@ import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableModel;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public class SortableTableModel extends AbstractTableModel
 {
@@ -41,6 +42,16 @@ public class SortableTableModel extends AbstractTableModel
 
 	private TableSortingAdmin _tableSortingAdmin = new TableSortingAdmin();
 
+	/**
+	 * Smaller tables are sorted on the calling thread.
+	 */
+	private static final int BACKGROUND_SORTING_MIN_ROWS = 50000;
+
+	private BackgroundTableSorter _backgroundSorter;
+
+	/** Copy of the sorting the current row order reflects. */
+	private final List<TableSortingItem> _appliedSortingItems = new ArrayList<>();
+
    public TableModel getActualModel()
 	{
 		return _actualModel;
@@ -209,21 +220,97 @@ public class SortableTableModel extends AbstractTableModel
 
 	public void sortTableBySortingAdmin()
 	{
-		if (_tableSortingAdmin.hasSortedColumns())
-      {
-         TableModelComparator comparator = new TableModelComparator(_actualModel, _tableSortingAdmin);
-         Arrays.sort(_indexes, comparator);
-      }
-      else
-      {
-         for (int i = 0; i < _indexes.length; i++)
-         {
-            _indexes[i] = i;
-         }
-      }
+		sortTableBySortingAdmin(null);
+	}
+
+	/**
+	 * Tables with at least {@link #BACKGROUND_SORTING_MIN_ROWS} rows are sorted in the background.
+	 * The table shows the former order until sorting is done. Then the sorting listeners
+	 * and <code>sortingDone</code> are called.
+	 *
+	 * If background sorting is canceled the table keeps its order and the sorting admin is reset
+	 * to the last sorting that was applied.
+	 *
+	 * @param sortingDone Called on the event dispatch thread when the new order was applied. May be null.
+	 */
+	public void sortTableBySortingAdmin(Runnable sortingDone)
+	{
+		if (null != _backgroundSorter)
+		{
+			_backgroundSorter.cancel();
+			_backgroundSorter = null;
+		}
+
+		if (false == _tableSortingAdmin.hasSortedColumns())
+		{
+			for (int i = 0; i < _indexes.length; i++)
+			{
+				_indexes[i] = i;
+			}
+			sortingApplied(sortingDone);
+			return;
+		}
+
+		TableModelComparator comparator = new TableModelComparator(_actualModel, _tableSortingAdmin);
+
+		if (BACKGROUND_SORTING_MIN_ROWS > _indexes.length)
+		{
+			comparator.prepareSortKeys();
+			Arrays.sort(_indexes, comparator);
+			sortingApplied(sortingDone);
+			return;
+		}
+
+		Integer[] indexesBeforeSorting = _indexes;
+		BackgroundTableSorter backgroundSorter = new BackgroundTableSorter(comparator, _indexes.clone());
+		_backgroundSorter = backgroundSorter;
+
+		backgroundSorter.start(
+				sortedIndexes -> {
+					if (_backgroundSorter != backgroundSorter)
+					{
+						return; // Superseded by a later sorting.
+					}
+					_backgroundSorter = null;
+
+					if (_indexes != indexesBeforeSorting)
+					{
+						return; // The table changed while sorting.
+					}
+					_indexes = sortedIndexes;
+					sortingApplied(sortingDone);
+				},
+				() -> {
+					if (_backgroundSorter != backgroundSorter)
+					{
+						return;
+					}
+					_backgroundSorter = null;
+
+					_tableSortingAdmin.clear();
+					for (TableSortingItem appliedItem : _appliedSortingItems)
+					{
+						_tableSortingAdmin.updateSortedColumn(appliedItem.getSortedModelColumn(), appliedItem.getColumnOrder(), false);
+					}
+					fireSortingListeners();
+				});
+	}
+
+	private void sortingApplied(Runnable sortingDone)
+	{
+		_appliedSortingItems.clear();
+		for (TableSortingItem item : _tableSortingAdmin.getTableSortingItems())
+		{
+			_appliedSortingItems.add(new TableSortingItem(item.getSortedModelColumn(), item.getColumnOrder(), item.getSortedColumnIcon()));
+		}
 
 		fireTableDataChanged();
 		fireSortingListeners();
+
+		if (null != sortingDone)
+		{
+			sortingDone.run();
+		}
 	}
 
 
@@ -251,6 +338,26 @@ public class SortableTableModel extends AbstractTableModel
       }
    }
 
+	/**
+	 * Keeps the order of the existing rows. New rows are shown at the end until they are sorted in.
+	 */
+	private void rowsAppended(int firstRow, int lastRow)
+	{
+		Integer[] indexes = Arrays.copyOf(_indexes, lastRow + 1);
+		for (int i = firstRow; i <= lastRow; ++i)
+		{
+			indexes[i] = Integer.valueOf(i);
+		}
+		_indexes = indexes;
+
+		fireTableRowsInserted(firstRow, lastRow);
+
+		if (_tableSortingAdmin.hasSortedColumns())
+		{
+			sortTableBySortingAdmin();
+		}
+	}
+
 	private void tableChangedIntern()
 	{
 		_indexes = new Integer[getRowCount()];
@@ -321,7 +428,14 @@ public class SortableTableModel extends AbstractTableModel
 	{
 		public void tableChanged(TableModelEvent evt)
 		{
-			SortableTableModel.this.tableChangedIntern();
+			if (TableModelEvent.INSERT == evt.getType() && evt.getFirstRow() == _indexes.length && evt.getLastRow() >= evt.getFirstRow())
+			{
+				rowsAppended(evt.getFirstRow(), evt.getLastRow());
+			}
+			else
+			{
+				SortableTableModel.this.tableChangedIntern();
+			}
 		}
 	}
 }
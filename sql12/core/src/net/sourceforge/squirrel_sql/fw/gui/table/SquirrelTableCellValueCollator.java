@@ -1,5 +1,6 @@
 package net.sourceforge.squirrel_sql.fw.gui.table;
 
+import java.text.CollationKey;
 import java.text.Collator;
 
 public class SquirrelTableCellValueCollator
@@ -12,6 +13,15 @@ public class SquirrelTableCellValueCollator
       _collator.setStrength(Collator.TERTIARY);
    }
 
+   /**
+    * Comparing the keys of two Strings gives the same result as comparing the Strings
+    * in {@link #compareTableCellValues(Object, Object, int, boolean, boolean)} when all data is String.
+    */
+   public CollationKey getCollationKey(String data)
+   {
+      return _collator.getCollationKey(data);
+   }
+
    /**
     *
     * @param iAscending Pass 1 for ascending and -1 for descending
@@ -1,47 +1,75 @@
 package net.sourceforge.squirrel_sql.fw.gui.table;
 
 import net.sourceforge.squirrel_sql.client.Main;
+import net.sourceforge.squirrel_sql.fw.gui.ColumnOrder;
 
 import javax.swing.table.TableModel;
+import java.text.CollationKey;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Compares rows of the actual model by the columns of the {@link TableSortingAdmin}.
+ *
+ * The values of the sorted columns are copied from the model when the comparator is created,
+ * which must happen on the event dispatch thread.
+ * {@link #prepareSortKeys()} turns them into typed sort keys once, e.g. a long[] for integer columns
+ * or CollationKeys for String columns. Thus comparing two rows needs neither getValueAt() nor Collator calls.
+ * Preparing the keys and sorting may run on a background thread and in parallel.
+ */
 class TableModelComparator implements Comparator<Integer>
 {
-   private final TableModel _actualModel;
-   private final TableSortingAdmin _tableSortingAdmin;
-   private final SquirrelTableCellValueCollator _collator = new SquirrelTableCellValueCollator();
+   private final boolean _nullIsHighest;
+   private final SortColumn[] _sortColumns;
+   private final int _rowCount;
 
-   private boolean _nullIsHighest;
+   private final LongAdder _preparedCount = new LongAdder();
+   private volatile boolean _canceled;
 
    public TableModelComparator(TableModel actualModel, TableSortingAdmin tableSortingAdmin)
    {
-      _actualModel = actualModel;
-      _tableSortingAdmin = tableSortingAdmin;
       _nullIsHighest = isSortNullsAsHighestValue();
+      _rowCount = actualModel.getRowCount();
 
-      for (TableSortingItem tableSortingItem : tableSortingAdmin.getTableSortingItems())
+      List<TableSortingItem> tableSortingItems = tableSortingAdmin.getTableSortingItems();
+      _sortColumns = new SortColumn[tableSortingItems.size()];
+      for (int i = 0; i < _sortColumns.length; i++)
       {
-         tableSortingItem.setAllDataString(true);
-         tableSortingItem.initAscendingInt();
-         for (int i = 0, limit = _actualModel.getRowCount(); i < limit; ++i)
+         TableSortingItem tableSortingItem = tableSortingItems.get(i);
+
+         Object[] values = new Object[_rowCount];
+         for (int row = 0; row < _rowCount; ++row)
          {
-            final Object data = _actualModel.getValueAt(i, tableSortingItem.getSortedModelColumn());
-            if(!(data instanceof String))
-            {
-               tableSortingItem.setAllDataString(false);
-               break;
-            }
+            values[row] = actualModel.getValueAt(row, tableSortingItem.getSortedModelColumn());
          }
+
+         _sortColumns[i] = new SortColumn(values, tableSortingItem.getColumnOrder() == ColumnOrder.ASC ? 1 : -1);
+      }
+   }
+
+   /**
+    * Must be called before sorting.
+    *
+    * @throws CancellationException when {@link #cancel()} was called.
+    */
+   void prepareSortKeys()
+   {
+      for (SortColumn sortColumn : _sortColumns)
+      {
+         sortColumn.prepare();
       }
    }
 
    public int compare(final Integer i1, final Integer i2)
    {
-      for (TableSortingItem tableSortingItem : _tableSortingAdmin.getTableSortingItems())
+      checkCanceled();
+
+      for (SortColumn sortColumn : _sortColumns)
       {
-         final Object data1 = _actualModel.getValueAt(i1, tableSortingItem.getSortedModelColumn());
-         final Object data2 = _actualModel.getValueAt(i2, tableSortingItem.getSortedModelColumn());
-         int res = _collator.compareTableCellValues(data1, data2, tableSortingItem.getAscendingInt(), tableSortingItem.isAllDataString(), _nullIsHighest);
+         int res = sortColumn.compare(i1, i2);
 
          if(0 != res)
          {
@@ -52,6 +80,23 @@ class TableModelComparator implements Comparator<Integer>
       return 0;
    }
 
+   void cancel()
+   {
+      _canceled = true;
+   }
+
+   /**
+    * @return Number of sort keys prepared so far. The total is {@link #getSortKeyCount()}.
+    */
+   long getPreparedSortKeyCount()
+   {
+      return _preparedCount.sum();
+   }
+
+   long getSortKeyCount()
+   {
+      return (long) _rowCount * _sortColumns.length;
+   }
 
    public boolean isSortNullsAsHighestValue()
    {
@@ -67,4 +112,151 @@ class TableModelComparator implements Comparator<Integer>
       return nullIsHighest;
    }
 
+   private void checkCanceled()
+   {
+      if(_canceled)
+      {
+         throw new CancellationException();
+      }
+   }
+
+   /**
+    * Orders rows like {@link SquirrelTableCellValueCollator#compareTableCellValues(Object, Object, int, boolean, boolean)}
+    * does for the column's values.
+    */
+   private class SortColumn
+   {
+      private final Object[] _values;
+      private final int _ascendingInt;
+
+      private long[] _longKeys;
+      private double[] _doubleKeys;
+      private CollationKey[] _collationKeys;
+
+      /**
+       * Used for columns without a specialized key type.
+       */
+      private final SquirrelTableCellValueCollator _collator = new SquirrelTableCellValueCollator();
+
+      SortColumn(Object[] values, int ascendingInt)
+      {
+         _values = values;
+         _ascendingInt = ascendingInt;
+      }
+
+      void prepare()
+      {
+         Class<?> valueClass = getCommonValueClass();
+
+         if (String.class == valueClass && false == containsNull())
+         {
+            // Like SquirrelTableCellValueCollator Strings are collated only when all values are Strings.
+            ThreadLocal<SquirrelTableCellValueCollator> collators = ThreadLocal.withInitial(SquirrelTableCellValueCollator::new);
+            CollationKey[] collationKeys = new CollationKey[_values.length];
+            Arrays.parallelSetAll(collationKeys, i -> {
+               checkCanceled();
+               _preparedCount.increment();
+               return collators.get().getCollationKey((String) _values[i]);
+            });
+            _collationKeys = collationKeys;
+         }
+         else if (Integer.class == valueClass || Long.class == valueClass || Short.class == valueClass || Byte.class == valueClass)
+         {
+            long[] longKeys = new long[_values.length];
+            Arrays.parallelSetAll(longKeys, i -> {
+               checkCanceled();
+               _preparedCount.increment();
+               return null == _values[i] ? 0 : ((Number) _values[i]).longValue();
+            });
+            _longKeys = longKeys;
+         }
+         else if (Double.class == valueClass || Float.class == valueClass)
+         {
+            double[] doubleKeys = new double[_values.length];
+            Arrays.parallelSetAll(doubleKeys, i -> {
+               checkCanceled();
+               _preparedCount.increment();
+               return null == _values[i] ? 0 : ((Number) _values[i]).doubleValue();
+            });
+            _doubleKeys = doubleKeys;
+         }
+         else
+         {
+            _preparedCount.add(_values.length);
+         }
+      }
+
+      /**
+       * @return The class of all non null values or null if the classes differ.
+       */
+      private Class<?> getCommonValueClass()
+      {
+         Class<?> ret = null;
+         for (Object value : _values)
+         {
+            if(null == value)
+            {
+               continue;
+            }
+
+            if(null == ret)
+            {
+               ret = value.getClass();
+            }
+            else if(ret != value.getClass())
+            {
+               return null;
+            }
+         }
+         return ret;
+      }
+
+      private boolean containsNull()
+      {
+         for (Object value : _values)
+         {
+            if(null == value)
+            {
+               return true;
+            }
+         }
+         return false;
+      }
+
+      int compare(int row1, int row2)
+      {
+         if (null != _collationKeys)
+         {
+            return _collationKeys[row1].compareTo(_collationKeys[row2]) * _ascendingInt;
+         }
+
+         Object data1 = _values[row1];
+         Object data2 = _values[row2];
+
+         if (null == _longKeys && null == _doubleKeys)
+         {
+            return _collator.compareTableCellValues(data1, data2, _ascendingInt, false, _nullIsHighest);
+         }
+
+         if (data1 == null && data2 == null)
+         {
+            return 0;
+         }
+         if (data1 == null)
+         {
+            return (_nullIsHighest ? 1 : -1) * _ascendingInt;
+         }
+         if (data2 == null)
+         {
+            return (_nullIsHighest ? -1 : 1) * _ascendingInt;
+         }
+
+         if (null != _longKeys)
+         {
+            return Long.compare(_longKeys[row1], _longKeys[row2]) * _ascendingInt;
+         }
+
+         return Double.compare(_doubleKeys[row1], _doubleKeys[row2]) * _ascendingInt;
+      }
+   }
 }
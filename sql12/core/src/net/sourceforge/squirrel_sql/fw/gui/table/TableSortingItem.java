@@ -13,13 +13,6 @@ public class TableSortingItem
 
    private ColumnOrder _columnOrder;
 
-   //////////////////////////////////////////////////////////////////////////
-   // For internal and temporary usage during the sorting process only.
-   private boolean _allDataString;
-   private int _ascendingInt;
-   //
-   //////////////////////////////////////////////////////////////////////////
-
    public TableSortingItem(int sortedModelColumn, ColumnOrder columnOrder, Icon sortedColumnIcon)
    {
       _sortedColumnIcon = sortedColumnIcon;
@@ -47,24 +40,4 @@ public class TableSortingItem
    {
       return _columnOrder;
    }
-
-   public void setAllDataString(boolean allDataString)
-   {
-      _allDataString = allDataString;
-   }
-
-   public boolean isAllDataString()
-   {
-      return _allDataString;
-   }
-
-   public void initAscendingInt()
-   {
-      _ascendingInt = (_columnOrder == ColumnOrder.ASC) ? 1 : -1;
-   }
-
-   public int getAscendingInt()
-   {
-      return _ascendingInt;
-   }
 }
@@ -0,0 +1,49 @@
+package net.sourceforge.squirrel_sql.fw.gui.table;
+
+import net.sourceforge.squirrel_sql.fw.gui.GUIUtils;
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+
+class TableSortingProgressDialog extends JDialog
+{
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(TableSortingProgressDialog.class);
+
+   static final int PROGRESS_MAX = 1000;
+
+   JLabel lblPhase = new JLabel(s_stringMgr.getString("TableSortingProgressDialog.preparing"));
+   JProgressBar progressBar = new JProgressBar(0, PROGRESS_MAX);
+   JButton btnCancel = new JButton(s_stringMgr.getString("TableSortingProgressDialog.cancel"));
+
+   TableSortingProgressDialog(Window owner, int rowCount)
+   {
+      super(owner, s_stringMgr.getString("TableSortingProgressDialog.title", rowCount), ModalityType.MODELESS);
+
+      getContentPane().setLayout(new GridBagLayout());
+
+      GridBagConstraints gbc;
+
+      gbc = new GridBagConstraints(0,0,1,1,1,0,GridBagConstraints.NORTHWEST,GridBagConstraints.HORIZONTAL, new Insets(5,5,5,5),0,0 );
+      getContentPane().add(lblPhase, gbc);
+
+      gbc = new GridBagConstraints(0,1,1,1,1,0,GridBagConstraints.NORTHWEST,GridBagConstraints.HORIZONTAL, new Insets(0,5,5,5),0,0 );
+      getContentPane().add(progressBar, gbc);
+
+      gbc = new GridBagConstraints(0,2,1,1,0,0,GridBagConstraints.CENTER,GridBagConstraints.NONE, new Insets(5,5,5,5),0,0 );
+      getContentPane().add(btnCancel, gbc);
+
+      setSize(new Dimension(350, 140));
+
+      setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+      GUIUtils.centerWithinParent(this);
+   }
+
+   void setSorting()
+   {
+      lblPhase.setText(s_stringMgr.getString("TableSortingProgressDialog.sorting"));
+      progressBar.setIndeterminate(true);
+   }
+}
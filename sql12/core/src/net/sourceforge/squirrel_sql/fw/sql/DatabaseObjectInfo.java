@@ -75,6 +75,16 @@ public class DatabaseObjectInfo implements IDatabaseObjectInfo
       }
    }
 
+   /**
+    * Restores an instance whose qualified name was generated before, e.g. when reading the schema cache file.
+    */
+   protected DatabaseObjectInfo(String catalog, String schema, String simpleName, String qualifiedName, DatabaseObjectType dboType)
+   {
+      initSimple(catalog, schema, simpleName);
+      _qualifiedName = qualifiedName;
+      _dboType = dboType;
+   }
+
    /**
     * Default constructor for using instances of this class to contain 
     * information about new objects that will be created soon.
@@ -55,6 +55,22 @@ public class ProcedureInfo extends DatabaseObjectInfo implements IProcedureInfo
       _procedureInfoOrigin = procedureInfoOrigin;
    }
 
+   /**
+    * Restores a procedure read from the database before, e.g. from the schema cache file.
+    */
+   public static ProcedureInfo restore(String catalog, String schema, String simpleName, String qualifiedName, String remarks, int procType, ProcedureInfoOrigin procedureInfoOrigin)
+   {
+      return new ProcedureInfo(catalog, schema, simpleName, qualifiedName, remarks, procType, procedureInfoOrigin);
+   }
+
+   private ProcedureInfo(String catalog, String schema, String simpleName, String qualifiedName, String remarks, int procType, ProcedureInfoOrigin procedureInfoOrigin)
+   {
+      super(catalog, schema, simpleName, qualifiedName, DatabaseObjectType.PROCEDURE);
+      _remarks = remarks;
+      _procType = procType;
+      _procedureInfoOrigin = procedureInfoOrigin;
+   }
+
    public int getProcedureType()
    {
       return _procType;
@@ -0,0 +1,72 @@
+package net.sourceforge.squirrel_sql.fw.sql;
+
+import net.sourceforge.squirrel_sql.fw.datasetviewer.ColumnDisplayDefinition;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.CellComponentFactory;
+import net.sourceforge.squirrel_sql.fw.datasetviewer.cellcomponent.IDataTypeComponent;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Resolves the data type component of each column of a result once,
+ * before the first row is read.
+ *
+ * Before this class existed {@link CellComponentFactory#readResultSet(ColumnDisplayDefinition, ResultSet, int, boolean)}
+ * was called for every cell which meant a plugin factory lookup and the construction
+ * of a new DataTypeXxx object per cell. Reading a row using a read plan is just
+ * an indexed dispatch to the already resolved components.
+ *
+ * Instances are created by {@link ResultSetReader#createReadPlan(ColumnDisplayDefinition[])}.
+ */
+public class ResultSetReadPlan
+{
+   private final IDataTypeComponent[] _dataTypeComponents;
+
+   /**
+    * Columns the driver reports as java.sql.Types.NULL are always read as null.
+    */
+   private final boolean[] _nullColumns;
+
+   ResultSetReadPlan(ColumnDisplayDefinition[] colDefs, boolean[] nullColumns)
+   {
+      _nullColumns = nullColumns;
+      _dataTypeComponents = new IDataTypeComponent[nullColumns.length];
+
+      for (int i = 0; i < Math.min(colDefs.length, nullColumns.length); i++)
+      {
+         if (false == nullColumns[i])
+         {
+            _dataTypeComponents[i] = CellComponentFactory.getDataTypeObject(null, colDefs[i]);
+         }
+      }
+   }
+
+   public int getColumnCount()
+   {
+      return _dataTypeComponents.length;
+   }
+
+   /**
+    * @param column        the index of the column in the plan, starting from 0
+    * @param rs            the ResultSet positioned on the row to read
+    * @param rsIndex       the index of the column in the ResultSet, starting from 1
+    * @param limitDataRead see {@link IDataTypeComponent#readResultSet(ResultSet, int, boolean)}
+    */
+   Object read(int column, ResultSet rs, int rsIndex, boolean limitDataRead) throws SQLException
+   {
+      if (_nullColumns[column])
+      {
+         return null;
+      }
+
+      IDataTypeComponent dataTypeComponent = _dataTypeComponents[column];
+
+      if (null == dataTypeComponent)
+      {
+         // Same fallback as CellComponentFactory.readResultSet()
+         return rs.getObject(rsIndex);
+      }
+
+      return dataTypeComponent.readResultSet(rs, rsIndex, limitDataRead);
+   }
+}
@@ -178,15 +178,16 @@ public class ResultSetReader
     * error occurred retrieving column data you can call
     * <TT>getColumnErrorInPreviousRow</TT> after the call to <TT>readRow()</TT>.
     *
+    * @param readPlan  see {@link #createReadPlan(ColumnDisplayDefinition[])}
     * @param limitRead TODO
     * @throws SQLException   Error occurred on <TT>ResultSet.next()</TT>.
     */
-   public Object[] readRow(ColumnDisplayDefinition colDefs[], BlockMode blockMode, boolean limitRead) throws SQLException
+   public Object[] readRow(ResultSetReadPlan readPlan, BlockMode blockMode, boolean limitRead) throws SQLException
    {
       _errorOccured = false;
       if (_rs.next(blockMode))
       {
-         return doContentTabRead(colDefs, limitRead);
+         return doContentTabRead(readPlan, limitRead);
       }
       return null;
    }
@@ -596,71 +597,20 @@ public class ResultSetReader
     * Method used to read data for the ContentsTab, where the data is used for
     * both reading and editing.
     *
+    * @param readPlan the data type components resolved once per result, see {@link #createReadPlan(ColumnDisplayDefinition[])}
     * @param limitDataRead TODO
     */
-   private Object[] doContentTabRead(ColumnDisplayDefinition colDefs[], boolean limitDataRead)
+   private Object[] doContentTabRead(ResultSetReadPlan readPlan, boolean limitDataRead)
    {
+      final ResultSet rs = _rs.getResultSet();
+
       Object[] row = new Object[_columnCount];
       for (int i = 0; i < _columnCount && !_stopExecution; ++i)
       {
          int idx = _columnIndices != null ? _columnIndices[i] : i + 1;
          try
          {
-            final int columnType = _rsmd.getColumnType(idx);
-            //final String columnClassName = _rsmd.getColumnClassName(idx);
-            switch (columnType)
-            {
-               case Types.NULL:
-                  row[i] = null;
-                  break;
-
-               // all of the following have been converted to use the DataType objects
-               // So, why not just have case Types.NULL and default??? (this seems pointless)
-               // RMM 20070726
-               case Types.BIT:
-               case Types.BOOLEAN:
-
-               case Types.DECIMAL:
-               case Types.NUMERIC:
-
-               case Types.INTEGER:
-               case Types.SMALLINT:
-               case Types.TINYINT:
-               case Types.BIGINT:
-
-               case Types.DOUBLE:
-               case Types.FLOAT:
-               case Types.REAL:
-
-               case Types.DATE:
-               case Types.TIME:
-               case Types.TIMESTAMP:
-
-                  // TODO: Hard coded -. JDBC/ODBC bridge JDK1.4
-                  // brings back -9 for nvarchar columns in
-                  // MS SQL Server tables.
-                  // -8 is ROWID in Oracle.
-               case Types.CHAR:
-               case Types.VARCHAR:
-               case Types.LONGVARCHAR:
-               case -9:
-               case -8:
-
-                  // binary types
-               case Types.BINARY:
-               case Types.VARBINARY:
-               case Types.LONGVARBINARY:
-
-               case Types.CLOB:
-               case Types.BLOB:
-
-               case Types.OTHER:
-
-               default:
-                  row[i] = CellComponentFactory.readResultSet(colDefs[i], _rs.getResultSet(), idx, limitDataRead);
-                  break;
-
-            }
+            row[i] = readPlan.read(i, rs, idx, limitDataRead);
          }
          catch (Throwable th)
          {
@@ -678,6 +628,24 @@ public class ResultSetReader
       return row;
    }
 
+   /**
+    * Resolves the data type component of each column once so that
+    * {@link #readRow(ResultSetReadPlan, BlockMode, boolean)} does not need to look it up per cell.
+    *
+    * @param colDefs the column definitions of the columns this reader reads, in the same order.
+    */
+   public ResultSetReadPlan createReadPlan(ColumnDisplayDefinition[] colDefs) throws SQLException
+   {
+      boolean[] nullColumns = new boolean[_columnCount];
+      for (int i = 0; i < _columnCount; ++i)
+      {
+         int idx = _columnIndices != null ? _columnIndices[i] : i + 1;
+         nullColumns[i] = _rsmd.getColumnType(idx) == Types.NULL;
+      }
+
+      return new ResultSetReadPlan(colDefs, nullColumns);
+   }
+
    /**
     * @param _stopExecution The _stopExecution to set.
     */
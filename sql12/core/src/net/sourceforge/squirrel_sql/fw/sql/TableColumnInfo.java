@@ -70,6 +70,44 @@ public class TableColumnInfo extends DatabaseObjectInfo
 		_isAutoIncrement = isAutoIncrement;
 	}
 
+	/**
+	 * Restores a column read from the database before, e.g. from the schema cache file.
+	 */
+	public TableColumnInfo(String catalog,
+								  String schema,
+								  String qualifiedName,
+								  String tableName,
+								  String columnName,
+								  int dataType,
+								  String typeName,
+								  int columnSize,
+								  int decimalDigits,
+								  int radix,
+								  int isNullAllowed,
+								  String remarks,
+								  String defaultValue,
+								  int octetLength,
+								  int ordinalPosition,
+								  String isNullable,
+								  String isAutoIncrement)
+	{
+		super(catalog, schema, tableName + '.' + columnName, qualifiedName, DatabaseObjectType.COLUMN);
+		_tableName = tableName;
+		_columnName = columnName;
+		_dataType = dataType;
+		_typeName = typeName;
+		_columnSize = columnSize;
+		_decimalDigits = decimalDigits;
+		_radix = radix;
+		_isNullAllowed = isNullAllowed;
+		_remarks = remarks;
+		_defaultValue = defaultValue;
+		_octetLength = octetLength;
+		_ordinalPosition = ordinalPosition;
+		_isNullable = isNullable;
+		_isAutoIncrement = isAutoIncrement;
+	}
+
 	public String getTableName() {
         return _tableName;
     }
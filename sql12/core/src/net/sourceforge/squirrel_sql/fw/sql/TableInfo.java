@@ -43,6 +43,22 @@ public class TableInfo extends DatabaseObjectInfo implements ITableInfo
 		_tableType = tableType;
 	}
 
+   /**
+    * Restores a table read by {@link #TableInfo(String, String, String, String, String, ISQLDatabaseMetaData)} before,
+    * e.g. from the schema cache file.
+    */
+   public static TableInfo restore(String catalog, String schema, String simpleName, String qualifiedName, String tableType, String remarks)
+   {
+      return new TableInfo(catalog, schema, simpleName, qualifiedName, tableType, remarks);
+   }
+
+   private TableInfo(String catalog, String schema, String simpleName, String qualifiedName, String tableType, String remarks)
+   {
+      super(catalog, schema, simpleName, qualifiedName, getTableType(tableType));
+      _remarks = remarks;
+      _tableType = tableType;
+   }
+
    private static DatabaseObjectType getTableType(String tableType)
    {
       if(null == tableType)
@@ -37,6 +37,24 @@ public class UDTInfo extends DatabaseObjectInfo implements IUDTInfo
 		_remarks = remarks;
 	}
 
+	/**
+	 * Restores a UDT read from the database before, e.g. from the schema cache file.
+	 */
+	public static UDTInfo restore(String catalog, String schema, String simpleName, String qualifiedName, String javaClassName,
+											String dataType, String remarks)
+	{
+		return new UDTInfo(catalog, schema, simpleName, qualifiedName, javaClassName, dataType, remarks);
+	}
+
+	private UDTInfo(String catalog, String schema, String simpleName, String qualifiedName, String javaClassName,
+						 String dataType, String remarks)
+	{
+		super(catalog, schema, simpleName, qualifiedName, DatabaseObjectType.UDT);
+		_javaClassName = javaClassName;
+		_dataType = dataType;
+		_remarks = remarks;
+	}
+
 	public String getJavaClassName()
 	{
 		return _javaClassName;
@@ -2,19 +2,24 @@ package net.sourceforge.squirrel_sql.fw.sql.commentandliteral;
 
 
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.QueryTokenizer;
+import net.sourceforge.squirrel_sql.fw.util.StringUtilities;
 
 /**
  * This code used to be part of {@link QueryTokenizer#setScriptToTokenize(String)}
  * and was moved here on 3/29/2020 to fix bug #1329.
  *
  * Moving the code was necessary to implement {@link SQLCommentRemover}
+ *
+ * The script is a CharSequence so that {@link net.sourceforge.squirrel_sql.fw.sql.querytokenizer.StreamingQueryTokenizer}
+ * can pass a window of a script that is read incrementally.
+ * Positions are always absolute positions within the whole script.
  */
 public class SQLCommentAndLiteralHandler
 {
    private static final String MULTI_LINE_COMMENT_END = "*/";
    private static final String MULTI_LINE_COMMENT_BEGIN = "/*";
 
-   private String _script;
+   private CharSequence _script;
    private String _lineCommentBegin;
    private boolean _removeMultiLineComment;
    private boolean _removeLineComment;
@@ -24,7 +29,7 @@ public class SQLCommentAndLiteralHandler
    private boolean _isInLineComment = false;
    private int _literalSepCount = 0;
 
-   public SQLCommentAndLiteralHandler(String script, String lineCommentBegin, boolean removeMultiLineComment, boolean removeLineComment)
+   public SQLCommentAndLiteralHandler(CharSequence script, String lineCommentBegin, boolean removeMultiLineComment, boolean removeLineComment)
    {
       _script = script;
       _lineCommentBegin = lineCommentBegin;
@@ -47,14 +52,14 @@ public class SQLCommentAndLiteralHandler
          // Handling of comments
 
          // We look backwards
-         if(_isInLineComment && _script.startsWith("\n", posInScript - "\n".length()))
+         if(_isInLineComment && StringUtilities.startsWith(_script, "\n", posInScript - "\n".length()))
          {
             _isInLineComment = false;
          }
 
          // We look backwards
          if(   _isInMultiLineComment
-            && _script.startsWith(MULTI_LINE_COMMENT_END, posInScript - MULTI_LINE_COMMENT_END.length())
+            && StringUtilities.startsWith(_script, MULTI_LINE_COMMENT_END, posInScript - MULTI_LINE_COMMENT_END.length())
             && isInBeginningOfMultiLineComment(posInScript) // Treats /*/
          )
          {
@@ -65,8 +70,8 @@ public class SQLCommentAndLiteralHandler
          if(false == _isInLineComment && false == _isInMultiLineComment)
          {
             // We look forward
-            _isInMultiLineComment = _script.startsWith(MULTI_LINE_COMMENT_BEGIN, posInScript);
-            _isInLineComment = _script.startsWith(_lineCommentBegin, posInScript);
+            _isInMultiLineComment = StringUtilities.startsWith(_script, MULTI_LINE_COMMENT_BEGIN, posInScript);
+            _isInLineComment = StringUtilities.startsWith(_script, _lineCommentBegin, posInScript);
          }
 
          if((_isInMultiLineComment && _removeMultiLineComment) || (_isInLineComment && _removeLineComment))
@@ -109,7 +114,7 @@ public class SQLCommentAndLiteralHandler
    private boolean isInBeginningOfMultiLineComment(int posInScript)
    {
       final int backwardCount = MULTI_LINE_COMMENT_BEGIN.length() + 1;
-      return posInScript >= backwardCount && false == _script.startsWith(MULTI_LINE_COMMENT_BEGIN, posInScript - backwardCount);
+      return posInScript >= backwardCount && false == StringUtilities.startsWith(_script, MULTI_LINE_COMMENT_BEGIN, posInScript - backwardCount);
    }
 
 
@@ -1729,7 +1729,7 @@ public class SQLDatabaseMetaData implements ISQLDatabaseMetaData
 		
 		try
 		{
-			final Map<Integer, TableColumnInfo> columns = new TreeMap<>();
+			final Map<Long, TableColumnInfo> columns = new TreeMap<>();
 			DatabaseMetaData md = privateGetJDBCMetaData();
 
 			TableQualifier synonymQualifier = _synonymHandler.getQualifiedSynonymName(catalog, schema, table);
@@ -1806,10 +1806,12 @@ public class SQLDatabaseMetaData implements ISQLDatabaseMetaData
 				// The index is needed in case this method is called with schema = null, catalog = null
 				// and two tables with the same name in different schemas/catalogs.
 				// Without the index the same ordinal position could only occur once.
+				// The index is kept in the lower 32 bits so that it can't overflow into the ordinal position
+				// when the columns of a whole schema are read with table = "%".
 				++index;
 				//
 				// //////////////////////////////////////////////////////////////////////////////////////////
-				columns.put(Integer.valueOf(10000 * tci.getOrdinalPosition() + index), tci);
+				columns.put(((long) tci.getOrdinalPosition() << 32) + index, tci);
 			}
 
 			return columns.values().toArray(new TableColumnInfo[columns.size()]);
@@ -1,5 +1,6 @@
 package net.sourceforge.squirrel_sql.fw.sql.querytokenizer;
 
+import java.io.Reader;
 
 /**
  * This should be implemented to provide script tokenizing behavior that is 
@@ -43,6 +44,20 @@ public interface IQueryTokenizer
      */
     int getQueryCount();
 
+    /**
+     * Returns a tokenizer that reads the script incrementally and returns each
+     * statement as soon as it was found. This allows to start executing very
+     * large scripts immediately without holding all their statements in memory.
+     *
+     * @param script the script to tokenize.
+     * @return the streaming tokenizer or null if this tokenizer needs the
+     *         whole script to tokenize it.
+     */
+    default StreamingQueryTokenizer createStreamingTokenizer(Reader script)
+    {
+       return null;
+    }
+
     IQueryTokenizer createQueryTokenizerClone();
 
     /**
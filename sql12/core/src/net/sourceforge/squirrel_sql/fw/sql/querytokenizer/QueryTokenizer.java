@@ -29,6 +29,7 @@ import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -78,7 +79,7 @@ public class QueryTokenizer implements IQueryTokenizer
    }
     
 
-	private int getLenOfQuerySepIfAtLastCharOfQuerySep(String sql, int i, String querySep, boolean inLiteral)
+	static int getLenOfQuerySepIfAtLastCharOfQuerySep(CharSequence sql, int i, String querySep, boolean inLiteral)
 	{
 		if(inLiteral)
 		{
@@ -99,7 +100,7 @@ public class QueryTokenizer implements IQueryTokenizer
 				return -1;
 			}
 
-			int querySepIndex = sql.indexOf(querySep, fromIndex);
+			int querySepIndex = StringUtilities.indexOf(sql, querySep, fromIndex);
 
 			if(0 > querySepIndex)
 			{
@@ -423,6 +424,28 @@ public class QueryTokenizer implements IQueryTokenizer
       return qt;
    }
 
+   /**
+    * Most subclasses post process the complete list of queries in {@link #setScriptToTokenize(String)},
+    * e.g. to combine procedure bodies or to expand file includes, and thus can't stream. For them null is returned.
+    * Subclasses that only use other separator and comment settings override this method
+    * and return {@link #createStreamingTokenizerWithSettingsOfThis(Reader)}.
+    */
+   @Override
+   public StreamingQueryTokenizer createStreamingTokenizer(Reader script)
+   {
+      if (QueryTokenizer.class != getClass())
+      {
+         return null;
+      }
+
+      return createStreamingTokenizerWithSettingsOfThis(script);
+   }
+
+   protected StreamingQueryTokenizer createStreamingTokenizerWithSettingsOfThis(Reader script)
+   {
+      return new StreamingQueryTokenizer(script, _querySep, _lineCommentBegin, _removeMultiLineComment, _removeLineComment);
+   }
+
    /* (non-Javadoc)
      * @see net.sourceforge.squirrel_sql.fw.sql.querytokenizer.IQueryTokenizer#getSQLStatementSeparator()
      */
@@ -0,0 +1,125 @@
+package net.sourceforge.squirrel_sql.fw.sql.querytokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A window of a script that is read incrementally from a Reader.
+ *
+ * All indexes are absolute positions within the whole script. Only the characters
+ * between the last position passed to {@link #discardBefore(int)} and the end
+ * of what was read so far are held in memory.
+ * {@link #length()} is the number of characters read so far. It is the length of the whole script
+ * once the end of the Reader was reached.
+ *
+ * Like {@link QueryTokenizer#setScriptToTokenize(String)} does, carriage returns are replaced by blanks.
+ */
+class ScriptWindow implements CharSequence
+{
+   private static final int READ_CHUNK = 8192;
+
+   private final Reader _reader;
+
+   private char[] _buf = new char[2 * READ_CHUNK];
+
+   /**
+    * The absolute position of _buf[0]
+    */
+   private int _offset;
+   private int _count;
+   private boolean _endOfScript;
+
+   ScriptWindow(Reader reader)
+   {
+      _reader = reader;
+   }
+
+   /**
+    * Reads until the character at the given position is available or the end of the script is reached.
+    */
+   void ensureAvailable(int position) throws IOException
+   {
+      while (false == _endOfScript && _offset + _count <= position)
+      {
+         if (_buf.length - _count < READ_CHUNK)
+         {
+            _buf = Arrays.copyOf(_buf, _count + 2 * READ_CHUNK);
+         }
+
+         int read = _reader.read(_buf, _count, READ_CHUNK);
+
+         if (0 > read)
+         {
+            _endOfScript = true;
+         }
+         else
+         {
+            for (int i = _count; i < _count + read; i++)
+            {
+               if ('\r' == _buf[i])
+               {
+                  _buf[i] = ' ';
+               }
+            }
+            _count += read;
+         }
+      }
+   }
+
+   /**
+    * Characters before the given position will no longer be accessed.
+    */
+   void discardBefore(int position)
+   {
+      int toDiscard = position - _offset;
+
+      // Compacting only every READ_CHUNK characters keeps the copying cheap
+      if (READ_CHUNK <= toDiscard)
+      {
+         System.arraycopy(_buf, toDiscard, _buf, 0, _count - toDiscard);
+         _count -= toDiscard;
+         _offset += toDiscard;
+      }
+   }
+
+   void close() throws IOException
+   {
+      _reader.close();
+   }
+
+   @Override
+   public int length()
+   {
+      return _offset + _count;
+   }
+
+   @Override
+   public char charAt(int index)
+   {
+      if (index < _offset || index >= _offset + _count)
+      {
+         throw new IndexOutOfBoundsException("Position " + index + " not within window [" + _offset + ", " + (_offset + _count) + ")");
+      }
+      return _buf[index - _offset];
+   }
+
+   @Override
+   public CharSequence subSequence(int start, int end)
+   {
+      if (start < _offset || end > _offset + _count || start > end)
+      {
+         throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") not within window [" + _offset + ", " + (_offset + _count) + ")");
+      }
+      return new String(_buf, start - _offset, end - start);
+   }
+
+   /**
+    * @return The characters currently held in the window.
+    */
+   @Override
+   public String toString()
+   {
+      return new String(_buf, 0, _count);
+   }
+}
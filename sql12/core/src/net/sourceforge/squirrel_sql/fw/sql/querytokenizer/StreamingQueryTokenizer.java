@@ -0,0 +1,175 @@
+package net.sourceforge.squirrel_sql.fw.sql.querytokenizer;
+
+import net.sourceforge.squirrel_sql.fw.sql.commentandliteral.NextPositionAction;
+import net.sourceforge.squirrel_sql.fw.sql.commentandliteral.SQLCommentAndLiteralHandler;
+import net.sourceforge.squirrel_sql.fw.util.Utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizes a script the same way {@link QueryTokenizer#setScriptToTokenize(String)} does
+ * but reads the script incrementally and finds the next statement only when it is asked for.
+ *
+ * This way execution of a large script starts immediately, and only the current
+ * statement is held in memory instead of the whole script plus all of its statements.
+ * The number of statements is not known before the end of the script is reached.
+ *
+ * Instances are created by {@link IQueryTokenizer#createStreamingTokenizer(Reader)}.
+ */
+public class StreamingQueryTokenizer implements Closeable
+{
+   private final ScriptWindow _script;
+   private final String _querySep;
+   private final SQLCommentAndLiteralHandler _commentAndLiteralHandler;
+
+   /**
+    * Number of characters {@link SQLCommentAndLiteralHandler} and the separator check look ahead
+    */
+   private final int _lookAhead;
+
+   /**
+    * Number of characters {@link SQLCommentAndLiteralHandler} and the separator check look back
+    */
+   private final int _lookBack;
+
+   private final StringBuilder _curQuery = new StringBuilder();
+   private final StringBuilder _curOriginalQuery = new StringBuilder();
+
+   private int _pos;
+   private boolean _endOfScript;
+   private QueryHolder _nextQuery;
+   private int _queryCount;
+
+   public StreamingQueryTokenizer(Reader script, String querySep, String lineCommentBegin, boolean removeMultiLineComment, boolean removeLineComment)
+   {
+      _script = new ScriptWindow(script);
+      _querySep = querySep;
+      _commentAndLiteralHandler = new SQLCommentAndLiteralHandler(_script, lineCommentBegin, removeMultiLineComment, removeLineComment);
+
+      _lookAhead = Math.max(Math.max("/*".length(), lineCommentBegin.length()), querySep.length()) + 1;
+      _lookBack = Math.max("/*".length(), querySep.length()) + 2;
+   }
+
+   /**
+    * May read the script up to the end of the next statement.
+    *
+    * @return true if {@link #nextQuery()} will return a statement.
+    */
+   public boolean hasQuery()
+   {
+      if (null == _nextQuery && false == _endOfScript)
+      {
+         _nextQuery = readNextQuery();
+      }
+      return null != _nextQuery;
+   }
+
+   /**
+    * @return the next statement or null if there is no next statement.
+    */
+   public QueryHolder nextQuery()
+   {
+      if (false == hasQuery())
+      {
+         return null;
+      }
+
+      QueryHolder ret = _nextQuery;
+      _nextQuery = null;
+      return ret;
+   }
+
+   /**
+    * @return The number of statements found so far.
+    */
+   public int getQueryCount()
+   {
+      return _queryCount;
+   }
+
+   @Override
+   public void close() throws IOException
+   {
+      _script.close();
+   }
+
+   private QueryHolder readNextQuery()
+   {
+      try
+      {
+         while (true)
+         {
+            _script.ensureAvailable(_pos + _lookAhead);
+
+            if (_pos >= _script.length())
+            {
+               _endOfScript = true;
+               return createLastQuery();
+            }
+
+            int i = _pos++;
+            _script.discardBefore(i - _lookBack);
+
+            NextPositionAction nextPositionAction = _commentAndLiteralHandler.nextPosition(i);
+
+            char c = _script.charAt(i);
+            _curOriginalQuery.append(c);
+
+            if (NextPositionAction.APPEND != nextPositionAction)
+            {
+               continue;
+            }
+            _curQuery.append(c);
+
+            int querySepLen = QueryTokenizer.getLenOfQuerySepIfAtLastCharOfQuerySep(_script, i, _querySep, _commentAndLiteralHandler.isInLiteral());
+
+            if (-1 < querySepLen && !_commentAndLiteralHandler.isInMultiLineComment())
+            {
+               QueryHolder ret = null;
+
+               int newLength = _curQuery.length() - querySepLen;
+               if (-1 < newLength && _curQuery.length() > newLength)
+               {
+                  _curQuery.setLength(newLength);
+
+                  String newQuery = _curQuery.toString().trim();
+                  if (0 < newQuery.length())
+                  {
+                     ret = new QueryHolder(newQuery, _curOriginalQuery.toString().trim());
+                  }
+               }
+               _curQuery.setLength(0);
+               _curOriginalQuery.setLength(0);
+
+               if (null != ret)
+               {
+                  ++_queryCount;
+                  return ret;
+               }
+            }
+         }
+      }
+      catch (IOException e)
+      {
+         throw Utilities.wrapRuntime(e);
+      }
+   }
+
+   private QueryHolder createLastQuery()
+   {
+      String lastQuery = _curQuery.toString().trim();
+      String lastOriginalQuery = _curOriginalQuery.toString().trim();
+
+      _curQuery.setLength(0);
+      _curOriginalQuery.setLength(0);
+
+      if (0 < lastQuery.length())
+      {
+         ++_queryCount;
+         return new QueryHolder(lastQuery, lastOriginalQuery);
+      }
+      return null;
+   }
+}
@@ -15,6 +15,10 @@ public class SquirrelConstants
 
    public static final Color NULL_COLOR = new Color(234,255,234);
 
+   public static final Color PENDING_UPDATE_COLOR = new Color(255, 236, 153);
+   public static final Color PENDING_INSERT_COLOR = new Color(183, 228, 255);
+   public static final Color PENDING_DELETE_COLOR = new Color(210, 210, 210);
+
    /*
     * Condition operators
     */
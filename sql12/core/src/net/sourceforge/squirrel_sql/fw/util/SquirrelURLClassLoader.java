@@ -19,6 +19,8 @@ package net.sourceforge.squirrel_sql.fw.util;
  * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
  */
 
+import net.sourceforge.squirrel_sql.fw.util.classdiscovery.ClassDiscoveryCache;
+import net.sourceforge.squirrel_sql.fw.util.classdiscovery.JarClassDiscovery;
 import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 
 import java.io.File;
@@ -30,6 +32,7 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -97,10 +100,20 @@ public class SquirrelURLClassLoader extends URLClassLoader
 		listeners.remove(listener);
 	}
 
+	/**
+	 * Finds the classes of this loader's jars that are assignable to type.
+	 * For each jar the first of these that applies is used:
+	 * <ol>
+	 *    <li>The jar's <code>META-INF/services/&lt;type name&gt;</code> file, e.g. of JDBC 4 drivers or of plugins.</li>
+	 *    <li>The {@link ClassDiscoveryCache} if the jar did not change since it was last scanned.</li>
+	 *    <li>Loading all classes of the jar. The result is stored in the {@link ClassDiscoveryCache}.</li>
+	 * </ol>
+	 */
 	public Class[] getAssignableClasses(Class type, ILogger logger)
 	{
 		List<Class> classes = new ArrayList<>();
 		URL[] urls = getURLs();
+		boolean cacheChanged = false;
 		for (int i = 0; i < urls.length; ++i)
 		{
 			URL url = urls[i];
@@ -126,43 +139,156 @@ public class SquirrelURLClassLoader extends URLClassLoader
 				}
 				notifyListenersLoadedZipFile(file.getName());
 
-				for (Iterator it = new EnumerationIterator(zipFile.entries()); it.hasNext();)
+				try
+				{
+					List<Class> discovered = getDeclaredAssignableClasses(zipFile, type, logger);
+					if (null != discovered)
+					{
+						classes.addAll(discovered);
+						continue;
+					}
+
+					long checksum = JarClassDiscovery.checksum(zipFile);
+					discovered = getCachedAssignableClasses(file, checksum, type, logger);
+					if (null != discovered)
+					{
+						classes.addAll(discovered);
+						continue;
+					}
+
+					discovered = scanAssignableClasses(zipFile, file, type, logger);
+					classes.addAll(discovered);
+					ClassDiscoveryCache.putClassNames(file, checksum, type, discovered.stream().map(Class::getName).collect(Collectors.toList()));
+					cacheChanged = true;
+				}
+				finally
 				{
-					Class cls = null;
-					String entryName = ((ZipEntry) it.next()).getName();
-					String className = Utilities.changeFileNameToClassName(entryName);
-					if (className != null)
+					try
 					{
-						try
-						{
-							cls = Class.forName(className, false, this);
-						}
-						catch (Throwable th)
-						{
-							if (logger.isInfoEnabled())
-							{
-								// During assignable checks many classes can't be loaded but don't cause problems
-								// either. So we just issue an info.
-								Object[] args =new Object[]{className, file.getAbsolutePath(), type.getName(), th.toString()};
-
-								logger.info(s_stringMgr.getString("MyURLClassLoader.noAssignCheck", args));
-							}
-						}
-						if (cls != null)
-						{
-							if (type.isAssignableFrom(cls))
-							{
-								classes.add(cls);
-							}
-						}
+						zipFile.close();
+					}
+					catch (IOException e)
+					{
+						logger.info("Failed to close " + file.getAbsolutePath(), e);
 					}
 				}
 			}
 		}
+
+		if (cacheChanged)
+		{
+			ClassDiscoveryCache.save();
+		}
+
 		notifyListenersFinished();
 		return classes.toArray(new Class[classes.size()]);
 	}
 
+	/**
+	 * @return null if the jar does not declare implementations of type in <code>META-INF/services</code>.
+	 */
+	private List<Class> getDeclaredAssignableClasses(ZipFile zipFile, Class type, ILogger logger)
+	{
+		try
+		{
+			List<String> classNames = JarClassDiscovery.readServiceClassNames(zipFile, type);
+			if (null == classNames)
+			{
+				return null;
+			}
+
+			List<Class> ret = new ArrayList<>();
+			for (String className : classNames)
+			{
+				Class cls = loadAssignableClass(className, new File(zipFile.getName()), type, logger);
+				if (null != cls)
+				{
+					ret.add(cls);
+				}
+			}
+			return ret;
+		}
+		catch (IOException e)
+		{
+			logger.info("Failed to read META-INF/services of " + zipFile.getName() + ", scanning all classes", e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return null if the cache does not know the jar or one of the cached classes can't be loaded any more.
+	 */
+	private List<Class> getCachedAssignableClasses(File file, long checksum, Class type, ILogger logger)
+	{
+		List<String> classNames = ClassDiscoveryCache.getClassNames(file, checksum, type);
+		if (null == classNames)
+		{
+			return null;
+		}
+
+		List<Class> ret = new ArrayList<>();
+		for (String className : classNames)
+		{
+			Class cls = loadAssignableClass(className, file, type, logger);
+			if (null == cls)
+			{
+				// E.g. a class the jar depends on is missing now.
+				ClassDiscoveryCache.remove(file, type);
+				return null;
+			}
+			ret.add(cls);
+		}
+		return ret;
+	}
+
+	private List<Class> scanAssignableClasses(ZipFile zipFile, File file, Class type, ILogger logger)
+	{
+		List<Class> ret = new ArrayList<>();
+		for (Iterator it = new EnumerationIterator(zipFile.entries()); it.hasNext();)
+		{
+			String entryName = ((ZipEntry) it.next()).getName();
+			String className = Utilities.changeFileNameToClassName(entryName);
+			if (className != null)
+			{
+				Class cls = loadAssignableClass(className, file, type, logger);
+				if (cls != null)
+				{
+					ret.add(cls);
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @return null if the class can't be loaded or isn't assignable to type.
+	 */
+	private Class loadAssignableClass(String className, File file, Class type, ILogger logger)
+	{
+		Class cls = null;
+		try
+		{
+			cls = Class.forName(className, false, this);
+		}
+		catch (Throwable th)
+		{
+			if (logger.isInfoEnabled())
+			{
+				// During assignable checks many classes can't be loaded but don't cause problems
+				// either. So we just issue an info.
+				Object[] args =new Object[]{className, file.getAbsolutePath(), type.getName(), th.toString()};
+
+				logger.info(s_stringMgr.getString("MyURLClassLoader.noAssignCheck", args));
+			}
+		}
+
+		if (cls != null && type.isAssignableFrom(cls))
+		{
+			return cls;
+		}
+		return null;
+	}
+
 	/**
 	 * Returns a File object whose absolute path is equivalent to the specified URL (minus any URL encoding
 	 * fragments)
@@ -611,4 +611,39 @@ public class StringUtilities
          }
       }
    }
+
+   /**
+    * Same as {@link String#startsWith(String, int)} for any CharSequence.
+    */
+   public static boolean startsWith(CharSequence text, String prefix, int offset)
+   {
+      if (offset < 0 || offset > text.length() - prefix.length())
+      {
+         return false;
+      }
+
+      for (int i = 0; i < prefix.length(); i++)
+      {
+         if (text.charAt(offset + i) != prefix.charAt(i))
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Same as {@link String#indexOf(String, int)} for any CharSequence.
+    */
+   public static int indexOf(CharSequence text, String str, int fromIndex)
+   {
+      for (int i = Math.max(0, fromIndex); i <= text.length() - str.length(); i++)
+      {
+         if (startsWith(text, str, i))
+         {
+            return i;
+         }
+      }
+      return -1;
+   }
 }
@@ -0,0 +1,116 @@
+package net.sourceforge.squirrel_sql.fw.util.classdiscovery;
+
+import net.sourceforge.squirrel_sql.client.util.ApplicationFiles;
+import net.sourceforge.squirrel_sql.fw.util.JsonMarshalUtil;
+import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
+import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+/**
+ * Remembers which classes of a jar are assignable to a type, see
+ * {@link net.sourceforge.squirrel_sql.fw.util.SquirrelURLClassLoader#getAssignableClasses(Class, net.sourceforge.squirrel_sql.fw.util.log.ILogger)}.
+ * An entry is valid as long as the {@link JarClassDiscovery#checksum(ZipFile)} of the jar is unchanged.
+ */
+public class ClassDiscoveryCache
+{
+   private static final ILogger s_log = LoggerController.createLogger(ClassDiscoveryCache.class);
+
+   private static HashMap<String, DiscoveredClassesJsonBean> s_beansByKey;
+
+   /**
+    * @return null if the jar is unknown or changed since its classes were cached.
+    */
+   public static synchronized List<String> getClassNames(File jar, long checksum, Class<?> type)
+   {
+      DiscoveredClassesJsonBean bean = getBeansByKey().get(getKey(jar, type));
+
+      if (null == bean || bean.getChecksum() != checksum)
+      {
+         return null;
+      }
+      return bean.getClassNames();
+   }
+
+   public static synchronized void putClassNames(File jar, long checksum, Class<?> type, List<String> classNames)
+   {
+      DiscoveredClassesJsonBean bean = new DiscoveredClassesJsonBean();
+      bean.setJarPath(jar.getAbsolutePath());
+      bean.setChecksum(checksum);
+      bean.setTypeName(type.getName());
+      bean.setClassNames(new ArrayList<>(classNames));
+
+      getBeansByKey().put(getKey(jar, type), bean);
+   }
+
+   public static synchronized void remove(File jar, Class<?> type)
+   {
+      getBeansByKey().remove(getKey(jar, type));
+   }
+
+   public static synchronized void save()
+   {
+      if (null == s_beansByKey)
+      {
+         return;
+      }
+
+      try
+      {
+         ClassDiscoveryCacheJsonBean containerBean = new ClassDiscoveryCacheJsonBean();
+         for (DiscoveredClassesJsonBean bean : s_beansByKey.values())
+         {
+            // Forget jars that were deleted, e.g. by a SQuirreL update.
+            if (new File(bean.getJarPath()).exists())
+            {
+               containerBean.getDiscoveredClassesJsonBeans().add(bean);
+            }
+         }
+
+         JsonMarshalUtil.writeObjectToFile(new ApplicationFiles().getClassDiscoveryCacheJsonFile(), containerBean);
+      }
+      catch (Throwable t)
+      {
+         s_log.warn("Failed to write class discovery cache", t);
+      }
+   }
+
+   private static HashMap<String, DiscoveredClassesJsonBean> getBeansByKey()
+   {
+      if (null == s_beansByKey)
+      {
+         s_beansByKey = new HashMap<>();
+
+         try
+         {
+            File file = new ApplicationFiles().getClassDiscoveryCacheJsonFile();
+            ClassDiscoveryCacheJsonBean containerBean =
+                  JsonMarshalUtil.readObjectFromFileSave(file, ClassDiscoveryCacheJsonBean.class, new ClassDiscoveryCacheJsonBean());
+
+            for (DiscoveredClassesJsonBean bean : containerBean.getDiscoveredClassesJsonBeans())
+            {
+               s_beansByKey.put(getKey(new File(bean.getJarPath()), bean.getTypeName()), bean);
+            }
+         }
+         catch (Throwable t)
+         {
+            s_log.warn("Failed to read class discovery cache", t);
+         }
+      }
+      return s_beansByKey;
+   }
+
+   private static String getKey(File jar, Class<?> type)
+   {
+      return getKey(jar, type.getName());
+   }
+
+   private static String getKey(File jar, String typeName)
+   {
+      return jar.getAbsolutePath() + "|" + typeName;
+   }
+}
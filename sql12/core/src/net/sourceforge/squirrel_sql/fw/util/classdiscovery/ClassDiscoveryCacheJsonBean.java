@@ -0,0 +1,19 @@
+package net.sourceforge.squirrel_sql.fw.util.classdiscovery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ClassDiscoveryCacheJsonBean
+{
+   private List<DiscoveredClassesJsonBean> _discoveredClassesJsonBeans = new ArrayList<>();
+
+   public List<DiscoveredClassesJsonBean> getDiscoveredClassesJsonBeans()
+   {
+      return _discoveredClassesJsonBeans;
+   }
+
+   public void setDiscoveredClassesJsonBeans(List<DiscoveredClassesJsonBean> discoveredClassesJsonBeans)
+   {
+      _discoveredClassesJsonBeans = discoveredClassesJsonBeans;
+   }
+}
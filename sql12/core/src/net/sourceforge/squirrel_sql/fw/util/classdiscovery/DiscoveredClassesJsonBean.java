@@ -0,0 +1,52 @@
+package net.sourceforge.squirrel_sql.fw.util.classdiscovery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DiscoveredClassesJsonBean
+{
+   private String _jarPath;
+   private long _checksum;
+   private String _typeName;
+   private List<String> _classNames = new ArrayList<>();
+
+   public String getJarPath()
+   {
+      return _jarPath;
+   }
+
+   public void setJarPath(String jarPath)
+   {
+      _jarPath = jarPath;
+   }
+
+   public long getChecksum()
+   {
+      return _checksum;
+   }
+
+   public void setChecksum(long checksum)
+   {
+      _checksum = checksum;
+   }
+
+   public String getTypeName()
+   {
+      return _typeName;
+   }
+
+   public void setTypeName(String typeName)
+   {
+      _typeName = typeName;
+   }
+
+   public List<String> getClassNames()
+   {
+      return _classNames;
+   }
+
+   public void setClassNames(List<String> classNames)
+   {
+      _classNames = classNames;
+   }
+}
@@ -0,0 +1,81 @@
+package net.sourceforge.squirrel_sql.fw.util.classdiscovery;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Finds the classes of a jar that implement a type without loading all of the jar's classes.
+ */
+public class JarClassDiscovery
+{
+   private static final String SERVICES_DIR = "META-INF/services/";
+
+   /**
+    * Checksum over the names, sizes and CRCs of the jar's entries.
+    * These are read from the zip's central directory, so no entry needs to be inflated.
+    */
+   public static long checksum(ZipFile zipFile)
+   {
+      CRC32 crc = new CRC32();
+      for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); )
+      {
+         ZipEntry entry = entries.nextElement();
+         crc.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+         crc.update(longToBytes(entry.getSize()));
+         crc.update(longToBytes(entry.getCrc()));
+      }
+      return crc.getValue() << 32 | zipFile.size();
+   }
+
+   /**
+    * @return The classes listed in the jar's <code>META-INF/services/&lt;type name&gt;</code> file,
+    * null if the jar has no such file. See {@link java.util.ServiceLoader} for the file format.
+    */
+   public static List<String> readServiceClassNames(ZipFile zipFile, Class<?> type) throws IOException
+   {
+      ZipEntry entry = zipFile.getEntry(SERVICES_DIR + type.getName());
+      if (null == entry)
+      {
+         return null;
+      }
+
+      List<String> ret = new ArrayList<>();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(zipFile.getInputStream(entry), StandardCharsets.UTF_8)))
+      {
+         String line;
+         while (null != (line = reader.readLine()))
+         {
+            int commentIx = line.indexOf('#');
+            if (0 <= commentIx)
+            {
+               line = line.substring(0, commentIx);
+            }
+            line = line.trim();
+
+            if (0 < line.length() && false == ret.contains(line))
+            {
+               ret.add(line);
+            }
+         }
+      }
+      return ret;
+   }
+
+   private static byte[] longToBytes(long l)
+   {
+      byte[] ret = new byte[8];
+      for (int i = 0; i < ret.length; i++)
+      {
+         ret[i] = (byte) (l >>> (8 * i));
+      }
+      return ret;
+   }
+}
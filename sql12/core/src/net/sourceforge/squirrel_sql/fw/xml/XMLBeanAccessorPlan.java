@@ -0,0 +1,240 @@
+package net.sourceforge.squirrel_sql.fw.xml;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The properties of a bean class as {@link XMLBeanWriter} and {@link XMLBeanReader} need them.
+ * Introspection and method lookup happen once per class, afterwards getters and setters are
+ * called through method handles.
+ */
+final class XMLBeanAccessorPlan
+{
+   private static final ClassValue<XMLBeanAccessorPlan> s_plans = new ClassValue<XMLBeanAccessorPlan>()
+   {
+      @Override
+      protected XMLBeanAccessorPlan computeValue(Class<?> beanClass)
+      {
+         return new XMLBeanAccessorPlan(beanClass);
+      }
+   };
+
+   private final Class<?> _beanClass;
+   private final MethodHandle _constructor;
+   private final List<Property> _readableProperties;
+   private final Map<String, Property> _writablePropertiesByName;
+   private final XMLException _introspectionException;
+
+   static XMLBeanAccessorPlan get(Class<?> beanClass) throws XMLException
+   {
+      XMLBeanAccessorPlan ret = s_plans.get(beanClass);
+      if (null != ret._introspectionException)
+      {
+         throw ret._introspectionException;
+      }
+      return ret;
+   }
+
+   private XMLBeanAccessorPlan(Class<?> beanClass)
+   {
+      _beanClass = beanClass;
+
+      MethodHandle constructor = null;
+      List<Property> readableProperties = new ArrayList<>();
+      Map<String, Property> writablePropertiesByName = new HashMap<>();
+      XMLException introspectionException = null;
+
+      try
+      {
+         BeanInfo info = Introspector.getBeanInfo(beanClass, Object.class);
+         for (PropertyDescriptor propDesc : info.getPropertyDescriptors())
+         {
+            Property property = new Property(propDesc);
+            if (null != property._getter)
+            {
+               readableProperties.add(property);
+            }
+            if (null != property._setter)
+            {
+               writablePropertiesByName.put(property._name, property);
+            }
+         }
+
+         try
+         {
+            constructor = unreflect(beanClass.getDeclaredConstructor()).asType(MethodType.methodType(Object.class));
+         }
+         catch (NoSuchMethodException e)
+         {
+            // Beans without default constructor may be written but not read.
+         }
+      }
+      catch (IntrospectionException | IllegalAccessException e)
+      {
+         introspectionException = new XMLException(e);
+      }
+
+      _constructor = constructor;
+      _readableProperties = Collections.unmodifiableList(readableProperties);
+      _writablePropertiesByName = writablePropertiesByName;
+      _introspectionException = introspectionException;
+   }
+
+   Object newInstance() throws XMLException
+   {
+      if (null == _constructor)
+      {
+         throw new XMLException(new NoSuchMethodException(_beanClass.getName() + " has no default constructor"));
+      }
+
+      try
+      {
+         return (Object) _constructor.invokeExact();
+      }
+      catch (Throwable t)
+      {
+         throw toXMLException(t);
+      }
+   }
+
+   /**
+    * Properties with getter in {@link Introspector} order.
+    */
+   List<Property> getReadableProperties()
+   {
+      return _readableProperties;
+   }
+
+   /**
+    * @return null if the class has no property of this name or the property has no setter.
+    */
+   Property getWritableProperty(String name)
+   {
+      return _writablePropertiesByName.get(name);
+   }
+
+   private static XMLException toXMLException(Throwable t)
+   {
+      if (t instanceof Error)
+      {
+         throw (Error) t;
+      }
+      return new XMLException((Exception) t);
+   }
+
+   private static MethodHandle unreflect(Method method) throws IllegalAccessException
+   {
+      try
+      {
+         return MethodHandles.publicLookup().unreflect(method);
+      }
+      catch (IllegalAccessException e)
+      {
+         // E.g. a public method declared by a package private class.
+         method.setAccessible(true);
+         return MethodHandles.lookup().unreflect(method);
+      }
+   }
+
+   private static MethodHandle unreflect(Constructor<?> constructor) throws IllegalAccessException
+   {
+      try
+      {
+         return MethodHandles.publicLookup().unreflectConstructor(constructor);
+      }
+      catch (IllegalAccessException e)
+      {
+         constructor.setAccessible(true);
+         return MethodHandles.lookup().unreflectConstructor(constructor);
+      }
+   }
+
+   static final class Property
+   {
+      private final String _name;
+      private final MethodHandle _getter;
+      private final Class<?> _getterType;
+      private final MethodHandle _setter;
+      private final Class<?> _setterType;
+
+      private Property(PropertyDescriptor propDesc) throws IllegalAccessException
+      {
+         _name = propDesc.getName();
+
+         Method getter = propDesc.getReadMethod();
+         if (null != getter)
+         {
+            _getter = unreflect(getter).asType(MethodType.methodType(Object.class, Object.class));
+            _getterType = getter.getReturnType();
+         }
+         else
+         {
+            _getter = null;
+            _getterType = null;
+         }
+
+         Method setter = propDesc.getWriteMethod();
+         if (null != setter)
+         {
+            _setter = unreflect(setter).asType(MethodType.methodType(void.class, Object.class, Object.class));
+            _setterType = setter.getParameterTypes()[0];
+         }
+         else
+         {
+            _setter = null;
+            _setterType = null;
+         }
+      }
+
+      String getName()
+      {
+         return _name;
+      }
+
+      Class<?> getGetterType()
+      {
+         return _getterType;
+      }
+
+      Class<?> getSetterType()
+      {
+         return _setterType;
+      }
+
+      Object get(Object bean) throws XMLException
+      {
+         try
+         {
+            return (Object) _getter.invokeExact(bean);
+         }
+         catch (Throwable t)
+         {
+            throw toXMLException(t);
+         }
+      }
+
+      void set(Object bean, Object value) throws XMLException
+      {
+         try
+         {
+            _setter.invokeExact(bean, value);
+         }
+         catch (Throwable t)
+         {
+            throw toXMLException(t);
+         }
+      }
+   }
+}
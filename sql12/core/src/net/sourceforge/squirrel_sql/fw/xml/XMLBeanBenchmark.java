@@ -0,0 +1,153 @@
+package net.sourceforge.squirrel_sql.fw.xml;
+
+import net.sourceforge.squirrel_sql.client.cli.CliInitializer;
+import net.sourceforge.squirrel_sql.client.cli.ShellMode;
+import net.sourceforge.squirrel_sql.client.gui.db.SQLAlias;
+import net.sourceforge.squirrel_sql.fw.id.UidIdentifier;
+import net.sourceforge.squirrel_sql.fw.sql.SQLDriver;
+import net.sourceforge.squirrel_sql.fw.sql.SQLDriverProperty;
+import net.sourceforge.squirrel_sql.fw.sql.SQLDriverPropertyCollection;
+
+import java.io.File;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Times writing and reading bean XML files with {@link XMLBeanWriter} and {@link XMLBeanReader}.
+ *
+ * Usage: XMLBeanBenchmark [beans XML file ...]
+ *
+ * The beans of the given files, e.g. SQLAliases23.xml and SQLDrivers.xml of a SQuirreL user directory, are used.
+ * Without files 1000 aliases and 100 drivers like those of the alias and driver files are generated.
+ * Needs SQuirreL's class path and, like the CLI, -Dsquirrel.home and optionally -Dsquirrel.userdir.
+ */
+class XMLBeanBenchmark
+{
+   private static final int WARM_UP_ROUNDS = 5;
+   private static final int ROUNDS = 20;
+
+   private static final int GENERATED_ALIASES = 1000;
+   private static final int GENERATED_DRIVERS = 100;
+
+   public static void main(String[] args) throws Exception
+   {
+      CliInitializer.initializeSquirrelInCliMode(ShellMode.BATCH);
+
+      List<Object> beans = new ArrayList<>();
+      if (0 == args.length)
+      {
+         beans.addAll(createDrivers());
+         beans.addAll(createAliases());
+      }
+      else
+      {
+         for (String fileName : args)
+         {
+            XMLBeanReader reader = new XMLBeanReader();
+            reader.load(fileName);
+            reader.forEach(beans::add);
+         }
+      }
+
+      File file = File.createTempFile("squirrel-xml-bean-benchmark", ".xml");
+      file.deleteOnExit();
+
+      long[] writeNanos = new long[ROUNDS];
+      long[] readNanos = new long[ROUNDS];
+      int readBeanCount = 0;
+
+      for (int round = -WARM_UP_ROUNDS; round < ROUNDS; round++)
+      {
+         long begin = System.nanoTime();
+         XMLBeanWriter writer = new XMLBeanWriter();
+         writer.addIteratorToRoot(beans.iterator());
+         writer.save(file);
+         long written = System.nanoTime();
+
+         XMLBeanReader reader = new XMLBeanReader();
+         reader.load(file);
+         readBeanCount = 0;
+         for (Object readBean : reader)
+         {
+            ++readBeanCount;
+         }
+         long read = System.nanoTime();
+
+         if (0 <= round)
+         {
+            writeNanos[round] = written - begin;
+            readNanos[round] = read - written;
+         }
+      }
+
+      NumberFormat nf = NumberFormat.getInstance();
+      nf.setMaximumFractionDigits(1);
+
+      System.out.println("XML bean benchmark: " + beans.size() + " beans, " + nf.format(file.length() / 1024d) + " KB, "
+                         + WARM_UP_ROUNDS + " warm up and " + ROUNDS + " measured rounds");
+      System.out.println("  Write (ms):      " + toStatistics(nf, writeNanos));
+      System.out.println("  Read (ms):       " + toStatistics(nf, readNanos));
+      System.out.println("  Beans read:      " + readBeanCount);
+
+      System.exit(0);
+   }
+
+   private static List<SQLDriver> createDrivers() throws Exception
+   {
+      List<SQLDriver> ret = new ArrayList<>();
+      for (int i = 0; i < GENERATED_DRIVERS; i++)
+      {
+         SQLDriver driver = new SQLDriver(new UidIdentifier());
+         driver.setName("Driver " + i + " (Vendor & Partner)");
+         driver.setDriverClassName("com.vendor" + i + ".jdbc.Driver");
+         driver.setUrl("jdbc:vendor" + i + "://<server>:<port>/<database>");
+         driver.setWebSiteUrl("https://www.vendor" + i + ".com/jdbc");
+         driver.setJarFileNames(new String[]{"/opt/jdbc/vendor" + i + "/vendor-jdbc-" + i + ".jar", "/opt/jdbc/vendor" + i + "/vendor-util.jar"});
+         ret.add(driver);
+      }
+      return ret;
+   }
+
+   private static List<SQLAlias> createAliases() throws Exception
+   {
+      List<SQLAlias> ret = new ArrayList<>();
+      for (int i = 0; i < GENERATED_ALIASES; i++)
+      {
+         SQLAlias alias = new SQLAlias(new UidIdentifier());
+         alias.setName("Alias " + i + " <production> & reports");
+         alias.setDriverIdentifier(new UidIdentifier());
+         alias.setUrl("jdbc:vendor" + (i % GENERATED_DRIVERS) + "://db" + i + ".example.com:5432/sales?ssl=true&timeout=30");
+         alias.setUserName("user" + i);
+         alias.setAutoLogon(0 == i % 2);
+
+         SQLDriverPropertyCollection driverProperties = new SQLDriverPropertyCollection();
+         for (int j = 0; j < 5; j++)
+         {
+            SQLDriverProperty driverProperty = new SQLDriverProperty();
+            driverProperty.setName("property" + j);
+            driverProperty.setValue("value " + j + "\r\nsecond line");
+            driverProperty.setIsSpecified(0 == j % 2);
+            driverProperties.addDriverProperty(driverProperty);
+         }
+         alias.setDriverProperties(driverProperties);
+         alias.setUseDriverProperties(true);
+
+         ret.add(alias);
+      }
+      return ret;
+   }
+
+   private static String toStatistics(NumberFormat nf, long[] nanos)
+   {
+      long[] sorted = nanos.clone();
+      Arrays.sort(sorted);
+      return "min " + toMillis(nf, sorted[0]) + ", median " + toMillis(nf, sorted[sorted.length / 2]) + ", max " + toMillis(nf, sorted[sorted.length - 1]);
+   }
+
+   private static String toMillis(NumberFormat nf, long nanos)
+   {
+      return nf.format(nanos / 1e6);
+   }
+}
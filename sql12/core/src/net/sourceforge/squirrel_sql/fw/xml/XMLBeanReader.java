@@ -23,33 +23,34 @@ import net.sourceforge.squirrel_sql.fw.util.FileWrapper;
 import net.sourceforge.squirrel_sql.fw.util.beanwrapper.StringWrapper;
 import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.beans.BeanInfo;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Array;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
+/**
+ * Reads the beans written by {@link XMLBeanWriter}.
+ *
+ * The file is parsed by a streaming reader, beans are created while parsing. Setters are called
+ * through the cached {@link XMLBeanAccessorPlan} of the bean class.
+ */
 public class XMLBeanReader implements Iterable<Object>
 {
 	/** Logger for this class. */
 	private static final ILogger s_log = LoggerController.createLogger(XMLBeanReader.class);
 
+	private static final XMLInputFactory s_inputFactory = createInputFactory();
+
 	private String[][] _fixStrings =
 		new String[][] {
 				{ "com.bigfoot.colbell.squirrel", "net.sourceforge.squirrel_sql.client" },
@@ -128,33 +129,24 @@ public class XMLBeanReader implements Iterable<Object>
 
 	public void load(InputStream is, ClassLoader cl) throws XMLException
 	{
+		XMLStreamReader xsr = null;
 		try
 		{
 			_cl = cl;
-			DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-
-			DocumentBuilder db = dbf.newDocumentBuilder();
-			Document doc = db.parse(is);
+			xsr = s_inputFactory.createXMLStreamReader(is);
 
-			// Bug 2942351 (Program doesn't launch)
-			// looking at the source for StdXMLBuilder, it appears that parser.parse() could possibly return
-			// null. So check for null here and skip if necessary.
-			if (doc != null)
+			// Moves to the root element
+			if (nextChildElement(xsr))
 			{
-				final NodeList beans = doc.getDocumentElement().getChildNodes();
-
-				for (int i = 0; i < beans.getLength(); i++)
+				while (nextChildElement(xsr))
 				{
-					final Node node = beans.item(i);
-
-					if(Node.ELEMENT_NODE != node.getNodeType())
+					if (isBeanElement(xsr))
 					{
-						continue;
+						_beanColl.add(loadBean(xsr));
 					}
-
-					if (isBeanElement(node))
+					else
 					{
-						_beanColl.add(loadBean(node));
+						skipElement(xsr);
 					}
 				}
 			}
@@ -163,6 +155,20 @@ public class XMLBeanReader implements Iterable<Object>
 		{
 			throw new XMLException(ex);
 		}
+		finally
+		{
+			if (null != xsr)
+			{
+				try
+				{
+					xsr.close();
+				}
+				catch (XMLStreamException e)
+				{
+					s_log.error("Error closing XMLStreamReader", e);
+				}
+			}
+		}
 	}
 
 	public Iterator<Object> iterator()
@@ -175,12 +181,15 @@ public class XMLBeanReader implements Iterable<Object>
 		return (List<T>) _beanColl;
 	}
 
-	private Object loadBean(Node beanNode) throws XMLException
+	/**
+	 * On return the reader is positioned at the end element of the bean.
+	 */
+	private Object loadBean(XMLStreamReader xsr) throws XMLException
 	{
 		String beanClassName = null;
 		try
 		{
-			beanClassName = getClassNameFromElement(beanNode);
+			beanClassName = getClassNameFromElement(xsr);
 			beanClassName = fixClassName(beanClassName);
 			Class beanClass = null;
 			if (_cl == null)
@@ -191,28 +200,20 @@ public class XMLBeanReader implements Iterable<Object>
 			{
 				beanClass = Class.forName(beanClassName, true, _cl);
 			}
-			Object bean = beanClass.getDeclaredConstructor().newInstance();
-			BeanInfo info = Introspector.getBeanInfo(bean.getClass(), Introspector.USE_ALL_BEANINFO);
-			PropertyDescriptor[] propDesc = info.getPropertyDescriptors();
-			Map<String, PropertyDescriptor> props = new HashMap<>();
-			for (int i = 0; i < propDesc.length; ++i)
-			{
-				props.put(propDesc[i].getName(), propDesc[i]);
-			}
-			final NodeList children = beanNode.getChildNodes();
-			for (int i = 0; i < children.getLength(); i++)
-			{
-				final Node propNode = children.item(i);
 
-				if(Node.ELEMENT_NODE != propNode.getNodeType())
-				{
-					continue;
-				}
+			XMLBeanAccessorPlan plan = XMLBeanAccessorPlan.get(beanClass);
+			Object bean = plan.newInstance();
 
-				final PropertyDescriptor curProp = props.get(propNode.getNodeName());
+			while (nextChildElement(xsr))
+			{
+				final XMLBeanAccessorPlan.Property curProp = plan.getWritableProperty(xsr.getLocalName());
 				if (curProp != null)
 				{
-					loadProperty(bean, curProp, propNode);
+					loadProperty(bean, curProp, xsr);
+				}
+				else
+				{
+					skipElement(xsr);
 				}
 			}
 
@@ -225,222 +226,208 @@ public class XMLBeanReader implements Iterable<Object>
 		}
 	}
 
-	private void loadProperty(Object bean, PropertyDescriptor propDescr, Node propNode)
-		throws XMLException
+	/**
+	 * On return the reader is positioned at the end element of the property.
+	 */
+	private void loadProperty(Object bean, XMLBeanAccessorPlan.Property property, XMLStreamReader xsr)
+		throws XMLException, XMLStreamException
 	{
-		final Method setter = propDescr.getWriteMethod();
-		if (setter != null)
-		{
-			final Class parmType = setter.getParameterTypes()[0];
-			final Class arrayType = parmType.getComponentType();
-
-			String value = null;
+		final Class parmType = property.getSetterType();
+		final Class arrayType = parmType.getComponentType();
 
-			if (0 < propNode.getChildNodes().getLength())
+		if (isIndexedElement(xsr))
+		{
+			Object[] data = loadIndexedProperty(xsr);
+
+			// Arrays of Strings are a special case.
+			// In XMLBeanWriter method writeProperty an array of
+			// Strings is turned into a list of StringWrapper objects
+			// in the XML (presumably so that when reading them back
+			// we have a class that we can call setters on). Thus,
+			// when reading back an array of Strings we actually read
+			// an array of StringWrappers, which gives a type mis-match
+			// in the following arrayCopy. Therefore we need to convert
+			// the data that is currently in the StringWrapper objects
+			// into actual Strings.
+			if (arrayType.getName().equals("java.lang.String"))
 			{
-				value = propNode.getChildNodes().item(0).getNodeValue();
+				// convert data from StringWrappers to Strings
+				Object[] stringData = new Object[data.length];
+				for (int i = 0; i < data.length; i++)
+					stringData[i] = ((StringWrapper) data[i]).getString();
+				data = stringData;
 			}
 
-			if (value == null && (parmType.isPrimitive()))
+			try
 			{
-				s_log.warn("Parameter type was primitive (" + parmType + "), but the value was null.  "
-					+ "Skipping invokation of method: " + setter.getName() + " in declaring class: "
-					+ setter.getDeclaringClass());
-				return;
+				Object obj = Array.newInstance(arrayType, data.length);
+				System.arraycopy(data, 0, obj, 0, data.length);
+				property.set(bean, obj);
 			}
-
-			if (isIndexedElement(propNode))
+			catch (XMLException ex)
 			{
-				Object[] data = loadIndexedProperty(propNode);
-				try
-				{
-					// Arrays of Strings are a special case.
-					// In XMLBeanWriter method ProcessProperty an array of
-					// Strings is turned into a list of StringWrapper objects
-					// in the XML (presumably so that when reading them back
-					// we have a class that we can call setters on). Thus,
-					// when reading back an array of Strings we actually read
-					// an array of StringWrappers, which gives a type mis-match
-					// in the following arrayCopy. Therefore we need to convert
-					// the data that is currently in the StringWrapper objects
-					// into actual Strings.
-					if (arrayType.getName().equals("java.lang.String"))
-					{
-						// convert data from StringWrappers to Strings
-						Object[] stringData = new Object[data.length];
-						for (int i = 0; i < data.length; i++)
-							stringData[i] = ((StringWrapper) data[i]).getString();
-						data = stringData;
-					}
-
-					Object obj = Array.newInstance(arrayType, data.length);
-					System.arraycopy(data, 0, obj, 0, data.length);
-					setter.invoke(bean, new Object[] { obj });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
+				throw ex;
 			}
-			else if (isBeanElement(propNode))
+			catch (Exception ex)
 			{
-				Object data = loadBean(propNode);
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
-			}
-			else if (parmType == boolean.class)
-			{
-				Object data = Boolean.valueOf(value);
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
-			}
-			else if (parmType == int.class)
-			{
-				Object data = Integer.valueOf(value);
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
-			}
-			else if (parmType == short.class)
-			{
-				Object data = Short.valueOf(value);
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
+				throw new XMLException(ex);
 			}
-			else if (parmType == long.class)
-			{
-				Object data = Long.valueOf(value);
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
-			}
-			else if (parmType == float.class)
-			{
-				Object data = Float.valueOf(value);
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
-			}
-			else if (parmType == double.class)
-			{
-				Object data = Double.valueOf(value);
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
-			}
-			else if (parmType == char.class)
+			return;
+		}
+
+		if (isBeanElement(xsr))
+		{
+			property.set(bean, loadBean(xsr));
+			return;
+		}
+
+		String value = readText(xsr);
+
+		if (value == null && (parmType.isPrimitive()))
+		{
+			s_log.warn("Parameter type was primitive (" + parmType + "), but the value was null.  "
+				+ "Skipping invokation of setter for property " + property.getName() + " in class: "
+				+ bean.getClass().getName());
+			return;
+		}
+
+		final Object data;
+		if (parmType == boolean.class)
+		{
+			data = Boolean.valueOf(value);
+		}
+		else if (parmType == int.class)
+		{
+			data = Integer.valueOf(value);
+		}
+		else if (parmType == short.class)
+		{
+			data = Short.valueOf(value);
+		}
+		else if (parmType == long.class)
+		{
+			data = Long.valueOf(value);
+		}
+		else if (parmType == float.class)
+		{
+			data = Float.valueOf(value);
+		}
+		else if (parmType == double.class)
+		{
+			data = Double.valueOf(value);
+		}
+		else if (parmType == char.class)
+		{
+			if (value != null && value.length() > 0)
 			{
-				Object data;
-				if (value != null && value.length() > 0)
-				{
-					data = Character.valueOf(value.charAt(0));
-				}
-				else
-				{
-					data = Character.valueOf(' ');
-				}
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
+				data = Character.valueOf(value.charAt(0));
 			}
 			else
 			{
-				Object data = value;
-				try
-				{
-					setter.invoke(bean, new Object[] { data });
-				}
-				catch (Exception ex)
-				{
-					throw new XMLException(ex);
-				}
+				data = Character.valueOf(' ');
 			}
 		}
+		else
+		{
+			data = value;
+		}
+
+		property.set(bean, data);
 	}
 
-	private Object[] loadIndexedProperty(Node beanElement) throws XMLException
+	private Object[] loadIndexedProperty(XMLStreamReader xsr) throws XMLException, XMLStreamException
 	{
 		final List<Object> beans = new ArrayList<>();
-		final NodeList children = beanElement.getChildNodes();
 
-		for (int i = 0; i < children.getLength(); i++)
+		while (nextChildElement(xsr))
 		{
-			final Node child = children.item(i);
+			beans.add(loadBean(xsr));
+		}
+		return beans.toArray(new Object[beans.size()]);
+	}
 
-			if(Node.ELEMENT_NODE != child.getNodeType())
+	/**
+	 * Advances to the next child element of the current element.
+	 *
+	 * @return false if the end element of the current element was reached instead.
+	 */
+	private static boolean nextChildElement(XMLStreamReader xsr) throws XMLStreamException
+	{
+		while (xsr.hasNext())
+		{
+			int event = xsr.next();
+			if (XMLStreamConstants.START_ELEMENT == event)
 			{
-				continue;
+				return true;
+			}
+			else if (XMLStreamConstants.END_ELEMENT == event)
+			{
+				return false;
 			}
-
-			beans.add(loadBean(child));
 		}
-		return beans.toArray(new Object[beans.size()]);
+		return false;
 	}
 
-	private boolean isBeanElement(Node node)
+	private static void skipElement(XMLStreamReader xsr) throws XMLStreamException
 	{
-		return node.getAttributes().getNamedItem(XMLConstants.CLASS_ATTRIBUTE_NAME) != null;
+		while (nextChildElement(xsr))
+		{
+			skipElement(xsr);
+		}
 	}
 
-	private boolean isIndexedElement(Node elem)
+	/**
+	 * @return The text of the current element up to its first child element, null if there is no text.
+	 * Like the DOM based reader before it this ignores any text after a child element.
+	 */
+	private static String readText(XMLStreamReader xsr) throws XMLStreamException
 	{
-		final Node indexed = elem.getAttributes().getNamedItem(XMLConstants.INDEXED);
-
-		if(null == indexed)
+		String ret = null;
+		while (xsr.hasNext())
 		{
-			return false;
+			int event = xsr.next();
+			if (XMLStreamConstants.CHARACTERS == event || XMLStreamConstants.CDATA == event || XMLStreamConstants.SPACE == event)
+			{
+				ret = null == ret ? xsr.getText() : ret + xsr.getText();
+			}
+			else if (XMLStreamConstants.START_ELEMENT == event)
+			{
+				skipElement(xsr);
+				while (nextChildElement(xsr))
+				{
+					skipElement(xsr);
+				}
+				return ret;
+			}
+			else if (XMLStreamConstants.END_ELEMENT == event)
+			{
+				return ret;
+			}
 		}
+		return ret;
+	}
+
+	private boolean isBeanElement(XMLStreamReader xsr)
+	{
+		return xsr.getAttributeValue(null, XMLConstants.CLASS_ATTRIBUTE_NAME) != null;
+	}
 
-		String att = indexed.getNodeValue();
+	private boolean isIndexedElement(XMLStreamReader xsr)
+	{
+		String att = xsr.getAttributeValue(null, XMLConstants.INDEXED);
 		return att != null && att.equals("true");
 	}
 
-	private String getClassNameFromElement(Node elem)
+	private String getClassNameFromElement(XMLStreamReader xsr)
+	{
+		return xsr.getAttributeValue(null, XMLConstants.CLASS_ATTRIBUTE_NAME);
+	}
+
+	private static XMLInputFactory createInputFactory()
 	{
-		return elem.getAttributes().getNamedItem(XMLConstants.CLASS_ATTRIBUTE_NAME).getNodeValue();
+		XMLInputFactory ret = XMLInputFactory.newInstance();
+		ret.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		return ret;
 	}
 
 	private String fixClassName(String className)
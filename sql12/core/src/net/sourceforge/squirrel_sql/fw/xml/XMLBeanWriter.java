@@ -22,37 +22,38 @@ package net.sourceforge.squirrel_sql.fw.xml;
 import net.sourceforge.squirrel_sql.fw.util.FileWrapper;
 import net.sourceforge.squirrel_sql.fw.util.Utilities;
 import net.sourceforge.squirrel_sql.fw.util.beanwrapper.StringWrapper;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Method;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
+/**
+ * Writes beans as XML that {@link XMLBeanReader} reads.
+ *
+ * The added beans are serialized when saved, by a streaming writer directly into the target,
+ * using the cached {@link XMLBeanAccessorPlan} of each bean's class. No document tree is built.
+ *
+ * Control characters, e.g. the CR of CRLF line ends, are written as numeric character references
+ * as the former DOM based writer did. Written raw they would be turned into LF when read.
+ */
 public final class XMLBeanWriter
 {
-	//private IXMLElement _rootElement;
-	private Element _rootElement;
-	private Document _dom;
+	private static final XMLOutputFactory s_outputFactory = XMLOutputFactory.newInstance();
+
+	private static final String INDENT = "    ";
+
+	private final List<Object> _beans = new ArrayList<>();
 
 	public XMLBeanWriter() throws XMLException
 	{
@@ -61,25 +62,9 @@ public final class XMLBeanWriter
 
 	public XMLBeanWriter(Object bean) throws XMLException
 	{
-		try
+		if (bean != null)
 		{
-			//_rootElement = new XMLElement(XMLConstants.ROOT_ELEMENT_NAME);
-
-			DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-			DocumentBuilder db = dbf.newDocumentBuilder();
-			_dom = db.newDocument();
-			_rootElement = _dom.createElement("Beans");
-
-			if (bean != null)
-			{
-				addToRoot(bean);
-			}
-
-			_dom.appendChild(_rootElement);
-		}
-		catch (ParserConfigurationException e)
-		{
-			throw Utilities.wrapRuntime(e);
+			addToRoot(bean);
 		}
 	}
 
@@ -93,14 +78,7 @@ public final class XMLBeanWriter
 
 	public void addToRoot(Object bean) throws XMLException
 	{
-		try
-		{
-			_rootElement.appendChild(createElement(bean, null));
-		}
-		catch (Exception ex)
-		{
-			throw new XMLException(ex);
-		}
+		_beans.add(bean);
 	}
 
 	/**
@@ -143,11 +121,9 @@ public final class XMLBeanWriter
 	{
 		try
 		{
-			Transformer tr = createTransFormer();
-			tr.transform(new DOMSource(_rootElement), new StreamResult(os));
-
-			// XMLWriter wtr = new XMLWriter(bos);
-			// wtr.write(_rootElement, true);
+			Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+			writeDocument(writer);
+			writer.flush();
 		}
 		catch (Exception e)
 		{
@@ -155,155 +131,175 @@ public final class XMLBeanWriter
 		}
 	}
 
-	private Transformer createTransFormer()
+	public String getAsString()
 	{
 		try
 		{
-			Transformer tr = TransformerFactory.newInstance().newTransformer();
-			tr.setOutputProperty(OutputKeys.INDENT, "yes");
-			tr.setOutputProperty(OutputKeys.METHOD, "xml");
-			tr.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
-			//tr.setOutputProperty(OutputKeys.DOCTYPE_SYSTEM, "roles.dtd");
-			//tr.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-			return tr;
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			saveToOutputStream(bos);
+			return bos.toString(StandardCharsets.UTF_8);
 		}
-		catch (TransformerConfigurationException e)
+		catch (Exception e)
 		{
 			throw Utilities.wrapRuntime(e);
 		}
 	}
 
-	public String getAsString()
+	private void writeDocument(Writer writer) throws IOException, XMLException, XMLStreamException
 	{
-		try
-		{
-			ByteArrayOutputStream bos = new ByteArrayOutputStream();
-
-			Transformer tr = createTransFormer();
-			tr.transform(new DOMSource(_rootElement), new StreamResult(bos));
+		writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
 
-			//new XMLWriter(bos).write(_rootElement, true);
-
-			return bos.toString(StandardCharsets.UTF_8);
-		}
-		catch (TransformerException e)
+		XMLStreamWriter xsw = s_outputFactory.createXMLStreamWriter(writer);
+		xsw.writeStartElement(XMLConstants.ROOT_ELEMENT_NAME);
+		for (Object bean : _beans)
 		{
-			throw Utilities.wrapRuntime(e);
+			writeElement(xsw, bean, null, 1);
 		}
+		xsw.writeCharacters("\n");
+		xsw.writeEndElement();
+		xsw.writeCharacters("\n");
+		xsw.flush();
 	}
 
-
-	private Element createElement(Object bean, String name) throws XMLException
+	private void writeElement(XMLStreamWriter xsw, Object bean, String name, int depth) throws XMLException, XMLStreamException
 	{
-		Element elem = null;
-		BeanInfo info = null;
-		try
-		{
-			if (bean != null)
-			{
-				info = Introspector.getBeanInfo(bean.getClass(), Object.class);
-			}
-		}
-		catch (IntrospectionException ex)
+		final String elemName = name != null ? name : XMLConstants.BEAN_ELEMENT_NAME;
+
+		writeIndent(xsw, depth);
+
+		if (bean == null)
 		{
-			throw new XMLException(ex);
+			xsw.writeEmptyElement(elemName);
+			return;
 		}
 
-		// elem = new XMLElement(name != null ? name : XMLConstants.BEAN_ELEMENT_NAME);
-		elem = _dom.createElement(name != null ? name : XMLConstants.BEAN_ELEMENT_NAME);
-
-		if (info != null)
+		if (bean instanceof IXMLAboutToBeWritten)
 		{
-			if (bean instanceof IXMLAboutToBeWritten)
-			{
-				((IXMLAboutToBeWritten) bean).aboutToBeWritten();
-			}
-			PropertyDescriptor[] propDesc = info.getPropertyDescriptors();
+			((IXMLAboutToBeWritten) bean).aboutToBeWritten();
+		}
 
-			// elem = new XMLElement(name != null ? name : XMLConstants.BEAN_ELEMENT_NAME);
-			elem = _dom.createElement(name != null ? name : XMLConstants.BEAN_ELEMENT_NAME);
+		XMLBeanAccessorPlan plan = XMLBeanAccessorPlan.get(bean.getClass());
 
-			elem.setAttribute(XMLConstants.CLASS_ATTRIBUTE_NAME, bean.getClass().getName());
+		xsw.writeStartElement(elemName);
+		xsw.writeAttribute(XMLConstants.CLASS_ATTRIBUTE_NAME, bean.getClass().getName());
 
-			for (int i = 0; i < propDesc.length; ++i)
-			{
-				processProperty(propDesc[i], bean, elem);
-			}
+		for (XMLBeanAccessorPlan.Property property : plan.getReadableProperties())
+		{
+			writeProperty(xsw, property, bean, depth + 1);
 		}
 
-		return elem;
+		if (false == plan.getReadableProperties().isEmpty())
+		{
+			writeIndent(xsw, depth);
+		}
+		xsw.writeEndElement();
 	}
 
-	private void processProperty(PropertyDescriptor propDescr, Object bean, Element beanElem)
-		throws XMLException
+	private void writeProperty(XMLStreamWriter xsw, XMLBeanAccessorPlan.Property property, Object bean, int depth)
+		throws XMLException, XMLStreamException
 	{
-		final Method getter = propDescr.getReadMethod();
-		if (getter != null)
+		final String propName = property.getName();
+		Class returnType = property.getGetterType();
+		if (returnType.isArray())
 		{
-			try
+			final boolean isStringArray = returnType.getName().equals("[Ljava.lang.String;");
+			Object[] props = (Object[]) property.get(bean);
+			if (props != null)
 			{
-				final String propName = propDescr.getName();
-				Class returnType = getter.getReturnType();
-				if (returnType.isArray())
+				writeIndent(xsw, depth);
+				xsw.writeStartElement(propName);
+				xsw.writeAttribute(XMLConstants.INDEXED, "true");
+				for (int i = 0; i < props.length; ++i)
 				{
-					final boolean isStringArray = returnType.getName().equals("[Ljava.lang.String;");
-					Object[] props = (Object[]) getter.invoke(bean, (Object[]) null);
-					if (props != null)
+					if (isStringArray)
 					{
-						//IXMLElement indexElem = new XMLElement(propName);
-						Element indexElem = _dom.createElement(propName);
-
-						indexElem.setAttribute(XMLConstants.INDEXED, "true");
-						beanElem.appendChild(indexElem);
-						for (int i = 0; i < props.length; ++i)
-						{
-							if (isStringArray)
-							{
-								StringWrapper sw = new StringWrapper((String) props[i]);
-								indexElem.appendChild(createElement(sw, XMLConstants.BEAN_ELEMENT_NAME));
-							}
-							else
-							{
-								indexElem.appendChild(createElement(props[i], XMLConstants.BEAN_ELEMENT_NAME));
-							}
-						}
+						StringWrapper sw = new StringWrapper((String) props[i]);
+						writeElement(xsw, sw, XMLConstants.BEAN_ELEMENT_NAME, depth + 1);
 					}
-				}
-				else if (returnType == boolean.class || returnType == int.class || returnType == short.class
-					|| returnType == long.class || returnType == float.class || returnType == double.class
-					|| returnType == char.class)
-				{
-					//IXMLElement propElem = new XMLElement(propName);
-					Element propElem = _dom.createElement(propName);
-
-					// propElem.setContent("" + getter.invoke(bean, (Object[]) null));
-					propElem.appendChild(_dom.createTextNode("" + getter.invoke(bean, (Object[]) null)));
-
-					beanElem.appendChild(propElem);
-				}
-				else if (returnType == String.class)
-				{
-					//IXMLElement propElem = new XMLElement(propName);
-					Element propElem = _dom.createElement(propName);
-
-					//propElem.setContent((String) getter.invoke(bean, (Object[]) null));
-					final String getterRes = (String) getter.invoke(bean, (Object[]) null);
-					if (null != getterRes)
+					else
 					{
-						propElem.appendChild(_dom.createTextNode(getterRes));
+						writeElement(xsw, props[i], XMLConstants.BEAN_ELEMENT_NAME, depth + 1);
 					}
-
-					beanElem.appendChild(propElem);
 				}
-				else
+				if (0 < props.length)
 				{
-					beanElem.appendChild(createElement(getter.invoke(bean, (Object[]) null), propName));
+					writeIndent(xsw, depth);
 				}
+				xsw.writeEndElement();
 			}
-			catch (Exception ex)
+		}
+		else if (returnType == boolean.class || returnType == int.class || returnType == short.class
+			|| returnType == long.class || returnType == float.class || returnType == double.class
+			|| returnType == char.class)
+		{
+			writeIndent(xsw, depth);
+			xsw.writeStartElement(propName);
+			writeText(xsw, "" + property.get(bean));
+			xsw.writeEndElement();
+		}
+		else if (returnType == String.class)
+		{
+			writeIndent(xsw, depth);
+			xsw.writeStartElement(propName);
+			final String getterRes = (String) property.get(bean);
+			if (null != getterRes)
 			{
-				throw new XMLException(ex);
+				writeText(xsw, getterRes);
 			}
+			xsw.writeEndElement();
+		}
+		else
+		{
+			writeElement(xsw, property.get(bean), propName, depth);
+		}
+	}
+
+	/**
+	 * Writes the text with the characters of {@link #needsCharacterReference(char)} as numeric character references.
+	 */
+	private static void writeText(XMLStreamWriter xsw, String text) throws XMLStreamException
+	{
+		int runStart = 0;
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if (needsCharacterReference(c))
+			{
+				if (runStart < i)
+				{
+					xsw.writeCharacters(text.substring(runStart, i));
+				}
+				xsw.writeEntityRef("#" + (int) c);
+				runStart = i + 1;
+			}
+		}
+
+		if (0 == runStart)
+		{
+			xsw.writeCharacters(text);
+		}
+		else if (runStart < text.length())
+		{
+			xsw.writeCharacters(text.substring(runStart));
+		}
+	}
+
+	/**
+	 * The characters the former DOM based writer wrote as character references:
+	 * The C0 controls except tab and LF, DEL and the C1 controls.
+	 */
+	private static boolean needsCharacterReference(char c)
+	{
+		return (c < 0x20 && c != '\t' && c != '\n') || (0x7F <= c && c <= 0x9F);
+	}
+
+	private static void writeIndent(XMLStreamWriter xsw, int depth) throws XMLStreamException
+	{
+		StringBuilder sb = new StringBuilder(1 + depth * INDENT.length()).append('\n');
+		for (int i = 0; i < depth; i++)
+		{
+			sb.append(INDENT);
 		}
+		xsw.writeCharacters(sb.toString());
 	}
 }
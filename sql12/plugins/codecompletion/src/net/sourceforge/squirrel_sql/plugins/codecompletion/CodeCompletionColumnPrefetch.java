@@ -0,0 +1,68 @@
+package net.sourceforge.squirrel_sql.plugins.codecompletion;
+
+import net.sourceforge.squirrel_sql.client.Main;
+import net.sourceforge.squirrel_sql.client.session.ISession;
+import net.sourceforge.squirrel_sql.client.session.mainpanel.SQLHistoryItem;
+import net.sourceforge.squirrel_sql.client.session.schemainfo.SchemaInfo;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+
+/**
+ * Starts the background column prefetch of {@link SchemaInfo#prefetchColumns(java.util.Collection)}
+ * with the tables referenced in an SQL editor and in the recent SQL history of the session's alias as priority tables.
+ */
+class CodeCompletionColumnPrefetch
+{
+   private static final int MAX_HISTORY_ITEMS = 100;
+
+   static void prefetch(ISession session, String editorText)
+   {
+      SchemaInfo schemaInfo = session.getSchemaInfo();
+      if (false == schemaInfo.isLoaded())
+      {
+         return;
+      }
+
+      // Any identifier may be a table name, SchemaInfo ignores those that are not.
+      LinkedHashSet<String> priorityTableNames = new LinkedHashSet<>();
+      addIdentifiers(editorText, priorityTableNames);
+
+      String aliasName = session.getAlias().getName();
+      SQLHistoryItem[] historyItems = Main.getApplication().getSQLHistory().getSQLHistoryItems();
+      for (int i = 0, count = 0; i < historyItems.length && count < MAX_HISTORY_ITEMS; i++)
+      {
+         if (Objects.equals(aliasName, historyItems[i].getAliasName()))
+         {
+            addIdentifiers(historyItems[i].getSQL(), priorityTableNames);
+            ++count;
+         }
+      }
+
+      schemaInfo.prefetchColumns(priorityTableNames);
+   }
+
+   private static void addIdentifiers(String sql, LinkedHashSet<String> identifiers)
+   {
+      if (null == sql)
+      {
+         return;
+      }
+
+      int begin = -1;
+      for (int i = 0; i <= sql.length(); i++)
+      {
+         boolean identifierChar = i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || '_' == sql.charAt(i) || '$' == sql.charAt(i) || '#' == sql.charAt(i));
+
+         if (identifierChar && -1 == begin)
+         {
+            begin = i;
+         }
+         else if (false == identifierChar && -1 != begin)
+         {
+            identifiers.add(sql.substring(begin, i));
+            begin = -1;
+         }
+      }
+   }
+}
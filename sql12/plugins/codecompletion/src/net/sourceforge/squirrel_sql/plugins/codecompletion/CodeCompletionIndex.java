@@ -0,0 +1,266 @@
+package net.sourceforge.squirrel_sql.plugins.codecompletion;
+
+import net.sourceforge.squirrel_sql.fw.completion.CompletionMatchType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Finds the completion infos of one catalog/schema that match a completion string
+ * without calling {@link CodeCompletionInfo#matchesCompletionStringStart(String, CompletionMatchType)} for each of them.
+ *
+ * The index only narrows down the candidates, each candidate is still checked by matchesCompletionStringStart().
+ * So results are the same as with a linear search, in list order.
+ */
+class CodeCompletionIndex
+{
+   private final List<CodeCompletionInfo> _infos;
+
+   /**
+    * Positions in _infos sorted by upper case compare string, see {@link CodeCompletionInfo#compareTo(Object)}.
+    */
+   private final int[] _sortedPositions;
+   private final String[] _sortedUpperCaseStrings;
+
+   /**
+    * Built on the first {@link CompletionMatchType#CONTAINS} search. Maps case folded trigrams to ascending positions.
+    */
+   private HashMap<Long, int[]> _positionsByTrigram;
+
+   CodeCompletionIndex(List<CodeCompletionInfo> infos)
+   {
+      _infos = Collections.unmodifiableList(new ArrayList<>(infos));
+
+      String[] upperCaseStrings = new String[_infos.size()];
+      Integer[] positions = new Integer[_infos.size()];
+      for (int i = 0; i < upperCaseStrings.length; i++)
+      {
+         upperCaseStrings[i] = _infos.get(i).getCompareString().toUpperCase();
+         positions[i] = i;
+      }
+      Arrays.sort(positions, Comparator.comparing(pos -> upperCaseStrings[pos]));
+
+      _sortedPositions = new int[positions.length];
+      _sortedUpperCaseStrings = new String[positions.length];
+      for (int i = 0; i < positions.length; i++)
+      {
+         _sortedPositions[i] = positions[i];
+         _sortedUpperCaseStrings[i] = upperCaseStrings[positions[i]];
+      }
+   }
+
+   List<CodeCompletionInfo> getInfos()
+   {
+      return _infos;
+   }
+
+   /**
+    * @return A new index with the given infos in front of this index' infos.
+    */
+   CodeCompletionIndex withInfosAtBegin(CodeCompletionInfo[] infos)
+   {
+      ArrayList<CodeCompletionInfo> buf = new ArrayList<>(infos.length + _infos.size());
+      buf.addAll(Arrays.asList(infos));
+      buf.addAll(_infos);
+      return new CodeCompletionIndex(buf);
+   }
+
+   /**
+    * @param maxCount The search stops after maxCount matches.
+    */
+   List<CodeCompletionInfo> findMatching(String trimmedPrefix, CompletionMatchType matchType, int maxCount)
+   {
+      int[] candidates;
+      switch (matchType)
+      {
+         case CAMEL_CASE:
+            // A camel case match requires the first camel case part to be a prefix of the name.
+            // A plain prefix match requires the whole string as prefix, so the first part covers both.
+            candidates = findPrefixCandidates(getFirstCamelCasePart(trimmedPrefix).toUpperCase());
+            break;
+         case CONTAINS:
+            // Prefix matches are checked on String.toUpperCase() which may differ from the case folding of the trigrams.
+            candidates = findContainsCandidates(trimmedPrefix);
+            if (null != candidates)
+            {
+               candidates = union(candidates, findPrefixCandidates(trimmedPrefix.toUpperCase()));
+            }
+            break;
+         default:
+            candidates = findPrefixCandidates(trimmedPrefix.toUpperCase());
+            break;
+      }
+
+      List<CodeCompletionInfo> ret = new ArrayList<>();
+      for (int i = 0; i < (null == candidates ? _infos.size() : candidates.length) && ret.size() < maxCount; i++)
+      {
+         CodeCompletionInfo info = _infos.get(null == candidates ? i : candidates[i]);
+         if (info.matchesCompletionStringStart(trimmedPrefix, matchType))
+         {
+            ret.add(info);
+         }
+      }
+      return ret;
+   }
+
+   /**
+    * @return Ascending positions of the infos whose upper case compare string starts with upperCasePrefix.
+    */
+   private int[] findPrefixCandidates(String upperCasePrefix)
+   {
+      int begin = Arrays.binarySearch(_sortedUpperCaseStrings, upperCasePrefix);
+      if (begin < 0)
+      {
+         begin = -begin - 1;
+      }
+      else
+      {
+         // Equal strings may occur more than once.
+         while (0 < begin && _sortedUpperCaseStrings[begin - 1].equals(upperCasePrefix))
+         {
+            --begin;
+         }
+      }
+
+      int end = begin;
+      while (end < _sortedUpperCaseStrings.length && _sortedUpperCaseStrings[end].startsWith(upperCasePrefix))
+      {
+         ++end;
+      }
+
+      int[] ret = Arrays.copyOfRange(_sortedPositions, begin, end);
+      Arrays.sort(ret);
+      return ret;
+   }
+
+   /**
+    * @return Ascending positions of the infos whose compare string contains all trigrams of the search string,
+    * null if the search string is too short for trigrams, meaning that all infos are candidates.
+    */
+   private int[] findContainsCandidates(String searchString)
+   {
+      if (searchString.length() < 3)
+      {
+         return null;
+      }
+
+      HashMap<Long, int[]> positionsByTrigram = getPositionsByTrigram();
+
+      int[] ret = null;
+      for (int i = 0; i + 3 <= searchString.length(); i++)
+      {
+         int[] positions = positionsByTrigram.get(trigram(searchString, i));
+         if (null == positions)
+         {
+            return new int[0];
+         }
+         ret = null == ret ? positions : intersect(ret, positions);
+      }
+      return ret;
+   }
+
+   private HashMap<Long, int[]> getPositionsByTrigram()
+   {
+      if (null == _positionsByTrigram)
+      {
+         HashMap<Long, List<Integer>> buf = new HashMap<>();
+         for (int pos = 0; pos < _infos.size(); pos++)
+         {
+            String compareString = _infos.get(pos).getCompareString();
+            for (int i = 0; i + 3 <= compareString.length(); i++)
+            {
+               List<Integer> positions = buf.computeIfAbsent(trigram(compareString, i), t -> new ArrayList<>());
+               if (positions.isEmpty() || positions.get(positions.size() - 1) != pos)
+               {
+                  positions.add(pos);
+               }
+            }
+         }
+
+         HashMap<Long, int[]> positionsByTrigram = new HashMap<>(buf.size() * 4 / 3 + 1);
+         buf.forEach((trigram, positions) -> positionsByTrigram.put(trigram, positions.stream().mapToInt(Integer::intValue).toArray()));
+         _positionsByTrigram = positionsByTrigram;
+      }
+      return _positionsByTrigram;
+   }
+
+   /**
+    * Folds case the way {@link String#regionMatches(boolean, int, String, int, int)} compares characters,
+    * so trigram matches are a superset of case insensitive contains matches.
+    */
+   private static long trigram(String s, int begin)
+   {
+      return (long) fold(s.charAt(begin)) << 32 | (long) fold(s.charAt(begin + 1)) << 16 | fold(s.charAt(begin + 2));
+   }
+
+   private static char fold(char c)
+   {
+      return Character.toLowerCase(Character.toUpperCase(c));
+   }
+
+   private static String getFirstCamelCasePart(String s)
+   {
+      for (int i = 1; i < s.length(); i++)
+      {
+         if (Character.isUpperCase(s.charAt(i)))
+         {
+            return s.substring(0, i);
+         }
+      }
+      return s;
+   }
+
+   private static int[] union(int[] a, int[] b)
+   {
+      int[] ret = new int[a.length + b.length];
+      int size = 0;
+      int i = 0;
+      int j = 0;
+      while (i < a.length || j < b.length)
+      {
+         int next;
+         if (j == b.length || (i < a.length && a[i] <= b[j]))
+         {
+            next = a[i++];
+         }
+         else
+         {
+            next = b[j++];
+         }
+
+         if (0 == size || ret[size - 1] != next)
+         {
+            ret[size++] = next;
+         }
+      }
+      return Arrays.copyOf(ret, size);
+   }
+
+   private static int[] intersect(int[] a, int[] b)
+   {
+      int[] ret = new int[Math.min(a.length, b.length)];
+      int size = 0;
+      for (int i = 0, j = 0; i < a.length && j < b.length; )
+      {
+         if (a[i] < b[j])
+         {
+            ++i;
+         }
+         else if (a[i] > b[j])
+         {
+            ++j;
+         }
+         else
+         {
+            ret[size++] = a[i];
+            ++i;
+            ++j;
+         }
+      }
+      return Arrays.copyOf(ret, size);
+   }
+}
@@ -33,11 +33,14 @@ public class CodeCompletionInfoCollection
 {
 	private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(CodeCompletionInfoCollection.class);
 
-   private Hashtable<String, Vector<CodeCompletionInfo>> _completionInfosByCataLogAndSchema = new Hashtable<>();
+   /**
+    * Per catalog and schema. Dropped when the SchemaInfo is updated and rebuilt for the catalogs and schemas used afterwards.
+    */
+   private Hashtable<String, CodeCompletionIndex> _completionIndexByCataLogAndSchema = new Hashtable<>();
    private Vector<CodeCompletionTableAliasInfo> _aliasCompletionInfos = new Vector<>();
 
-   private Vector<CodeCompletionSchemaInfo> _schemas = new Vector<>();
-   private Vector<CodeCompletionCatalogInfo> _catalogs = new Vector<>();
+   private HashSet<String> _upperCaseSchemas = new HashSet<>();
+   private HashSet<String> _upperCaseCatalogs = new HashSet<>();
 
 	private ISession _session;
 	private CodeCompletionPlugin _plugin;
@@ -57,14 +60,14 @@ public class CodeCompletionInfoCollection
 
       _prefs = (CodeCompletionPreferences) _session.getPluginObject(_plugin, CodeCompletionPlugin.PLUGIN_OBJECT_PREFS_KEY);
 
-      _session.getSchemaInfo().addSchemaInfoUpdateListener(() -> _completionInfosByCataLogAndSchema = new Hashtable<>());
+      _session.getSchemaInfo().addSchemaInfoUpdateListener(() -> _completionIndexByCataLogAndSchema = new Hashtable<>());
    }
 
 	private void load(String catalog, String schema, boolean showLoadingMessage)
 	{
       String key = (catalog + "," + schema).toUpperCase();
 
-		if(null == _completionInfosByCataLogAndSchema.get(key))
+		if(null == _completionIndexByCataLogAndSchema.get(key))
 		{
 			if(!_session.getSchemaInfo().isLoaded())
 			{
@@ -168,19 +171,25 @@ public class CodeCompletionInfoCollection
                completionInfos.add(new CodeCompletionFunctionInfo(functions[i]));
             }
 
+            HashSet<String> upperCaseCatalogs = new HashSet<>();
             String[] catalogs = _session.getSchemaInfo().getCatalogs();
             for (int i = 0; i < catalogs.length; i++)
             {
-               completionInfos.add(new CodeCompletionCatalogInfo(catalogs[i], _prefs));
-               _catalogs.add(new CodeCompletionCatalogInfo(catalogs[i], _prefs));
+               CodeCompletionCatalogInfo catalogInfo = new CodeCompletionCatalogInfo(catalogs[i], _prefs);
+               completionInfos.add(catalogInfo);
+               upperCaseCatalogs.add(catalogInfo.getCompareString().toUpperCase());
             }
+            _upperCaseCatalogs = upperCaseCatalogs;
 
+            HashSet<String> upperCaseSchemas = new HashSet<>();
             String[] schemas = _session.getSchemaInfo().getSchemas();
             for (int i = 0; i < schemas.length; i++)
             {
-               completionInfos.add(new CodeCompletionSchemaInfo(schemas[i], _prefs));
-               _schemas.add(new CodeCompletionSchemaInfo(schemas[i], _prefs));
+               CodeCompletionSchemaInfo schemaInfo = new CodeCompletionSchemaInfo(schemas[i], _prefs);
+               completionInfos.add(schemaInfo);
+               upperCaseSchemas.add(schemaInfo.getCompareString().toUpperCase());
             }
+            _upperCaseSchemas = upperCaseSchemas;
 
             SyntaxExternalService syntaxExternalService =
                (SyntaxExternalService) _session.getApplication().getPluginManager().bindExternalPluginService("syntax", SyntaxExternalService.class);
@@ -208,7 +217,7 @@ public class CodeCompletionInfoCollection
 
          Collections.sort(completionInfos);
 
-         _completionInfosByCataLogAndSchema.put(key, completionInfos);
+         _completionIndexByCataLogAndSchema.put(key, new CodeCompletionIndex(completionInfos));
 		}
 	}
 
@@ -217,14 +226,16 @@ public class CodeCompletionInfoCollection
    {
 		load(catalog, schema, true);
 
-      Vector<CodeCompletionInfo> completionInfos = getCompletionInfos(catalog, schema);
+      CodeCompletionIndex completionIndex = getCompletionIndex(catalog, schema);
 
-      if(null == completionInfos)
+      if(null == completionIndex)
       {
          // CompletionInfos are still loading
          return new CodeCompletionInfo[0];
       }
 
+      List<CodeCompletionInfo> completionInfos = completionIndex.getInfos();
+
       String trimmedPrefix = prefix.trim();
 
       if("".equals(trimmedPrefix))
@@ -258,35 +269,34 @@ public class CodeCompletionInfoCollection
          }
 		}
 
+      // One more than allowed tells us the list is truncated.
+      List<CodeCompletionInfo> matching =
+            completionIndex.findMatching(trimmedPrefix, CompletionMatchTypeUtil.matchTypeOf(_useCompletionPrefs, _prefs), MAX_COMPLETION_INFOS + 1);
 
-      for(int i=0; i < completionInfos.size(); ++i)
+      for (CodeCompletionInfo buf : matching)
       {
-         CodeCompletionInfo buf = completionInfos.get(i);
-         if (buf.matchesCompletionStringStart(trimmedPrefix, CompletionMatchTypeUtil.matchTypeOf(_useCompletionPrefs, _prefs)))
-         {
-            ret.add(buf);
+         ret.add(buf);
 
-            if (MAX_COMPLETION_INFOS < ret.size())
-            {
-               _session.showMessage(TOO_MANY_COMPLETION_INFOS);
-               break;
-            }
+         if (MAX_COMPLETION_INFOS < ret.size())
+         {
+            _session.showMessage(TOO_MANY_COMPLETION_INFOS);
+            break;
          }
       }
 
       return ret.toArray(new CodeCompletionInfo[0]);
    }
 
-   private Vector<CodeCompletionInfo> getCompletionInfos(String catalog, String schema)
+   private CodeCompletionIndex getCompletionIndex(String catalog, String schema)
    {
       String key = (catalog + "," + schema).toUpperCase();
-      Vector<CodeCompletionInfo> ret = _completionInfosByCataLogAndSchema.get(key);
+      CodeCompletionIndex ret = _completionIndexByCataLogAndSchema.get(key);
 
       if(null == ret)
       {
          load(catalog, schema, false);
       }
-      ret = _completionInfosByCataLogAndSchema.get(key);
+      ret = _completionIndexByCataLogAndSchema.get(key);
 
       return ret;
    }
@@ -306,35 +316,19 @@ public class CodeCompletionInfoCollection
 
    public boolean isCatalog(String name)
    {
-      for (int i = 0; i < _catalogs.size(); i++)
-      {
-         CodeCompletionCatalogInfo info = _catalogs.get(i);
-         if(info.getCompareString().equalsIgnoreCase(name))
-         {
-            return true;
-         }
-      }
-      return false;
+      return null != name && _upperCaseCatalogs.contains(name.toUpperCase());
    }
 
    public boolean isSchema(String name)
    {
-      for (int i = 0; i < _schemas.size(); i++)
-      {
-         CodeCompletionSchemaInfo info = _schemas.get(i);
-         if(info.getCompareString().equalsIgnoreCase(name))
-         {
-            return true;
-         }
-      }
-      return false;
+      return null != name && _upperCaseSchemas.contains(name.toUpperCase());
    }
 
    public boolean addCompletionsAtListBegin(String catalog, String schema, CodeCompletionInfo[] completions)
    {
-      Vector<CodeCompletionInfo> completionInfos = getCompletionInfos(catalog, schema);
+      CodeCompletionIndex completionIndex = getCompletionIndex(catalog, schema);
 
-      if(null == completionInfos)
+      if(null == completionIndex)
       {
          // CompletionInfos are still loading
          return false;
@@ -342,7 +336,8 @@ public class CodeCompletionInfoCollection
       else
       {
          Arrays.sort(completions);
-         completionInfos.addAll(0,Arrays.asList(completions));
+         String key = (catalog + "," + schema).toUpperCase();
+         _completionIndexByCataLogAndSchema.put(key, completionIndex.withInfosAtBegin(completions));
          return true;
       }
    }
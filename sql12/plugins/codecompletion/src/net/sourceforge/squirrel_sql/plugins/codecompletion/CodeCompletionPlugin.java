@@ -311,6 +311,9 @@ public class CodeCompletionPlugin extends DefaultSessionPlugin
 		comp.registerKeyboardAction(cca, _resources.getKeyStroke(cca), JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT);
 
 		sqlPaneAPI.addToToolsPopUp("completecode", cca);
+
+		session.getSchemaInfo().addSchemaInfoUpdateListener(() -> CodeCompletionColumnPrefetch.prefetch(session, sqlPaneAPI.getSQLEntryPanel().getText()));
+		CodeCompletionColumnPrefetch.prefetch(session, sqlPaneAPI.getSQLEntryPanel().getText());
 	}
 
 
@@ -22,6 +22,8 @@ import net.sourceforge.squirrel_sql.client.session.ISession;
 import net.sourceforge.squirrel_sql.client.session.schemainfo.SchemaInfo;
 import net.sourceforge.squirrel_sql.fw.sql.TableColumnInfo;
 import net.sourceforge.squirrel_sql.fw.sql.databasemetadata.SQLDatabaseMetaData;
+import net.sourceforge.squirrel_sql.fw.util.StringManager;
+import net.sourceforge.squirrel_sql.fw.util.StringManagerFactory;
 import net.sourceforge.squirrel_sql.fw.util.Utilities;
 import net.sourceforge.squirrel_sql.plugins.codecompletion.prefs.CodeCompletionPreferences;
 
@@ -32,6 +34,8 @@ import java.util.HashSet;
 
 public class CodeCompletionTableInfo extends CodeCompletionInfo
 {
+   private static final StringManager s_stringMgr = StringManagerFactory.getStringManager(CodeCompletionTableInfo.class);
+
    private String _tableName;
    private String _tableType;
    private ArrayList<CodeCompletionColumnInfo> _colInfos;
@@ -94,7 +98,17 @@ public class CodeCompletionTableInfo extends CodeCompletionInfo
       {
          if(null == _colInfos || _colInfos.size() == 0)
          {
-            ExtendedColumnInfo[] schemColInfos = schemaInfo.getExtendedColumnInfos(_catalog, _schema, _tableName);
+            // Completion doesn't wait for the database. Columns not yet loaded are loaded in the background.
+            ExtendedColumnInfo[] schemColInfos = schemaInfo.getExtendedColumnInfosIfLoaded(_catalog, _schema, _tableName);
+
+            if(null == schemColInfos)
+            {
+               if (_session != null)
+               {
+                  _session.showMessage(s_stringMgr.getString("codecompletion.columnsBeingLoaded", _tableName));
+               }
+               return new ArrayList<>();
+            }
 
 
             ArrayList<CodeCompletionColumnInfo> colInfosBuf = new ArrayList<>();
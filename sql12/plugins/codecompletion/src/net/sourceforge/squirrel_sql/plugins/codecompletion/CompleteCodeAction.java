@@ -38,6 +38,8 @@ public class CompleteCodeAction extends SquirrelAction
     private ISQLEntryPanel _sqlEntryPanel;
 	 private Completor _cc;
     private CodeCompletorModel _model;
+    private ISession _session;
+    private boolean _prefetchColumns;
 
 
    public CompleteCodeAction(IApplication app,
@@ -49,6 +51,10 @@ public class CompleteCodeAction extends SquirrelAction
 	{
 		super(app, plugin.getResources());
 		_sqlEntryPanel = sqlEntryPanel;
+      _session = session;
+
+      // The object tree's find field is no SQL editor.
+      _prefetchColumns = null == popupParent;
 
       _model = new CodeCompletorModel(session, plugin, codeCompletionInfos, sqlEntryPanel.getIdentifier());
 
@@ -86,6 +92,10 @@ public class CompleteCodeAction extends SquirrelAction
 
    public void actionPerformed(ActionEvent evt)
 	{
+      if (_prefetchColumns)
+      {
+         CodeCompletionColumnPrefetch.prefetch(_session, _sqlEntryPanel.getText());
+      }
 		_cc.show();
 	}
 
@@ -40,6 +40,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This is the class that performs the table copy using database connections 
@@ -91,6 +97,15 @@ public class CopyExecutor extends I18NBaseObject {
     
     /** the finish time in millis that the copy operation began */
     private long end = 0;
+
+    /** records copied of all tables when tables are copied in parallel, null otherwise */
+    private volatile AtomicInteger parallelRecordsCopied = null;
+
+    /** records to copy of all tables when tables are copied in parallel */
+    private int parallelRecordCount = 0;
+
+    /** the first exception a parallel table copy encountered */
+    private volatile Exception parallelCopyException = null;
     
     /**
      * Constructor.
@@ -131,7 +146,6 @@ public class CopyExecutor extends I18NBaseObject {
     private void _execute()
     {
        start = System.currentTimeMillis();
-       boolean encounteredException = false;
        ISQLConnection destConn = destSession.getSQLConnection();
        if (!analyzeTables())
        {
@@ -153,6 +167,53 @@ public class CopyExecutor extends I18NBaseObject {
        execDeletes(sourceObjs, destCatalog, destSchema, pasteToTableInfo);
 
 
+       boolean encounteredException;
+       if (isParallelCopy(sourceObjs))
+       {
+          encounteredException = copyTablesParallel(sourceObjs, destCatalog, destSchema, pasteToTableInfo, counts);
+       }
+       else
+       {
+          encounteredException = copyTablesSequentially(sourceObjs, destCatalog, destSchema, pasteToTableInfo, counts);
+       }
+       restoreAutoCommit(destConn);
+       if (cancelled)
+       {
+          sendErrorEvent(ErrorEvent.USER_CANCELLED_EXCEPTION_TYPE);
+          return;
+       }
+       if (encounteredException)
+       {
+          try
+          {
+             // An error may have occurred after the table was created
+             // especially by an erroneous WHERE-Clause the user entered.
+             // We try to reload the Object tree to make the new table visible.
+             reloadObjectTree();
+          }
+          catch (Exception e)
+          {
+             // Do nothing. The orginal exception is the important one.
+          }
+
+          return;
+       }
+       end = System.currentTimeMillis();
+
+       reloadObjectTree();
+
+       notifyCopyFinished();
+    }
+
+    /**
+     * Creates missing tables and copies the tables one after another on the
+     * connections of the source and destination sessions.
+     *
+     * @return true if an exception was encountered.
+     */
+    private boolean copyTablesSequentially(List<IDatabaseObjectInfo> sourceObjs, String destCatalog, String destSchema, TableInfo pasteToTableInfo, int[] counts)
+    {
+       boolean encounteredException = false;
        int sourceObjectCount = 0;
        for (IDatabaseObjectInfo info : sourceObjs)
        {
@@ -249,33 +310,238 @@ public class CopyExecutor extends I18NBaseObject {
           }
           sourceObjectCount++;
        }
-       restoreAutoCommit(destConn);
-       if (cancelled)
+       return encounteredException;
+    }
+
+    private boolean isParallelCopy(List<IDatabaseObjectInfo> sourceObjs)
+    {
+       return prefs.getCopyThreadCount() > 1 
+              && prefs.isCopyData() 
+              && DBUtil.convertObjectToTableList(sourceObjs).size() > 1;
+    }
+
+    /**
+     * Copies the records of several tables at a time, each on its own pair of
+     * source and destination connections.  Missing tables are created and the 
+     * meta data of all tables is read on this thread before.  The records of a 
+     * table are copied after the records of all tables it references by foreign 
+     * keys were copied.
+     *
+     * @return true if an exception was encountered.
+     */
+    private boolean copyTablesParallel(List<IDatabaseObjectInfo> sourceObjs, String destCatalog, String destSchema, TableInfo pasteToTableInfo, int[] counts)
+    {
+       ArrayList<TableCopyPlan> plans = new ArrayList<>();
+       HashMap<ITableInfo, List<ITableInfo>> referencedTables = new HashMap<>();
+       int totalRecordCount = 0;
+       try
        {
-          sendErrorEvent(ErrorEvent.USER_CANCELLED_EXCEPTION_TYPE);
-          return;
+          List<ITableInfo> sourceTables = DBUtil.convertObjectToTableList(sourceObjs);
+          SQLDatabaseMetaData sourceMetaData = prov.getSourceSession().getSQLConnection().getSQLMetaData();
+
+          int sourceObjectCount = 0;
+          for (ITableInfo sourceTI : sourceTables)
+          {
+             if (cancelled)
+             {
+                return false;
+             }
+
+             String destTableName = chooseDestTableInfo(sourceTI, pasteToTableInfo).getSimpleName();
+             int destTableCount = DBUtil.getTableCount(destSession,
+                   destCatalog,
+                   destSchema,
+                   destTableName,
+                   DialectFactory.DEST_TYPE,
+                   prov.getWhereClause());
+
+             if (destTableCount == -1)
+             {
+                createTable(sourceTI, destTableName, destSchema, destCatalog);
+             }
+
+             TableCopyPlan plan = prepareTableCopy(sourceTI, pasteToTableInfo);
+             if (plan == null)
+             {
+                return false;
+             }
+             plan.tableNumber = sourceObjectCount + 1;
+             plan.recordCount = counts[sourceObjectCount];
+             plans.add(plan);
+             totalRecordCount += plan.recordCount;
+
+             referencedTables.put(sourceTI, DBUtil.getReferencedTables(sourceTI, sourceTables, sourceMetaData));
+             sourceObjectCount++;
+          }
+
+          // The copy connections must see the tables created and the records deleted above.
+          if (!currentAutoCommitValue)
+          {
+             commitConnection(prov.getDestSession().getSQLConnection());
+          }
        }
-       if (encounteredException)
+       catch (Exception e)
+       {
+          return handleCopyException(e);
+       }
+
+       parallelRecordCount = totalRecordCount;
+       parallelRecordsCopied = new AtomicInteger();
+       parallelCopyException = null;
+
+       int threadCount = Math.min(prefs.getCopyThreadCount(), plans.size());
+       ExecutorService executorService = Executors.newFixedThreadPool(threadCount, r -> {
+          Thread t = new Thread(r);
+          t.setName("DBCopy Table Copy Thread");
+          t.setDaemon(true);
+          return t;
+       });
+       LinkedBlockingQueue<CopyConnections> idleConnections = new LinkedBlockingQueue<>();
+       List<CopyConnections> allConnections = Collections.synchronizedList(new ArrayList<>());
+
+       try
+       {
+          // plans are in insertion order, see CopyTableCommand. So the tables 
+          // referenced by a table have been scheduled before. References that
+          // point forward are cycles and are ignored.
+          HashMap<ITableInfo, CompletableFuture<Void>> futures = new HashMap<>();
+          for (TableCopyPlan plan : plans)
+          {
+             CompletableFuture<?>[] referencedCopies =
+                   referencedTables.get(plan.sourceTableInfo).stream()
+                         .map(futures::get)
+                         .filter(Objects::nonNull)
+                         .toArray(CompletableFuture[]::new);
+
+             CompletableFuture<Void> copy =
+                   CompletableFuture.allOf(referencedCopies)
+                         .thenRunAsync(() -> copyTableInParallel(plan, pasteToTableInfo, idleConnections, allConnections), executorService);
+
+             futures.put(plan.sourceTableInfo, copy);
+          }
+
+          CompletableFuture<Void> all = CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]));
+          while (true)
+          {
+             try
+             {
+                all.get();
+                break;
+             }
+             catch (InterruptedException e)
+             {
+                // cancel() interrupts the executor thread. The copy threads stop because cancelled is set.
+             }
+             catch (ExecutionException e)
+             {
+                log.error("Unexpected exception while copying tables in parallel", e);
+                break;
+             }
+          }
+       }
+       finally
+       {
+          executorService.shutdown();
+          for (CopyConnections connections : allConnections)
+          {
+             connections.close();
+          }
+          parallelRecordsCopied = null;
+       }
+
+       if (null != parallelCopyException)
+       {
+          return handleCopyException(parallelCopyException);
+       }
+
+       if (!cancelled)
        {
           try
           {
-             // An error may have occurred after the table was created
-             // especially by an erroneous WHERE-Clause the user entered.
-             // We try to reload the Object tree to make the new table visible.
-             reloadObjectTree();
+             copyConstraints(sourceObjs);
           }
           catch (Exception e)
           {
-             // Do nothing. The orginal exception is the important one.
+             return handleCopyException(e);
           }
+       }
+       return false;
+    }
 
+    private void copyTableInParallel(TableCopyPlan plan, 
+                                     TableInfo pasteToTableInfo,
+                                     LinkedBlockingQueue<CopyConnections> idleConnections,
+                                     List<CopyConnections> allConnections)
+    {
+       if (cancelled || null != parallelCopyException)
+       {
           return;
        }
-       end = System.currentTimeMillis();
 
-       reloadObjectTree();
+       CopyConnections connections = idleConnections.poll();
+       try
+       {
+          if (null == connections)
+          {
+             connections = new CopyConnections(prov.getSourceSession(), prov.getDestSession(), prefs.isAutoCommitEnabled());
+             allConnections.add(connections);
+          }
 
-       notifyCopyFinished();
+          ITableInfo destTI = chooseDestTableInfo(plan.sourceTableInfo, pasteToTableInfo);
+          sendTableCopyStarted(destTI, plan.tableNumber);
+
+          copyTableData(plan, plan.recordCount, connections.sourceConn, connections.destConn, !connections.autoCommit);
+
+          if (!cancelled)
+          {
+             sendTableCopyFinished(destTI, plan.tableNumber);
+             sleep(prefs.getTableDelayMillis());
+          }
+       }
+       catch (Exception e)
+       {
+          synchronized (this)
+          {
+             if (null == parallelCopyException)
+             {
+                parallelCopyException = e;
+             }
+          }
+       }
+       finally
+       {
+          if (null != connections)
+          {
+             idleConnections.add(connections);
+          }
+       }
+    }
+
+    /**
+     * Sends the error event matching the specified exception.
+     * 
+     * @return true if an exception was encountered, false if the user cancelled.
+     */
+    private boolean handleCopyException(Exception e)
+    {
+       if (e instanceof UserCancelledOperationException)
+       {
+          cancelled = true;
+          return false;
+       }
+       else if (e instanceof SQLException)
+       {
+          sendErrorEvent(ErrorEvent.SQL_EXCEPTION_TYPE, e);
+       }
+       else if (e instanceof MappingException)
+       {
+          sendErrorEvent(ErrorEvent.MAPPING_EXCEPTION_TYPE, e);
+       }
+       else
+       {
+          sendErrorEvent(ErrorEvent.GENERIC_EXCEPTION, e);
+       }
+       return true;
     }
 
    private void execDeletes(List<IDatabaseObjectInfo> sourceObjs, String destCatalog, String destSchema, TableInfo pasteToTableInfo)
@@ -537,7 +803,7 @@ public class CopyExecutor extends I18NBaseObject {
         }        
     }
     
-    private void sendTableCopyStarted(ITableInfo ti, int number) {
+    private synchronized void sendTableCopyStarted(ITableInfo ti, int number) {
         TableEvent event = new TableEvent(prov);
         event.setTableNumber(number);
         event.setTableCount(prov.getSourceDatabaseObjects().size());
@@ -549,7 +815,7 @@ public class CopyExecutor extends I18NBaseObject {
         }
     }
 
-    private void sendTableCopyFinished(ITableInfo ti, int number) {
+    private synchronized void sendTableCopyFinished(ITableInfo ti, int number) {
         TableEvent event = new TableEvent(prov);
         event.setTableNumber(number);
         event.setTableCount(prov.getSourceDatabaseObjects().size());
@@ -577,7 +843,7 @@ public class CopyExecutor extends I18NBaseObject {
     * @param type the type of the ErrorEvent.
     * @param e    the exception that was encountered.
     */
-   private void sendErrorEvent(int type, Exception e)
+   private synchronized void sendErrorEvent(int type, Exception e)
    {
       Main.getApplication().getMessageHandler().showErrorMessage(e);
       s_log.error(e);
@@ -592,8 +858,18 @@ public class CopyExecutor extends I18NBaseObject {
       }
    }
 
+   /**
+    * When tables are copied in parallel the progress of all tables is reported.
+    */
    private void sendRecordEvent(int number, int count)
    {
+      AtomicInteger recordsCopied = parallelRecordsCopied;
+      if (null != recordsCopied)
+      {
+         number = recordsCopied.incrementAndGet();
+         count = parallelRecordCount;
+      }
+
       RecordEvent event = new RecordEvent(prov, number, count);
       Iterator<CopyTableListener> i = listeners.iterator();
       while (i.hasNext())
@@ -603,7 +879,7 @@ public class CopyExecutor extends I18NBaseObject {
       }
    }
 
-   private void sendStatementEvent(String sql, String[] vals)
+   private synchronized void sendStatementEvent(String sql, String[] vals)
    {
       StatementEvent event =
             new StatementEvent(sql, StatementEvent.INSERT_RECORD_TYPE);
@@ -642,44 +918,119 @@ public class CopyExecutor extends I18NBaseObject {
    }
     
     /**
-     * 
+     * Copies the records of the specified table using the connections of the
+     * source and destination sessions.
      *
      * @param sourceTableInfo
      * @param pasteToTableInfo
-     *@param sourceTableCount  @throws MappingException
+     * @param sourceTableCount
+     * @throws MappingException
      * @throws SQLException
      */
     private void copyTable(ITableInfo sourceTableInfo, TableInfo pasteToTableInfo, int sourceTableCount)
         throws MappingException, SQLException, UserCancelledOperationException
     {
-        PreparedStatement insertStmt = null;
-        ResultSet rs = null;
-        if (cancelled) {
+        TableCopyPlan plan = prepareTableCopy(sourceTableInfo, pasteToTableInfo);
+        if (plan == null) {
             return;
         }
+        copyTableData(plan, 
+                      sourceTableCount, 
+                      prov.getSourceSession().getSQLConnection(), 
+                      prov.getDestSession().getSQLConnection(),
+                      !currentAutoCommitValue);
+    }
+
+    /**
+     * Reads all meta data needed to copy the records of the specified table.
+     * This is done on the executor thread using the session connections, 
+     * so that copying the records can be done on other connections.
+     *
+     * @return the plan or null if no records are to be copied.
+     */
+    private TableCopyPlan prepareTableCopy(ITableInfo sourceTableInfo, TableInfo pasteToTableInfo)
+        throws MappingException, SQLException, UserCancelledOperationException
+    {
+        if (cancelled) {
+            return null;
+        }
         if (!PreferencesManager.getPreferences().isCopyData()) {
-            return;
+            return null;
         }
-        ISQLConnection sourceConn = prov.getSourceSession().getSQLConnection();
-        ISQLConnection destConn = prov.getDestSession().getSQLConnection();
-        SQLDatabaseMetaData sourceMetaData = sourceConn.getSQLMetaData();
-        SQLDatabaseMetaData destMetaData = destConn.getSQLMetaData();
+        SQLDatabaseMetaData sourceMetaData = prov.getSourceSession().getSQLConnection().getSQLMetaData();
+        SQLDatabaseMetaData destMetaData = prov.getDestSession().getSQLConnection().getSQLMetaData();
+
+        String destSchema = DBUtil.getSchemaNameFromDbObject(prov.getDestDatabaseObject());
+
+        TableCopyPlan plan = new TableCopyPlan();
+        plan.sourceTableInfo = sourceTableInfo;
+        plan.destTableInfo =
+            DBUtil.getTableInfo(prov.getDestSession(),
+                                destSchema,
+                                chooseDestTableInfo(sourceTableInfo, pasteToTableInfo).getSimpleName());
+
+        plan.sourceInfos = sourceMetaData.getColumnInfo(sourceTableInfo);
+        TableColumnInfo[] destInfos = destMetaData.getColumnInfo(plan.destTableInfo);
+
+        plan.destInfos = sort(plan.sourceInfos, 
+                              destInfos, 
+                              sourceTableInfo.getQualifiedName(),
+                              plan.destTableInfo.getQualifiedName());
+
+        plan.isMysql = DialectFactory.isMySQL(destSession.getMetaData());
+        boolean isSourceOracle = DialectFactory.isOracle(sourceSession.getMetaData());
+        boolean isDestOracle = DialectFactory.isOracle(destSession.getMetaData());
+
+        // Resolve the column types once per table, not once per record.
+        int columnCount = plan.destInfos.length;
+        plan.sourceColTypes = new int[columnCount];
+        plan.destColTypes = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            // If source column is type 1111 (OTHER), try to use the
+            // column type name to find a type that isn't 1111.
+            int sourceColType = DBUtil.replaceOtherDataType(plan.sourceInfos[i], prov.getSourceSession());
+            plan.sourceColTypes[i] = getDateReplacement(sourceColType, isSourceOracle);
+
+            int destColType = DBUtil.replaceOtherDataType(plan.destInfos[i], prov.getDestSession());
+            plan.destColTypes[i] = getDateReplacement(destColType, isDestOracle);
+
+            if (isLOBType(plan.destColTypes[i])) {
+                plan.hasLOBColumn = true;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Copies the records of the table described by the specified plan.
+     * When the destination driver supports it records are sent in batches
+     * of the size configured in the preferences. The first record is always
+     * inserted by itself so that the quoting fallbacks below can find an 
+     * INSERT statement the destination database accepts.  Tables that have 
+     * LOB columns are not batched because bound LOB streams must be consumed 
+     * before the next record is bound.
+     *
+     * @param plan             see {@link #prepareTableCopy(ITableInfo, TableInfo)}
+     * @param sourceTableCount the number of records to copy
+     * @param sourceConn       the connection to read the records from
+     * @param destConn         the connection to insert the records with
+     * @param manualCommit     whether to commit every commitCount records
+     */
+    private void copyTableData(TableCopyPlan plan, 
+                               int sourceTableCount,
+                               ISQLConnection sourceConn,
+                               ISQLConnection destConn,
+                               boolean manualCommit)
+        throws SQLException, UserCancelledOperationException
+    {
+        PreparedStatement insertStmt = null;
+        ResultSet rs = null;
         try {
-            String destSchema = DBUtil.getSchemaNameFromDbObject(prov.getDestDatabaseObject());
+            ITableInfo sourceTableInfo = plan.sourceTableInfo;
+            ITableInfo destTableInfo = plan.destTableInfo;
+            TableColumnInfo[] sourceInfos = plan.sourceInfos;
+            TableColumnInfo[] destInfos = plan.destInfos;
 
-            ITableInfo destTableInfo =
-                DBUtil.getTableInfo(prov.getDestSession(),
-                                    destSchema,
-                                    chooseDestTableInfo(sourceTableInfo, pasteToTableInfo).getSimpleName());
-            
-            TableColumnInfo[] sourceInfos = sourceMetaData.getColumnInfo(sourceTableInfo);
-            TableColumnInfo[] destInfos = destMetaData.getColumnInfo(destTableInfo);
-            
-            destInfos = sort(sourceInfos, 
-                             destInfos, 
-                             sourceTableInfo.getQualifiedName(),
-                             destTableInfo.getQualifiedName());
-            
             String sourceColList = DBUtil.getColumnList(sourceInfos, false);
             String destColList = DBUtil.getColumnList(destInfos, false);
 
@@ -690,7 +1041,7 @@ public class CopyExecutor extends I18NBaseObject {
             String selectSQL = DBUtil.getSelectQuery(prov,sourceColList,sourceTableInfo, doubleQuoteTableName, prov.getWhereClause());
             try
             {
-                rs = DBUtil.executeQuery(prov.getSourceSession(), selectSQL);
+                rs = DBUtil.executeQuery(prov.getSourceSession(), sourceConn, selectSQL);
             }
             catch (Exception e)
             {
@@ -699,7 +1050,7 @@ public class CopyExecutor extends I18NBaseObject {
                     log.info("Failed to execute SELECT-SQL without double quoting. Now trying with double quoting table name", e);
                     doubleQuoteTableName = true;
                     selectSQL = DBUtil.getSelectQuery(prov, sourceColList,sourceTableInfo, doubleQuoteTableName, prov.getWhereClause());
-                    rs = DBUtil.executeQuery(prov.getSourceSession(), selectSQL);
+                    rs = DBUtil.executeQuery(prov.getSourceSession(), sourceConn, selectSQL);
                 }
                 catch (Exception e1)
                 {
@@ -711,7 +1062,7 @@ public class CopyExecutor extends I18NBaseObject {
                     sourceColList = DBUtil.getColumnList(sourceInfos, doubleQuoteColumnNames);
                     destColList = DBUtil.getColumnList(destInfos, doubleQuoteColumnNames);
                     selectSQL = DBUtil.getSelectQuery(prov, sourceColList,sourceTableInfo, doubleQuoteTableName, prov.getWhereClause());
-                    rs = DBUtil.executeQuery(prov.getSourceSession(), selectSQL);
+                    rs = DBUtil.executeQuery(prov.getSourceSession(), sourceConn, selectSQL);
                 }
             }
 
@@ -724,106 +1075,130 @@ public class CopyExecutor extends I18NBaseObject {
             int commitCount = prefs.getCommitCount(); 
             int columnCount = destInfos.length;
             String[] bindVarVals = new String[columnCount];
+
+            int batchSize = prefs.getBatchSize();
+            boolean useBatch = 
+                batchSize > 1 && !plan.hasLOBColumn && supportsBatchUpdates(destConn);
+            int pendingBatchCount = 0;
                         
             boolean foundLOBType = false;
             // Loop through source records...
             DBUtil.setLastStatement(selectSQL);
             DBUtil.setLastStatement(insertSQL);
-            boolean isMysql = DialectFactory.isMySQL(destSession.getMetaData());
-            boolean isSourceOracle = 
-                DialectFactory.isOracle(sourceSession.getMetaData());
-            boolean isDestOracle = DialectFactory.isOracle(destSession.getMetaData());
-            while (rs.next() && !cancelled) {
+            while (rs.next() && !cancelled && null == parallelCopyException) {
                 // MySQL driver gets unhappy when we use the same 
                 // PreparedStatement to bind null and non-null LOB variables
                 // without clearing the parameters first.
-                if (isMysql && foundLOBType) 
+                if (plan.isMysql && foundLOBType) 
                 {
                     insertStmt.clearParameters();
                 }
                 StringBuilder lastStmtValuesBuffer = new StringBuilder();
                 lastStmtValuesBuffer.append("\n(Bind variable values: ");
-                foundLOBType = setPreparedStatementParams(insertStmt, rs, sourceInfos, destInfos, columnCount, bindVarVals, foundLOBType, isSourceOracle, isDestOracle, lastStmtValuesBuffer);
+                foundLOBType = setPreparedStatementParams(insertStmt, rs, plan, bindVarVals, foundLOBType, lastStmtValuesBuffer);
                 lastStmtValuesBuffer.append(")");
 
-                try
+                if (useBatch && count > 1)
                 {
                     DBUtil.setLastStatementValues(lastStmtValuesBuffer.toString());
                     sendStatementEvent(insertSQL, bindVarVals);
-                    insertStmt.executeUpdate();
+                    insertStmt.addBatch();
+                    pendingBatchCount++;
+                    if (pendingBatchCount >= batchSize)
+                    {
+                        insertStmt.executeBatch();
+                        pendingBatchCount = 0;
+                    }
                 }
-                catch (Exception e)
+                else
                 {
-
                     try
                     {
-                        log.info("Failed to execute INSERT-SQL. Now trying with inverted quoting for columns", e);
-
-                        destColList = DBUtil.getColumnList(destInfos, !doubleQuoteColumnNames);
-                        insertSQL = DBUtil.getInsertSQL(prov, destColList, destTableInfo, destInfos.length, doubleQuoteTableName);
-                        insertStmt = destConn.prepareStatement(insertSQL);
-
-                        foundLOBType = setPreparedStatementParams(insertStmt, rs, sourceInfos, destInfos, columnCount, bindVarVals, foundLOBType, isSourceOracle, isDestOracle, lastStmtValuesBuffer);
-
-
                         DBUtil.setLastStatementValues(lastStmtValuesBuffer.toString());
                         sendStatementEvent(insertSQL, bindVarVals);
                         insertStmt.executeUpdate();
                     }
-                    catch (Exception e1)
+                    catch (Exception e)
                     {
-                        log.info("Failed to execute INSERT-SQL. Now trying with inverted quoting with inverted quoting for columns and table", e);
 
-                        destColList = DBUtil.getColumnList(destInfos, !doubleQuoteColumnNames);
-                        insertSQL = DBUtil.getInsertSQL(prov, destColList, destTableInfo, destInfos.length, !doubleQuoteTableName);
-                        insertStmt = destConn.prepareStatement(insertSQL);
+                        try
+                        {
+                            log.info("Failed to execute INSERT-SQL. Now trying with inverted quoting for columns", e);
 
-                        foundLOBType = setPreparedStatementParams(insertStmt, rs, sourceInfos, destInfos, columnCount, bindVarVals, foundLOBType, isSourceOracle, isDestOracle, lastStmtValuesBuffer);
+                            destColList = DBUtil.getColumnList(destInfos, !doubleQuoteColumnNames);
+                            insertSQL = DBUtil.getInsertSQL(prov, destColList, destTableInfo, destInfos.length, doubleQuoteTableName);
+                            insertStmt = destConn.prepareStatement(insertSQL);
 
-                        DBUtil.setLastStatementValues(lastStmtValuesBuffer.toString());
-                        sendStatementEvent(insertSQL, bindVarVals);
-                        insertStmt.executeUpdate();
+                            foundLOBType = setPreparedStatementParams(insertStmt, rs, plan, bindVarVals, foundLOBType, lastStmtValuesBuffer);
 
-                    }
 
+                            DBUtil.setLastStatementValues(lastStmtValuesBuffer.toString());
+                            sendStatementEvent(insertSQL, bindVarVals);
+                            insertStmt.executeUpdate();
+                        }
+                        catch (Exception e1)
+                        {
+                            log.info("Failed to execute INSERT-SQL. Now trying with inverted quoting with inverted quoting for columns and table", e);
+
+                            destColList = DBUtil.getColumnList(destInfos, !doubleQuoteColumnNames);
+                            insertSQL = DBUtil.getInsertSQL(prov, destColList, destTableInfo, destInfos.length, !doubleQuoteTableName);
+                            insertStmt = destConn.prepareStatement(insertSQL);
+
+                            foundLOBType = setPreparedStatementParams(insertStmt, rs, plan, bindVarVals, foundLOBType, lastStmtValuesBuffer);
+
+                            DBUtil.setLastStatementValues(lastStmtValuesBuffer.toString());
+                            sendStatementEvent(insertSQL, bindVarVals);
+                            insertStmt.executeUpdate();
+
+                        }
+
+                    }
                 }
 
                 sendRecordEvent(count, sourceTableCount);
                 count++;
-                if (!currentAutoCommitValue) {
+                if (manualCommit) {
                     if ((count % commitCount) == 0) {
+                        if (pendingBatchCount > 0) {
+                            insertStmt.executeBatch();
+                            pendingBatchCount = 0;
+                        }
                         commitConnection(destConn);
                     }
                 }
                 sleep(prefs.getRecordDelayMillis());
             }
+
+            if (pendingBatchCount > 0) {
+                insertStmt.executeBatch();
+            }
         } finally {
             SQLUtilities.closeResultSet(rs);
             SQLUtilities.closeStatement(insertStmt);
-            if (!currentAutoCommitValue) {
+            if (manualCommit) {
                 commitConnection(destConn);
             }
         }
     }
 
-    private boolean setPreparedStatementParams(PreparedStatement insertStmt, ResultSet rs, TableColumnInfo[] sourceInfos, TableColumnInfo[] destInfos, int columnCount, String[] bindVarVals, boolean foundLOBType, boolean isSourceOracle, boolean isDestOracle, StringBuilder lastStmtValuesBuffer) throws SQLException
+    private boolean supportsBatchUpdates(ISQLConnection destConn)
+    {
+        try {
+            return destConn.getConnection().getMetaData().supportsBatchUpdates();
+        } catch (Exception e) {
+            log.info("Failed to determine if the destination database supports batch updates. Records will be inserted one by one.", e);
+            return false;
+        }
+    }
+
+    private boolean setPreparedStatementParams(PreparedStatement insertStmt, ResultSet rs, TableCopyPlan plan, String[] bindVarVals, boolean foundLOBType, StringBuilder lastStmtValuesBuffer) throws SQLException
     {
+        int columnCount = plan.destColTypes.length;
         for (int i = 0; i < columnCount; i++)
         {
+            int destColType = plan.destColTypes[i];
 
-            // If source column is type 1111 (OTHER), try to use the
-            // column type name to find a type that isn't 1111.
-            int sourceColType = DBUtil.replaceOtherDataType(sourceInfos[i], prov.getSourceSession());
-            sourceColType = getDateReplacement(sourceColType, isSourceOracle);
-
-            int destColType   = destInfos[i].getDataType();
-            // If source column is type 1111 (OTHER), try to use the
-            // column type name to find a type that isn't 1111.
-            destColType = DBUtil.replaceOtherDataType(destInfos[i], prov.getDestSession());
-            destColType = getDateReplacement(destColType, isDestOracle);
-
-
-            String bindVal = DBUtil.bindVariable(insertStmt, sourceColType, destColType,i+1, rs);
+            String bindVal = DBUtil.bindVariable(insertStmt, plan.sourceColTypes[i], destColType,i+1, rs);
             bindVarVals[i] = bindVal;
             lastStmtValuesBuffer.append(bindVal);
             if (i + 1 < columnCount)
@@ -1042,4 +1417,57 @@ public class CopyExecutor extends I18NBaseObject {
         return pref;
     }    
     
+    /**
+     * Everything needed to copy the records of a table, see prepareTableCopy().
+     */
+    private static class TableCopyPlan {
+        ITableInfo sourceTableInfo;
+        ITableInfo destTableInfo;
+        TableColumnInfo[] sourceInfos;
+        TableColumnInfo[] destInfos;
+        int[] sourceColTypes;
+        int[] destColTypes;
+        boolean hasLOBColumn;
+        boolean isMysql;
+
+        /** only used when tables are copied in parallel */
+        int tableNumber;
+        int recordCount;
+    }
+
+    /**
+     * The connections a copy thread uses when tables are copied in parallel.
+     */
+    private static class CopyConnections {
+        final ISQLConnection sourceConn;
+        final ISQLConnection destConn;
+        final boolean autoCommit;
+
+        CopyConnections(ISession sourceSession, ISession destSession, boolean autoCommit) throws SQLException {
+            sourceConn = sourceSession.createUnmanagedConnection();
+            destConn = destSession.createUnmanagedConnection();
+            if (sourceConn == null || destConn == null) {
+                close();
+                throw new SQLException("Failed to open an additional connection for copying tables in parallel");
+            }
+            destConn.setAutoCommit(autoCommit);
+            this.autoCommit = autoCommit;
+        }
+
+        void close() {
+            closeConnection(sourceConn);
+            closeConnection(destConn);
+        }
+
+        private static void closeConnection(ISQLConnection con) {
+            if (con == null) {
+                return;
+            }
+            try {
+                con.close();
+            } catch (Exception e) {
+                log.error("Failed to close connection - "+con, e);
+            }
+        }
+    }
 }
@@ -74,6 +74,20 @@ public class CopyProgressMonitor extends I18NBaseObject
     
     private ProgressMonitor pm = null;
     
+    /** Updating the dialog for each record would slow down copying */
+    private static final long RECORD_UPDATE_INTERVAL_MILLIS = 200;
+    
+    /** the time the copy started, used to compute the throughput */
+    private long copyStartMillis = 0;
+    
+    /** the records copied since the copy started */
+    private long recordsCopied = 0;
+    
+    /** the records copied that are not shown in the dialog yet */
+    private int recordsNotShown = 0;
+    
+    private long lastRecordUpdateMillis = 0;
+    
     private static CommentSpec[] commentSpecs =
         new CommentSpec[]
         {
@@ -97,6 +111,14 @@ public class CopyProgressMonitor extends I18NBaseObject
      */
     public void copyStarted(final CopyEvent e)
     {
+       synchronized (this)
+       {
+          copyStartMillis = System.currentTimeMillis();
+          recordsCopied = 0;
+          recordsNotShown = 0;
+          lastRecordUpdateMillis = 0;
+       }
+
        Runnable runnable = new Runnable()
        {
           public void run()
@@ -135,13 +157,29 @@ public class CopyProgressMonitor extends I18NBaseObject
     /* (non-Javadoc)
      * @see net.sourceforge.squirrel_sql.plugins.dbcopy.event.CopyTableListener#recordCopied(net.sourceforge.squirrel_sql.plugins.dbcopy.event.RecordEvent)
      */
-    public void recordCopied(RecordEvent e) {
+    public synchronized void recordCopied(RecordEvent e) {
+        recordsCopied++;
+        recordsNotShown++;
+
+        long now = System.currentTimeMillis();
+        if (now - lastRecordUpdateMillis < RECORD_UPDATE_INTERVAL_MILLIS 
+                && e.getRecordNumber() != e.getRecordCount()) 
+        {
+            return;
+        }
+        lastRecordUpdateMillis = now;
+
+        long recordsPerSecond = recordsCopied * 1000 / Math.max(1, now - copyStartMillis);
+
         DualProgressBarDialog.setTopBarMinMax(0, e.getRecordCount());
         String topMessage = getMessage("CopyProgressMonitor.copyingRecords",
                                        new String[]{""+e.getRecordNumber(), 
-                                                    ""+e.getRecordCount()});
+                                                    ""+e.getRecordCount(),
+                                                    ""+recordsPerSecond});
         DualProgressBarDialog.setTopMessage(topMessage);
-        DualProgressBarDialog.incrementTopBar(1);
+        DualProgressBarDialog.setTopBarValue(e.getRecordNumber());
+        DualProgressBarDialog.incrementCopiedItems(recordsNotShown);
+        recordsNotShown = 0;
     }
 
     /* (non-Javadoc)
@@ -154,7 +192,9 @@ public class CopyProgressMonitor extends I18NBaseObject
     /* (non-Javadoc)
      * @see net.sourceforge.squirrel_sql.plugins.dbcopy.event.CopyTableListener#tableCopyFinished(net.sourceforge.squirrel_sql.plugins.dbcopy.event.TableEvent)
      */
-    public void tableCopyFinished(TableEvent e) {
+    public synchronized void tableCopyFinished(TableEvent e) {
+        DualProgressBarDialog.incrementCopiedItems(recordsNotShown);
+        recordsNotShown = 0;
         DualProgressBarDialog.setTopBarValue(0);
         DualProgressBarDialog.incrementBottomBar(1);
     }
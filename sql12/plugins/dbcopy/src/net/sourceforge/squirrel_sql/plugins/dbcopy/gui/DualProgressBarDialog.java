@@ -329,6 +329,14 @@ public class DualProgressBarDialog {
             , true);        
     }
 
+    /**
+     * Adds copied records to the remaining time calculation without moving the top bar.
+     * Used when the top bar is set to the record number directly.
+     */
+    public static void incrementCopiedItems(final int value) {
+        remainingCalc.incrementCurrentItems(value);
+    }
+
     public static void incrementBottomBar(final int value) {
         final int newValue = bottomBar.getValue() + value;
         if (SwingUtilities.isEventDispatchThread()) {
@@ -533,6 +541,10 @@ public class DualProgressBarDialog {
             } 
         }
         
+        public void incrementCurrentItems(int count) {
+            currentItem = Math.min(totalItems, currentItem + count);
+        }
+        
         public void setCurrentItem(long anInt) {
             if (currentItem <= totalItems) {
                 currentItem = anInt;
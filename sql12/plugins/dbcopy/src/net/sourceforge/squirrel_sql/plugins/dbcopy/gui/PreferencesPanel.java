@@ -84,6 +84,14 @@ public class PreferencesPanel extends JPanel  {
     
     JTextField selectFetchSizeTextField = null;
     
+    JLabel batchSizeLabel = null;
+    
+    JTextField batchSizeTextField = null;
+    
+    JLabel copyThreadCountLabel = null;
+    
+    JTextField copyThreadCountTextField = null;
+    
     JCheckBox delayBetweenObjects = null;
     
     JLabel delayTablesLabel = null;
@@ -142,31 +150,37 @@ public class PreferencesPanel extends JPanel  {
         addFetchSizeLabel(result, 0, 2);
         addFetchSizeTextField(result, 1, 2);
         
-        addCopyPrimaryKeysCheckBox(result, 0, 3);
-        addCopyForeignKeysCheckBox(result, 0, 4);
-        addCopyIndexDefsCheckBox(result, 0, 5);        
-        addPruneDuplicateIndexDefsCheckBox(result, 0, 6);
-        addFileCacheCheckBox(result, 0, 7);        
+        addBatchSizeLabel(result, 0, 3);
+        addBatchSizeTextField(result, 1, 3);
+        
+        addCopyThreadCountLabel(result, 0, 4);
+        addCopyThreadCountTextField(result, 1, 4);
+        
+        addCopyPrimaryKeysCheckBox(result, 0, 5);
+        addCopyForeignKeysCheckBox(result, 0, 6);
+        addCopyIndexDefsCheckBox(result, 0, 7);        
+        addPruneDuplicateIndexDefsCheckBox(result, 0, 8);
+        addFileCacheCheckBox(result, 0, 9);        
         
-        addBufferSizeLabel(result, 0, 8);
-        addBufferSizeTextField(result, 1, 8);
+        addBufferSizeLabel(result, 0, 10);
+        addBufferSizeTextField(result, 1, 10);
         
-        addAutoCommitCheckcBox(result, 0, 9);    
-        addCommitAfterCreateTableCheckBox(result, 0, 10);
+        addAutoCommitCheckcBox(result, 0, 11);    
+        addCommitAfterCreateTableCheckBox(result, 0, 12);
         
-        addRecordCountLabel(result, 0, 11);
-        addCommitRecordCountTextField(result, 1, 11);
+        addRecordCountLabel(result, 0, 13);
+        addCommitRecordCountTextField(result, 1, 13);
         
-        addDelayCheckBox(result, 0, 12);
+        addDelayCheckBox(result, 0, 14);
         
-        addDelayTablesLabel(result, 0, 13);
-        addDelayTablesTextField(result, 1, 13);
+        addDelayTablesLabel(result, 0, 15);
+        addDelayTablesTextField(result, 1, 15);
 
-        addDelayRecordsLabel(result, 0, 14);
-        addDelayRecordsTextField(result, 1, 14);        
+        addDelayRecordsLabel(result, 0, 16);
+        addDelayRecordsTextField(result, 1, 16);        
         
-        addWriteScriptCheckBox(result, 0, 15);
-        addAppendRecordsToExistingCheckBox(result, 0, 16);
+        addWriteScriptCheckBox(result, 0, 17);
+        addAppendRecordsToExistingCheckBox(result, 0, 18);
 
         return result;
     }    
@@ -250,6 +264,10 @@ public class PreferencesPanel extends JPanel  {
             public void actionPerformed(ActionEvent e) {
                 selectFetchSizeLabel.setEnabled(copyTableRecords.isSelected());
                 selectFetchSizeTextField.setEnabled(copyTableRecords.isSelected());
+                batchSizeLabel.setEnabled(copyTableRecords.isSelected());
+                batchSizeTextField.setEnabled(copyTableRecords.isSelected());
+                copyThreadCountLabel.setEnabled(copyTableRecords.isSelected());
+                copyThreadCountTextField.setEnabled(copyTableRecords.isSelected());
             }
         });
         panel.add(copyTableRecords, c);        
@@ -286,6 +304,66 @@ public class PreferencesPanel extends JPanel  {
         panel.add(selectFetchSizeTextField, c);        
     }    
     
+    private void addBatchSizeLabel(JPanel panel, int col, int row) {
+        GridBagConstraints c = new GridBagConstraints();
+        c.gridx = col;
+        c.gridy = row;  
+        c.insets = new Insets(5,25,0,0);
+        String bsLabel = 
+            s_stringMgr.getString("PreferencesPanel.batchSizeLabel");
+        batchSizeLabel = new JLabel(bsLabel);
+        batchSizeLabel.setHorizontalAlignment(JLabel.LEFT);
+        String labelToolTipText = 
+            s_stringMgr.getString("PreferencesPanel.batchSizeToolTip");
+        batchSizeLabel.setToolTipText(labelToolTipText);
+        panel.add(batchSizeLabel, c);        
+    }    
+    
+    private void addBatchSizeTextField(JPanel panel, int col, int row) {
+        GridBagConstraints c = new GridBagConstraints();
+        c.gridx = col;
+        c.gridy = row;   
+        c.ipadx = 40;    // Increases component width by 40 pixels
+        c.insets = new Insets(5,5,0,0);
+        c.anchor = GridBagConstraints.WEST;
+        batchSizeTextField = new JTextField(10);
+        batchSizeTextField.setHorizontalAlignment(JTextField.RIGHT);
+        String toolTip = 
+            s_stringMgr.getString("PreferencesPanel.batchSizeToolTip");
+        batchSizeTextField.setToolTipText(toolTip);
+        panel.add(batchSizeTextField, c);        
+    }    
+    
+    private void addCopyThreadCountLabel(JPanel panel, int col, int row) {
+        GridBagConstraints c = new GridBagConstraints();
+        c.gridx = col;
+        c.gridy = row;  
+        c.insets = new Insets(5,25,0,0);
+        String label = 
+            s_stringMgr.getString("PreferencesPanel.copyThreadCountLabel");
+        copyThreadCountLabel = new JLabel(label);
+        copyThreadCountLabel.setHorizontalAlignment(JLabel.LEFT);
+        String labelToolTipText = 
+            s_stringMgr.getString("PreferencesPanel.copyThreadCountToolTip");
+        copyThreadCountLabel.setToolTipText(labelToolTipText);
+        panel.add(copyThreadCountLabel, c);        
+    }    
+    
+    private void addCopyThreadCountTextField(JPanel panel, int col, int row) {
+        GridBagConstraints c = new GridBagConstraints();
+        c.gridx = col;
+        c.gridy = row;   
+        c.ipadx = 40;    // Increases component width by 40 pixels
+        c.insets = new Insets(5,5,0,0);
+        c.anchor = GridBagConstraints.WEST;
+        copyThreadCountTextField = new JTextField(10);
+        copyThreadCountTextField.setHorizontalAlignment(JTextField.RIGHT);
+        String toolTip = 
+            s_stringMgr.getString("PreferencesPanel.copyThreadCountToolTip");
+        copyThreadCountTextField.setToolTipText(toolTip);
+        panel.add(copyThreadCountTextField, c);        
+    }    
+    
     private void addCopyPrimaryKeysCheckBox(JPanel panel, int col, int row) {
         GridBagConstraints c = new GridBagConstraints();
         c.gridx = col;
@@ -642,6 +720,12 @@ public class PreferencesPanel extends JPanel  {
         selectFetchSizeLabel.setEnabled(_prefs.isCopyData());
         selectFetchSizeTextField.setEnabled(_prefs.isCopyData());
         selectFetchSizeTextField.setText(""+_prefs.getSelectFetchSize());
+        batchSizeLabel.setEnabled(_prefs.isCopyData());
+        batchSizeTextField.setEnabled(_prefs.isCopyData());
+        batchSizeTextField.setText(""+_prefs.getBatchSize());
+        copyThreadCountLabel.setEnabled(_prefs.isCopyData());
+        copyThreadCountTextField.setEnabled(_prefs.isCopyData());
+        copyThreadCountTextField.setText(""+_prefs.getCopyThreadCount());
         copyIndexDefs.setSelected(_prefs.isCopyIndexDefs());
         copyForeignKeys.setSelected(_prefs.isCopyForeignKeys());
         copyPrimaryKeys.setSelected(_prefs.isCopyPrimaryKeys());
@@ -695,6 +779,18 @@ public class PreferencesPanel extends JPanel  {
         } catch (Exception e) {
             // Do nothing.
         }
+        try {
+            String value = batchSizeTextField.getText();
+            _prefs.setBatchSize(Math.max(1, Integer.parseInt(value)));
+        } catch (Exception e) {
+            // Do nothing.
+        }
+        try {
+            String value = copyThreadCountTextField.getText();
+            _prefs.setCopyThreadCount(Math.max(1, Integer.parseInt(value)));
+        } catch (Exception e) {
+            // Do nothing.
+        }
         try {
             String value = delayRecordsTextField.getText();
             _prefs.setRecordDelayMillis(Long.parseLong(value));
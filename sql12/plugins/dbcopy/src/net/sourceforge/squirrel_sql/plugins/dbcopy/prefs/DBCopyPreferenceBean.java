@@ -47,6 +47,12 @@ public class DBCopyPreferenceBean implements Cloneable,
     /** How many statements to issue before committing when auto-commit is off */
     private int commitCount = 100;
     
+    /** How many inserts to send to the destination database in one JDBC batch. 1 disables batching */
+    private int batchSize = 500;
+    
+    /** How many tables to copy in parallel, each on its own source and destination connection */
+    private int copyThreadCount = 1;
+    
     /** whether or not to write each SQL executed to a script file */
     private boolean writeScript = false;
     
@@ -218,6 +224,34 @@ public class DBCopyPreferenceBean implements Cloneable,
         return commitCount;
     }
 
+    /**
+     * @param batchSize The batchSize to set.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return Returns the batchSize.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param copyThreadCount The copyThreadCount to set.
+     */
+    public void setCopyThreadCount(int copyThreadCount) {
+        this.copyThreadCount = copyThreadCount;
+    }
+
+    /**
+     * @return Returns the copyThreadCount.
+     */
+    public int getCopyThreadCount() {
+        return copyThreadCount;
+    }
+
     /**
      * @param writeScript The writeScript to set.
      */
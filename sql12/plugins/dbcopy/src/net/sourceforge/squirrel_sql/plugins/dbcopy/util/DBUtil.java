@@ -322,6 +322,45 @@ public class DBUtil extends I18NBaseObject
 		return true;
 	}
 
+	/**
+	 * Returns the tables of the specified list that the specified table references by its imported keys.
+	 * A table that references itself is not included.
+	 * 
+	 * @param ti
+	 *        the table whose imported keys are examined.
+	 * @param tableInfos
+	 *        the tables being copied
+	 * @param md
+	 *        the meta data of the source database
+	 * @return the referenced tables of the list
+	 */
+	public static List<ITableInfo> getReferencedTables(ITableInfo ti, List<ITableInfo> tableInfos,
+	      SQLDatabaseMetaData md) throws SQLException
+	{
+		ArrayList<ITableInfo> result = new ArrayList<ITableInfo>();
+		ForeignKeyInfo[] keys = SQLUtilities.getImportedKeys(ti, md);
+		if (keys == null)
+		{
+			return result;
+		}
+		for (ForeignKeyInfo fkInfo : keys)
+		{
+			String pkTableName = fkInfo.getPrimaryKeyTableName();
+			if (pkTableName == null || pkTableName.equalsIgnoreCase(ti.getSimpleName()))
+			{
+				continue;
+			}
+			for (ITableInfo other : tableInfos)
+			{
+				if (pkTableName.equalsIgnoreCase(other.getSimpleName()) && !result.contains(other))
+				{
+					result.add(other);
+				}
+			}
+		}
+		return result;
+	}
+
 	private static boolean containsTable(List<ITableInfo> tableInfos, String table)
 	{
 		boolean result = false;
@@ -388,7 +427,16 @@ public class DBUtil extends I18NBaseObject
 	 */
 	public static ResultSet executeQuery(ISession session, String sql) throws SQLException
 	{
-		ISQLConnection sqlcon = session.getSQLConnection();
+		return executeQuery(session, session.getSQLConnection(), sql);
+	}
+
+	/**
+	 * Like {@link #executeQuery(ISession, String)} but executes the query on the specified connection
+	 * which must be a connection to the same database as the session's connection.
+	 * Used to read several tables in parallel.
+	 */
+	public static ResultSet executeQuery(ISession session, ISQLConnection sqlcon, String sql) throws SQLException
+	{
 		if (sqlcon == null || sql == null)
 		{
 			return null;
@@ -23,10 +23,13 @@ package net.sourceforge.squirrel_sql.plugins.mssql.tokenizer;
 import net.sourceforge.squirrel_sql.fw.preferences.IQueryTokenizerPreferenceBean;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.IQueryTokenizer;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.QueryTokenizer;
+import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.StreamingQueryTokenizer;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.TokenizerSessPropsInteractions;
 import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
 
+import java.io.Reader;
+
 public class MSSQLQueryTokenizer extends QueryTokenizer implements IQueryTokenizer
 {
    private final static ILogger s_log = LoggerController.createLogger(MSSQLQueryTokenizer.class);
@@ -55,6 +58,15 @@ public class MSSQLQueryTokenizer extends QueryTokenizer implements IQueryTokeniz
 	    _tokenizerFactory = () -> new MSSQLQueryTokenizer(_prefs);
     }
 
+   /**
+    * The statements of the base tokenizer are not post processed, so large scripts can be tokenized while they are executed.
+    */
+   @Override
+   public StreamingQueryTokenizer createStreamingTokenizer(Reader script)
+   {
+      return createStreamingTokenizerWithSettingsOfThis(script);
+   }
+
    @Override
    public TokenizerSessPropsInteractions getTokenizerSessPropsInteractions()
    {
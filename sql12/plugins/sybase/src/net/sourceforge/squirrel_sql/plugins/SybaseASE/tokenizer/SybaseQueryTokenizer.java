@@ -23,10 +23,13 @@ package net.sourceforge.squirrel_sql.plugins.SybaseASE.tokenizer;
 import net.sourceforge.squirrel_sql.fw.preferences.IQueryTokenizerPreferenceBean;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.IQueryTokenizer;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.QueryTokenizer;
+import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.StreamingQueryTokenizer;
 import net.sourceforge.squirrel_sql.fw.sql.querytokenizer.TokenizerSessPropsInteractions;
 import net.sourceforge.squirrel_sql.fw.util.log.ILogger;
 import net.sourceforge.squirrel_sql.fw.util.log.LoggerController;
 
+import java.io.Reader;
+
 /**
  * 
  * At the moment, the only purpose this serves is to provide another bucket for 
@@ -65,6 +68,15 @@ public class SybaseQueryTokenizer extends QueryTokenizer implements IQueryTokeni
        _tokenizerFactory = () -> new SybaseQueryTokenizer(_prefs);
     }
 
+   /**
+    * The statements of the base tokenizer are not post processed, so large scripts can be tokenized while they are executed.
+    */
+   @Override
+   public StreamingQueryTokenizer createStreamingTokenizer(Reader script)
+   {
+      return createStreamingTokenizerWithSettingsOfThis(script);
+   }
+
    @Override
    public TokenizerSessPropsInteractions getTokenizerSessPropsInteractions()
    {